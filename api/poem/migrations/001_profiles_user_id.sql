@@ -0,0 +1,22 @@
+-- 001: liga profiles a users pela chave numérica users.id (coluna user_id)
+-- em vez da coluna de texto user_email -> users.email.
+--
+-- Execute ANTES de iniciar a versão da API que mapeia Profile.user_id.
+-- O email continua disponível para a API através do join com users.
+USE poemdb;
+
+-- 1) Nova coluna e preenchimento a partir do email atual.
+ALTER TABLE profiles ADD COLUMN user_id BIGINT NULL;
+
+UPDATE profiles p
+  JOIN users u ON u.email = p.user_email
+   SET p.user_id = u.id;
+
+-- 2) Torna a coluna obrigatória, única e chave estrangeira para users.id.
+ALTER TABLE profiles MODIFY user_id BIGINT NOT NULL;
+ALTER TABLE profiles ADD CONSTRAINT uk_profiles_user_id UNIQUE (user_id);
+ALTER TABLE profiles ADD CONSTRAINT fk_profiles_user_id FOREIGN KEY (user_id) REFERENCES users (id);
+
+-- 3) Remove o vínculo antigo por email (nome da FK gerado pelo Hibernate).
+ALTER TABLE profiles DROP FOREIGN KEY FKcpohx6yaiouknt5oks7qajhae;
+ALTER TABLE profiles DROP COLUMN user_email;
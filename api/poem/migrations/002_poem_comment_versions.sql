@@ -0,0 +1,20 @@
+-- 002: versões e instantes de alteração de poemas e comentários,
+-- usados nos cabeçalhos ETag e Last-Modified.
+--
+-- Execute ANTES de iniciar a versão da API que mapeia Poem.version e Comment.version.
+-- Registros existentes começam na versão 0, com a data de publicação como última alteração.
+USE poemdb;
+
+ALTER TABLE poems
+  ADD COLUMN version BIGINT NOT NULL DEFAULT 0,
+  ADD COLUMN updated_at DATETIME(6) NULL,
+  ADD COLUMN comments_version BIGINT NOT NULL DEFAULT 0,
+  ADD COLUMN comments_updated_at DATETIME(6) NULL;
+
+UPDATE poems SET updated_at = post_date WHERE updated_at IS NULL;
+
+ALTER TABLE comments
+  ADD COLUMN version BIGINT NOT NULL DEFAULT 0,
+  ADD COLUMN updated_at DATETIME(6) NULL;
+
+UPDATE comments SET updated_at = comment_date WHERE updated_at IS NULL;
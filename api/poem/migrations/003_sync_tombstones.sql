@@ -0,0 +1,25 @@
+-- 003: sincronização incremental (GET /api/sync).
+-- Índices por instante de alteração, tabela de exclusões, coluna created_at das curtidas
+-- e preenchimento do instante das curtidas anteriores a ela.
+--
+-- Execute ANTES de iniciar a versão da API que mapeia Tombstone, pois o Hibernate criaria os mesmos índices.
+USE poemdb;
+
+ALTER TABLE poem_likes ADD COLUMN created_at DATETIME(6) NULL;
+
+UPDATE poem_likes l JOIN poems p ON p.id = l.poem_id
+   SET l.created_at = p.post_date
+ WHERE l.created_at IS NULL;
+
+CREATE INDEX idx_poems_updated_at ON poems (updated_at, id);
+CREATE INDEX idx_comments_updated_at ON comments (updated_at, id);
+CREATE INDEX idx_poem_likes_created_at ON poem_likes (created_at, id);
+
+CREATE TABLE IF NOT EXISTS tombstones (
+  id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+  entity_type VARCHAR(16) NOT NULL,
+  entity_id BIGINT NOT NULL,
+  poem_id BIGINT NOT NULL,
+  deleted_at DATETIME(6) NOT NULL,
+  INDEX idx_tombstones_deleted_at (deleted_at, id)
+);
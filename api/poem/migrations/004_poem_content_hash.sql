@@ -0,0 +1,12 @@
+-- 004: hash do conteúdo dos poemas, usado para descartar poemas repetidos na importação em lote.
+-- O hash é o SHA-256 de título, autor e texto separados por CHAR(31), o mesmo calculado por Poem.contentHash.
+--
+-- Execute ANTES de iniciar a versão da API que mapeia Poem.contentHash.
+USE poemdb;
+
+ALTER TABLE poems ADD COLUMN content_hash VARCHAR(64) NULL;
+
+UPDATE poems SET content_hash = SHA2(CONCAT_WS(CHAR(31 USING utf8mb4), title, author, text), 256)
+ WHERE content_hash IS NULL;
+
+CREATE INDEX idx_poems_content_hash ON poems (content_hash);
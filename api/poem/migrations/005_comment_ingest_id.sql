@@ -0,0 +1,9 @@
+-- 005: identificador dos comentários recebidos pela gravação assíncrona (comments.write-behind.enabled).
+-- O índice único impede que um comentário reaplicado do log local seja gravado duas vezes.
+--
+-- Execute ANTES de iniciar a versão da API que mapeia Comment.ingestId.
+USE poemdb;
+
+ALTER TABLE comments ADD COLUMN ingest_id VARCHAR(36) NULL;
+
+CREATE UNIQUE INDEX uk_comments_ingest_id ON comments (ingest_id);
@@ -0,0 +1,11 @@
+-- 006: número de comentários de cada poema, mantido junto com comments_version,
+-- usado por GET /api/comments/counts.
+--
+-- Execute ANTES de iniciar a versão da API que mapeia Poem.commentCount.
+-- O UPDATE também serve para reconciliar as contagens, se algum dia divergirem dos comentários.
+USE poemdb;
+
+ALTER TABLE poems ADD COLUMN comment_count BIGINT NOT NULL DEFAULT 0;
+
+UPDATE poems p
+   SET p.comment_count = (SELECT COUNT(*) FROM comments c WHERE c.poem_id = p.id);
@@ -0,0 +1,6 @@
+-- 007: versão dos perfis, usada nas atualizações condicionais (If-Match) de POST /api/profile.
+--
+-- Execute ANTES de iniciar a versão da API que mapeia Profile.version.
+USE poemdb;
+
+ALTER TABLE profiles ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,16 @@
+-- 008: chaves de idempotência dos POSTs (cabeçalho Idempotency-Key) e as respostas guardadas.
+--
+-- Só é necessária com idempotency.persistence.enabled=true; sem ela, as chaves ficam apenas em memória.
+-- As chaves expiradas são removidas pela própria API.
+USE poemdb;
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    id_key       VARCHAR(400) NOT NULL PRIMARY KEY,
+    fingerprint  CHAR(64)     NOT NULL,
+    status       INT          NOT NULL,
+    content_type VARCHAR(255),
+    etag         VARCHAR(255),
+    body         MEDIUMBLOB,
+    created_at   TIMESTAMP(3) NOT NULL,
+    INDEX idx_idempotency_keys_created_at (created_at)
+);
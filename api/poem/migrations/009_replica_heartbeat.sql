@@ -0,0 +1,10 @@
+-- 009: batimento de replicação, usado para medir o atraso das réplicas de leitura.
+--
+-- Só é necessária com datasource.replicas.urls definido. A API grava o batimento no primário a cada
+-- datasource.replicas.check-interval-ms e o lê em cada réplica; a diferença é o atraso da réplica.
+USE poemdb;
+
+CREATE TABLE IF NOT EXISTS replica_heartbeat (
+    id      INT          NOT NULL PRIMARY KEY,
+    beat_at TIMESTAMP(3) NOT NULL
+);
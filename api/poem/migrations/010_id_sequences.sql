@@ -0,0 +1,24 @@
+-- 010: identificadores reservados em blocos (tabela id_sequences) em vez de AUTO_INCREMENT, o que permite
+-- ao Hibernate agrupar as inserções em batches JDBC (hibernate.jdbc.batch_size).
+--
+-- Execute ANTES de iniciar a versão da API que mapeia as entidades com @TableGenerator, e não mantenha
+-- instâncias da versão anterior (que inserem com AUTO_INCREMENT) em execução ao mesmo tempo.
+-- Cada linha guarda o último identificador reservado; parte do maior identificador existente.
+-- Pode ser executada novamente: nenhuma sequência volta para trás.
+-- O perfil (profiles) continua com AUTO_INCREMENT.
+USE poemdb;
+
+CREATE TABLE IF NOT EXISTS id_sequences (
+    sequence_name VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_val      BIGINT       NOT NULL
+);
+
+INSERT INTO id_sequences (sequence_name, next_val)
+SELECT existing.sequence_name, existing.max_id FROM (
+    SELECT 'poems' AS sequence_name, COALESCE(MAX(id), 0) AS max_id FROM poems
+    UNION ALL SELECT 'comments', COALESCE(MAX(id), 0) FROM comments
+    UNION ALL SELECT 'poem_likes', COALESCE(MAX(id), 0) FROM poem_likes
+    UNION ALL SELECT 'users', COALESCE(MAX(id), 0) FROM users
+    UNION ALL SELECT 'tombstones', COALESCE(MAX(id), 0) FROM tombstones
+) AS existing
+ON DUPLICATE KEY UPDATE next_val = GREATEST(id_sequences.next_val, existing.max_id);
@@ -0,0 +1,12 @@
+-- 011: instante de criação dos comentários (comments.created_at), usado pelo ranking de poemas em alta
+-- para somar, reconstruir e remover a pontuação de um comentário sempre pelo mesmo instante.
+-- Comentários anteriores a esta coluna ficam com o início do dia de comment_date.
+--
+-- Execute ANTES de iniciar a versão da API que mapeia Comment.createdAt.
+USE poemdb;
+
+ALTER TABLE comments ADD COLUMN created_at DATETIME(6) NULL;
+
+UPDATE comments
+   SET created_at = comment_date
+ WHERE created_at IS NULL AND comment_date IS NOT NULL;
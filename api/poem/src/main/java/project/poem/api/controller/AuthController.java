@@ -1,5 +1,6 @@
 package project.poem.api.controller;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -7,7 +8,11 @@ import java.util.stream.Collectors;
 
 import javax.validation.Valid;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PagedModel;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -20,12 +25,17 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import jakarta.servlet.http.HttpServletRequest;
 import project.poem.api.mapper.UserMapper;
+import project.poem.application.dto.ImportResultDto;
 import project.poem.application.dto.LoginDto;
 import project.poem.application.dto.UserDto;
+import project.poem.application.service.UserImportService;
 import project.poem.application.service.UserService;
 import project.poem.domain.model.User;
 import project.poem.infrastructure.security.UsernameAlreadyExistsException;
@@ -37,10 +47,12 @@ public class AuthController {
 
     private final UserService userService;
     private final UserMapper userMapper;
+    private final UserImportService userImportService;
 
-    public AuthController(UserService userService, UserMapper userMapper) {
+    public AuthController(UserService userService, UserMapper userMapper, UserImportService userImportService) {
         this.userService = userService;
         this.userMapper = userMapper;
+        this.userImportService = userImportService;
     }
 
     /**
@@ -147,13 +159,54 @@ public class AuthController {
     @GetMapping("/users")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<UserDto>> getAllUsers() {
-        List<User> users = userService.getAllUsers();
-        List<UserDto> userDtos = users.stream()
-                                      .map(userMapper::toDto)
-                                      .collect(Collectors.toList());
+        List<UserDto> userDtos = userService.getAllUsers().stream()
+                                            .map(userMapper::toDto)
+                                            .collect(Collectors.toList());
         return ResponseEntity.ok(userDtos);
     }
 
+    /**
+     * Endpoint para obter uma página de utilizadores, com filtros opcionais por prefixo.
+     * Apenas administradores podem aceder a este método.
+     * Exemplo: {@code GET /api/auth/users/page?username=ana&page=0&size=20&sort=username,asc}
+     * @param username Prefixo do nome de utilizador (opcional).
+     * @param email Prefixo do email (opcional).
+     * @param pageable Parâmetros de paginação e ordenação (page, size, sort).
+     * @return ResponseEntity contendo a página de UserDto, ou 400 se a ordenação for inválida.
+     */
+    @GetMapping("/users/page")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getUsersPage(@RequestParam(required = false) String username,
+                                          @RequestParam(required = false) String email,
+                                          @PageableDefault(size = 20) Pageable pageable) {
+        try {
+            return ResponseEntity.ok(new PagedModel<>(
+                userService.listUsers(username, email, pageable).map(userMapper::toDto)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Endpoint para importar utilizadores em lote.
+     * O corpo é lido em streaming: CSV ({@code text/csv}, colunas username,password,email,role)
+     * ou NDJSON ({@code application/x-ndjson}, um UserDto por linha).
+     * Apenas administradores podem aceder a este método.
+     * @param contentType O tipo do conteúdo enviado.
+     * @param request A requisição HTTP, da qual o corpo é lido.
+     * @return ResponseEntity contendo o resumo da importação.
+     * @throws IOException Em caso de erro de leitura do corpo.
+     */
+    @PostMapping(value = "/users/import", consumes = {"text/csv", "application/x-ndjson"})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportResultDto> importUsers(@RequestHeader("Content-Type") String contentType,
+                                                       HttpServletRequest request) throws IOException {
+        UserImportService.Format format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.valueOf("text/csv"))
+                                          ? UserImportService.Format.CSV
+                                          : UserImportService.Format.NDJSON;
+        return ResponseEntity.ok(userImportService.importUsers(request.getInputStream(), format));
+    }
+
     /**
      * Endpoint para obter um utilizador pelo email.
      * Apenas o próprio utilizador ou um administrador podem aceder a este método.
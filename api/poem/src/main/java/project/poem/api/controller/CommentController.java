@@ -1,20 +1,34 @@
 package project.poem.api.controller;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import project.poem.application.dto.CommentDto;
+import project.poem.application.dto.ResourceVersion;
+import project.poem.application.service.CommentIngestionService;
 import project.poem.application.service.CommentService;
+import project.poem.application.service.JsonResponseCache;
+import project.poem.application.service.ResourceVersionService;
 
 /**
  * Controlador REST para operações relacionadas a comentários em poemas.
@@ -24,66 +38,160 @@ import project.poem.application.service.CommentService;
 @RequestMapping("/api/comments")
 public class CommentController {
 
+    /**
+     * Comentários mudam com frequência: o cliente sempre revalida a lista com o ETag.
+     */
+    private static final CacheControl COMMENTS_CACHE = CacheControl.noCache().cachePublic();
+
+    /**
+     * As contagens exibidas nas listas de poemas podem ficar alguns segundos desatualizadas.
+     */
+    private static final CacheControl COUNTS_CACHE = CacheControl.maxAge(Duration.ofSeconds(10)).cachePublic();
+
     private final CommentService commentService;
+    private final ResourceVersionService versionService;
+    private final JsonResponseCache responseCache;
+    private final CommentIngestionService ingestionService;
 
     /**
-     * Construtor para injetar a dependência de CommentService.
+     * Construtor para injetar as dependências do controlador.
      *
-     * @param commentService O serviço responsável pela lógica de negócios dos comentários.
+     * @param commentService   O serviço responsável pela lógica de negócios dos comentários.
+     * @param versionService   O serviço que fornece as versões usadas nos ETags.
+     * @param responseCache    O cache das listas já serializadas e comprimidas.
+     * @param ingestionService O serviço de gravação assíncrona de comentários.
      */
-    public CommentController(CommentService commentService) {
+    public CommentController(CommentService commentService, ResourceVersionService versionService,
+                             JsonResponseCache responseCache, CommentIngestionService ingestionService) {
         this.commentService = commentService;
+        this.versionService = versionService;
+        this.responseCache = responseCache;
+        this.ingestionService = ingestionService;
     }
 
     /**
      * Endpoint para listar os comentários de um poema específico.
+     * Com {@code fields} (ex.: {@code fields=author,commentDate}), apenas os campos solicitados
+     * (e o id) são lidos do banco e devolvidos.
+     * A resposta traz ETag e Last-Modified da lista de comentários do poema; se o cliente enviar
+     * If-None-Match com a versão atual, a resposta é 304 sem consultar os comentários.
+     * A lista completa é servida do cache já serializado e comprimido com gzip quando o cliente aceita.
+     * Se o usuário tiver comentários neste poema ainda na fila de gravação assíncrona, a lista é lida
+     * do banco e inclui esses comentários, sem ETag e sem cache.
      *
-     * @param poemId O ID do poema para o qual os comentários devem ser listados.
-     * @return ResponseEntity contendo a lista de CommentDto com status 200 (OK).
+     * @param poemId         O ID do poema para o qual os comentários devem ser listados.
+     * @param fields         Os campos a serem devolvidos, separados por vírgula (opcional).
+     * @param request        A requisição, usada para avaliar os cabeçalhos condicionais.
+     * @param authentication O usuário autenticado, se houver.
+     * @return ResponseEntity contendo a lista de comentários com status 200 (OK),
+     *         304 se o cliente já tiver a versão atual, ou 400 se algum campo for inválido.
      */
     @GetMapping("/poem/{poemId}")
-    public ResponseEntity<List<CommentDto>> listByPoem(@PathVariable Long poemId) {
-        return ResponseEntity.ok(commentService.listByPoemId(poemId));
+    public ResponseEntity<?> listByPoem(@PathVariable Long poemId, @RequestParam(required = false) String fields,
+                                        WebRequest request, Authentication authentication) {
+        if (fields == null && authentication != null
+            && ingestionService.hasPending(poemId, authentication.getName())) {
+            return ResponseEntity.ok().cacheControl(CacheControl.noStore())
+                                 .body(commentService.listByPoemId(poemId,
+                                                                   ingestionService.pendingFor(poemId, authentication.getName())));
+        }
+        Optional<ResourceVersion> version = versionService.ofPoemComments(poemId);
+        if (version.isPresent()
+            && request.checkNotModified(version.get().etag(fields), version.get().lastModifiedMillis())) {
+            return null; // 304: os cabeçalhos já foram definidos por checkNotModified.
+        }
+        if (fields != null) {
+            try {
+                return ResponseEntity.ok().cacheControl(COMMENTS_CACHE)
+                                     .body(commentService.listFieldsByPoemId(poemId, fields));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
+        if (version.isEmpty()) {
+            // Poema inexistente: a lista vazia não ocupa o cache.
+            return ResponseEntity.ok().cacheControl(COMMENTS_CACHE).body(commentService.listByPoemId(poemId));
+        }
+        String tag = version.get().getTag();
+        return SerializedResponses.ok(responseCache.poemComments(poemId, tag,
+                                                                 () -> commentService.listByPoemId(poemId, tag)),
+                                      COMMENTS_CACHE, request);
+    }
+
+    /**
+     * Endpoint para obter, de uma só vez, o número de comentários de vários poemas (ex.: uma página da lista).
+     * Mapeado para GET em "/api/comments/counts?ids=1,2,3".
+     *
+     * @param ids Os IDs dos poemas (no máximo 500).
+     * @return ResponseEntity contendo um mapa do ID de cada poema para o seu número de comentários,
+     *         na ordem solicitada (IDs inexistentes são ignorados), ou 400 se forem enviados IDs demais.
+     */
+    @GetMapping("/counts")
+    public ResponseEntity<?> countByPoems(@RequestParam List<Long> ids) {
+        if (ids.size() > 500) {
+            return ResponseEntity.badRequest().body("No máximo 500 ids por consulta");
+        }
+        Map<Long, Long> counts = commentService.countByPoemIds(ids);
+        return ResponseEntity.ok().cacheControl(COUNTS_CACHE).body(counts);
     }
 
     /**
      * Endpoint para criar um novo comentário.
      * A anotação `@PreAuthorize` garante que apenas o autor do comentário ou um administrador possa criar o comentário.
+     * Com a gravação assíncrona ativada, o comentário é confirmado ao entrar na fila (202, ainda sem ID);
+     * se a fila estiver cheia, a resposta é 503 e o cliente deve tentar novamente.
      *
      * @param dto Objeto CommentDto contendo os dados do novo comentário.
-     * @return ResponseEntity contendo o CommentDto criado com status 200 (OK).
+     * @return ResponseEntity contendo o CommentDto criado com status 200 (OK), 202 (Accepted) se o comentário
+     *         foi colocado na fila, 404 se o poema não existir ou 503 se a fila estiver cheia.
      */
     @PostMapping
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<CommentDto> create(@RequestBody CommentDto dto, org.springframework.security.core.Authentication authentication) {
+    public ResponseEntity<?> create(@RequestBody CommentDto dto, Authentication authentication) {
         dto.setAuthor(authentication.getName());      // Define o autor com base no usuário autenticado
         dto.setCommentDate(java.time.LocalDate.now()); // Define a data atual
-        return ResponseEntity.ok(commentService.create(dto));
+        if (!ingestionService.isEnabled()) {
+            return ResponseEntity.ok(commentService.create(dto));
+        }
+        try {
+            return ResponseEntity.accepted().body(ingestionService.submit(dto));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").body(e.getMessage());
+        }
     }
 
 
     /**
      * Endpoint para atualizar um comentário existente.
-     * A anotação `@PreAuthorize` garante que apenas o autor do comentário ou um administrador possa atualizar o comentário.
+     * Apenas o autor do comentário ou um administrador pode atualizá-lo (verificado pelo serviço; outro usuário recebe 403).
+     * A atualização é condicional se o cliente enviar o cabeçalho If-Match com o ETag do comentário
+     * (ou o campo {@code version}): se o comentário tiver sido alterado desde então, a resposta é 412.
      *
-     * @param id    O ID do comentário a ser atualizado.
-     * @param dto   Objeto CommentDto contendo os novos dados do comentário.
-     * @return ResponseEntity contendo o CommentDto atualizado com status 200 (OK).
+     * @param id      O ID do comentário a ser atualizado.
+     * @param dto     Objeto CommentDto contendo os novos dados do comentário.
+     * @param ifMatch O ETag do comentário que o cliente editou (opcional).
+     * @return ResponseEntity contendo o CommentDto atualizado e o seu novo ETag com status 200 (OK),
+     *         412 se a versão não for a atual ou 409 se alterações concorrentes persistirem.
      */
-    @PreAuthorize("hasRole('ROLE_ADMIN') or @commentService.isAuthorOfComment(authentication.name, #dto.id)")
     @PutMapping("/{id}")
-    public ResponseEntity<CommentDto> update(@PathVariable Long id, @RequestBody CommentDto dto) {
-        return ResponseEntity.ok(commentService.update(id, dto));
+    public ResponseEntity<CommentDto> update(@PathVariable Long id, @RequestBody CommentDto dto,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (ifMatch != null) {
+            dto.setVersion(IfMatch.expectedVersion(ifMatch, "m", id));
+        }
+        CommentDto saved = commentService.update(id, dto);
+        return ResponseEntity.ok().eTag(IfMatch.etag("m", saved.getId(), saved.getVersion())).body(saved);
     }
 
     /**
      * Endpoint para deletar um comentário.
-     * A anotação `@PreAuthorize` garante que apenas o autor do comentário ou um administrador possa deletar o comentário.
+     * Apenas o autor do comentário ou um administrador pode deletá-lo (verificado pelo serviço; outro usuário recebe 403).
      *
      * @param id O ID do comentário a ser deletado.
      * @return ResponseEntity com status 204 (No Content) indicando sucesso na deleção.
      */
-    @PreAuthorize("hasRole('ROLE_ADMIN') or @commentService.isAuthorOfComment(authentication.name, #id)")
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
         commentService.delete(id);
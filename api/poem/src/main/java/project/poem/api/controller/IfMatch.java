@@ -0,0 +1,61 @@
+package project.poem.api.controller;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Leitura do cabeçalho If-Match das rotas de atualização.
+ * O ETag de um registro termina com a sua versão (ex.: {@code "p12v3"} para o poema 12 na versão 3);
+ * o tipo e o ID do prefixo devem ser os do registro alterado, e a versão extraída é comparada pelo
+ * serviço com a versão atual do registro.
+ */
+final class IfMatch {
+
+    /**
+     * ETag de versão: prefixo opcional com o tipo (grupo 1) e o ID (grupo 2) do registro, seguido da
+     * versão (grupo 3). ETags de representações parciais (com sufixo) não correspondem e falham a pré-condição.
+     */
+    private static final Pattern VERSION_TAG = Pattern.compile("^(?:W/)?\"(?:([a-z]+)(\\d+)v)?(\\d+)\"$");
+
+    private IfMatch() {
+    }
+
+    /**
+     * Obtém a versão esperada a partir do cabeçalho If-Match.
+     * Um ETag com prefixo só é aceito se o tipo e o ID forem os do registro alterado; o ETag de outro
+     * registro na mesma versão não pode servir de pré-condição.
+     *
+     * @param header O valor do cabeçalho (pode ser nulo).
+     * @param kind   O prefixo do tipo do registro alterado (ex.: {@code p}), ou null se os seus ETags
+     *               não tiverem prefixo.
+     * @param id     O ID do registro alterado, ou null se ainda não existir.
+     * @return A versão esperada; null se o cabeçalho estiver ausente ou for {@code *}; ou -1, que nunca
+     *         corresponde a uma versão, se o cabeçalho não for um ETag de versão deste registro.
+     */
+    static Long expectedVersion(String header, String kind, Long id) {
+        if (header == null || header.isBlank() || header.trim().equals("*")) {
+            return null;
+        }
+        Matcher m = VERSION_TAG.matcher(header.trim());
+        if (!m.matches()) {
+            return -1L;
+        }
+        if (m.group(1) != null
+            && (!m.group(1).equals(kind) || id == null || !m.group(2).equals(Long.toString(id)))) {
+            return -1L;
+        }
+        return Long.valueOf(m.group(3));
+    }
+
+    /**
+     * Monta o ETag de versão de um registro.
+     *
+     * @param kind    O prefixo do tipo do registro (ex.: {@code p} para poemas).
+     * @param id      O ID do registro.
+     * @param version A versão do registro.
+     * @return O ETag entre aspas.
+     */
+    static String etag(String kind, long id, long version) {
+        return "\"" + kind + id + "v" + version + "\"";
+    }
+}
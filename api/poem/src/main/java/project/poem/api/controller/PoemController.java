@@ -1,9 +1,17 @@
 package project.poem.api.controller;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 
 import javax.validation.Valid; // Importa a anotação @Valid para validar o corpo da requisição.
 
+import org.springframework.http.CacheControl; // Importa a classe CacheControl para montar o cabeçalho Cache-Control.
+import org.springframework.http.HttpHeaders; // Importa as constantes dos nomes de cabeçalhos HTTP.
 import org.springframework.http.HttpStatus; // Importa o enum HttpStatus para códigos de status HTTP.
 import org.springframework.http.ResponseEntity; // Importa a classe ResponseEntity para representar a resposta HTTP.
 import org.springframework.security.access.prepost.PreAuthorize; // Importa a anotação @PreAuthorize para controlar o acesso aos métodos.
@@ -15,13 +23,27 @@ import org.springframework.web.bind.annotation.PathVariable; // Importa a anota
 import org.springframework.web.bind.annotation.PostMapping; // Importa a anotação @PostMapping para mapear requisições HTTP POST.
 import org.springframework.web.bind.annotation.RequestBody; // Importa a anotação @RequestBody para acessar o corpo da requisição.
 import org.springframework.web.bind.annotation.RequestMapping; // Importa a anotação @RequestMapping para mapear o caminho base do controlador.
+import org.springframework.web.bind.annotation.RequestHeader; // Importa a anotação @RequestHeader para ler cabeçalhos da requisição.
+import org.springframework.web.bind.annotation.RequestParam; // Importa a anotação @RequestParam para ler parâmetros da query string.
 import org.springframework.web.bind.annotation.RestController; // Importa a anotação @RestController para indicar que esta classe é um controlador REST.
+import org.springframework.web.context.request.WebRequest; // Importa a interface WebRequest para tratar requisições condicionais (ETag).
 import org.springframework.web.server.ResponseStatusException;  // Importa a classe ResponseStatusException para tratar exceções de status HTTP.
 
+import jakarta.servlet.http.HttpServletRequest; // Importa a interface HttpServletRequest para ler os cabeçalhos da requisição.
+import jakarta.servlet.http.HttpServletResponse; // Importa a interface HttpServletResponse para escrever a exportação em streaming.
+import project.poem.application.dto.ImportResultDto; // Importa o DTO ImportResultDto com o resumo da importação em lote.
 import project.poem.application.dto.PoemDto; // Importa o DTO PoemDto para transferência de dados de poemas.
+import project.poem.application.dto.ResourceVersion; // Importa a classe ResourceVersion com a versão usada no ETag.
+import project.poem.application.dto.RelatedPoemDto; // Importa o DTO RelatedPoemDto para as recomendações de poemas.
+import project.poem.application.dto.TrendingPoemDto; // Importa o DTO TrendingPoemDto para o ranking de poemas em alta.
+import project.poem.application.service.JsonResponseCache; // Importa o cache das listas já serializadas em JSON.
 import project.poem.application.service.LikeService; // Importa o serviço LikeService para operações relacionadas a curtidas.
+import project.poem.application.service.PoemExportService; // Importa o serviço PoemExportService para a exportação em NDJSON.
+import project.poem.application.service.PoemImportService; // Importa o serviço PoemImportService para a importação em lote.
 import project.poem.application.service.PoemService; // Importa o serviço PoemService para operações relacionadas a poemas.
-import project.poem.domain.model.User; // Importa a entidade User do domínio.
+import project.poem.application.service.RecommendationService; // Importa o serviço RecommendationService para as recomendações de poemas.
+import project.poem.application.service.ResourceVersionService; // Importa o serviço ResourceVersionService para os ETags dos poemas.
+import project.poem.application.service.TrendingService; // Importa o serviço TrendingService para o ranking de poemas em alta.
 import project.poem.domain.repository.UserRepository; // Importa o repositório UserRepository para acessar dados de usuários.
 
 /**
@@ -32,44 +54,214 @@ import project.poem.domain.repository.UserRepository; // Importa o repositório
 @RequestMapping("/api/poems")
 public class PoemController {
 
+    /**
+     * Poemas mudam raramente: o cliente pode reutilizar a resposta, mas deve revalidá-la com o ETag.
+     */
+    private static final CacheControl POEM_CACHE = CacheControl.noCache().cachePublic();
+
+    /**
+     * Rankings e recomendações podem ficar alguns segundos desatualizados.
+     */
+    private static final CacheControl RANKING_CACHE = CacheControl.maxAge(Duration.ofSeconds(30)).cachePublic();
+
+    /**
+     * Respostas específicas do usuário autenticado não devem ser guardadas por caches.
+     */
+    private static final CacheControl PRIVATE_CACHE = CacheControl.noStore();
+
     private final PoemService poemService; // Serviço para lógica de negócios de poemas.
     private final LikeService likeService; // Serviço para lógica de negócios de curtidas.
     private final UserRepository userRepository; // Repositório para acessar dados de usuários.
+    private final TrendingService trendingService; // Serviço para o ranking de poemas em alta.
+    private final RecommendationService recommendationService; // Serviço para as recomendações de poemas.
+    private final ResourceVersionService versionService; // Serviço para as versões usadas nos ETags.
+    private final JsonResponseCache responseCache; // Cache das listas já serializadas e comprimidas.
+    private final PoemExportService exportService; // Serviço para a exportação dos poemas em NDJSON.
+    private final PoemImportService importService; // Serviço para a importação dos poemas em lote.
 
     /**
-     * Construtor para injetar as dependências de PoemService, LikeService e UserRepository.
+     * Construtor para injetar as dependências de PoemService, LikeService, UserRepository,
+     * TrendingService, RecommendationService, ResourceVersionService, JsonResponseCache, PoemExportService
+     * e PoemImportService.
      *
-     * @param poemService    O serviço PoemService a ser injetado.
-     * @param likeService    O serviço LikeService a ser injetado.
-     * @param userRepository O repositório UserRepository a ser injetado.
+     * @param poemService           O serviço PoemService a ser injetado.
+     * @param likeService           O serviço LikeService a ser injetado.
+     * @param userRepository        O repositório UserRepository a ser injetado.
+     * @param trendingService       O serviço TrendingService a ser injetado.
+     * @param recommendationService O serviço RecommendationService a ser injetado.
+     * @param versionService        O serviço ResourceVersionService a ser injetado.
+     * @param responseCache         O cache JsonResponseCache a ser injetado.
+     * @param exportService         O serviço PoemExportService a ser injetado.
+     * @param importService         O serviço PoemImportService a ser injetado.
      */
-    public PoemController(PoemService poemService, LikeService likeService, UserRepository userRepository) {
+    public PoemController(PoemService poemService, LikeService likeService, UserRepository userRepository,
+                          TrendingService trendingService, RecommendationService recommendationService,
+                          ResourceVersionService versionService, JsonResponseCache responseCache,
+                          PoemExportService exportService, PoemImportService importService) {
         this.poemService = poemService;
         this.likeService = likeService;
         this.userRepository = userRepository;
+        this.trendingService = trendingService;
+        this.recommendationService = recommendationService;
+        this.versionService = versionService;
+        this.responseCache = responseCache;
+        this.exportService = exportService;
+        this.importService = importService;
     }
 
     /**
-     * Endpoint para listar todos os poemas.
-     * Mapeado para GET em "/api/poems".
+     * Endpoint para listar todos os poemas ou, com o parâmetro {@code ids}, buscar vários poemas de uma vez.
+     * Mapeado para GET em "/api/poems" e "/api/poems?ids=1,2,3".
+     * Com {@code ids}, os poemas são buscados com uma única consulta e devolvidos na ordem solicitada;
+     * IDs inexistentes são ignorados. Com {@code fields} (ex.: {@code fields=title,author,postDate}),
+     * apenas os campos solicitados (e o id) são lidos do banco e devolvidos.
+     * A lista completa é servida do cache já serializado e comprimido com gzip quando o cliente aceita,
+     * enquanto a versão da lista no banco não muda.
      *
-     * @return ResponseEntity contendo a lista de PoemDto com status 200 (OK).
+     * @param ids     Os IDs dos poemas a serem buscados (opcional, no máximo 100).
+     * @param fields  Os campos a serem devolvidos, separados por vírgula (opcional).
+     * @param request A requisição, usada para ler o cabeçalho Accept-Encoding.
+     * @return ResponseEntity contendo a lista de poemas com status 200 (OK), ou 400 se algum campo for inválido.
+     * @throws ResponseStatusException Se forem enviados IDs demais (status 400 - BAD_REQUEST).
      */
     @GetMapping
-    public ResponseEntity<List<PoemDto>> listPoems() {
-        return ResponseEntity.ok(poemService.listAll());
+    public ResponseEntity<?> listPoems(@RequestParam(required = false) List<Long> ids,
+                                       @RequestParam(required = false) String fields,
+                                       WebRequest request) {
+        if (ids != null && ids.size() > 100) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No máximo 100 ids por consulta");
+        }
+        if (fields != null) {
+            try {
+                return ResponseEntity.ok(poemService.listFields(fields, ids));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
+        if (ids != null) {
+            return ResponseEntity.ok(poemService.getByIds(ids));
+        }
+        return SerializedResponses.ok(responseCache.poems(poemService.listVersion(), poemService::listAll), POEM_CACHE, request);
     }
 
     /**
      * Endpoint para obter um poema específico por ID.
      * Mapeado para GET em "/api/poems/{id}".
+     * Com {@code fields}, apenas os campos solicitados (e o id) são lidos do banco e devolvidos.
+     * A resposta traz ETag e Last-Modified; se o cliente enviar If-None-Match com a versão atual,
+     * a resposta é 304 (Not Modified), decidida apenas pela versão em cache, sem carregar o poema.
      *
-     * @param id O ID do poema a ser obtido.
-     * @return ResponseEntity contendo o PoemDto do poema com o ID especificado com status 200 (OK).
+     * @param id      O ID do poema a ser obtido.
+     * @param fields  Os campos a serem devolvidos, separados por vírgula (opcional).
+     * @param request A requisição, usada para avaliar os cabeçalhos condicionais.
+     * @return ResponseEntity contendo o poema com o ID especificado com status 200 (OK),
+     *         304 se o cliente já tiver a versão atual, 400 se algum campo for inválido
+     *         ou 404 se o poema não existir.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<PoemDto> getPoem(@PathVariable Long id) {
-        return ResponseEntity.ok(poemService.getById(id));
+    public ResponseEntity<?> getPoem(@PathVariable Long id, @RequestParam(required = false) String fields,
+                                     WebRequest request) {
+        Optional<ResourceVersion> version = versionService.ofPoem(id);
+        if (version.isPresent()
+            && request.checkNotModified(version.get().etag(fields), version.get().lastModifiedMillis())) {
+            return null; // 304: os cabeçalhos já foram definidos por checkNotModified.
+        }
+        if (fields != null) {
+            try {
+                return ResponseEntity.ok().cacheControl(POEM_CACHE).body(poemService.getFields(id, fields));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
+        return ResponseEntity.ok().cacheControl(POEM_CACHE).body(poemService.getById(id, version.map(ResourceVersion::getTag).orElse(null)));
+    }
+
+    /**
+     * Endpoint para listar os poemas em alta, ordenados pela pontuação com decaimento temporal.
+     * Mapeado para GET em "/api/poems/trending".
+     *
+     * @param limit O número máximo de poemas (padrão 10).
+     * @return ResponseEntity contendo a lista de TrendingPoemDto com status 200 (OK).
+     */
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingPoemDto>> listTrending(@RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok().cacheControl(RANKING_CACHE).body(trendingService.getTrending(limit));
+    }
+
+    /**
+     * Endpoint para listar poemas sugeridos ao usuário autenticado, com base nas suas curtidas.
+     * Mapeado para GET em "/api/poems/recommended".
+     *
+     * @param limit O número máximo de poemas (padrão 10).
+     * @return ResponseEntity contendo a lista de RelatedPoemDto com status 200 (OK).
+     * @throws ResponseStatusException Se o usuário não estiver autenticado (status 401 - UNAUTHORIZED).
+     */
+    @GetMapping("/recommended")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<List<RelatedPoemDto>> listRecommended(@RequestParam(defaultValue = "10") int limit) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        Long userId = userRepository.findIdByUsername(auth.getName())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED));
+        return ResponseEntity.ok().cacheControl(PRIVATE_CACHE).body(recommendationService.suggestionsFor(userId, Math.min(limit, 50)));
+    }
+
+    /**
+     * Endpoint para listar os poemas curtidos por quem curtiu um poema ("quem curtiu também curtiu").
+     * Mapeado para GET em "/api/poems/{id}/related".
+     *
+     * @param id    O ID do poema de referência.
+     * @param limit O número máximo de poemas (padrão 10).
+     * @return ResponseEntity contendo a lista de RelatedPoemDto com status 200 (OK).
+     */
+    @GetMapping("/{id}/related")
+    public ResponseEntity<List<RelatedPoemDto>> listRelated(@PathVariable Long id,
+                                                            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok().cacheControl(RANKING_CACHE).body(recommendationService.related(id, Math.min(limit, 50)));
+    }
+
+    /**
+     * Endpoint para exportar todos os poemas em NDJSON (um poema por linha, em ordem de ID).
+     * Mapeado para GET em "/api/poems/export". Acesso restrito a administradores.
+     * A resposta é escrita em streaming, comprimida com gzip se o cliente aceitar; uma exportação
+     * interrompida pode ser retomada passando em {@code afterId} o último ID recebido.
+     *
+     * @param afterId  O último ID já recebido (padrão 0, desde o início).
+     * @param counts   Se true, inclui o número de curtidas e de comentários de cada poema.
+     * @param request  A requisição, usada para ler o cabeçalho Accept-Encoding.
+     * @param response A resposta, em cujo fluxo as linhas são escritas.
+     * @throws IOException Em caso de erro de escrita.
+     */
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void exportPoems(@RequestParam(defaultValue = "0") long afterId,
+                            @RequestParam(defaultValue = "false") boolean counts,
+                            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson;charset=UTF-8");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, PRIVATE_CACHE.getHeaderValue());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (SerializedResponses.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            try (OutputStream out = new GZIPOutputStream(response.getOutputStream(), 8192, true)) {
+                exportService.export(out, afterId, counts);
+            }
+        } else {
+            exportService.export(response.getOutputStream(), afterId, counts);
+        }
+    }
+
+    /**
+     * Endpoint para importar poemas em lote a partir de NDJSON (um PoemDto por linha).
+     * Mapeado para POST em "/api/poems/import". Acesso restrito a administradores.
+     * O corpo é lido em streaming; poemas com o mesmo título, autor e texto de um já existente são ignorados.
+     *
+     * @param request A requisição HTTP, da qual o corpo é lido.
+     * @return ResponseEntity contendo o resumo da importação.
+     * @throws IOException Em caso de erro de leitura do corpo.
+     */
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportResultDto> importPoems(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(importService.importPoems(request.getInputStream()));
     }
 
     /**
@@ -86,22 +278,32 @@ public class PoemController {
         // Obtém o objeto Authentication do contexto de segurança.
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String username = auth.getName(); // Obtém o nome de usuário do usuário autenticado.
-        // Busca o usuário no banco de dados pelo nome de usuário.
-        User user = userRepository.findByUsername(username)
+        // Busca apenas o ID do usuário pelo nome de usuário.
+        Long userId = userRepository.findIdByUsername(username)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED)); // Lança exceção se o usuário não for encontrado.
-        return ResponseEntity.ok(poemService.listLikedForUser(user.getId())); // Retorna a lista de poemas curtidos para o usuário.
+        return ResponseEntity.ok().cacheControl(PRIVATE_CACHE).body(poemService.listLikedForUser(userId)); // Retorna a lista de poemas curtidos para o usuário.
     }
 
     /**
      * Endpoint para criar ou atualizar um poema.
      * Mapeado para POST em "/api/poems".
+     * A atualização é condicional se o cliente enviar o cabeçalho If-Match com o ETag do poema
+     * (ou o campo {@code version}): se o poema tiver sido alterado desde então, a resposta é 412 e
+     * nada é gravado. Sem versão, a alteração é incondicional.
      *
-     * @param dto O PoemDto contendo os dados do poema a ser criado ou atualizado.
-     * @return ResponseEntity contendo o PoemDto do poema criado ou atualizado.
+     * @param dto     O PoemDto contendo os dados do poema a ser criado ou atualizado.
+     * @param ifMatch O ETag do poema que o cliente editou (opcional).
+     * @return ResponseEntity contendo o PoemDto do poema criado ou atualizado e o seu novo ETag,
+     *         412 se a versão não for a atual ou 409 se alterações concorrentes persistirem.
      */
     @PostMapping
-    public ResponseEntity<PoemDto> upsertPoem(@Valid @RequestBody PoemDto dto) { // @Valid para validar o DTO.
-        return ResponseEntity.ok(poemService.createOrUpdate(dto));
+    public ResponseEntity<PoemDto> upsertPoem(@Valid @RequestBody PoemDto dto, // @Valid para validar o DTO.
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (ifMatch != null) {
+            dto.setVersion(IfMatch.expectedVersion(ifMatch, "p", dto.getId())); // O cabeçalho tem precedência sobre o campo version.
+        }
+        PoemDto saved = poemService.createOrUpdate(dto);
+        return ResponseEntity.ok().eTag(IfMatch.etag("p", saved.getId(), saved.getVersion())).body(saved);
     }
 
     /**
@@ -123,7 +325,7 @@ public class PoemController {
      * Acesso restrito a usuários com role "USER" ou "ADMIN".
      *
      * @param id O ID do poema a ser curtido.
-     * @return ResponseEntity com status 200 (OK) indicando sucesso na operação.
+     * @return ResponseEntity com status 200 (OK) indicando sucesso na operação, ou 404 se o poema não existir.
      */
     @PostMapping("/{id}/like")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
@@ -176,10 +378,31 @@ public class PoemController {
         // Obtém o objeto Authentication do contexto de segurança.
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String username = auth.getName();  // Obtém o nome de usuário do usuário autenticado.
-        // Busca o usuário no banco de dados pelo nome de usuário.
-        User user = userRepository.findByUsername(username)
+        // Busca apenas o ID do usuário pelo nome de usuário; a resposta vem do índice em memória.
+        Long userId = userRepository.findIdByUsername(username)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED)); // Lança exceção se o usuário não for encontrado.
-        return ResponseEntity.ok(likeService.hasLiked(id, user.getId())); // Retorna se o usuário curtiu o poema.
+        return ResponseEntity.ok().cacheControl(PRIVATE_CACHE).body(likeService.hasLiked(id, userId)); // Retorna se o usuário curtiu o poema.
     }
-}
 
+    /**
+     * Endpoint para verificar, de uma só vez, quais poemas de uma lista o usuário autenticado curtiu.
+     * Mapeado para GET em "/api/poems/likes/user?ids=1,2,3".
+     * Acesso restrito a usuários com role "USER" ou "ADMIN".
+     *
+     * @param ids Os IDs dos poemas a serem verificados (no máximo 500).
+     * @return ResponseEntity contendo um mapa do ID de cada poema para um booleano indicando se o usuário o curtiu.
+     * @throws ResponseStatusException Se o usuário não estiver autenticado (status 401 - UNAUTHORIZED)
+     *                                 ou se forem enviados IDs demais (status 400 - BAD_REQUEST).
+     */
+    @GetMapping("/likes/user")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<Map<Long, Boolean>> hasUserLikedAll(@RequestParam List<Long> ids) {
+        if (ids.size() > 500) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No máximo 500 ids por consulta");
+        }
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        Long userId = userRepository.findIdByUsername(auth.getName())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED)); // Lança exceção se o usuário não for encontrado.
+        return ResponseEntity.ok().cacheControl(PRIVATE_CACHE).body(likeService.hasLiked(ids, userId));
+    }
+}
@@ -0,0 +1,47 @@
+package project.poem.api.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import project.poem.infrastructure.metrics.PoolMetrics;
+
+/**
+ * Controlador REST do estado dos pools de conexões (restrito a administradores).
+ * Este controlador expõe endpoints sob o caminho base "/api/admin/pool".
+ */
+@RestController
+@RequestMapping("/api/admin/pool")
+public class PoolController {
+
+    private final PoolMetrics poolMetrics;
+
+    /**
+     * Construtor para injetar a dependência de PoolMetrics.
+     *
+     * @param poolMetrics As medições dos pools de conexões.
+     */
+    public PoolController(PoolMetrics poolMetrics) {
+        this.poolMetrics = poolMetrics;
+    }
+
+    /**
+     * Retorna, para cada pool, as conexões ativas, livres e as threads na fila, o histograma da espera
+     * por uma conexão e o tempo de uso das conexões, além dos vazamentos detectados por método de serviço.
+     * Endpoint: GET /api/admin/pool
+     *
+     * @return ResponseEntity com "pools" e "leaks".
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> stats() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("pools", poolMetrics.snapshot());
+        body.put("leaks", poolMetrics.leaks());
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(body);
+    }
+}
@@ -1,16 +1,20 @@
 package project.poem.api.controller;
 
-import java.util.List;
-
 import javax.validation.Valid;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PagedModel;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import project.poem.application.dto.ProfileDto;
@@ -40,14 +44,38 @@ public class ProfileController {
     }
 
     /**
-     * Endpoint para listar todos os perfis.
-     * Retorna uma lista de objetos ProfileDto representando os perfis.
+     * Endpoint para listar os perfis.
+     * Retorna apenas a primeira página do diretório (ou a página pedida), nunca o diretório inteiro;
+     * para os metadados de paginação, use {@code GET /api/profile/page}.
      *
-     * @return ResponseEntity contendo a lista de perfis.
+     * @param pageable Parâmetros de paginação (page, size), com tamanho limitado pelo serviço.
+     * @return ResponseEntity contendo a lista de perfis da página, ou 400 se a ordenação for inválida.
      */
     @GetMapping
-    public ResponseEntity<List<ProfileDto>> listProfiles() {
-        return ResponseEntity.ok(profileService.listAll());
+    public ResponseEntity<?> listProfiles(@PageableDefault(size = 20) Pageable pageable) {
+        try {
+            return ResponseEntity.ok(profileService.search(null, pageable).getContent());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Endpoint para buscar uma página do diretório de perfis.
+     * Exemplo: {@code GET /api/profile/page?q=mar&page=0&size=20&sort=lastName,asc}
+     *
+     * @param q        Prefixo do primeiro nome, último nome ou email (opcional).
+     * @param pageable Parâmetros de paginação e ordenação (page, size, sort).
+     * @return ResponseEntity contendo a página de perfis, ou 400 se a ordenação for inválida.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<?> searchProfiles(@RequestParam(required = false) String q,
+                                            @PageableDefault(size = 20) Pageable pageable) {
+        try {
+            return ResponseEntity.ok(new PagedModel<>(profileService.search(q, pageable)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     /**
@@ -70,12 +98,19 @@ public class ProfileController {
     /**
      * Endpoint para criar ou atualizar um perfil.
      * Recebe os dados do perfil no corpo da requisição e tenta criar ou atualizar o perfil correspondente.
+     * Com o cabeçalho If-Match (ou o campo {@code version}), a atualização só é aplicada se o perfil
+     * ainda estiver na versão informada; caso contrário a resposta é 412.
      *
-     * @param dto Objeto DTO contendo os dados do perfil a ser criado ou atualizado.
+     * @param dto     Objeto DTO contendo os dados do perfil a ser criado ou atualizado.
+     * @param ifMatch A versão do perfil que o cliente editou (opcional).
      * @return ResponseEntity contendo o perfil criado ou atualizado.
      */
     @PostMapping
-    public ResponseEntity<ProfileDto> upsertProfile(@Valid @RequestBody ProfileDto dto) {
+    public ResponseEntity<ProfileDto> upsertProfile(@Valid @RequestBody ProfileDto dto,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (ifMatch != null) {
+            dto.setVersion(IfMatch.expectedVersion(ifMatch, null, null));
+        }
         return ResponseEntity.ok(profileService.createOrUpdate(dto));
     }
 
@@ -0,0 +1,59 @@
+package project.poem.api.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import project.poem.application.dto.SerializedJson;
+
+/**
+ * Monta as respostas a partir de um JSON já serializado, escolhendo a versão comprimida
+ * quando o cliente aceita gzip. Como a resposta já sai com Content-Encoding, a compressão
+ * do servidor não a comprime novamente.
+ */
+final class SerializedResponses {
+
+    private SerializedResponses() {
+    }
+
+    /**
+     * Monta a resposta 200 (OK) com o JSON serializado.
+     *
+     * @param body         O JSON serializado.
+     * @param cacheControl O cabeçalho Cache-Control da rota.
+     * @param request      A requisição, usada para ler o cabeçalho Accept-Encoding.
+     * @return ResponseEntity com os bytes do JSON, comprimidos ou não.
+     */
+    static ResponseEntity<byte[]> ok(SerializedJson body, CacheControl cacheControl, WebRequest request) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                                                            .cacheControl(cacheControl)
+                                                            .contentType(MediaType.APPLICATION_JSON)
+                                                            .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (body.getGzip() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.getGzip());
+        }
+        return response.body(body.getJson());
+    }
+
+    /**
+     * Verifica se o cabeçalho Accept-Encoding aceita gzip (ignorando a forma {@code gzip;q=0}).
+     *
+     * @param acceptEncoding O valor do cabeçalho Accept-Encoding (pode ser nulo).
+     * @return true se o cliente aceitar respostas comprimidas com gzip.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase("gzip") || name.equals("*")) {
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,60 @@
+package project.poem.api.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import project.poem.application.dto.SyncDto;
+import project.poem.application.service.SyncService;
+
+/**
+ * Controlador REST da sincronização incremental.
+ * Este controlador expõe endpoints sob o caminho base "/api/sync".
+ */
+@RestController
+@RequestMapping("/api/sync")
+public class SyncController {
+
+    /**
+     * Número máximo de registros de cada tipo por resposta.
+     */
+    private static final int MAX_LIMIT = 1000;
+
+    private final SyncService syncService;
+
+    /**
+     * Construtor para injetar a dependência de SyncService.
+     *
+     * @param syncService O serviço de sincronização.
+     */
+    public SyncController(SyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    /**
+     * Retorna os poemas, comentários e curtidas alterados e os registros excluídos desde a marca d'água.
+     * Endpoint: GET /api/sync?since=&lt;marca d'água&gt;&amp;limit=500
+     *
+     * @param since A marca d'água da sincronização anterior; omitida na carga inicial.
+     * @param limit O número máximo de registros de cada tipo (até 1000).
+     * @return ResponseEntity com as alterações e a nova marca d'água, ou 400 se a marca d'água ou o limite
+     *         forem inválidos.
+     */
+    @GetMapping
+    public ResponseEntity<?> sync(@RequestParam(defaultValue = "0") String since,
+                                  @RequestParam(defaultValue = "500") int limit) {
+        if (limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok()
+                                 .cacheControl(CacheControl.noStore())
+                                 .body(syncService.changesSince(since, Math.min(limit, MAX_LIMIT)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -4,6 +4,7 @@ import org.springframework.stereotype.Component;
 
 import project.poem.application.dto.UserDto;
 import project.poem.domain.model.User;
+import project.poem.domain.repository.UserSummary;
 
 @Component // Indica que esta classe é um componente Spring, tornando-a disponível para injeção de dependência.
 public class UserMapper {
@@ -22,6 +23,20 @@ public class UserMapper {
         return dto;                         // Retorna o DTO preenchido.
     }
 
+    /**
+     * Converte uma projeção UserSummary para um DTO UserDto.
+     * @param user A projeção do usuário a ser convertida.
+     * @return Um DTO UserDto representando o usuário.
+     */
+    public UserDto toDto(UserSummary user) {
+        UserDto dto = new UserDto();
+        dto.setId(user.getId());
+        dto.setUsername(user.getUsername());
+        dto.setEmail(user.getEmail());
+        dto.setRole(user.getRole().name());
+        return dto;
+    }
+
     /**
      * Converte um DTO UserDto para uma entidade User.
      * @param dto O DTO UserDto a ser convertido.
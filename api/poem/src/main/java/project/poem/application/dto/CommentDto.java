@@ -3,6 +3,7 @@ package project.poem.application.dto;
 import java.time.LocalDate;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 /**
  * Data Transfer Object (DTO) para representar os dados de um comentário em um poema.
@@ -21,6 +22,18 @@ public class CommentDto {
     private LocalDate commentDate;
     private Long poemId;
 
+    /**
+     * Versão do comentário. Ao atualizar, se informada, o comentário só é alterado se ainda estiver nesta versão.
+     */
+    private Long version;
+
+    /**
+     * Motivo pelo qual um comentário aceito pela gravação assíncrona não foi gravado. Presente apenas na
+     * lista vista pelo autor; omitido do JSON nos demais comentários.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String rejection;
+
     // Getters e Setters
 
     /**
@@ -112,4 +125,40 @@ public class CommentDto {
     public void setPoemId(Long poemId) {
         this.poemId = poemId;
     }
+
+    /**
+     * Obtém a versão do comentário.
+     *
+     * @return A versão do comentário.
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * Define a versão do comentário (a versão esperada, ao atualizar).
+     *
+     * @param version A versão do comentário a ser definida.
+     */
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    /**
+     * Obtém o motivo pelo qual o comentário não foi gravado.
+     *
+     * @return O motivo, ou null se o comentário foi (ou ainda será) gravado.
+     */
+    public String getRejection() {
+        return rejection;
+    }
+
+    /**
+     * Define o motivo pelo qual o comentário não foi gravado.
+     *
+     * @param rejection O motivo a ser definido.
+     */
+    public void setRejection(String rejection) {
+        this.rejection = rejection;
+    }
 }
@@ -0,0 +1,106 @@
+package project.poem.application.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) com o resumo de uma importação em lote.
+ * Contém os contadores de registros lidos, importados, duplicados e rejeitados,
+ * além de uma amostra limitada das mensagens de erro.
+ */
+public class ImportResultDto {
+
+    /**
+     * Quantidade máxima de mensagens de erro mantidas no resumo.
+     */
+    public static final int MAX_ERRORS = 100;
+
+    private long read;
+    private long imported;
+    private long duplicates;
+    private long rejected;
+    private final List<String> errors = new ArrayList<>();
+
+    /**
+     * Obtém o número de registros lidos da entrada.
+     *
+     * @return O número de registros lidos.
+     */
+    public long getRead() {
+        return read;
+    }
+
+    /**
+     * Incrementa o número de registros lidos.
+     */
+    public void incrementRead() {
+        read++;
+    }
+
+    /**
+     * Obtém o número de registros inseridos no banco de dados.
+     *
+     * @return O número de registros importados.
+     */
+    public long getImported() {
+        return imported;
+    }
+
+    /**
+     * Soma registros inseridos ao total importado.
+     *
+     * @param count O número de registros inseridos.
+     */
+    public void addImported(long count) {
+        imported += count;
+    }
+
+    /**
+     * Obtém o número de registros ignorados por já existirem.
+     *
+     * @return O número de registros duplicados.
+     */
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    /**
+     * Soma registros duplicados ao total.
+     *
+     * @param count O número de registros duplicados.
+     */
+    public void addDuplicates(long count) {
+        duplicates += count;
+    }
+
+    /**
+     * Obtém o número de registros rejeitados por erro de validação ou de gravação.
+     *
+     * @return O número de registros rejeitados.
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Registra a rejeição de registros, guardando a mensagem enquanto houver espaço.
+     *
+     * @param count   O número de registros rejeitados.
+     * @param message A mensagem que descreve o motivo da rejeição.
+     */
+    public void reject(long count, String message) {
+        rejected += count;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(message);
+        }
+    }
+
+    /**
+     * Obtém as mensagens de erro (no máximo {@value #MAX_ERRORS}).
+     *
+     * @return A lista de mensagens de erro.
+     */
+    public List<String> getErrors() {
+        return errors;
+    }
+}
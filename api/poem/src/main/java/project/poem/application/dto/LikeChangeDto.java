@@ -0,0 +1,36 @@
+package project.poem.application.dto;
+
+/**
+ * Data Transfer Object (DTO) de uma curtida na sincronização incremental.
+ * Não identifica o usuário que curtiu, pois a sincronização é pública.
+ */
+public class LikeChangeDto {
+
+    private final Long id;
+    private final Long poemId;
+
+    /**
+     * Cria o DTO de uma curtida.
+     *
+     * @param id     O ID da curtida.
+     * @param poemId O ID do poema curtido.
+     */
+    public LikeChangeDto(Long id, Long poemId) {
+        this.id = id;
+        this.poemId = poemId;
+    }
+
+    /**
+     * Obtém o ID da curtida.
+     *
+     * @return O ID da curtida.
+     */
+    public Long getId() { return id; }
+
+    /**
+     * Obtém o ID do poema curtido.
+     *
+     * @return O ID do poema.
+     */
+    public Long getPoemId() { return poemId; }
+}
@@ -22,6 +22,11 @@ public class PoemDto {
     @JsonFormat(pattern = "dd/MM/yyyy")
     private LocalDate postDate;
 
+    /**
+     * Versão do poema. Ao atualizar, se informada, o poema só é alterado se ainda estiver nesta versão.
+     */
+    private Long version;
+
     /**
      * Obtém o ID do poema.
      *
@@ -105,4 +110,18 @@ public class PoemDto {
      * @param postDate A data de publicação do poema a ser definida.
      */
     public void setPostDate(LocalDate postDate) { this.postDate = postDate; }
-}
\ No newline at end of file
+
+    /**
+     * Obtém a versão do poema.
+     *
+     * @return A versão do poema.
+     */
+    public Long getVersion() { return version; }
+
+    /**
+     * Define a versão do poema (a versão esperada, ao atualizar).
+     *
+     * @param version A versão do poema a ser definida.
+     */
+    public void setVersion(Long version) { this.version = version; }
+}
@@ -0,0 +1,92 @@
+package project.poem.application.dto;
+
+import java.util.Map;
+
+/**
+ * Data Transfer Object (DTO) com o estado de um pool de conexões e os tempos de espera e de uso
+ * das conexões desde o início da aplicação.
+ */
+public class PoolStatsDto {
+
+    private final String pool;
+    private final int active;
+    private final int idle;
+    private final int pending;
+    private final int maxPoolSize;
+    private final long acquired;
+    private final long timeouts;
+    private final double acquireP50Ms;
+    private final double acquireP99Ms;
+    private final Map<String, Long> acquireHistogram;
+    private final double usageP50Ms;
+    private final double usageP99Ms;
+
+    /**
+     * Cria o DTO de um pool.
+     *
+     * @param pool             O nome do pool.
+     * @param active           Conexões em uso.
+     * @param idle             Conexões livres.
+     * @param pending          Threads esperando uma conexão.
+     * @param maxPoolSize      Tamanho máximo atual do pool.
+     * @param acquired         Número de conexões obtidas.
+     * @param timeouts         Número de esperas que excederam o tempo limite.
+     * @param acquireP50Ms     Mediana da espera por uma conexão, em milissegundos.
+     * @param acquireP99Ms     Percentil 99 da espera por uma conexão, em milissegundos.
+     * @param acquireHistogram Histograma da espera por uma conexão.
+     * @param usageP50Ms       Mediana do tempo de uso de uma conexão, em milissegundos.
+     * @param usageP99Ms       Percentil 99 do tempo de uso de uma conexão, em milissegundos.
+     */
+    public PoolStatsDto(String pool, int active, int idle, int pending, int maxPoolSize, long acquired, long timeouts,
+                        double acquireP50Ms, double acquireP99Ms, Map<String, Long> acquireHistogram,
+                        double usageP50Ms, double usageP99Ms) {
+        this.pool = pool;
+        this.active = active;
+        this.idle = idle;
+        this.pending = pending;
+        this.maxPoolSize = maxPoolSize;
+        this.acquired = acquired;
+        this.timeouts = timeouts;
+        this.acquireP50Ms = acquireP50Ms;
+        this.acquireP99Ms = acquireP99Ms;
+        this.acquireHistogram = acquireHistogram;
+        this.usageP50Ms = usageP50Ms;
+        this.usageP99Ms = usageP99Ms;
+    }
+
+    /** @return O nome do pool. */
+    public String getPool() { return pool; }
+
+    /** @return Conexões em uso. */
+    public int getActive() { return active; }
+
+    /** @return Conexões livres. */
+    public int getIdle() { return idle; }
+
+    /** @return Threads esperando uma conexão. */
+    public int getPending() { return pending; }
+
+    /** @return Tamanho máximo atual do pool. */
+    public int getMaxPoolSize() { return maxPoolSize; }
+
+    /** @return Número de conexões obtidas. */
+    public long getAcquired() { return acquired; }
+
+    /** @return Número de esperas que excederam o tempo limite. */
+    public long getTimeouts() { return timeouts; }
+
+    /** @return Mediana da espera por uma conexão, em milissegundos. */
+    public double getAcquireP50Ms() { return acquireP50Ms; }
+
+    /** @return Percentil 99 da espera por uma conexão, em milissegundos. */
+    public double getAcquireP99Ms() { return acquireP99Ms; }
+
+    /** @return Histograma da espera por uma conexão, pelo limite superior de cada faixa. */
+    public Map<String, Long> getAcquireHistogram() { return acquireHistogram; }
+
+    /** @return Mediana do tempo de uso de uma conexão, em milissegundos. */
+    public double getUsageP50Ms() { return usageP50Ms; }
+
+    /** @return Percentil 99 do tempo de uso de uma conexão, em milissegundos. */
+    public double getUsageP99Ms() { return usageP99Ms; }
+}
@@ -39,6 +39,11 @@ public class ProfileDto {
     @NotBlank
     private String userEmail;
 
+    /**
+     * Versão do perfil. Ao atualizar, se informada, o perfil só é alterado se ainda estiver nesta versão.
+     */
+    private Long version;
+
     /**
      * Obtém o primeiro nome.
      *
@@ -94,4 +99,18 @@ public class ProfileDto {
      * @param userEmail O email do usuário a ser definido.
      */
     public void setUserEmail(String userEmail) { this.userEmail = userEmail; }
-}
\ No newline at end of file
+
+    /**
+     * Obtém a versão do perfil.
+     *
+     * @return A versão do perfil, ou null se não for conhecida.
+     */
+    public Long getVersion() { return version; }
+
+    /**
+     * Define a versão do perfil (a versão esperada, ao atualizar).
+     *
+     * @param version A versão do perfil a ser definida.
+     */
+    public void setVersion(Long version) { this.version = version; }
+}
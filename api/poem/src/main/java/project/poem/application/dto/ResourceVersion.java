@@ -0,0 +1,53 @@
+package project.poem.application.dto;
+
+import java.time.Instant;
+
+/**
+ * Versão de um recurso HTTP, usada para gerar os cabeçalhos ETag e Last-Modified
+ * e responder a requisições condicionais.
+ */
+public class ResourceVersion {
+
+    private final String tag;
+    private final Instant lastModified;
+
+    /**
+     * Cria uma nova versão de recurso.
+     *
+     * @param tag          Identificador da versão (sem aspas), ex.: {@code p12v3}.
+     * @param lastModified Instante da última alteração (pode ser nulo).
+     */
+    public ResourceVersion(String tag, Instant lastModified) {
+        this.tag = tag;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Obtém o identificador da versão.
+     * @return O identificador (sem aspas), ex.: {@code p12v3}.
+     */
+    public String getTag() {
+        return tag;
+    }
+
+    /**
+     * Monta o ETag forte do recurso. Representações diferentes do mesmo recurso (por exemplo,
+     * com o parâmetro {@code fields}) recebem ETags diferentes.
+     *
+     * @param variant Identificador da representação (pode ser nulo para a representação completa).
+     * @return O ETag entre aspas.
+     */
+    public String etag(String variant) {
+        return variant == null
+               ? "\"" + tag + "\""
+               : "\"" + tag + "-" + Integer.toHexString(variant.hashCode()) + "\"";
+    }
+
+    /**
+     * Obtém o instante da última alteração em milissegundos.
+     * @return Os milissegundos desde a época, ou -1 se desconhecido.
+     */
+    public long lastModifiedMillis() {
+        return lastModified != null ? lastModified.toEpochMilli() : -1;
+    }
+}
@@ -0,0 +1,46 @@
+package project.poem.application.dto;
+
+/**
+ * Resposta JSON já serializada, guardada também comprimida com gzip quando o tamanho compensa.
+ * Permite responder às leituras repetidas sem passar pelo Jackson nem comprimir novamente.
+ */
+public class SerializedJson {
+
+    private final byte[] json;
+    private final byte[] gzip;
+
+    /**
+     * Cria uma resposta serializada.
+     *
+     * @param json O JSON em UTF-8.
+     * @param gzip O mesmo JSON comprimido com gzip, ou nulo se for pequeno demais para comprimir.
+     */
+    public SerializedJson(byte[] json, byte[] gzip) {
+        this.json = json;
+        this.gzip = gzip;
+    }
+
+    /**
+     * Obtém o JSON sem compressão.
+     * @return Os bytes do JSON em UTF-8.
+     */
+    public byte[] getJson() {
+        return json;
+    }
+
+    /**
+     * Obtém o JSON comprimido com gzip.
+     * @return Os bytes comprimidos, ou nulo se a resposta não foi comprimida.
+     */
+    public byte[] getGzip() {
+        return gzip;
+    }
+
+    /**
+     * Estima a memória ocupada pela resposta.
+     * @return O número aproximado de bytes.
+     */
+    public long memoryBytes() {
+        return json.length + (gzip != null ? gzip.length : 0) + 48;
+    }
+}
@@ -0,0 +1,68 @@
+package project.poem.application.dto;
+
+/**
+ * Resposta HTTP guardada para ser repetida a uma requisição duplicada (mesma chave de idempotência).
+ * Guarda apenas o necessário para reproduzir a resposta: status, tipo do conteúdo, ETag e corpo.
+ */
+public class StoredResponse {
+
+    private final int status;
+    private final String contentType;
+    private final String etag;
+    private final byte[] body;
+
+    /**
+     * Cria uma resposta guardada.
+     *
+     * @param status      O status HTTP.
+     * @param contentType O tipo do conteúdo, ou nulo se a resposta não tiver corpo.
+     * @param etag        O cabeçalho ETag, ou nulo.
+     * @param body        O corpo da resposta.
+     */
+    public StoredResponse(int status, String contentType, String etag, byte[] body) {
+        this.status = status;
+        this.contentType = contentType;
+        this.etag = etag;
+        this.body = body;
+    }
+
+    /**
+     * Obtém o status HTTP.
+     * @return O status.
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Obtém o tipo do conteúdo.
+     * @return O tipo do conteúdo, ou nulo.
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Obtém o cabeçalho ETag.
+     * @return O ETag, ou nulo.
+     */
+    public String getEtag() {
+        return etag;
+    }
+
+    /**
+     * Obtém o corpo da resposta.
+     * @return Os bytes do corpo.
+     */
+    public byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * Estima a memória ocupada pela resposta.
+     * @return O número aproximado de bytes.
+     */
+    public long memoryBytes() {
+        return body.length + 96;
+    }
+}
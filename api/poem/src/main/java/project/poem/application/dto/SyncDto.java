@@ -0,0 +1,113 @@
+package project.poem.application.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) com as alterações ocorridas desde uma marca d'água.
+ * O cliente aplica as alterações (substituindo os registros pelo ID e removendo os excluídos)
+ * e envia a nova marca d'água na próxima sincronização.
+ */
+public class SyncDto {
+
+    /**
+     * Marca d'água a ser enviada na próxima sincronização: o instante em microssegundos desde a época,
+     * seguido, quando necessário, dos últimos IDs já retornados nesse instante (ex.: {@code 1767225600000000:12:0:0:0}).
+     * O cliente deve tratá-la como um valor opaco.
+     */
+    private String watermark;
+
+    /**
+     * Indica que há mais alterações além das retornadas; o cliente deve sincronizar novamente
+     * com a nova marca d'água.
+     */
+    private boolean hasMore;
+
+    private List<PoemDto> poems;
+    private List<CommentDto> comments;
+    private List<LikeChangeDto> likes;
+    private List<TombstoneDto> deleted;
+
+    /**
+     * Obtém a marca d'água da próxima sincronização.
+     *
+     * @return A marca d'água.
+     */
+    public String getWatermark() { return watermark; }
+
+    /**
+     * Define a marca d'água da próxima sincronização.
+     *
+     * @param watermark A marca d'água.
+     */
+    public void setWatermark(String watermark) { this.watermark = watermark; }
+
+    /**
+     * Indica se há mais alterações a sincronizar.
+     *
+     * @return true se a resposta foi limitada.
+     */
+    public boolean isHasMore() { return hasMore; }
+
+    /**
+     * Define se há mais alterações a sincronizar.
+     *
+     * @param hasMore true se a resposta foi limitada.
+     */
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+
+    /**
+     * Obtém os poemas criados ou alterados.
+     *
+     * @return Os poemas alterados.
+     */
+    public List<PoemDto> getPoems() { return poems; }
+
+    /**
+     * Define os poemas criados ou alterados.
+     *
+     * @param poems Os poemas alterados.
+     */
+    public void setPoems(List<PoemDto> poems) { this.poems = poems; }
+
+    /**
+     * Obtém os comentários criados ou alterados.
+     *
+     * @return Os comentários alterados.
+     */
+    public List<CommentDto> getComments() { return comments; }
+
+    /**
+     * Define os comentários criados ou alterados.
+     *
+     * @param comments Os comentários alterados.
+     */
+    public void setComments(List<CommentDto> comments) { this.comments = comments; }
+
+    /**
+     * Obtém as curtidas criadas.
+     *
+     * @return As curtidas criadas.
+     */
+    public List<LikeChangeDto> getLikes() { return likes; }
+
+    /**
+     * Define as curtidas criadas.
+     *
+     * @param likes As curtidas criadas.
+     */
+    public void setLikes(List<LikeChangeDto> likes) { this.likes = likes; }
+
+    /**
+     * Obtém os registros excluídos.
+     *
+     * @return Os registros excluídos.
+     */
+    public List<TombstoneDto> getDeleted() { return deleted; }
+
+    /**
+     * Define os registros excluídos.
+     *
+     * @param deleted Os registros excluídos.
+     */
+    public void setDeleted(List<TombstoneDto> deleted) { this.deleted = deleted; }
+}
@@ -0,0 +1,47 @@
+package project.poem.application.dto;
+
+import project.poem.domain.model.Tombstone;
+
+/**
+ * Data Transfer Object (DTO) de um registro excluído na sincronização incremental.
+ */
+public class TombstoneDto {
+
+    private final Tombstone.Type type;
+    private final Long id;
+    private final Long poemId;
+
+    /**
+     * Cria o DTO de um registro excluído.
+     *
+     * @param type   O tipo do registro (POEM, COMMENT ou LIKE).
+     * @param id     O ID do registro excluído.
+     * @param poemId O ID do poema ao qual o registro pertencia.
+     */
+    public TombstoneDto(Tombstone.Type type, Long id, Long poemId) {
+        this.type = type;
+        this.id = id;
+        this.poemId = poemId;
+    }
+
+    /**
+     * Obtém o tipo do registro excluído.
+     *
+     * @return O tipo do registro.
+     */
+    public Tombstone.Type getType() { return type; }
+
+    /**
+     * Obtém o ID do registro excluído.
+     *
+     * @return O ID do registro.
+     */
+    public Long getId() { return id; }
+
+    /**
+     * Obtém o ID do poema ao qual o registro pertencia.
+     *
+     * @return O ID do poema.
+     */
+    public Long getPoemId() { return poemId; }
+}
@@ -0,0 +1,112 @@
+package project.poem.application.dto;
+
+import java.time.LocalDate;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+/**
+ * Data Transfer Object (DTO) para um poema da prateleira "em alta".
+ * Não inclui o texto do poema, apenas os dados exibidos na prateleira e a pontuação.
+ */
+public class TrendingPoemDto {
+
+    private Long id;
+    private String title;
+    private String author;
+    private String imageUrl;
+
+    /**
+     * Data de publicação do poema, formatada como "dd/MM/yyyy" ao ser serializada para JSON.
+     */
+    @JsonFormat(pattern = "dd/MM/yyyy")
+    private LocalDate postDate;
+
+    /**
+     * Pontuação do poema com decaimento exponencial no tempo, no instante em que o ranking foi montado.
+     */
+    private double score;
+
+    /**
+     * Obtém o ID do poema.
+     *
+     * @return O ID do poema.
+     */
+    public Long getId() { return id; }
+
+    /**
+     * Define o ID do poema.
+     *
+     * @param id O ID do poema a ser definido.
+     */
+    public void setId(Long id) { this.id = id; }
+
+    /**
+     * Obtém o título do poema.
+     *
+     * @return O título do poema.
+     */
+    public String getTitle() { return title; }
+
+    /**
+     * Define o título do poema.
+     *
+     * @param title O título do poema a ser definido.
+     */
+    public void setTitle(String title) { this.title = title; }
+
+    /**
+     * Obtém o autor do poema.
+     *
+     * @return O autor do poema.
+     */
+    public String getAuthor() { return author; }
+
+    /**
+     * Define o autor do poema.
+     *
+     * @param author O autor do poema a ser definido.
+     */
+    public void setAuthor(String author) { this.author = author; }
+
+    /**
+     * Obtém a URL da imagem do poema.
+     *
+     * @return A URL da imagem.
+     */
+    public String getImageUrl() { return imageUrl; }
+
+    /**
+     * Define a URL da imagem do poema.
+     *
+     * @param imageUrl A URL da imagem a ser definida.
+     */
+    public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
+
+    /**
+     * Obtém a data de publicação do poema.
+     *
+     * @return A data de publicação.
+     */
+    public LocalDate getPostDate() { return postDate; }
+
+    /**
+     * Define a data de publicação do poema.
+     *
+     * @param postDate A data de publicação a ser definida.
+     */
+    public void setPostDate(LocalDate postDate) { this.postDate = postDate; }
+
+    /**
+     * Obtém a pontuação do poema.
+     *
+     * @return A pontuação.
+     */
+    public double getScore() { return score; }
+
+    /**
+     * Define a pontuação do poema.
+     *
+     * @param score A pontuação a ser definida.
+     */
+    public void setScore(double score) { this.score = score; }
+}
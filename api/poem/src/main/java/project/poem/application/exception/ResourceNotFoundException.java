@@ -0,0 +1,29 @@
+package project.poem.application.exception;
+
+/**
+ * Exceção lançada quando um recurso referenciado por uma requisição não existe.
+ * Tratada por {@code GlobalExceptionHandler}, que responde com status 404 (Not Found).
+ * Nas gravações que apenas referenciam outro registro (como o poema de um comentário), é obtida
+ * a partir da violação da chave estrangeira, sem consultar o registro antes.
+ */
+public class ResourceNotFoundException extends RuntimeException {
+
+    /**
+     * Construtor que recebe uma mensagem detalhada sobre a exceção.
+     *
+     * @param message A mensagem que descreve o recurso não encontrado.
+     */
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+
+    /**
+     * Construtor que recebe a mensagem e a exceção que revelou a ausência do recurso.
+     *
+     * @param message A mensagem que descreve o recurso não encontrado.
+     * @param cause   A exceção original (por exemplo, a violação da chave estrangeira).
+     */
+    public ResourceNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
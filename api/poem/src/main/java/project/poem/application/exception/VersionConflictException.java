@@ -0,0 +1,18 @@
+package project.poem.application.exception;
+
+/**
+ * Exceção lançada quando uma alteração condicional (campo {@code version} ou cabeçalho If-Match)
+ * informa uma versão diferente da versão atual do recurso, isto é, o cliente editou uma cópia desatualizada.
+ * Tratada por {@code GlobalExceptionHandler}, que responde com status 412 (Precondition Failed).
+ */
+public class VersionConflictException extends RuntimeException {
+
+    /**
+     * Construtor que recebe uma mensagem detalhada sobre a exceção.
+     *
+     * @param message A mensagem que descreve o conflito.
+     */
+    public VersionConflictException(String message) {
+        super(message);
+    }
+}
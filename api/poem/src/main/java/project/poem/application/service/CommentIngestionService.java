@@ -0,0 +1,554 @@
+package project.poem.application.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+import project.poem.application.dto.CommentDto;
+import project.poem.application.exception.ResourceNotFoundException;
+import project.poem.domain.event.PoemActivityEvent;
+import project.poem.domain.model.IdSequences;
+import project.poem.domain.repository.CommentRepository;
+import project.poem.domain.repository.PoemRepository;
+import project.poem.infrastructure.log.AppendOnlyLog;
+import project.poem.infrastructure.security.Roles;
+
+/**
+ * Serviço de gravação assíncrona (write-behind) de comentários, usado nos picos de comentários.
+ * Opcional: ativado com {@code comments.write-behind.enabled=true}.
+ * <p>
+ * Cada comentário é validado, gravado em um log local somente de acréscimo (com fsync) e colocado
+ * em uma fila em memória limitada; a requisição é confirmada sem acessar o banco. Os fsyncs de
+ * requisições simultâneas são agrupados e feitos fora da trava de envio. Uma thread de
+ * fundo esvazia a fila e grava os comentários em lotes JDBC, uma transação por lote. Na
+ * inicialização, os comentários do log ainda não gravados são reaplicados; o identificador de cada
+ * comentário ({@code ingest_id}, único) impede que um comentário seja gravado duas vezes.
+ * <p>
+ * Após cada lote, o log recebe a confirmação do último comentário gravado; quando passa de
+ * {@link #COMPACT_BYTES}, é reescrito apenas com os comentários ainda na fila.
+ * <p>
+ * Enquanto um comentário está na fila, ele é incluído na lista de comentários do poema vista pelo
+ * seu autor, que assim sempre lê o que acabou de escrever. Um comentário recusado pelo banco ao ser
+ * gravado (por exemplo, porque o poema foi excluído depois da confirmação) continua nessa lista por
+ * {@link #REJECTED_TTL_MS}, com o motivo em {@link CommentDto#getRejection()}.
+ */
+@Service
+public class CommentIngestionService {
+
+    private static final Logger log = LoggerFactory.getLogger(CommentIngestionService.class);
+
+    private static final String INSERT_SQL =
+        "insert into comments (id, author, content, comment_date, poem_id, version, updated_at, created_at, ingest_id) "
+      + "values (?, ?, ?, ?, ?, 0, ?, ?, ?)";
+
+    /**
+     * Espera antes de tentar novamente um lote que falhou por erro do banco.
+     */
+    private static final long RETRY_DELAY_MS = 1000;
+
+    /**
+     * Tempo durante o qual um comentário recusado continua visível para o seu autor.
+     */
+    static final long REJECTED_TTL_MS = TimeUnit.HOURS.toMillis(1);
+
+    /**
+     * Número máximo de comentários recusados guardados por autor; os mais antigos dão lugar aos novos.
+     */
+    private static final int MAX_REJECTED_PER_AUTHOR = 20;
+
+    /**
+     * Tamanho do log a partir do qual ele é compactado, mesmo com comentários na fila.
+     */
+    static final long COMPACT_BYTES = 4L * 1024 * 1024;
+
+    private final boolean enabled;
+    private final int capacity;
+    private final int batchSize;
+    private final Path logFile;
+    private final CommentRepository commentRepo;
+    private final PoemRepository poemRepo;
+    private final IdSequenceService idSequences;
+    private final ResourceVersionService versionService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher events;
+
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    /**
+     * Comentários na fila por autor, pelo identificador, para a leitura do próprio autor.
+     */
+    private final Map<String, Map<String, Entry>> pendingByAuthor = new ConcurrentHashMap<>();
+    /**
+     * Comentários recusados ao serem gravados, por autor, na ordem em que foram recusados.
+     * Cada fila só é lida e alterada dentro de compute/computeIfPresent, com a trava da chave.
+     */
+    private final Map<String, Deque<Rejected>> rejectedByAuthor = new ConcurrentHashMap<>();
+    /**
+     * Protege a ordem entre o log e a fila: um comentário entra na fila na mesma ordem do log,
+     * e o log só é compactado com a fila inteira.
+     */
+    private final Object submitLock = new Object();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private AppendOnlyLog appendLog;
+    private Thread flusher;
+    private volatile boolean running;
+
+    /**
+     * Construtor para injetar as dependências e a configuração.
+     *
+     * @param enabled        Se a gravação assíncrona está ativada.
+     * @param capacity       Número máximo de comentários na fila; acima disso a requisição é recusada.
+     * @param batchSize      Número máximo de comentários gravados por lote.
+     * @param logFile        Caminho do log local dos comentários ainda não gravados.
+     * @param commentRepo    Repositório para acessar os dados dos comentários.
+     * @param poemRepo       Repositório para acessar os dados dos poemas.
+     * @param idSequences    Serviço que reserva os identificadores dos comentários gravados em lote.
+     * @param versionService Serviço de versões, usado para verificar se o poema existe sem acessar o banco.
+     * @param jdbcTemplate   Template JDBC usado nos lotes.
+     * @param transactionManager Gerenciador das transações de cada lote.
+     * @param objectMapper   ObjectMapper usado para gravar e ler o log.
+     * @param events         Publicador dos eventos de atividade nos poemas.
+     */
+    public CommentIngestionService(@Value("${comments.write-behind.enabled:false}") boolean enabled,
+                                   @Value("${comments.write-behind.capacity:10000}") int capacity,
+                                   @Value("${comments.write-behind.batch-size:500}") int batchSize,
+                                   @Value("${comments.write-behind.log-file:data/comments-write-behind.log}") Path logFile,
+                                   CommentRepository commentRepo,
+                                   PoemRepository poemRepo,
+                                   IdSequenceService idSequences,
+                                   ResourceVersionService versionService,
+                                   JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   ObjectMapper objectMapper,
+                                   ApplicationEventPublisher events) {
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.logFile = logFile;
+        this.commentRepo = commentRepo;
+        this.poemRepo = poemRepo;
+        this.idSequences = idSequences;
+        this.versionService = versionService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.events = events;
+    }
+
+    /**
+     * Indica se a gravação assíncrona está ativada e em funcionamento.
+     * @return true se os comentários devem ser enviados por {@link #submit(CommentDto)}.
+     */
+    public boolean isEnabled() {
+        return enabled && running;
+    }
+
+    /**
+     * Valida um novo comentário, grava-o no log local e o coloca na fila de gravação.
+     *
+     * @param dto Objeto CommentDto contendo os dados do novo comentário.
+     * @return O comentário aceito, ainda sem ID.
+     * @throws IllegalArgumentException  Se o conteúdo estiver vazio.
+     * @throws ResourceNotFoundException Se o poema não for encontrado.
+     * @throws SecurityException          Se o usuário logado não for o autor do comentário e não for um administrador.
+     * @throws IllegalStateException      Se a fila estiver cheia.
+     */
+    public CommentDto submit(CommentDto dto) {
+        if (dto.getContent() == null || dto.getContent().isBlank()) {
+            throw new IllegalArgumentException("Comentário vazio.");
+        }
+        if (dto.getPoemId() == null || versionService.ofPoem(dto.getPoemId()).isEmpty()) {
+            throw new ResourceNotFoundException("Poema não encontrado com id: " + dto.getPoemId());
+        }
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (!Roles.canActAs(auth, dto.getAuthor())) {
+            throw new SecurityException("Usuário não autorizado a comentar neste poema.");
+        }
+
+        Entry entry;
+        long position;
+        synchronized (submitLock) {
+            if (queue.size() >= capacity) {
+                throw new IllegalStateException("Fila de comentários cheia.");
+            }
+            entry = new Entry(sequence.incrementAndGet(), UUID.randomUUID().toString(), dto.getPoemId(),
+                              dto.getAuthor(), dto.getContent(), dto.getCommentDate());
+            try {
+                position = appendLog.write(objectMapper.writeValueAsString(entry));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Falha ao gravar o comentário no log", e);
+            }
+            enqueue(entry);
+        }
+        try {
+            // Fora da trava: um único fsync confirma os comentários enviados enquanto outro estava em andamento.
+            appendLog.sync(position);
+        } catch (IOException e) {
+            if (queue.remove(entry)) {
+                forget(entry);
+                throw new UncheckedIOException("Falha ao gravar o comentário no log", e);
+            }
+            // O comentário já está sendo gravado no banco; o log não é mais necessário para ele.
+            log.warn("Falha ao gravar o comentário {} no log", entry.ingestId(), e);
+        }
+        return entry.toDto();
+    }
+
+    /**
+     * Verifica se o autor tem comentários na fila, ou recusados recentemente, para o poema.
+     *
+     * @param poemId O ID do poema.
+     * @param author O nome de usuário do autor.
+     * @return true se houver comentários pendentes ou recusados.
+     */
+    public boolean hasPending(long poemId, String author) {
+        Map<String, Entry> entries = pendingByAuthor.get(author);
+        return entries != null && entries.values().stream().anyMatch(e -> e.poemId() == poemId)
+               || !rejectedFor(poemId, author).isEmpty();
+    }
+
+    /**
+     * Obtém os comentários do autor ainda na fila, ou recusados recentemente, para o poema.
+     * Os recusados trazem o motivo em {@link CommentDto#getRejection()}.
+     *
+     * @param poemId O ID do poema.
+     * @param author O nome de usuário do autor.
+     * @return Os comentários pendentes e recusados pelo identificador da fila, na ordem de envio.
+     */
+    public Map<String, CommentDto> pendingFor(long poemId, String author) {
+        List<Entry> found = new ArrayList<>();
+        Map<String, String> rejections = new LinkedHashMap<>();
+        Map<String, Entry> entries = pendingByAuthor.get(author);
+        if (entries != null) {
+            entries.values().stream().filter(e -> e.poemId() == poemId).forEach(found::add);
+        }
+        for (Rejected r : rejectedFor(poemId, author)) {
+            found.add(r.entry());
+            rejections.put(r.entry().ingestId(), r.reason());
+        }
+        Map<String, CommentDto> result = new LinkedHashMap<>();
+        found.stream()
+             .sorted((a, b) -> Long.compare(a.seq(), b.seq()))
+             .forEach(e -> {
+                 CommentDto dto = e.toDto();
+                 dto.setRejection(rejections.get(e.ingestId()));
+                 result.put(e.ingestId(), dto);
+             });
+        return result;
+    }
+
+    /**
+     * Obtém os comentários do autor recusados para o poema, descartando os que já expiraram.
+     */
+    private List<Rejected> rejectedFor(long poemId, String author) {
+        List<Rejected> result = new ArrayList<>();
+        // Atualizado com a trava da chave: um autor sem recusas deixa de ocupar o mapa.
+        rejectedByAuthor.computeIfPresent(author, (a, rejected) -> {
+            long expired = System.currentTimeMillis() - REJECTED_TTL_MS;
+            while (!rejected.isEmpty() && rejected.peekFirst().rejectedAt() < expired) {
+                rejected.pollFirst();
+            }
+            rejected.stream().filter(r -> r.entry().poemId() == poemId).forEach(result::add);
+            return rejected.isEmpty() ? null : rejected;
+        });
+        return result;
+    }
+
+    /**
+     * Abre o log, reaplica os comentários ainda não gravados e inicia a thread de gravação.
+     *
+     * @throws IOException Se o log não puder ser aberto ou lido.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        appendLog = new AppendOnlyLog(logFile);
+        replay();
+        running = true;
+        flusher = new Thread(this::run, "comment-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Gravação assíncrona de comentários ativada (log: {})", logFile.toAbsolutePath());
+    }
+
+    /**
+     * Para a thread de gravação e grava os comentários restantes na fila.
+     *
+     * @throws IOException Se o log não puder ser fechado.
+     */
+    @PreDestroy
+    public void stop() throws IOException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        flusher.interrupt();
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        appendLog.close();
+    }
+
+    private void run() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    Entry first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                }
+                if (flush(batch)) {
+                    batch.clear();
+                } else {
+                    Thread.sleep(RETRY_DELAY_MS);
+                }
+            } catch (InterruptedException e) {
+                if (batch.isEmpty() && queue.isEmpty()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Grava um lote de comentários em uma transação e publica os eventos após o commit.
+     * Se o lote falhar por violação de integridade (por exemplo, poema excluído), os comentários
+     * são gravados um a um e os inválidos são registrados como recusados para o seu autor.
+     *
+     * @param batch O lote a ser gravado.
+     * @return true se o lote foi concluído; false se deve ser tentado novamente.
+     */
+    private boolean flush(List<Entry> batch) {
+        // Gravado em created_at e usado nos eventos, como na gravação direta.
+        Instant now = Instant.now();
+        List<Entry> written;
+        try {
+            insert(batch, now);
+            written = batch;
+        } catch (DataIntegrityViolationException e) {
+            written = new ArrayList<>(batch.size());
+            for (Entry entry : batch) {
+                try {
+                    insert(List.of(entry), now);
+                    written.add(entry);
+                } catch (DataIntegrityViolationException rejected) {
+                    log.warn("Comentário {} descartado: {}", entry.ingestId(), rejected.getMostSpecificCause().getMessage());
+                    reject(entry, ConstraintViolations.isForeignKeyViolation(rejected)
+                                  ? "Comentário não publicado: o poema foi excluído."
+                                  : "Comentário não publicado: os dados foram recusados.");
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Falha ao gravar lote de {} comentários; nova tentativa em {} ms", batch.size(), RETRY_DELAY_MS, e);
+            return false;
+        }
+
+        for (Entry entry : written) {
+            events.publishEvent(new PoemActivityEvent(PoemActivityEvent.Type.COMMENTED, entry.poemId(), null, now));
+        }
+        checkpoint(batch.get(batch.size() - 1).seq());
+        batch.forEach(this::forget);
+        return true;
+    }
+
+    private void insert(List<Entry> entries, Instant createdAt) {
+        Timestamp now = Timestamp.from(createdAt);
+        // Reservados antes da transação; um lote que falha apenas deixa uma lacuna nos identificadores.
+        long firstId = idSequences.reserve(IdSequences.COMMENTS, entries.size());
+        List<Object[]> rows = IntStream.range(0, entries.size())
+                                     .mapToObj(i -> {
+                                         Entry e = entries.get(i);
+                                         return new Object[] {
+                                             firstId + i,
+                                             e.author(),
+                                             e.content(),
+                                             e.commentDate() != null ? Date.valueOf(e.commentDate()) : null,
+                                             e.poemId(),
+                                             now,
+                                             now,
+                                             e.ingestId()
+                                         };
+                                     })
+                                     .toList();
+        Map<Long, Long> perPoem = entries.stream().collect(Collectors.groupingBy(Entry::poemId, Collectors.counting()));
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+            perPoem.forEach((id, count) -> poemRepo.touchComments(id, count.intValue(), now.toInstant()));
+        });
+    }
+
+    /**
+     * Registra no log que os comentários até {@code seq} foram gravados. Se a fila estiver vazia, esvazia
+     * o log; se o log passou de {@link #COMPACT_BYTES}, reescreve-o apenas com os comentários da fila,
+     * que são os posteriores a {@code seq}.
+     * A confirmação não espera o fsync: se for perdida, os comentários são ignorados pelo ingest_id ao reaplicar.
+     */
+    private void checkpoint(long seq) {
+        synchronized (submitLock) {
+            try {
+                if (queue.isEmpty()) {
+                    appendLog.truncate();
+                } else if (appendLog.size() >= COMPACT_BYTES) {
+                    List<String> pending = new ArrayList<>(queue.size());
+                    for (Entry entry : queue) {
+                        pending.add(objectMapper.writeValueAsString(entry));
+                    }
+                    appendLog.rewrite(pending);
+                } else {
+                    appendLog.write("{\"ack\":" + seq + "}");
+                }
+            } catch (IOException e) {
+                // O log continua válido: os comentários gravados serão ignorados pelo ingest_id ao reaplicar.
+                log.warn("Falha ao atualizar o log de comentários", e);
+            }
+        }
+    }
+
+    /**
+     * Reaplica os comentários do log posteriores à última confirmação, ignorando os já gravados.
+     */
+    private void replay() throws IOException {
+        // O log é lido linha a linha; só os comentários ainda não confirmados ficam em memória.
+        Deque<Entry> entries = new ArrayDeque<>();
+        long[] acked = {0};
+        try {
+            appendLog.forEachLine(line -> {
+                try {
+                    JsonNode node = objectMapper.readTree(line);
+                    if (node.has("ack")) {
+                        acked[0] = Math.max(acked[0], node.get("ack").asLong());
+                        while (!entries.isEmpty() && entries.peekFirst().seq() <= acked[0]) {
+                            entries.pollFirst();
+                        }
+                    } else {
+                        Entry entry = objectMapper.treeToValue(node, Entry.class);
+                        sequence.accumulateAndGet(entry.seq(), Math::max);
+                        if (entry.seq() > acked[0]) {
+                            entries.addLast(entry);
+                        }
+                    }
+                } catch (JsonProcessingException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        sequence.accumulateAndGet(acked[0], Math::max);
+
+        Set<String> existing = entries.isEmpty() ? Set.of() : existingIngestIds(entries);
+        int replayed = 0;
+        for (Entry entry : entries) {
+            if (!existing.contains(entry.ingestId())) {
+                enqueue(entry);
+                replayed++;
+            }
+        }
+        if (replayed == 0) {
+            appendLog.truncate();
+        } else {
+            log.info("Reaplicando {} comentários do log", replayed);
+        }
+    }
+
+    private Set<String> existingIngestIds(Collection<Entry> entries) {
+        return commentRepo.findExistingIngestIds(entries.stream().map(Entry::ingestId).toList());
+    }
+
+    private void enqueue(Entry entry) {
+        pendingByAuthor.computeIfAbsent(entry.author(), a -> new ConcurrentHashMap<>()).put(entry.ingestId(), entry);
+        queue.add(entry);
+    }
+
+    /**
+     * Registra um comentário recusado ao ser gravado, para que o seu autor o veja com o motivo.
+     * Chamado antes de o comentário sair dos pendentes, de modo que o autor nunca deixa de vê-lo.
+     */
+    private void reject(Entry entry, String reason) {
+        rejectedByAuthor.compute(entry.author(), (a, rejected) -> {
+            Deque<Rejected> updated = rejected != null ? rejected : new ArrayDeque<>();
+            if (updated.size() >= MAX_REJECTED_PER_AUTHOR) {
+                updated.pollFirst();
+            }
+            updated.addLast(new Rejected(entry, reason, System.currentTimeMillis()));
+            return updated;
+        });
+    }
+
+    private void forget(Entry entry) {
+        pendingByAuthor.computeIfPresent(entry.author(), (author, entries) -> {
+            entries.remove(entry.ingestId());
+            return entries.isEmpty() ? null : entries;
+        });
+    }
+
+    /**
+     * Comentário recusado ao ser gravado, o motivo mostrado ao autor e o instante da recusa.
+     */
+    private record Rejected(Entry entry, String reason, long rejectedAt) {
+    }
+
+    /**
+     * Comentário na fila, na forma gravada no log.
+     */
+    record Entry(long seq, String ingestId, long poemId, String author, String content, LocalDate commentDate) {
+
+        CommentDto toDto() {
+            CommentDto dto = new CommentDto();
+            dto.setAuthor(author);
+            dto.setContent(content);
+            dto.setCommentDate(commentDate);
+            dto.setPoemId(poemId);
+            return dto;
+        }
+    }
+}
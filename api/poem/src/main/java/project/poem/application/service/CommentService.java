@@ -1,18 +1,39 @@
 package project.poem.application.service;
 
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import project.poem.application.dto.CommentDto;
+import project.poem.application.exception.ResourceNotFoundException;
+import project.poem.application.exception.VersionConflictException;
+import project.poem.domain.event.PoemActivityEvent;
 import project.poem.domain.model.Comment;
-import project.poem.domain.model.Poem;
+import project.poem.domain.model.Tombstone;
 import project.poem.domain.repository.CommentRepository;
+import project.poem.domain.repository.CommentRepositoryCustom;
+import project.poem.domain.repository.PoemCommentCount;
 import project.poem.domain.repository.PoemRepository;
+import project.poem.domain.repository.TombstoneRepository;
 import project.poem.domain.repository.UserRepository;
+import project.poem.infrastructure.datasource.ReplicaRoutingDataSource;
+import project.poem.infrastructure.security.Roles;
 
 /**
  * Serviço responsável pela lógica de negócios relacionada aos comentários em poemas.
@@ -23,6 +44,11 @@ public class CommentService {
     private final CommentRepository commentRepo;
     private final PoemRepository poemRepo;
     private final UserRepository userRepository;
+    private final TombstoneRepository tombstoneRepo;
+    private final ApplicationEventPublisher events;
+    private final OptimisticRetry optimisticRetry;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SingleFlight<SingleFlight.VersionedKey, List<CommentDto>> commentLoads = new SingleFlight<>();
 
     /**
      * Construtor para injetar as dependências necessárias.
@@ -30,23 +56,120 @@ public class CommentService {
      * @param commentRepo    Repositório para acessar os dados dos comentários.
      * @param poemRepo       Repositório para acessar os dados dos poemas.
      * @param userRepository Repositório para acessar os dados dos usuários.
+     * @param tombstoneRepo  Repositório onde as exclusões são registradas para a sincronização.
+     * @param events         Publicador dos eventos de atividade nos poemas.
+     * @param transactionManager Gerenciador das transações das alterações, repetidas em caso de conflito de versão,
+     *                           e das leituras agrupadas.
      */
-    public CommentService(CommentRepository commentRepo, PoemRepository poemRepo, UserRepository userRepository) {
+    public CommentService(CommentRepository commentRepo, PoemRepository poemRepo, UserRepository userRepository,
+                          TombstoneRepository tombstoneRepo, ApplicationEventPublisher events,
+                          PlatformTransactionManager transactionManager) {
         this.commentRepo = commentRepo;
         this.poemRepo = poemRepo;
         this.userRepository = userRepository;
+        this.tombstoneRepo = tombstoneRepo;
+        this.events = events;
+        this.optimisticRetry = new OptimisticRetry(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
     /**
-     * Lista todos os comentários associados a um poema específico.
-     * Este método é executado em uma transação somente leitura.
+     * Lista todos os comentários associados a um poema específico, sem uma versão observada.
      *
      * @param poemId O ID do poema para o qual os comentários devem ser listados.
      * @return Uma lista de objetos CommentDto representando os comentários do poema.
+     * @see #listByPoemId(Long, String)
      */
-    @Transactional(readOnly = true)
     public List<CommentDto> listByPoemId(Long poemId) {
-        return commentRepo.findByPoemId(poemId).stream().map(this::toDto).toList();
+        return listByPoemId(poemId, (String) null);
+    }
+
+    /**
+     * Lista todos os comentários associados a um poema específico.
+     * Chamadas simultâneas para o mesmo poema e a mesma versão da lista compartilham uma única consulta
+     * ({@link SingleFlight}), executada em uma transação somente leitura no primário (a lista é guardada em
+     * cache com a versão do ETag); uma chamada que já viu uma versão mais nova não recebe o resultado de uma
+     * consulta iniciada antes dela.
+     * A lista devolvida é imutável e pode ser compartilhada.
+     *
+     * @param poemId  O ID do poema para o qual os comentários devem ser listados.
+     * @param version A versão da lista observada pela chamada (a do ETag), ou nulo se desconhecida.
+     * @return Uma lista de objetos CommentDto representando os comentários do poema.
+     */
+    public List<CommentDto> listByPoemId(Long poemId, String version) {
+        return commentLoads.load(new SingleFlight.VersionedKey(poemId, version),
+                                 () -> ReplicaRoutingDataSource.onPrimary(() -> readOnlyTransaction.execute(
+            status -> commentRepo.findByPoemId(poemId).stream().map(this::toDto).toList())));
+    }
+
+    /**
+     * Lista os comentários de um poema acrescidos dos comentários ainda na fila de gravação assíncrona.
+     * Os comentários da fila que já foram gravados (mesmo identificador) não são repetidos.
+     * Este método é executado em uma transação somente leitura.
+     *
+     * @param poemId  O ID do poema.
+     * @param pending Os comentários pendentes do poema, pelo identificador da fila.
+     * @return Os comentários gravados seguidos dos pendentes.
+     */
+    @Transactional(readOnly = true)
+    public List<CommentDto> listByPoemId(Long poemId, Map<String, CommentDto> pending) {
+        List<Comment> comments = commentRepo.findByPoemId(poemId);
+        Set<String> persisted = comments.stream()
+                                        .map(Comment::getIngestId)
+                                        .filter(Objects::nonNull)
+                                        .collect(Collectors.toSet());
+        List<CommentDto> result = new ArrayList<>(comments.size() + pending.size());
+        comments.forEach(c -> result.add(toDto(c)));
+        pending.forEach((ingestId, dto) -> {
+            if (!persisted.contains(ingestId)) {
+                result.add(dto);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Obtém o número de comentários de vários poemas com uma única consulta, lendo a contagem
+     * mantida em cada poema em vez de contar os comentários.
+     * Este método é executado em uma transação somente leitura.
+     *
+     * @param poemIds Os IDs dos poemas.
+     * @return Um mapa do ID de cada poema para o seu número de comentários, na ordem da entrada;
+     *         IDs de poemas inexistentes são ignorados.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Long> countByPoemIds(Collection<Long> poemIds) {
+        if (poemIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Long> counts = poemRepo.findCommentCounts(poemIds).stream()
+                                         .collect(Collectors.toMap(PoemCommentCount::getId,
+                                                                   PoemCommentCount::getCommentCount));
+        Map<Long, Long> result = new LinkedHashMap<>();
+        for (Long poemId : poemIds) {
+            Long count = counts.get(poemId);
+            if (count != null) {
+                result.put(poemId, count);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Lista apenas os campos solicitados dos comentários de um poema (sparse fieldsets),
+     * lendo do banco somente as colunas correspondentes. O campo {@code id} é sempre incluído.
+     * Este método é executado em uma transação somente leitura.
+     *
+     * @param poemId O ID do poema.
+     * @param fields Os campos solicitados, separados por vírgula (ex.: {@code author,commentDate}).
+     * @return Uma lista de mapas do nome do campo para o valor.
+     * @throws IllegalArgumentException Se algum campo não existir.
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> listFieldsByPoemId(Long poemId, String fields) {
+        return SparseFields.formatDates(
+            commentRepo.findFieldsByPoemId(poemId, SparseFields.parse(fields, CommentRepositoryCustom.FIELDS)));
     }
 
     /**
@@ -55,64 +178,92 @@ public class CommentService {
      *
      * @param dto Objeto CommentDto contendo os dados do novo comentário.
      * @return Um objeto CommentDto representando o comentário criado.
-     * @throws IllegalArgumentException Se o poema associado ao comentário não for encontrado.
+     * @throws ResourceNotFoundException Se o poema associado ao comentário não for encontrado.
      * @throws SecurityException          Se o usuário logado não for o autor do comentário e não for um administrador.
      */
     @Transactional
     public CommentDto create(CommentDto dto) {
-        Comment c = new Comment();
-        c.setAuthor(dto.getAuthor());
-        c.setContent(dto.getContent());
-        c.setCommentDate(dto.getCommentDate());
-
-        // Busca o poema pelo ID fornecido no DTO.
-        Poem poem = poemRepo.findById(dto.getPoemId())
-                .orElseThrow(() -> new IllegalArgumentException("Poema não encontrado com id: " + dto.getPoemId()));
-        c.setPoem(poem);
-
         // Obtém o usuário autenticado a partir do contexto de segurança.
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String loggedUser = auth.getName();
         // Verifica se o usuário logado é o autor do comentário ou se possui a role de administrador.
-        if (!loggedUser.equals(dto.getAuthor()) && !auth.getAuthorities().toString().contains("ROLE_ADMIN")) {
+        if (!Roles.canActAs(auth, dto.getAuthor())) {
             throw new SecurityException("Usuário não autorizado a comentar neste poema.");
         }
 
-        // Salva o novo comentário no banco de dados e o converte para DTO antes de retornar.
-        return toDto(commentRepo.save(c));
+        Long poemId = dto.getPoemId();
+        if (poemId == null) {
+            throw new ResourceNotFoundException("Poema não encontrado com id: null");
+        }
+        Comment c = new Comment();
+        c.setAuthor(dto.getAuthor());
+        c.setContent(dto.getContent());
+        c.setCommentDate(dto.getCommentDate());
+        // Apenas uma referência ao poema: a existência é garantida pela chave estrangeira no INSERT.
+        c.setPoem(poemRepo.getReferenceById(poemId));
+
+        // Salva o novo comentário no banco de dados e o converte para DTO antes de retornar. O INSERT é
+        // enviado já aqui (e não no commit) para que a violação da chave estrangeira seja traduzida abaixo.
+        CommentDto saved;
+        try {
+            saved = toDto(commentRepo.saveAndFlush(c));
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintViolations.isForeignKeyViolation(e)) {
+                throw new ResourceNotFoundException("Poema não encontrado com id: " + poemId, e);
+            }
+            throw e;
+        }
+        // Incrementa a versão da lista de comentários do poema (usada no ETag).
+        poemRepo.touchComments(poemId, 1, Instant.now());
+        // O instante gravado em created_at: a reconstrução do ranking e a exclusão usam o mesmo.
+        events.publishEvent(new PoemActivityEvent(PoemActivityEvent.Type.COMMENTED, poemId, null, c.getCreatedAt()));
+        return saved;
     }
 
     /**
      * Atualiza um comentário existente.
-     * Este método é executado em uma transação.
+     * Usa o controle de versão otimista do comentário, sem bloqueios: se o DTO informar a versão
+     * ({@code version}), o comentário só é alterado se ainda estiver nela; caso contrário, a alteração
+     * é incondicional e, se outra transação alterar o comentário ao mesmo tempo, é refeita sobre a
+     * versão mais recente. Cada tentativa é executada em uma transação.
      *
      * @param id  O ID do comentário a ser atualizado.
      * @param dto Objeto CommentDto contendo os novos dados do comentário.
-     * @return Um objeto CommentDto representando o comentário atualizado.
+     * @return Um objeto CommentDto representando o comentário atualizado, com a nova versão.
      * @throws IllegalArgumentException Se o comentário com o ID fornecido não for encontrado.
      * @throws SecurityException          Se o usuário logado não for o autor do comentário e não for um administrador.
+     * @throws VersionConflictException   Se a versão informada não for a versão atual do comentário.
      */
-    @Transactional
     public CommentDto update(Long id, CommentDto dto) {
-        // Busca o comentário a ser atualizado pelo ID.
+        return optimisticRetry.execute(dto.getVersion() == null, () -> applyUpdate(id, dto));
+    }
+
+    private CommentDto applyUpdate(Long id, CommentDto dto) {
+        // Busca o comentário a ser atualizado pelo ID; a mesma entidade é usada na verificação e na alteração.
         Comment comment = commentRepo.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Comentário não encontrado com id: " + id));
 
-        // Obtém o usuário autenticado.
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String loggedUser = auth.getName();
         // Verifica se o usuário logado é o autor do comentário ou um administrador.
-        if (!loggedUser.equals(comment.getAuthor()) && !auth.getAuthorities().toString().contains("ROLE_ADMIN")) {
+        if (!Roles.canActAs(SecurityContextHolder.getContext().getAuthentication(), comment.getAuthor())) {
             throw new SecurityException("Usuário não autorizado a editar este comentário.");
         }
+        if (dto.getVersion() != null && comment.getVersion() != dto.getVersion()) {
+            throw new VersionConflictException("O comentário " + id + " foi alterado; versão atual: "
+                                               + comment.getVersion());
+        }
 
         // Atualiza os dados do comentário com os valores do DTO.
         comment.setAuthor(dto.getAuthor());
         comment.setContent(dto.getContent());
         comment.setCommentDate(dto.getCommentDate());
 
-        // Salva as alterações no banco de dados e converte o comentário atualizado para DTO.
-        return toDto(commentRepo.save(comment));
+        // A entidade já está gerenciada: o UPDATE (com "where version = ?") é gravado sem nova leitura,
+        // antes de converter o comentário, para devolver a nova versão.
+        commentRepo.flush();
+        CommentDto saved = toDto(comment);
+        poemRepo.touchComments(saved.getPoemId(), 0, Instant.now());
+        events.publishEvent(new PoemActivityEvent(PoemActivityEvent.Type.COMMENT_UPDATED,
+                                                  saved.getPoemId(), null, Instant.now()));
+        return saved;
     }
 
     /**
@@ -125,20 +276,27 @@ public class CommentService {
      */
     @Transactional
     public void delete(Long id) {
-        // Busca o comentário a ser deletado.
+        // Busca o comentário a ser deletado; a mesma entidade é usada na verificação e na exclusão.
         Comment comment = commentRepo.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Comentário não encontrado com id: " + id));
 
-        // Obtém o usuário autenticado.
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String loggedUser = auth.getName();
         // Verifica a autorização para deletar o comentário.
-        if (!loggedUser.equals(comment.getAuthor()) && !auth.getAuthorities().toString().contains("ROLE_ADMIN")) {
+        if (!Roles.canActAs(SecurityContextHolder.getContext().getAuthentication(), comment.getAuthor())) {
             throw new SecurityException("Usuário não autorizado a excluir este comentário.");
         }
 
         // Deleta o comentário do banco de dados.
-        commentRepo.deleteById(id);
+        commentRepo.delete(comment);
+        Long poemId = comment.getPoem().getId();
+        Instant now = Instant.now();
+        poemRepo.touchComments(poemId, -1, now);
+        tombstoneRepo.save(new Tombstone(Tombstone.Type.COMMENT, id, poemId, now));
+        Instant commentedAt = comment.getCreatedAt() != null ? comment.getCreatedAt()
+                              : comment.getCommentDate() != null
+                              ? comment.getCommentDate().atStartOfDay(ZoneOffset.UTC).toInstant()
+                              : null;
+        events.publishEvent(new PoemActivityEvent(PoemActivityEvent.Type.COMMENT_DELETED, poemId, null, now,
+                                                  commentedAt));
     }
 
     /**
@@ -154,24 +312,10 @@ public class CommentService {
         dto.setContent(c.getContent());
         dto.setCommentDate(c.getCommentDate());
         dto.setPoemId(c.getPoem().getId());
+        dto.setVersion(c.getVersion());
         return dto;
     }
 
-    /**
-     * Verifica se o usuário com o nome de usuário fornecido é o autor do comentário com o ID fornecido.
-     * Este método NÃO é executado em uma transação, pois é usado em uma anotação de segurança `@PreAuthorize`.
-     *
-     * @param username  O nome de usuário a ser verificado.
-     * @param commentId O ID do comentário a ser verificado.
-     * @return true se o usuário for o autor do comentário, false caso contrário.
-     * @throws IllegalArgumentException Se o comentário com o ID fornecido não for encontrado.
-     */
-    public boolean isAuthorOfComment(String username, Long commentId) {
-        Comment comment = commentRepo.findById(commentId)
-                .orElseThrow(() -> new IllegalArgumentException("Comentário não encontrado com id: " + commentId));
-        return comment.getAuthor().equals(username);
-    }
-
     /**
      * Verifica UserRepository se o usuário com o nome de usuário fornecido é o autor do poema com o ID fornecido.
      * Este método NÃO é executado em uma transação.
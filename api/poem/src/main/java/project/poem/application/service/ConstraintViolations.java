@@ -0,0 +1,69 @@
+package project.poem.application.service;
+
+import java.sql.SQLException;
+import java.util.Set;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Classificação das violações de integridade lançadas pelas gravações que referenciam outros
+ * registros apenas pela chave, sem carregá-los antes.
+ */
+final class ConstraintViolations {
+
+    /**
+     * SQLStates de registro referenciado inexistente: o padrão de violação de chave estrangeira (PostgreSQL)
+     * e o específico do H2 para "registro pai ausente".
+     */
+    private static final Set<String> FOREIGN_KEY_SQL_STATES = Set.of("23503", "23506");
+
+    /**
+     * Código de erro do MySQL para "Cannot add or update a child row" (o SQLState é o genérico 23000).
+     */
+    private static final int MYSQL_NO_REFERENCED_ROW = 1452;
+
+    /**
+     * SQLState de chave duplicada no H2 e no PostgreSQL.
+     */
+    private static final String UNIQUE_SQL_STATE = "23505";
+
+    /**
+     * Código de erro do MySQL para "Duplicate entry" (o SQLState é o genérico 23000).
+     */
+    private static final int MYSQL_DUPLICATE_ENTRY = 1062;
+
+    private ConstraintViolations() {
+    }
+
+    /**
+     * Verifica se a violação foi de uma chave estrangeira, isto é, se o registro referenciado não existe.
+     *
+     * @param e A exceção lançada pela gravação.
+     * @return true se a causa for uma violação de chave estrangeira.
+     */
+    static boolean isForeignKeyViolation(DataIntegrityViolationException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SQLException sql
+                && (FOREIGN_KEY_SQL_STATES.contains(sql.getSQLState()) || sql.getErrorCode() == MYSQL_NO_REFERENCED_ROW)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Verifica se a violação foi de uma restrição única, isto é, se o registro já existe.
+     *
+     * @param e A exceção lançada pela gravação.
+     * @return true se a causa for uma violação de restrição única.
+     */
+    static boolean isUniqueViolation(DataIntegrityViolationException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SQLException sql
+                && (UNIQUE_SQL_STATE.equals(sql.getSQLState()) || sql.getErrorCode() == MYSQL_DUPLICATE_ENTRY)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
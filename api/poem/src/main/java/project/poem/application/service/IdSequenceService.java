@@ -0,0 +1,85 @@
+package project.poem.application.service;
+
+import java.util.List;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import project.poem.domain.model.IdSequences;
+
+/**
+ * Reserva de identificadores para as inserções JDBC em lote (importações e gravação assíncrona de
+ * comentários), na mesma tabela id_sequences usada pelo Hibernate, de modo que os blocos reservados
+ * por um e por outro nunca se sobrepõem.
+ */
+@Service
+public class IdSequenceService {
+
+    private static final String SELECT_SQL =
+        "select " + IdSequences.VALUE_COLUMN + " from " + IdSequences.TABLE
+      + " where " + IdSequences.NAME_COLUMN + " = ? for update";
+
+    private static final String UPDATE_SQL =
+        "update " + IdSequences.TABLE + " set " + IdSequences.VALUE_COLUMN + " = ?"
+      + " where " + IdSequences.NAME_COLUMN + " = ? and " + IdSequences.VALUE_COLUMN + " = ?";
+
+    private static final String INSERT_SQL =
+        "insert into " + IdSequences.TABLE + " (" + IdSequences.NAME_COLUMN + ", " + IdSequences.VALUE_COLUMN
+      + ") values (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTransaction;
+
+    /**
+     * Construtor para injetar as dependências necessárias.
+     *
+     * @param jdbcTemplate       O JdbcTemplate para acessar a tabela id_sequences.
+     * @param transactionManager O gerenciador das transações de cada reserva.
+     */
+    public IdSequenceService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        // A reserva é confirmada imediatamente, fora da transação de quem insere, para não manter a
+        // linha da sequência bloqueada durante o lote.
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Reserva identificadores consecutivos de uma tabela.
+     *
+     * @param sequence O nome da sequência (ex.: {@link IdSequences#COMMENTS}).
+     * @param count    O número de identificadores.
+     * @return O primeiro identificador reservado; os seguintes são {@code first + 1} a {@code first + count - 1}.
+     */
+    public long reserve(String sequence, int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("A reserva deve ter ao menos um identificador");
+        }
+        Long first;
+        do {
+            first = newTransaction.execute(status -> tryReserve(sequence, count));
+        } while (first == null);
+        return first;
+    }
+
+    /**
+     * Avança a sequência em uma transação; retorna null se outra reserva criou a linha ao mesmo tempo.
+     */
+    private Long tryReserve(String sequence, int count) {
+        List<Long> current = jdbcTemplate.queryForList(SELECT_SQL, Long.class, sequence);
+        if (current.isEmpty()) {
+            try {
+                jdbcTemplate.update(INSERT_SQL, sequence, count);
+                return 1L;
+            } catch (DuplicateKeyException e) {
+                return null;
+            }
+        }
+        long last = current.get(0);
+        return jdbcTemplate.update(UPDATE_SQL, last + count, sequence, last) == 1 ? last + 1 : null;
+    }
+}
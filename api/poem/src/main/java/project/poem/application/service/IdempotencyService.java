@@ -0,0 +1,292 @@
+package project.poem.application.service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import project.poem.application.dto.StoredResponse;
+
+/**
+ * Serviço que guarda as respostas das requisições com o cabeçalho {@code Idempotency-Key}, para que
+ * uma repetição da mesma requisição (um cliente móvel que reenvia após perder a resposta) receba a
+ * resposta original sem executar a operação outra vez.
+ * <p>
+ * Cada chave é reservada antes da execução e guarda a impressão digital da requisição (método, caminho
+ * e corpo): uma repetição durante a execução recebe "em andamento", e uma requisição diferente com a
+ * mesma chave é recusada. As entradas ficam em memória, limitadas em quantidade e em bytes, e expiram
+ * após {@code idempotency.ttl-minutes}. Ao atingir o limite, apenas as entradas já respondidas são
+ * removidas: remover uma reserva em andamento faria a repetição executar a operação outra vez. Quando
+ * todas as entradas estão em andamento, novas chaves são recusadas ({@link Outcome#UNAVAILABLE}).
+ * <p>
+ * Com {@code idempotency.persistence.enabled=true}, as chaves também são gravadas na tabela
+ * idempotency_keys (migração 008), de modo que valem entre instâncias e após um reinício; a reserva é
+ * o próprio INSERT, cuja chave primária impede que duas instâncias executem a mesma requisição.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    /**
+     * Memória máxima ocupada pelas respostas guardadas; ao ser atingida, as mais antigas já respondidas são removidas.
+     */
+    private static final long MAX_BYTES = 32L * 1024 * 1024;
+
+    /**
+     * Tempo após o qual uma reserva no banco sem resposta é considerada abandonada (instância que
+     * caiu durante a execução) e pode ser assumida por uma repetição.
+     */
+    private static final Duration ABANDONED_AFTER = Duration.ofMinutes(1);
+
+    /**
+     * A cada quantas reservas as chaves expiradas são removidas do banco.
+     */
+    private static final int PURGE_EVERY = 1000;
+
+    /**
+     * Resultado da reserva de uma chave.
+     */
+    public enum Outcome {
+        /** A chave é nova (ou foi liberada): a requisição deve ser executada e o resultado guardado. */
+        NEW,
+        /** A requisição já foi executada: a resposta guardada deve ser repetida. */
+        REPLAY,
+        /** A mesma requisição ainda está em execução. */
+        IN_PROGRESS,
+        /** A chave já foi usada por uma requisição diferente. */
+        MISMATCH,
+        /** Não há espaço para reservar a chave: todas as entradas em memória estão em execução. */
+        UNAVAILABLE
+    }
+
+    /**
+     * Resultado da reserva: o desfecho e, em {@link Outcome#REPLAY}, a resposta a repetir.
+     *
+     * @param outcome  O desfecho da reserva.
+     * @param response A resposta guardada, ou nulo.
+     */
+    public record Claim(Outcome outcome, StoredResponse response) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean persistent;
+    private final int capacity;
+    private final long ttlMillis;
+
+    /**
+     * Entradas por chave, na ordem de criação (que é também a ordem de expiração).
+     */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+    private long storedBytes;
+
+    /**
+     * Entradas ainda sem resposta (requisições em execução), que não podem ser removidas para abrir espaço.
+     */
+    private int inProgress;
+    private final AtomicLong claims = new AtomicLong();
+
+    /**
+     * Construtor para injetar as dependências e a configuração.
+     *
+     * @param jdbcTemplate Template JDBC usado na persistência opcional.
+     * @param persistent   Se as chaves também são gravadas no banco.
+     * @param capacity     Número máximo de chaves em memória.
+     * @param ttlMinutes   Tempo, em minutos, durante o qual uma chave é lembrada.
+     */
+    public IdempotencyService(JdbcTemplate jdbcTemplate,
+                              @Value("${idempotency.persistence.enabled:false}") boolean persistent,
+                              @Value("${idempotency.capacity:10000}") int capacity,
+                              @Value("${idempotency.ttl-minutes:1440}") long ttlMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.persistent = persistent;
+        this.capacity = capacity;
+        this.ttlMillis = Duration.ofMinutes(ttlMinutes).toMillis();
+    }
+
+    /**
+     * Reserva uma chave para executar uma requisição, ou obtém o resultado de uma execução anterior.
+     *
+     * @param key         A chave, já qualificada pelo usuário que a enviou.
+     * @param fingerprint A impressão digital da requisição (hash de método, caminho e corpo).
+     * @return O desfecho da reserva.
+     */
+    public Claim claim(String key, byte[] fingerprint) {
+        String hash = HexFormat.of().formatHex(fingerprint);
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            expire(now);
+            Entry existing = entries.get(key);
+            if (existing != null) {
+                return existing.claim(hash);
+            }
+            if (!persistent) {
+                if (inProgress >= capacity) {
+                    return new Claim(Outcome.UNAVAILABLE, null);
+                }
+                put(key, new Entry(hash, now, null));
+                return new Claim(Outcome.NEW, null);
+            }
+        }
+        // Com persistência, a reserva é decidida pelo banco (fora do bloqueio da memória).
+        Claim claim = claimInDatabase(key, hash, now);
+        // Uma reserva de outra instância não é guardada: a memória não saberia quando ela termina.
+        // Sem espaço em memória, a reserva vale apenas no banco, que também responde às repetições.
+        if (claim.outcome() == Outcome.NEW || claim.outcome() == Outcome.REPLAY) {
+            synchronized (entries) {
+                if (!entries.containsKey(key) && (claim.response() != null || inProgress < capacity)) {
+                    put(key, new Entry(hash, now, claim.response()));
+                }
+            }
+        }
+        return claim;
+    }
+
+    /**
+     * Guarda a resposta de uma requisição executada, para as repetições da mesma chave.
+     *
+     * @param key      A chave reservada por {@link #claim}.
+     * @param response A resposta a guardar.
+     */
+    public void complete(String key, StoredResponse response) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.response == null) {
+                // Substituir a entrada mantém a sua posição na ordem de expiração.
+                put(key, new Entry(entry.fingerprint, entry.createdAt, response));
+            }
+        }
+        if (persistent) {
+            jdbcTemplate.update("update idempotency_keys set status = ?, content_type = ?, etag = ?, body = ? "
+                              + "where id_key = ?",
+                                response.getStatus(), response.getContentType(), response.getEtag(),
+                                response.getBody(), key);
+        }
+    }
+
+    /**
+     * Libera uma chave cuja requisição falhou sem resposta definitiva (erro do servidor), para que a
+     * repetição seja executada novamente.
+     *
+     * @param key A chave reservada por {@link #claim}.
+     */
+    public void release(String key) {
+        synchronized (entries) {
+            Entry entry = entries.remove(key);
+            if (entry != null) {
+                forget(entry);
+            }
+        }
+        if (persistent) {
+            jdbcTemplate.update("delete from idempotency_keys where id_key = ? and status = 0", key);
+        }
+    }
+
+    private Claim claimInDatabase(String key, String hash, long now) {
+        if (claims.incrementAndGet() % PURGE_EVERY == 0) {
+            int purged = jdbcTemplate.update("delete from idempotency_keys where created_at < ?",
+                                             new Timestamp(now - ttlMillis));
+            log.debug("Chaves de idempotência expiradas removidas: {}", purged);
+        }
+        try {
+            jdbcTemplate.update("insert into idempotency_keys (id_key, fingerprint, status, created_at) "
+                              + "values (?, ?, 0, ?)", key, hash, new Timestamp(now));
+            return new Claim(Outcome.NEW, null);
+        } catch (DuplicateKeyException e) {
+            // A chave já existe: lê o resultado gravado (ou a reserva de outra instância).
+        }
+        List<Entry> rows = jdbcTemplate.query(
+            "select fingerprint, status, content_type, etag, body, created_at from idempotency_keys where id_key = ?",
+            (rs, i) -> new Entry(rs.getString(1), rs.getTimestamp(6).getTime(),
+                                 rs.getInt(2) == 0 ? null
+                                                   : new StoredResponse(rs.getInt(2), rs.getString(3),
+                                                                        rs.getString(4), rs.getBytes(5))),
+            key);
+        if (rows.isEmpty()) {
+            return new Claim(Outcome.IN_PROGRESS, null); // Liberada entre o INSERT e a leitura: o cliente repete.
+        }
+        Entry row = rows.get(0);
+        boolean expired = row.createdAt < now - ttlMillis;
+        boolean abandoned = row.response == null && row.createdAt < now - ABANDONED_AFTER.toMillis();
+        if (expired || abandoned) {
+            // Assume a chave só se ninguém a tiver assumido antes (mesmo created_at lido).
+            int taken = jdbcTemplate.update("update idempotency_keys set fingerprint = ?, status = 0, content_type = null, "
+                                          + "etag = null, body = null, created_at = ? where id_key = ? and created_at = ?",
+                                            hash, new Timestamp(now), key, new Timestamp(row.createdAt));
+            return new Claim(taken == 1 ? Outcome.NEW : Outcome.IN_PROGRESS, null);
+        }
+        return row.claim(hash);
+    }
+
+    private void put(String key, Entry entry) {
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            forget(previous);
+        }
+        if (entry.response != null) {
+            storedBytes += entry.response.memoryBytes();
+        } else {
+            inProgress++;
+        }
+        // Remove as mais antigas já respondidas; as reservas em andamento ficam até terminar.
+        Iterator<Entry> oldest = entries.values().iterator();
+        while ((entries.size() > capacity || storedBytes > MAX_BYTES) && oldest.hasNext()) {
+            Entry candidate = oldest.next();
+            if (candidate.response != null) {
+                oldest.remove();
+                forget(candidate);
+            }
+        }
+    }
+
+    /**
+     * Desconta dos totais uma entrada removida do mapa.
+     */
+    private void forget(Entry entry) {
+        if (entry.response != null) {
+            storedBytes -= entry.response.memoryBytes();
+        } else {
+            inProgress--;
+        }
+    }
+
+    /**
+     * Remove as entradas expiradas, que estão no início do mapa.
+     */
+    private void expire(long now) {
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next().getValue();
+            if (entry.createdAt >= now - ttlMillis) {
+                break;
+            }
+            it.remove();
+            forget(entry);
+        }
+    }
+
+    /**
+     * Chave reservada: a impressão digital da requisição, quando foi reservada e a resposta (nula
+     * enquanto a requisição está em execução).
+     */
+    private record Entry(String fingerprint, long createdAt, StoredResponse response) {
+
+        Claim claim(String hash) {
+            if (!fingerprint.equals(hash)) {
+                return new Claim(Outcome.MISMATCH, null);
+            }
+            return response != null ? new Claim(Outcome.REPLAY, response) : new Claim(Outcome.IN_PROGRESS, null);
+        }
+    }
+}
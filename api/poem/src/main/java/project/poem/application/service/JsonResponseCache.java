@@ -0,0 +1,220 @@
+package project.poem.application.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import project.poem.application.dto.SerializedJson;
+import project.poem.domain.event.PoemActivityEvent;
+
+/**
+ * Cache das listas mais lidas (todos os poemas e os comentários de cada poema) já serializadas
+ * em JSON e comprimidas com gzip. Uma leitura em cache não acessa o banco, não passa pelo Jackson
+ * e não comprime a resposta novamente.
+ * As entradas são removidas pelos eventos de alteração após o commit.
+ */
+@Service
+public class JsonResponseCache {
+
+    /**
+     * Tamanho a partir do qual a resposta é comprimida; abaixo disso o cabeçalho gzip
+     * e o custo de descompressão não compensam. Igual a server.compression.min-response-size.
+     */
+    static final int MIN_GZIP_BYTES = 1024;
+
+    /**
+     * Memória máxima ocupada pelas respostas em cache; ao ser ultrapassada, as entradas lidas há mais
+     * tempo são removidas até o cache voltar a caber.
+     */
+    private static final long MAX_BYTES = 32L * 1024 * 1024;
+
+    private static final String POEMS = "poems";
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+    private final AtomicLong cachedBytes = new AtomicLong();
+
+    /**
+     * Relógio lógico das leituras, usado para escolher as entradas removidas quando falta memória.
+     */
+    private final AtomicLong accesses = new AtomicLong();
+
+    /**
+     * Contador de invalidações. Uma resposta só é guardada no cache se nenhuma invalidação
+     * ocorreu enquanto ela era montada, evitando que uma lista antiga substitua a remoção.
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * Construtor para injetar o ObjectMapper configurado pelo Spring (o mesmo usado nas respostas).
+     *
+     * @param objectMapper O ObjectMapper usado para serializar as respostas.
+     */
+    public JsonResponseCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Obtém a lista de todos os poemas serializada.
+     * Como na lista de comentários, a entrada guarda a versão para a qual foi montada; a versão vem do banco
+     * ({@link PoemService#listVersion()}), de modo que as alterações feitas por outras instâncias, que não
+     * geram eventos nesta, também fazem a lista ser carregada novamente.
+     *
+     * @param version A versão atual da lista de poemas.
+     * @param loader  Carrega a lista quando ela não está em cache ou está em outra versão.
+     * @return A resposta serializada.
+     */
+    public SerializedJson poems(String version, Supplier<?> loader) {
+        return get(POEMS, version, loader);
+    }
+
+    /**
+     * Obtém a lista de comentários de um poema serializada.
+     * A entrada em cache guarda a versão da lista para a qual foi montada; se a versão observada pela
+     * chamada for outra (a entrada foi montada antes de uma alteração), a lista é carregada novamente.
+     *
+     * @param poemId  O ID do poema.
+     * @param version A versão da lista observada pela chamada (a do ETag).
+     * @param loader  Carrega a lista quando ela não está em cache.
+     * @return A resposta serializada.
+     */
+    public SerializedJson poemComments(long poemId, String version, Supplier<?> loader) {
+        return get(commentsKey(poemId), version, loader);
+    }
+
+    /**
+     * Remove do cache as listas afetadas por uma alteração.
+     * Executado após o commit da transação que publicou o evento.
+     *
+     * @param event O evento de atividade.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPoemActivity(PoemActivityEvent event) {
+        switch (event.getType()) {
+            case POEM_CREATED, POEM_UPDATED, POEMS_IMPORTED -> evict(POEMS);
+            case POEM_DELETED -> {
+                evict(POEMS);
+                evict(commentsKey(event.getPoemId()));
+            }
+            case COMMENTED, COMMENT_UPDATED, COMMENT_DELETED -> evict(commentsKey(event.getPoemId()));
+            default -> { }
+        }
+    }
+
+    private SerializedJson get(String key, String version, Supplier<?> loader) {
+        Entry cached = cache.get(key);
+        if (cached != null && Objects.equals(cached.version, version)) {
+            cached.lastAccess = accesses.incrementAndGet();
+            return cached.json;
+        }
+        long generation = invalidations.get();
+        SerializedJson loaded = serialize(loader.get());
+        if (invalidations.get() != generation) {
+            return loaded;
+        }
+        Entry entry = new Entry(version, loaded, accesses.incrementAndGet());
+        Entry previous = cache.put(key, entry);
+        cachedBytes.addAndGet(loaded.memoryBytes() - (previous != null ? previous.json.memoryBytes() : 0));
+        // Uma remoção entre a verificação acima e o put não veria a nova entrada: confere de novo e desfaz.
+        if (invalidations.get() != generation) {
+            remove(key, entry);
+        } else if (cachedBytes.get() > MAX_BYTES) {
+            evictLeastRecentlyUsed();
+        }
+        return loaded;
+    }
+
+    private void evict(String key) {
+        invalidations.incrementAndGet();
+        Entry removed = cache.remove(key);
+        if (removed != null) {
+            cachedBytes.addAndGet(-removed.json.memoryBytes());
+        }
+    }
+
+    private void remove(String key, Entry entry) {
+        if (cache.remove(key, entry)) {
+            cachedBytes.addAndGet(-entry.json.memoryBytes());
+        }
+    }
+
+    /**
+     * Remove as entradas lidas há mais tempo até a memória ocupada voltar ao limite.
+     */
+    private synchronized void evictLeastRecentlyUsed() {
+        if (cachedBytes.get() <= MAX_BYTES) {
+            return;
+        }
+        List<Map.Entry<String, Entry>> entries = new ArrayList<>(cache.entrySet());
+        entries.sort(Comparator.comparingLong(e -> e.getValue().lastAccess));
+        for (Map.Entry<String, Entry> e : entries) {
+            if (cachedBytes.get() <= MAX_BYTES) {
+                break;
+            }
+            remove(e.getKey(), e.getValue());
+        }
+    }
+
+    private SerializedJson serialize(Object body) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar a resposta", e);
+        }
+        return new SerializedJson(json, json.length >= MIN_GZIP_BYTES ? gzip(json) : null);
+    }
+
+    /**
+     * Comprime com o nível máximo: a compressão é feita uma vez e reaproveitada em todas as leituras.
+     */
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gz.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String commentsKey(long poemId) {
+        return "comments:" + poemId;
+    }
+
+    /**
+     * Resposta em cache, a versão do recurso para a qual foi montada e a última leitura.
+     */
+    private static final class Entry {
+
+        private final String version;
+        private final SerializedJson json;
+        private volatile long lastAccess;
+
+        Entry(String version, SerializedJson json, long lastAccess) {
+            this.version = version;
+            this.json = json;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
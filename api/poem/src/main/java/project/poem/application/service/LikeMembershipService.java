@@ -0,0 +1,206 @@
+package project.poem.application.service;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import project.poem.domain.event.PoemActivityEvent;
+import project.poem.infrastructure.collection.CompressedBitmap;
+import project.poem.infrastructure.collection.LongObjectHashMap;
+
+/**
+ * Serviço que mantém em memória quais usuários curtiram cada poema, para responder
+ * "este usuário curtiu estes poemas?" sem acessar o banco de dados.
+ * Cada poema tem um {@link CompressedBitmap} com os IDs dos usuários que o curtiram.
+ * O índice é carregado da tabela poem_likes na inicialização e atualizado pelos eventos
+ * de curtida após o commit; até a carga terminar, {@link #isLoaded()} retorna false e
+ * o chamador deve consultar o banco.
+ */
+@Service
+public class LikeMembershipService {
+
+    private static final Logger log = LoggerFactory.getLogger(LikeMembershipService.class);
+
+    /**
+     * Quantidade de curtidas lidas por consulta durante a carga do índice.
+     */
+    private static final int LOAD_PAGE_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongObjectHashMap<CompressedBitmap> likers = new LongObjectHashMap<>(1024);
+    private volatile boolean loaded;
+
+    /**
+     * Construtor para injetar as dependências necessárias.
+     *
+     * @param jdbcTemplate Template JDBC usado na carga do índice.
+     */
+    public LikeMembershipService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Indica se o índice já foi carregado e pode responder às consultas.
+     * @return true se o índice estiver carregado.
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Verifica se o índice pode representar o ID de usuário (IDs acima de {@code Integer.MAX_VALUE}
+     * não cabem no bitmap e devem ser consultados no banco).
+     *
+     * @param userId O ID do usuário.
+     * @return true se o índice puder responder por este usuário.
+     */
+    public boolean supports(long userId) {
+        return loaded && userId >= 0 && userId <= Integer.MAX_VALUE;
+    }
+
+    /**
+     * Verifica se um usuário curtiu um poema.
+     *
+     * @param poemId O ID do poema.
+     * @param userId O ID do usuário.
+     * @return true se o usuário curtiu o poema.
+     */
+    public boolean hasLiked(long poemId, long userId) {
+        lock.readLock().lock();
+        try {
+            CompressedBitmap b = likers.get(poemId);
+            return b != null && b.contains((int) userId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Verifica, para cada poema, se o usuário o curtiu.
+     *
+     * @param poemIds Os IDs dos poemas.
+     * @param userId  O ID do usuário.
+     * @return Um mapa do ID de cada poema para true se o usuário o curtiu, na ordem da entrada.
+     */
+    public Map<Long, Boolean> hasLiked(Collection<Long> poemIds, long userId) {
+        Map<Long, Boolean> result = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            for (Long poemId : poemIds) {
+                CompressedBitmap b = likers.get(poemId);
+                result.put(poemId, b != null && b.contains((int) userId));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Estima a memória ocupada pelo índice.
+     * @return O número aproximado de bytes.
+     */
+    public long memoryBytes() {
+        lock.readLock().lock();
+        try {
+            long[] total = {likers.memoryBytes()};
+            likers.forEach((poemId, b) -> total[0] += b.memoryBytes());
+            return total[0];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Atualiza o índice com uma curtida, descurtida ou exclusão de poema.
+     * Executado após o commit da transação que publicou o evento.
+     *
+     * @param event O evento de atividade.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPoemActivity(PoemActivityEvent event) {
+        Long userId = event.getUserId();
+        switch (event.getType()) {
+            case LIKED -> {
+                if (userId != null) update(event.getPoemId(), userId, true);
+            }
+            case UNLIKED -> {
+                if (userId != null) update(event.getPoemId(), userId, false);
+            }
+            case POEM_DELETED -> {
+                lock.writeLock().lock();
+                try {
+                    likers.remove(event.getPoemId());
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+            default -> { }
+        }
+    }
+
+    /**
+     * Carrega o índice a partir da tabela poem_likes, em páginas por id.
+     * Eventos recebidos durante a carga aguardam o fim dela, pois a carga mantém o bloqueio de escrita.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long started = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            likers.clear();
+            long[] lastId = {0};
+            long[] read = {0};
+            long before;
+            do {
+                before = read[0];
+                jdbcTemplate.query(
+                    "select id, poem_id, user_id from poem_likes where id > ? order by id limit ?",
+                    rs -> {
+                        lastId[0] = rs.getLong(1);
+                        read[0]++;
+                        long userId = rs.getLong(3);
+                        if (userId <= Integer.MAX_VALUE) {
+                            likers.computeIfAbsent(rs.getLong(2), id -> new CompressedBitmap()).add((int) userId);
+                        }
+                    },
+                    lastId[0], LOAD_PAGE_SIZE);
+            } while (read[0] - before == LOAD_PAGE_SIZE);
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Índice de curtidas carregado: {} poemas, ~{} KB em {} ms",
+                 likers.size(), memoryBytes() / 1024, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void update(long poemId, long userId, boolean liked) {
+        if (userId > Integer.MAX_VALUE) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (liked) {
+                likers.computeIfAbsent(poemId, id -> new CompressedBitmap()).add((int) userId);
+            } else {
+                CompressedBitmap b = likers.get(poemId);
+                if (b != null && b.remove((int) userId) && b.cardinality() == 0) {
+                    likers.remove(poemId);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
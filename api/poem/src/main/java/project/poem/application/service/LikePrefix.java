@@ -0,0 +1,28 @@
+package project.poem.application.service;
+
+/**
+ * Utilitário para montar filtros de busca por prefixo ({@code LIKE 'prefixo%'}).
+ * Os curingas informados pelo cliente são escapados com '!', que deve ser declarado
+ * como caractere de escape nas consultas ({@code escape '!'}).
+ */
+final class LikePrefix {
+
+    private LikePrefix() {
+    }
+
+    /**
+     * Escapa os curingas de um prefixo de busca.
+     *
+     * @param prefix O prefixo informado pelo cliente.
+     * @return O prefixo escapado, ou null se estiver vazio.
+     */
+    static String of(String prefix) {
+        if (prefix == null || prefix.isBlank()) {
+            return null;
+        }
+        return prefix.trim()
+                     .replace("!", "!!")
+                     .replace("%", "!%")
+                     .replace("_", "!_");
+    }
+}
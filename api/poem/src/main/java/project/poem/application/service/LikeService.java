@@ -1,15 +1,30 @@
 package project.poem.application.service;
 
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import project.poem.domain.model.Poem;
+import project.poem.application.exception.ResourceNotFoundException;
+import project.poem.domain.event.PoemActivityEvent;
 import project.poem.domain.model.PoemLike;
-import project.poem.domain.model.User;
+import project.poem.domain.model.Tombstone;
 import project.poem.domain.repository.PoemLikeRepository;
 import project.poem.domain.repository.PoemRepository;
+import project.poem.domain.repository.TombstoneRepository;
 import project.poem.domain.repository.UserRepository;
 
 /**
@@ -18,9 +33,27 @@ import project.poem.domain.repository.UserRepository;
 @Service
 public class LikeService {
 
+    /**
+     * Número de faixas de {@link #likeVersions}.
+     */
+    private static final int LIKE_VERSION_STRIPES = 4096;
+
     private final PoemLikeRepository likeRepo;
     private final PoemRepository poemRepo;
     private final UserRepository userRepo;
+    private final TombstoneRepository tombstoneRepo;
+    private final ApplicationEventPublisher events;
+    private final LikeMembershipService likeMembership;
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SingleFlight<SingleFlight.VersionedKey, Long> countLoads = new SingleFlight<>();
+
+    /**
+     * Versões das curtidas, incrementadas a cada curtida confirmada e usadas na chave das contagens
+     * agrupadas. Cada poema usa a faixa do seu ID, de modo que a memória não cresce com o número de poemas;
+     * poemas que dividem uma faixa apenas deixam de compartilhar algumas contagens.
+     */
+    private final AtomicLongArray likeVersions = new AtomicLongArray(LIKE_VERSION_STRIPES);
 
     /**
      * Construtor para injetar as dependências necessárias.
@@ -28,49 +61,74 @@ public class LikeService {
      * @param likeRepo Repositório para acessar os dados de curtidas de poemas.
      * @param poemRepo Repositório para acessar os dados dos poemas.
      * @param userRepo Repositório para acessar os dados dos usuários.
+     * @param tombstoneRepo  Repositório onde as exclusões são registradas para a sincronização.
+     * @param events         Publicador dos eventos de atividade nos poemas.
+     * @param likeMembership Índice em memória dos usuários que curtiram cada poema.
+     * @param transactionManager Gerenciador das transações das curtidas e das contagens agrupadas.
      */
     public LikeService(PoemLikeRepository likeRepo,
                        PoemRepository poemRepo,
-                       UserRepository userRepo) {
+                       UserRepository userRepo,
+                       TombstoneRepository tombstoneRepo,
+                       ApplicationEventPublisher events,
+                       LikeMembershipService likeMembership,
+                       PlatformTransactionManager transactionManager) {
         this.likeRepo = likeRepo;
         this.poemRepo = poemRepo;
         this.userRepo = userRepo;
+        this.tombstoneRepo = tombstoneRepo;
+        this.events = events;
+        this.likeMembership = likeMembership;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
     /**
      * Curte um poema.
-     * Este método é executado em uma transação.
+     * A curtida é gravada em uma transação.
      * Se o usuário já curtiu o poema, a operação é ignorada silenciosamente.
+     * O poema e o usuário não são carregados: a curtida é gravada com referências às chaves, a
+     * existência do poema é garantida pela chave estrangeira e uma curtida repetida é detectada pela
+     * restrição única (poem_id, user_id) no INSERT. O índice em memória não é consultado aqui, pois não
+     * vê as curtidas gravadas por outras instâncias nem as que acabaram de ser confirmadas.
      *
      * @param poemId O ID do poema a ser curtido.
-     * @throws IllegalArgumentException Se o usuário ou o poema não forem encontrados.
+     * @throws IllegalArgumentException  Se o usuário não for encontrado.
+     * @throws ResourceNotFoundException Se o poema não for encontrado.
      */
-    @Transactional
     public void likePoem(Long poemId) {
         // Obtém o usuário autenticado a partir do contexto de segurança.
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String username = auth.getName();
-        // Busca o usuário pelo nome de usuário.
-        User user = userRepo.findByUsername(username)
+        // Busca apenas o ID do usuário pelo nome de usuário.
+        Long userId = userRepo.findIdByUsername(username)
                 .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado: " + username));
 
-        // Busca o poema pelo ID.
-        Poem poem = poemRepo.findById(poemId)
-                .orElseThrow(() -> new IllegalArgumentException("Poema não encontrado: " + poemId));
-
-        // Verifica se o usuário já curtiu o poema. Se já curtiu, não faz nada.
-        if (likeRepo.findByPoemIdAndUserId(poemId, user.getId()).isPresent()) {
-            return; // Sai do método sem fazer nada
+        try {
+            transaction.executeWithoutResult(status -> {
+                // Cria uma nova entidade PoemLike para representar a curtida.
+                PoemLike like = new PoemLike();
+                like.setPoem(poemRepo.getReferenceById(poemId));
+                like.setUser(userRepo.getReferenceById(userId));
+                // Define o nome de usuário do liker
+                like.setLikerUsername(username);
+                like.setCreatedAt(Instant.now());
+                // Salva a curtida no banco de dados. O INSERT é enviado já aqui (e não no commit) para que
+                // as violações sejam traduzidas abaixo, depois de a transação ser desfeita.
+                likeRepo.saveAndFlush(like);
+                events.publishEvent(new PoemActivityEvent(PoemActivityEvent.Type.LIKED, poemId, userId,
+                                                          like.getCreatedAt()));
+            });
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintViolations.isForeignKeyViolation(e)) {
+                throw new ResourceNotFoundException("Poema não encontrado: " + poemId, e);
+            }
+            if (ConstraintViolations.isUniqueViolation(e)) {
+                return; // O usuário já curtiu o poema: não faz nada.
+            }
+            throw e;
         }
-
-        // Cria uma nova entidade PoemLike para representar a curtida.
-        PoemLike like = new PoemLike();
-        like.setPoem(poem);
-        like.setUser(user);
-        // Define o nome de usuário do liker
-        like.setLikerUsername(user.getUsername());
-        // Salva a curtida no banco de dados.
-        likeRepo.save(like);
     }
 
     /**
@@ -86,46 +144,99 @@ public class LikeService {
         // Obtém o usuário autenticado.
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String username = auth.getName();
-        // Busca o usuário pelo nome de usuário
-        User user = userRepo.findByUsername(username)
+        // Busca apenas o ID do usuário pelo nome de usuário
+        Long userId = userRepo.findIdByUsername(username)
                 .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado: " + username));
 
         // Busca a curtida do usuário para o poema especificado.
-        PoemLike pl = likeRepo.findByPoemIdAndUserId(poemId, user.getId())
+        PoemLike pl = likeRepo.findByPoemIdAndUserId(poemId, userId)
                 .orElseThrow(() -> new IllegalStateException("Curtida não existe"));
 
         // Deleta a curtida do banco de dados.
         likeRepo.delete(pl);
+        Instant now = Instant.now();
+        tombstoneRepo.save(new Tombstone(Tombstone.Type.LIKE, pl.getId(), poemId, now));
+        // Curtidas anteriores à coluna created_at valem a partir da publicação do poema, como no ranking.
+        Instant likedAt = pl.getCreatedAt() != null || pl.getPoem().getPostDate() == null
+                          ? pl.getCreatedAt()
+                          : pl.getPoem().getPostDate().atStartOfDay(ZoneOffset.UTC).toInstant();
+        events.publishEvent(new PoemActivityEvent(PoemActivityEvent.Type.UNLIKED, poemId, userId, now, likedAt));
     }
 
     /**
      * Conta o número de curtidas de um poema.
-     * Este método é executado em uma transação somente leitura.
+     * Chamadas simultâneas para o mesmo poema compartilham uma única contagem ({@link SingleFlight}),
+     * executada em uma transação somente leitura. A chave inclui a versão das curtidas do poema: depois de
+     * uma curtida (ou da sua remoção) confirmada, as chamadas não se juntam a uma contagem iniciada antes dela.
      *
      * @param poemId O ID do poema para o qual as curtidas devem ser contadas.
      * @return O número de curtidas do poema.
      * @throws IllegalArgumentException Se o poema não for encontrado.
      */
-    @Transactional(readOnly = true)
     public long countLikes(Long poemId) {
-        // Garante que o poema existe.
-        if (!poemRepo.existsById(poemId)) {
-            throw new IllegalArgumentException("Poema não encontrado: " + poemId);
+        String version = Long.toString(likeVersions.get(stripe(poemId)));
+        SingleFlight.VersionedKey key = new SingleFlight.VersionedKey(poemId, version);
+        return countLoads.load(key, () -> readOnlyTransaction.execute(status -> {
+            // Garante que o poema existe.
+            if (!poemRepo.existsById(poemId)) {
+                throw new IllegalArgumentException("Poema não encontrado: " + poemId);
+            }
+            // Usa o repositório para contar as curtidas do poema.
+            return likeRepo.countByPoemId(poemId);
+        }));
+    }
+
+    /**
+     * Incrementa a versão das curtidas do poema afetado por uma curtida, remoção de curtida ou exclusão.
+     * Executado após o commit da transação que publicou o evento.
+     *
+     * @param event O evento de atividade.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPoemActivity(PoemActivityEvent event) {
+        switch (event.getType()) {
+            case LIKED, UNLIKED, POEM_DELETED -> likeVersions.incrementAndGet(stripe(event.getPoemId()));
+            default -> { }
         }
-        // Usa o repositório para contar as curtidas do poema.
-        return likeRepo.countByPoemId(poemId);
+    }
+
+    private static int stripe(long poemId) {
+        return (int) Math.floorMod(poemId, (long) LIKE_VERSION_STRIPES);
     }
 
     /**
      * Verifica se um usuário específico curtiu um poema específico.
-     * Este método é executado em uma transação somente leitura.
+     * A resposta vem do índice em memória; o banco só é consultado enquanto o índice não estiver carregado.
      *
      * @param poemId O ID do poema a ser verificado.
      * @param userId O ID do usuário a ser verificado.
      * @return true se o usuário curtiu o poema, false caso contrário.
      */
-    @Transactional(readOnly = true)
     public boolean hasLiked(Long poemId, Long userId) {
+        if (likeMembership.supports(userId)) {
+            return likeMembership.hasLiked(poemId, userId);
+        }
         return likeRepo.findByPoemIdAndUserId(poemId, userId).isPresent();
     }
+
+    /**
+     * Verifica, para cada poema informado, se o usuário o curtiu.
+     * A resposta vem do índice em memória; o banco só é consultado (com uma única consulta)
+     * enquanto o índice não estiver carregado.
+     *
+     * @param poemIds Os IDs dos poemas a serem verificados.
+     * @param userId  O ID do usuário a ser verificado.
+     * @return Um mapa do ID de cada poema para true se o usuário o curtiu, na ordem da entrada.
+     */
+    public Map<Long, Boolean> hasLiked(Collection<Long> poemIds, Long userId) {
+        if (likeMembership.supports(userId)) {
+            return likeMembership.hasLiked(poemIds, userId);
+        }
+        Set<Long> liked = poemIds.isEmpty() ? Set.of() : likeRepo.findLikedPoemIds(userId, poemIds);
+        Map<Long, Boolean> result = new LinkedHashMap<>();
+        for (Long poemId : poemIds) {
+            result.put(poemId, liked.contains(poemId));
+        }
+        return result;
+    }
 }
\ No newline at end of file
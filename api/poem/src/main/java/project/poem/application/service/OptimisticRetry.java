@@ -0,0 +1,72 @@
+package project.poem.application.service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Executa uma alteração em uma transação e, se ela falhar pelo controle de versão (@Version) porque
+ * outra transação alterou a mesma linha entre a leitura e o UPDATE, repete a alteração em uma nova
+ * transação, relendo a linha. Nenhum bloqueio é mantido: alterações concorrentes não esperam umas
+ * pelas outras, e a perdedora é refeita sobre a versão vencedora.
+ * <p>
+ * Só deve ser usado em alterações incondicionais; uma alteração condicional (com versão esperada)
+ * não é repetida, pois o conflito significa que o cliente editou uma cópia desatualizada.
+ */
+final class OptimisticRetry {
+
+    /**
+     * Número máximo de tentativas; conflitos repetidos na mesma linha são raros.
+     */
+    private static final int MAX_ATTEMPTS = 3;
+
+    /**
+     * Espera máxima, em milissegundos, antes de repetir, sorteada para desencontrar as transações concorrentes.
+     */
+    private static final int MAX_BACKOFF_MS = 20;
+
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Cria o executor sobre o gerenciador de transações.
+     *
+     * @param transactionManager O gerenciador das transações de cada tentativa.
+     */
+    OptimisticRetry(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Executa a alteração em uma transação, repetindo-a em caso de conflito de versão se {@code retry} for true.
+     *
+     * @param retry  Se a alteração pode ser repetida (alteração incondicional).
+     * @param action A alteração; é executada novamente a cada tentativa e deve reler os dados.
+     * @param <T>    O tipo do resultado.
+     * @return O resultado da alteração.
+     * @throws OptimisticLockingFailureException Se o conflito persistir após as tentativas, ou na primeira
+     *                                           tentativa se a alteração não puder ser repetida.
+     */
+    <T> T execute(boolean retry, Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (!retry || attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+                backoff();
+            }
+        }
+    }
+
+    private static void backoff() {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextInt(1, MAX_BACKOFF_MS + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
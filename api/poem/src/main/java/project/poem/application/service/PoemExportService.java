@@ -0,0 +1,144 @@
+package project.poem.application.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Serviço responsável pela exportação de todos os poemas em NDJSON (um poema por linha).
+ * Os poemas são lidos com um cursor JDBC somente para frente e escritos diretamente no fluxo
+ * de saída, sem montar a lista em memória, de modo que a memória usada não depende do acervo.
+ * As linhas saem em ordem de ID, o que permite retomar uma exportação interrompida a partir
+ * do último ID recebido.
+ */
+@Service
+public class PoemExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(PoemExportService.class);
+
+    /**
+     * Quantidade de linhas escritas entre cada envio do fluxo ao cliente.
+     */
+    private static final int FLUSH_EVERY = 500;
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private static final String SELECT_SQL =
+        "select p.id, p.title, p.author, p.text, p.image_url, p.post_date from poems p "
+      + "where p.id > ? order by p.id";
+
+    /**
+     * Mesma consulta com as contagens de curtidas e comentários, calculadas por subconsultas
+     * sobre os índices de poem_id, para que a exportação continue usando uma única instrução.
+     */
+    private static final String SELECT_WITH_COUNTS_SQL =
+        "select p.id, p.title, p.author, p.text, p.image_url, p.post_date, "
+      + "(select count(*) from poem_likes l where l.poem_id = p.id) as likes, "
+      + "(select count(*) from comments c where c.poem_id = p.id) as comments "
+      + "from poems p where p.id > ? order by p.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    /**
+     * Construtor para injetar as dependências necessárias.
+     *
+     * @param jdbcTemplate Template JDBC usado na leitura dos poemas.
+     * @param objectMapper ObjectMapper cuja fábrica gera o JSON de cada linha.
+     * @param fetchSize    Quantidade de linhas trazidas do banco por vez.
+     */
+    public PoemExportService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                             @Value("${export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Escreve os poemas com ID maior que {@code afterId} no fluxo de saída, um objeto JSON por linha.
+     * O fluxo não é fechado.
+     *
+     * @param out           O fluxo de saída.
+     * @param afterId       O último ID já recebido (0 para exportar desde o início).
+     * @param includeCounts Se true, inclui em cada linha o número de curtidas e de comentários.
+     * @return O número de poemas escritos.
+     * @throws IOException Se ocorrer um erro de escrita.
+     */
+    public long export(OutputStream out, long afterId, boolean includeCounts) throws IOException {
+        long started = System.nanoTime();
+        long[] written = {0};
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gen.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+            RowCallbackHandler writer = rs -> {
+                try {
+                    writeRow(gen, rs, includeCounts);
+                    if (++written[0] % FLUSH_EVERY == 0) {
+                        gen.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            };
+            try {
+                jdbcTemplate.query(con -> prepare(con, includeCounts ? SELECT_WITH_COUNTS_SQL : SELECT_SQL, afterId),
+                                   writer);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            if (written[0] > 0) {
+                gen.writeRaw('\n');
+            }
+        }
+        log.info("Exportação de poemas: {} linhas a partir do id {} em {} ms",
+                 written[0], afterId, (System.nanoTime() - started) / 1_000_000);
+        return written[0];
+    }
+
+    /**
+     * Prepara a consulta somente para frente. No MySQL, o driver só lê as linhas aos poucos
+     * com o tamanho de busca {@code Integer.MIN_VALUE}; nos demais bancos, usa o tamanho configurado.
+     */
+    private PreparedStatement prepare(Connection con, String sql, long afterId) throws SQLException {
+        PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        boolean mysql = con.getMetaData().getDatabaseProductName().equalsIgnoreCase("MySQL");
+        ps.setFetchSize(mysql ? Integer.MIN_VALUE : fetchSize);
+        ps.setLong(1, afterId);
+        return ps;
+    }
+
+    private static void writeRow(JsonGenerator gen, ResultSet rs, boolean includeCounts)
+            throws IOException, SQLException {
+        gen.writeStartObject();
+        gen.writeNumberField("id", rs.getLong(1));
+        gen.writeStringField("title", rs.getString(2));
+        gen.writeStringField("author", rs.getString(3));
+        gen.writeStringField("text", rs.getString(4));
+        gen.writeStringField("imageUrl", rs.getString(5));
+        LocalDate postDate = rs.getObject(6, LocalDate.class);
+        gen.writeStringField("postDate", postDate != null ? postDate.format(DATE_FORMAT) : null);
+        if (includeCounts) {
+            gen.writeNumberField("likes", rs.getLong(7));
+            gen.writeNumberField("comments", rs.getLong(8));
+        }
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,322 @@
+package project.poem.application.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import project.poem.application.dto.ImportResultDto;
+import project.poem.application.dto.PoemDto;
+import project.poem.domain.event.PoemActivityEvent;
+import project.poem.domain.model.IdSequences;
+import project.poem.domain.model.Poem;
+import project.poem.domain.repository.PoemRepository;
+
+/**
+ * Serviço responsável pela importação em lote de poemas a partir de NDJSON (um PoemDto por linha).
+ * A entrada é lida em streaming e processada em blocos: as linhas de cada bloco são convertidas,
+ * validadas e têm o hash do conteúdo calculado em paralelo; poemas repetidos (no arquivo ou no banco)
+ * são descartados pelo hash e o restante é gravado com um único batch JDBC na transação do bloco.
+ * <p>
+ * A consulta dos hashes existentes e o INSERT de cada bloco são feitos com a trava das importações,
+ * de modo que importações simultâneas não gravam o mesmo poema. O hash não é único no banco: os poemas
+ * criados pela API não passam por essa deduplicação. Se o batch de um bloco falhar, o bloco é gravado
+ * linha a linha, rejeitando apenas as linhas que falham.
+ */
+@Service
+public class PoemImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(PoemImportService.class);
+
+    /**
+     * Quantidade de poemas gravados por batch JDBC.
+     */
+    private static final int CHUNK_SIZE = 1000;
+
+    private static final String INSERT_SQL =
+        "insert into poems (id, title, text, author, image_url, post_date, version, updated_at, comments_version, comment_count, content_hash) "
+      + "values (?, ?, ?, ?, ?, ?, 0, ?, 0, 0, ?)";
+
+    /**
+     * Linha da tabela id_sequences usada apenas como trava das importações (não é uma sequência).
+     */
+    private static final String IMPORT_LOCK = "poems_import_lock";
+
+    private static final String LOCK_SQL =
+        "select " + IdSequences.VALUE_COLUMN + " from " + IdSequences.TABLE
+      + " where " + IdSequences.NAME_COLUMN + " = ? for update";
+
+    private static final String LOCK_INSERT_SQL =
+        "insert into " + IdSequences.TABLE + " (" + IdSequences.NAME_COLUMN + ", " + IdSequences.VALUE_COLUMN
+      + ") values (?, 0)";
+
+    private final PoemRepository poemRepository;
+    private final IdSequenceService idSequences;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher events;
+
+    /**
+     * Construtor para injetar as dependências necessárias.
+     */
+    public PoemImportService(PoemRepository poemRepository,
+                             IdSequenceService idSequences,
+                             JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             ApplicationEventPublisher events) {
+        this.poemRepository = poemRepository;
+        this.idSequences = idSequences;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.events = events;
+    }
+
+    /**
+     * Importa poemas a partir de um fluxo NDJSON. O campo {@code id} das linhas é ignorado:
+     * todos os poemas são criados.
+     * Linhas inválidas ou que falham na gravação são contabilizadas como rejeitadas
+     * sem interromper o restante da importação.
+     *
+     * @param in Fluxo com o conteúdo a ser importado (UTF-8).
+     * @return Resumo da importação.
+     * @throws IOException Se ocorrer um erro de leitura.
+     */
+    public ImportResultDto importPoems(InputStream in) throws IOException {
+        ImportResultDto result = new ImportResultDto();
+        Set<String> seen = new HashSet<>();
+        List<Line> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String text;
+            long lineNumber = 0;
+            while ((text = reader.readLine()) != null) {
+                lineNumber++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                result.incrementRead();
+                chunk.add(new Line(lineNumber, text));
+                if (chunk.size() == CHUNK_SIZE) {
+                    process(chunk, seen, result);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            process(chunk, seen, result);
+        }
+
+        if (result.getImported() > 0) {
+            events.publishEvent(new PoemActivityEvent(PoemActivityEvent.Type.POEMS_IMPORTED, 0, null, Instant.now()));
+        }
+        log.info("Importação de poemas concluída: {} lidos, {} importados, {} duplicados, {} rejeitados",
+                 result.getRead(), result.getImported(), result.getDuplicates(), result.getRejected());
+        return result;
+    }
+
+    /**
+     * Converte e valida as linhas de um bloco em paralelo, descarta as repetidas e grava o restante.
+     *
+     * @param chunk  As linhas do bloco.
+     * @param seen   Os hashes de conteúdo já vistos no arquivo.
+     * @param result O resumo da importação a ser atualizado.
+     */
+    private void process(List<Line> chunk, Set<String> seen, ImportResultDto result) {
+        List<Parsed> parsed = chunk.parallelStream().map(this::parse).toList();
+
+        List<Parsed> valid = new ArrayList<>(parsed.size());
+        for (Parsed p : parsed) {
+            if (p.error() != null) {
+                result.reject(1, "Linha " + p.lineNumber() + ": " + p.error());
+            } else if (!seen.add(p.hash())) {
+                // Descarta poemas repetidos dentro do próprio arquivo.
+                result.addDuplicates(1);
+            } else {
+                valid.add(p);
+            }
+        }
+        if (!valid.isEmpty()) {
+            flush(valid, result);
+        }
+    }
+
+    /**
+     * Grava um bloco de poemas: remove os que já existem no banco (pelo hash do conteúdo)
+     * e insere o restante com um único batch JDBC. A consulta dos hashes e o INSERT são feitos na mesma
+     * transação, com a trava das importações.
+     *
+     * @param chunk  O bloco de poemas a ser gravado.
+     * @param result O resumo da importação a ser atualizado.
+     */
+    private void flush(List<Parsed> chunk, ImportResultDto result) {
+        List<Parsed> fresh;
+        try {
+            fresh = transactionTemplate.execute(status -> {
+                lockImports();
+                Set<String> existing = poemRepository.findExistingContentHashes(
+                    chunk.stream().map(Parsed::hash).toList());
+                List<Parsed> missing = chunk.stream().filter(p -> !existing.contains(p.hash())).toList();
+                if (!missing.isEmpty()) {
+                    jdbcTemplate.batchUpdate(INSERT_SQL, rows(missing));
+                }
+                return missing;
+            });
+        } catch (DataAccessException e) {
+            // Uma linha inválida desfaz o batch inteiro: grava uma a uma para rejeitar apenas as que falham.
+            log.warn("Batch de {} poemas falhou, gravando linha a linha: {}", chunk.size(), e.getMessage());
+            fresh = null;
+        } catch (Exception e) {
+            result.reject(chunk.size(), "Falha ao gravar bloco de " + chunk.size() + " poemas: " + e.getMessage());
+            return;
+        }
+        if (fresh != null) {
+            result.addDuplicates(chunk.size() - fresh.size());
+            result.addImported(fresh.size());
+        } else {
+            chunk.forEach(p -> insertOne(p, result));
+        }
+        log.info("Importação de poemas: {} lidos, {} importados até agora", result.getRead(), result.getImported());
+    }
+
+    /**
+     * Grava um único poema na sua própria transação, com a trava das importações.
+     *
+     * @param poem   O poema a ser gravado.
+     * @param result O resumo da importação a ser atualizado.
+     */
+    private void insertOne(Parsed poem, ImportResultDto result) {
+        try {
+            Boolean inserted = transactionTemplate.execute(status -> {
+                lockImports();
+                if (!poemRepository.findExistingContentHashes(List.of(poem.hash())).isEmpty()) {
+                    return false;
+                }
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows(List.of(poem)));
+                return true;
+            });
+            if (Boolean.TRUE.equals(inserted)) {
+                result.addImported(1);
+            } else {
+                result.addDuplicates(1);
+            }
+        } catch (DataAccessException e) {
+            result.reject(1, "Linha " + poem.lineNumber() + ": " + e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    /**
+     * Monta os parâmetros do INSERT, com identificadores da mesma sequência usada pelo Hibernate
+     * (tabela id_sequences).
+     *
+     * @param poems Os poemas a inserir.
+     * @return Os parâmetros de cada INSERT, na mesma ordem.
+     */
+    private List<Object[]> rows(List<Parsed> poems) {
+        Timestamp now = Timestamp.from(Instant.now());
+        long firstId = idSequences.reserve(IdSequences.POEMS, poems.size());
+        List<Object[]> rows = new ArrayList<>(poems.size());
+        for (Parsed p : poems) {
+            rows.add(new Object[] {
+                firstId + rows.size(),
+                p.dto().getTitle(),
+                p.dto().getText(),
+                p.dto().getAuthor(),
+                p.dto().getImageUrl(),
+                Date.valueOf(p.dto().getPostDate()),
+                now,
+                p.hash()
+            });
+        }
+        return rows;
+    }
+
+    /**
+     * Obtém a trava das importações de poemas até o fim da transação: bloqueia a linha
+     * {@value #IMPORT_LOCK} da tabela id_sequences (criando-a na primeira vez), de modo que duas
+     * importações, na mesma instância ou em instâncias diferentes, não consultam e gravam o mesmo
+     * hash ao mesmo tempo. Os demais INSERTs de poemas não usam a trava.
+     */
+    private void lockImports() {
+        if (jdbcTemplate.queryForList(LOCK_SQL, Long.class, IMPORT_LOCK).isEmpty()) {
+            try {
+                jdbcTemplate.update(LOCK_INSERT_SQL, IMPORT_LOCK);
+            } catch (DuplicateKeyException e) {
+                // Criada por outra importação ao mesmo tempo: espera a trava abaixo.
+            }
+            jdbcTemplate.queryForList(LOCK_SQL, Long.class, IMPORT_LOCK);
+        }
+    }
+
+    /**
+     * Converte e valida uma linha, calculando o hash do conteúdo. Executado em paralelo.
+     *
+     * @param line A linha a ser convertida.
+     * @return O poema convertido ou a mensagem de erro.
+     */
+    private Parsed parse(Line line) {
+        try {
+            PoemDto dto = objectMapper.readValue(line.text(), PoemDto.class);
+            validate(dto);
+            return new Parsed(line.number(), dto, Poem.contentHash(dto.getTitle(), dto.getAuthor(), dto.getText()), null);
+        } catch (Exception e) {
+            return new Parsed(line.number(), null, null, e.getMessage());
+        }
+    }
+
+    /**
+     * Valida os campos obrigatórios e normaliza a data de publicação (padrão: hoje).
+     *
+     * @param dto O poema a ser validado.
+     * @throws IllegalArgumentException Se algum campo for inválido.
+     */
+    private static void validate(PoemDto dto) {
+        if (dto.getTitle() == null || dto.getTitle().isBlank()) {
+            throw new IllegalArgumentException("title obrigatório");
+        }
+        if (dto.getText() == null || dto.getText().isBlank()) {
+            throw new IllegalArgumentException("text obrigatório para " + dto.getTitle());
+        }
+        if (dto.getAuthor() == null || dto.getAuthor().isBlank()) {
+            throw new IllegalArgumentException("author obrigatório para " + dto.getTitle());
+        }
+        if (dto.getPostDate() == null) {
+            dto.setPostDate(LocalDate.now());
+        }
+    }
+
+    /**
+     * Linha lida da entrada, com o seu número.
+     */
+    private record Line(long number, String text) {
+    }
+
+    /**
+     * Resultado da conversão de uma linha: o poema e o hash do conteúdo, ou a mensagem de erro.
+     */
+    private record Parsed(long lineNumber, PoemDto dto, String hash, String error) {
+    }
+}
@@ -1,15 +1,33 @@
 package project.poem.application.service;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import project.poem.application.dto.PoemDto;
+import project.poem.application.exception.ResourceNotFoundException;
+import project.poem.application.exception.VersionConflictException;
+import project.poem.domain.event.PoemActivityEvent;
 import project.poem.domain.model.Poem;
+import project.poem.domain.model.Tombstone;
+import project.poem.domain.repository.CommentRepository;
 import project.poem.domain.repository.PoemLikeRepository;
 import project.poem.domain.repository.PoemRepository;
+import project.poem.domain.repository.PoemRepositoryCustom;
+import project.poem.domain.repository.TombstoneRepository;
+import project.poem.infrastructure.datasource.ReplicaRoutingDataSource;
 
 /**
  * Serviço responsável pela lógica de negócios relacionada aos poemas.
@@ -19,56 +37,195 @@ public class PoemService {
 
     private final PoemRepository poemRepo;
     private final PoemLikeRepository poemLikeRepository;
+    private final CommentRepository commentRepo;
+    private final TombstoneRepository tombstoneRepo;
+    private final ApplicationEventPublisher events;
+    private final OptimisticRetry optimisticRetry;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SingleFlight<SingleFlight.VersionedKey, PoemDto> poemLoads = new SingleFlight<>();
 
     /**
      * Construtor para injetar a dependência de PoemRepository.
      *
-     * @param poemRepo O repositório para acessar os dados dos poemas.
+     * @param poemRepo           O repositório para acessar os dados dos poemas.
+     * @param poemLikeRepository O repositório das curtidas.
+     * @param commentRepo        O repositório dos comentários, excluídos junto com o poema.
+     * @param tombstoneRepo      O repositório onde as exclusões são registradas para a sincronização.
+     * @param events             Publicador dos eventos de atividade nos poemas.
+     * @param transactionManager Gerenciador das transações das alterações, repetidas em caso de conflito de versão,
+     *                           e das leituras agrupadas.
      */
-    public PoemService(PoemRepository poemRepo, PoemLikeRepository poemLikeRepository) {
+    public PoemService(PoemRepository poemRepo, PoemLikeRepository poemLikeRepository,
+                       CommentRepository commentRepo, TombstoneRepository tombstoneRepo, ApplicationEventPublisher events,
+                       PlatformTransactionManager transactionManager) {
         this.poemRepo = poemRepo;
         this.poemLikeRepository = poemLikeRepository;
+        this.commentRepo = commentRepo;
+        this.tombstoneRepo = tombstoneRepo;
+        this.events = events;
+        this.optimisticRetry = new OptimisticRetry(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
     /**
      * Lista todos os poemas no sistema.
-     * Este método é executado em uma transação somente leitura.
+     * Este método é executado em uma transação somente leitura, no primário: a lista é guardada no cache de
+     * respostas ({@link JsonResponseCache}) e, lida de uma réplica atrasada, ficaria em cache sem as últimas
+     * alterações.
      *
      * @return Uma lista de objetos PoemDto representando todos os poemas.
      */
     @Transactional(readOnly = true)
     public List<PoemDto> listAll() {
-        return poemRepo.findAll().stream().map(this::toDto).toList();
+        return ReplicaRoutingDataSource.onPrimary(() -> poemRepo.findAll().stream().map(this::toDto).toList());
+    }
+
+    /**
+     * Obtém a versão da lista de todos os poemas, usada como chave da lista em cache ({@link JsonResponseCache}).
+     * Formada pelo instante da última criação ou alteração de poema e pelo último registro de exclusão,
+     * ambos lidos do banco; assim, uma alteração feita por outra instância também muda a versão.
+     * Lida no primário, como a própria lista.
+     *
+     * @return A versão da lista de poemas.
+     */
+    @Transactional(readOnly = true)
+    public String listVersion() {
+        return ReplicaRoutingDataSource.onPrimary(
+            () -> "u" + poemRepo.findLastUpdatedAt() + "t" + tombstoneRepo.findLastId());
     }
 
     /**
      * Busca um poema pelo seu ID.
-     * Este método é executado em uma transação somente leitura.
+     * Chamadas simultâneas para o mesmo poema e a mesma versão compartilham uma única consulta
+     * ({@link SingleFlight}); uma chamada que já viu uma versão mais nova não recebe o resultado de uma
+     * consulta iniciada antes dela. Só a chamada que executa a consulta abre a transação somente leitura,
+     * de modo que as que esperam não ocupam conexões. A consulta vai para o primário, que já tem a versão
+     * do ETag. O poema devolvido pode ser compartilhado e não deve ser alterado.
      *
-     * @param id O ID do poema a ser buscado.
+     * @param id      O ID do poema a ser buscado.
+     * @param version A versão do poema observada pela chamada (a do ETag), ou nulo se desconhecida.
      * @return Um objeto PoemDto representando o poema encontrado.
-     * @throws IllegalArgumentException Se nenhum poema for encontrado com o ID fornecido.
+     * @throws ResourceNotFoundException Se nenhum poema for encontrado com o ID fornecido.
+     */
+    public PoemDto getById(Long id, String version) {
+        return poemLoads.load(new SingleFlight.VersionedKey(id, version),
+                              () -> ReplicaRoutingDataSource.onPrimary(() -> readOnlyTransaction.execute(status -> {
+            Poem p = poemRepo.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Poem not found: " + id));
+            return toDto(p);
+        })));
+    }
+
+    /**
+     * Busca vários poemas pelos seus IDs com uma única consulta.
+     * Os poemas são devolvidos na ordem dos IDs solicitados; IDs repetidos aparecem uma única vez
+     * e IDs inexistentes são ignorados.
+     * Este método é executado em uma transação somente leitura.
+     *
+     * @param ids Os IDs dos poemas a serem buscados.
+     * @return Uma lista de objetos PoemDto na ordem solicitada.
      */
     @Transactional(readOnly = true)
-    public PoemDto getById(Long id) {
-        Poem p = poemRepo.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Poem not found: " + id));
-        return toDto(p);
+    public List<PoemDto> getByIds(Collection<Long> ids) {
+        LinkedHashSet<Long> distinct = new LinkedHashSet<>(ids);
+        if (distinct.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Poem> found = poemRepo.findAllById(distinct).stream()
+                                        .collect(Collectors.toMap(Poem::getId, Function.identity()));
+        List<PoemDto> result = new ArrayList<>(found.size());
+        for (Long id : distinct) {
+            Poem p = found.get(id);
+            if (p != null) {
+                result.add(toDto(p));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Lista apenas os campos solicitados dos poemas (sparse fieldsets), lendo do banco somente
+     * as colunas correspondentes. O campo {@code id} é sempre incluído.
+     * Este método é executado em uma transação somente leitura.
+     *
+     * @param fields Os campos solicitados, separados por vírgula (ex.: {@code title,author,postDate}).
+     * @param ids    Os IDs dos poemas, na ordem desejada, ou null para todos os poemas.
+     * @return Uma lista de mapas do nome do campo para o valor.
+     * @throws IllegalArgumentException Se algum campo não existir.
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> listFields(String fields, Collection<Long> ids) {
+        Set<String> selected = SparseFields.parse(fields, PoemRepositoryCustom.FIELDS);
+        if (ids == null) {
+            return SparseFields.formatDates(poemRepo.findFields(selected, null));
+        }
+        LinkedHashSet<Long> distinct = new LinkedHashSet<>(ids);
+        if (distinct.isEmpty()) {
+            return List.of();
+        }
+        Map<Object, Map<String, Object>> found = poemRepo.findFields(selected, distinct).stream()
+                                                         .collect(Collectors.toMap(row -> row.get("id"), Function.identity()));
+        List<Map<String, Object>> result = new ArrayList<>(found.size());
+        for (Long id : distinct) {
+            Map<String, Object> row = found.get(id);
+            if (row != null) {
+                result.add(row);
+            }
+        }
+        return SparseFields.formatDates(result);
+    }
+
+    /**
+     * Busca apenas os campos solicitados de um poema (sparse fieldsets).
+     * Este método é executado em uma transação somente leitura.
+     *
+     * @param id     O ID do poema.
+     * @param fields Os campos solicitados, separados por vírgula.
+     * @return Um mapa do nome do campo para o valor.
+     * @throws IllegalArgumentException  Se algum campo não existir.
+     * @throws ResourceNotFoundException Se o poema não for encontrado.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getFields(Long id, String fields) {
+        List<Map<String, Object>> rows = listFields(fields, List.of(id));
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Poem not found: " + id);
+        }
+        return rows.get(0);
     }
 
     /**
      * Cria um novo poema ou atualiza um poema existente.
      * Se o DTO possuir um ID, tenta atualizar o poema existente; caso contrário, cria um novo.
-     * Este método é executado em uma transação.
+     * <p>
+     * A atualização usa o controle de versão otimista do poema, sem bloqueios. Se o DTO informar a
+     * versão ({@code version}), o poema só é alterado se ainda estiver nela; caso contrário, a
+     * alteração é incondicional e, se outra transação alterar o poema ao mesmo tempo, é refeita
+     * sobre a versão mais recente.
+     * Cada tentativa é executada em uma transação.
      *
      * @param dto Objeto PoemDto contendo os dados do poema a ser criado ou atualizado.
-     * @return Um objeto PoemDto representando o poema criado ou atualizado.
+     * @return Um objeto PoemDto representando o poema criado ou atualizado, com a nova versão.
+     * @throws VersionConflictException Se a versão informada não for a versão atual do poema.
+     * @throws org.springframework.dao.OptimisticLockingFailureException Se o poema for alterado por outra
+     *         transação durante uma atualização condicional, ou repetidamente durante uma incondicional.
      */
-    @Transactional
     public PoemDto createOrUpdate(PoemDto dto) {
+        return optimisticRetry.execute(dto.getVersion() == null, () -> save(dto));
+    }
+
+    private PoemDto save(PoemDto dto) {
         Poem poem = dto.getId() != null
-                    ? poemRepo.findById(dto.getId()).orElse(new Poem()) // Busca para atualizar ou cria novo se não achar
-                    : new Poem(); // Cria um novo poema se o ID não estiver presente
+                    ? poemRepo.findById(dto.getId()).orElse(null) // Busca para atualizar
+                    : null;
+        if (dto.getVersion() != null && (poem == null || poem.getVersion() != dto.getVersion())) {
+            throw new VersionConflictException("O poema " + dto.getId() + " foi alterado ou excluído; versão atual: "
+                                               + (poem != null ? poem.getVersion() : "nenhuma"));
+        }
+        if (poem == null) {
+            poem = new Poem(); // Cria um novo poema se o ID não estiver presente ou não for encontrado
+        }
 
         poem.setTitle(dto.getTitle());
         poem.setText(dto.getText());
@@ -76,11 +233,19 @@ public class PoemService {
         poem.setImageUrl(dto.getImageUrl());
         poem.setPostDate(dto.getPostDate());
 
-        return toDto(poemRepo.save(poem));
+        boolean existing = poem.getId() != null;
+        // Grava já o UPDATE (com "where version = ?") para devolver a nova versão.
+        PoemDto saved = toDto(poemRepo.saveAndFlush(poem));
+        events.publishEvent(new PoemActivityEvent(existing ? PoemActivityEvent.Type.POEM_UPDATED
+                                                           : PoemActivityEvent.Type.POEM_CREATED,
+                                                  saved.getId(), null, Instant.now()));
+        return saved;
     }
 
     /**
-     * Deleta um poema pelo seu ID.
+     * Deleta um poema pelo seu ID, junto com os seus comentários e curtidas.
+     * Cada registro excluído (o poema, os comentários e as curtidas) recebe um registro de exclusão,
+     * para que a sincronização incremental também remova os comentários e as curtidas dos clientes.
      * Este método é executado em uma transação.
      *
      * @param id O ID do poema a ser deletado.
@@ -91,7 +256,18 @@ public class PoemService {
         if (!poemRepo.existsById(id)) {
             throw new IllegalArgumentException("Poem not found: " + id);
         }
+        Instant now = Instant.now();
+        List<Tombstone> tombstones = new ArrayList<>();
+        commentRepo.findIdsByPoemId(id)
+                   .forEach(commentId -> tombstones.add(new Tombstone(Tombstone.Type.COMMENT, commentId, id, now)));
+        poemLikeRepository.findIdsByPoemId(id)
+                          .forEach(likeId -> tombstones.add(new Tombstone(Tombstone.Type.LIKE, likeId, id, now)));
+        tombstones.add(new Tombstone(Tombstone.Type.POEM, id, id, now));
+        commentRepo.deleteByPoemId(id);
+        poemLikeRepository.deleteByPoemId(id);
         poemRepo.deleteById(id);
+        tombstoneRepo.saveAll(tombstones);
+        events.publishEvent(new PoemActivityEvent(PoemActivityEvent.Type.POEM_DELETED, id, null, now));
     }
 
     /**
@@ -108,6 +284,7 @@ public class PoemService {
         dto.setAuthor(p.getAuthor());
         dto.setImageUrl(p.getImageUrl());
         dto.setPostDate(p.getPostDate());
+        dto.setVersion(p.getVersion());
         return dto;
     }
     /**
@@ -1,43 +1,69 @@
 package project.poem.application.service;
 
-import java.util.List;
+import java.util.Set;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import project.poem.application.dto.ProfileDto;
+import project.poem.application.exception.VersionConflictException;
 import project.poem.domain.model.Profile;
 import project.poem.domain.repository.ProfileRepository;
-import project.poem.domain.repository.UserRepository;
 
 /**
  * Serviço responsável pela lógica de negócios relacionada aos perfis de usuários.
  */
 @Service
 public class ProfileService {
+
+    /**
+     * Tamanho máximo de página aceito no diretório de perfis.
+     */
+    private static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Propriedades pelas quais o diretório de perfis pode ser ordenado.
+     */
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("firstName", "lastName", "userEmail");
+
     private final ProfileRepository profileRepo;
-    private final UserRepository userRepo;
 
     /**
-     * Construtor para injetar as dependências de ProfileRepository e UserRepository.
+     * Construtor para injetar a dependência de ProfileRepository.
      *
      * @param profileRepo O repositório para acessar os dados dos perfis.
-     * @param userRepo    O repositório para acessar os dados dos usuários.
      */
-    public ProfileService(ProfileRepository profileRepo, UserRepository userRepo) {
+    public ProfileService(ProfileRepository profileRepo) {
         this.profileRepo = profileRepo;
-        this.userRepo = userRepo;
     }
 
     /**
-     * Lista todos os perfis de usuário no sistema.
-     * Este método é executado em uma transação somente leitura.
+     * Busca uma página do diretório de perfis, filtrando por prefixo do primeiro nome,
+     * do último nome ou do email. O tamanho da página é limitado a {@value #MAX_PAGE_SIZE}
+     * e a ordenação padrão é por primeiro e último nome.
      *
-     * @return Uma lista de objetos ProfileDto representando todos os perfis.
+     * @param prefix   Prefixo a ser pesquisado (opcional).
+     * @param pageable Paginação e ordenação solicitadas.
+     * @return Uma página de objetos ProfileDto.
+     * @throws IllegalArgumentException Se for solicitada ordenação por uma propriedade não suportada.
      */
     @Transactional(readOnly = true)
-    public List<ProfileDto> listAll() {
-        return profileRepo.findAll().stream().map(this::toDto).toList();
+    public Page<ProfileDto> search(String prefix, Pageable pageable) {
+        for (Sort.Order order : pageable.getSort()) {
+            if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Ordenação inválida: " + order.getProperty());
+            }
+        }
+        Sort sort = pageable.getSort().isSorted() ? pageable.getSort() : Sort.by("firstName", "lastName");
+        Pageable bounded = PageRequest.of(pageable.getPageNumber(),
+                                          Math.min(pageable.getPageSize(), MAX_PAGE_SIZE),
+                                          sort);
+        return profileRepo.searchByPrefix(LikePrefix.of(prefix), bounded).map(this::toDto);
     }
 
     /**
@@ -57,29 +83,44 @@ public class ProfileService {
 
     /**
      * Cria um novo perfil de usuário ou atualiza um perfil existente para o usuário com o email fornecido.
-     * Este método é executado em uma transação.
+     * Este método é executado em uma transação e não carrega entidades: tenta primeiro um UPDATE
+     * e, se nenhum perfil for afetado, cria o perfil com um INSERT ... SELECT que só insere se o
+     * usuário existir. Cada escrita custa no máximo duas instruções SQL.
+     * Se o DTO informar a versão ({@code version}), o UPDATE só altera o perfil se ele ainda estiver
+     * nessa versão; como a verificação faz parte do próprio UPDATE, não há leitura nem bloqueio prévios.
      *
      * @param dto Objeto ProfileDto contendo os dados do perfil a serem criados ou atualizados.
-     * @return Um objeto ProfileDto representando o perfil criado ou atualizado.
+     * @return Um objeto ProfileDto representando o perfil criado ou atualizado, com a nova versão
+     *         (nula após uma atualização incondicional, que não lê a versão gravada).
      * @throws IllegalArgumentException Se nenhum usuário for encontrado para o email fornecido no DTO.
+     * @throws VersionConflictException Se a versão informada não for a versão atual do perfil.
      */
     @Transactional
     public ProfileDto createOrUpdate(ProfileDto dto) {
-        // Busca o usuário pelo email fornecido no DTO.
-        var userOpt = userRepo.findByEmail(dto.getUserEmail());
-        // Se o usuário não for encontrado, lança uma exceção.
-        if (userOpt.isEmpty()) throw new IllegalArgumentException("User not found: " + dto.getUserEmail());
+        String email = dto.getUserEmail();
+        Long expectedVersion = dto.getVersion();
+        // Atualiza o perfil existente, se houver (e se estiver na versão esperada, quando informada).
+        int updated = profileRepo.updateByUserEmail(email, dto.getFirstName(), dto.getLastName(), dto.getPhone(),
+                                                    expectedVersion);
+        Long version = expectedVersion != null ? expectedVersion + 1 : null;
+        if (updated == 0) {
+            if (expectedVersion != null) {
+                // Alteração condicional de um perfil que mudou de versão (ou deixou de existir).
+                throw new VersionConflictException("O perfil de " + email + " foi alterado ou excluído.");
+            }
+            // Não há perfil: cria um novo, desde que o usuário exista.
+            int inserted = profileRepo.insertForUserEmail(email, dto.getFirstName(), dto.getLastName(), dto.getPhone());
+            if (inserted == 0) throw new IllegalArgumentException("User not found: " + email);
+            version = 0L;
+        }
 
-        // Busca um perfil existente para o email do usuário. Se não existir, cria um novo.
-        Profile profile = profileRepo.findByUserEmail(dto.getUserEmail()).orElse(new Profile());
-        // Atualiza os dados do perfil com os valores do DTO.
-        profile.setFirstName(dto.getFirstName());
-        profile.setLastName(dto.getLastName());
-        profile.setPhone(dto.getPhone());
-        // Associa o perfil ao usuário encontrado.
-        profile.setUser(userOpt.get());
-        // Salva (cria ou atualiza) o perfil no banco de dados e o converte para DTO antes de retornar.
-        return toDto(profileRepo.save(profile));
+        ProfileDto saved = new ProfileDto();
+        saved.setFirstName(dto.getFirstName());
+        saved.setLastName(dto.getLastName());
+        saved.setPhone(dto.getPhone());
+        saved.setUserEmail(email);
+        saved.setVersion(version);
+        return saved;
     }
 
     /**
@@ -91,11 +132,9 @@ public class ProfileService {
      */
     @Transactional
     public void deleteByEmail(String email) {
-        // Verifica se existe um perfil para o email fornecido.
-        if (profileRepo.findByUserEmail(email).isEmpty())
+        // Deleta o perfil diretamente; nenhuma linha afetada significa que o perfil não existe.
+        if (profileRepo.deleteByUserEmail(email) == 0)
             throw new IllegalArgumentException("Profile not found: " + email);
-        // Deleta o perfil pelo email do usuário.
-        profileRepo.deleteByUserEmail(email);
     }
 
     /**
@@ -110,6 +149,7 @@ public class ProfileService {
         dto.setLastName(p.getLastName());
         dto.setPhone(p.getPhone());
         dto.setUserEmail(p.getUserEmail());
+        dto.setVersion(p.getVersion());
         return dto;
     }
 }
\ No newline at end of file
@@ -0,0 +1,433 @@
+package project.poem.application.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import project.poem.application.dto.RelatedPoemDto;
+import project.poem.domain.event.PoemActivityEvent;
+import project.poem.domain.model.Poem;
+import project.poem.domain.repository.PoemRepository;
+import project.poem.infrastructure.collection.LongDoubleHashMap;
+import project.poem.infrastructure.collection.LongObjectHashMap;
+
+/**
+ * Serviço de recomendação "quem curtiu este poema também curtiu".
+ * Mantém em memória um índice de co-ocorrência item a item construído a partir das curtidas:
+ * quando um usuário curte um poema, cada poema do seu histórico recente ganha um ponto de
+ * co-ocorrência com o poema curtido, e vice-versa.
+ *
+ * <p>O índice tem memória limitada: o histórico considerado por usuário é limitado a
+ * {@code recommendation.user-history} curtidas e cada poema guarda no máximo
+ * {@code recommendation.neighbors-per-poem} vizinhos, mantidos pelo algoritmo Space-Saving
+ * (o vizinho de menor contagem dá lugar ao novo). Assim a memória cresce com o número de
+ * usuários e poemas, e não com o quadrado do número de curtidas.</p>
+ *
+ * <p>A similaridade entre dois poemas é a co-ocorrência normalizada pelo cosseno:
+ * {@code co(a, b) / sqrt(curtidas(a) * curtidas(b))}.</p>
+ */
+@Service
+public class RecommendationService {
+
+    private static final Logger log = LoggerFactory.getLogger(RecommendationService.class);
+
+    /**
+     * Quantidade de curtidas lidas por consulta durante a reconstrução do índice.
+     */
+    private static final int REBUILD_PAGE_SIZE = 10_000;
+
+    private final PoemRepository poemRepo;
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxHistory;
+    private final int maxNeighbors;
+
+    /** O índice em uso; substituído por inteiro na reconstrução. Acessado com o monitor deste serviço. */
+    private Index index = new Index();
+
+    /**
+     * Eventos recebidos durante a leitura da reconstrução, reaplicados ao novo índice antes da troca;
+     * nulo fora da reconstrução. Acessado com o monitor deste serviço.
+     */
+    private List<PoemActivityEvent> pending;
+
+    /**
+     * Construtor para injetar as dependências e os limites de memória do índice.
+     */
+    public RecommendationService(PoemRepository poemRepo,
+                                 JdbcTemplate jdbcTemplate,
+                                 @Value("${recommendation.user-history:50}") int maxHistory,
+                                 @Value("${recommendation.neighbors-per-poem:32}") int maxNeighbors) {
+        this.poemRepo = poemRepo;
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxHistory = maxHistory;
+        this.maxNeighbors = maxNeighbors;
+    }
+
+    /**
+     * Atualiza o índice com uma curtida ou descurtida.
+     * Executado após o commit da transação que publicou o evento.
+     *
+     * @param event O evento de atividade.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onPoemActivity(PoemActivityEvent event) {
+        if (pending != null) {
+            pending.add(event);
+        }
+        apply(index, event, false);
+    }
+
+    /**
+     * Lista os poemas mais curtidos pelos leitores que curtiram o poema informado.
+     *
+     * @param poemId O ID do poema de referência.
+     * @param limit  O número máximo de poemas.
+     * @return A lista de poemas relacionados, do mais para o menos similar.
+     */
+    public List<RelatedPoemDto> related(long poemId, int limit) {
+        LongDoubleHashMap scores = new LongDoubleHashMap();
+        synchronized (this) {
+            Neighbors n = index.neighbors.get(poemId);
+            if (n != null) {
+                double likes = index.likeCounts.get(poemId, 0);
+                for (int i = 0; i < n.size; i++) {
+                    scores.put(n.ids[i], similarity(n.counts[i], likes, index.likeCounts.get(n.ids[i], 0)));
+                }
+            }
+        }
+        return toDtos(scores, limit);
+    }
+
+    /**
+     * Sugere poemas para um usuário a partir dos vizinhos dos poemas do seu histórico,
+     * excluindo os poemas que ele já curtiu.
+     *
+     * @param userId O ID do usuário.
+     * @param limit  O número máximo de poemas.
+     * @return A lista de poemas sugeridos, do mais para o menos relevante.
+     */
+    public List<RelatedPoemDto> suggestionsFor(long userId, int limit) {
+        LongDoubleHashMap scores = new LongDoubleHashMap();
+        synchronized (this) {
+            History h = index.histories.get(userId);
+            if (h == null) {
+                return List.of();
+            }
+            for (int i = 0; i < h.size; i++) {
+                long liked = h.poems[i];
+                Neighbors n = index.neighbors.get(liked);
+                if (n == null) {
+                    continue;
+                }
+                double likes = index.likeCounts.get(liked, 0);
+                for (int j = 0; j < n.size; j++) {
+                    scores.addTo(n.ids[j], similarity(n.counts[j], likes, index.likeCounts.get(n.ids[j], 0)));
+                }
+            }
+            for (int i = 0; i < h.size; i++) {
+                scores.remove(h.poems[i]);
+            }
+        }
+        return toDtos(scores, limit);
+    }
+
+    /**
+     * Estima a memória ocupada pelo índice.
+     * @return O número aproximado de bytes.
+     */
+    public synchronized long memoryBytes() {
+        return index.memoryBytes();
+    }
+
+    /**
+     * Reconstrói o índice a partir da tabela poem_likes, reaplicando as curtidas em ordem de criação.
+     * As curtidas são lidas em páginas por id para manter a memória da leitura limitada.
+     * O novo índice é montado fora do monitor, de modo que as recomendações e os eventos continuam sendo
+     * atendidos pelo índice anterior durante a leitura, e substitui o anterior ao final. Os eventos recebidos
+     * durante a leitura são guardados e reaplicados ao novo índice antes da troca; a leitura pode já ter visto
+     * a alteração de um evento, por isso a reaplicação ignora as curtidas já presentes e as remoções de
+     * curtidas que a leitura não viu.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.nanoTime();
+        Index rebuilt = new Index();
+        synchronized (this) {
+            pending = new ArrayList<>();
+        }
+        try {
+            scan(rebuilt);
+            synchronized (this) {
+                for (PoemActivityEvent event : pending) {
+                    apply(rebuilt, event, true);
+                }
+                index = rebuilt;
+            }
+        } finally {
+            synchronized (this) {
+                pending = null;
+            }
+        }
+        log.info("Índice de recomendações reconstruído: {} usuários, {} poemas, ~{} KB em {} ms",
+                 rebuilt.histories.size(), rebuilt.neighbors.size(), rebuilt.memoryBytes() / 1024,
+                 (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Lê a tabela poem_likes em páginas por id e aplica as curtidas ao índice informado.
+     */
+    private void scan(Index rebuilt) {
+        long[] lastId = {0};
+        int read;
+        do {
+            long[] count = {0};
+            jdbcTemplate.query(
+                "select id, user_id, poem_id from poem_likes where id > ? order by id limit ?",
+                rs -> {
+                    lastId[0] = rs.getLong(1);
+                    rebuilt.addLike(rs.getLong(2), rs.getLong(3));
+                    count[0]++;
+                },
+                lastId[0], REBUILD_PAGE_SIZE);
+            read = (int) count[0];
+        } while (read == REBUILD_PAGE_SIZE);
+    }
+
+    /**
+     * Aplica uma curtida, descurtida ou exclusão de poema a um índice. Chamado com o monitor do serviço.
+     *
+     * @param target O índice alterado.
+     * @param event  O evento de atividade.
+     * @param replay Se o evento está sendo reaplicado após a leitura da reconstrução.
+     */
+    private void apply(Index target, PoemActivityEvent event, boolean replay) {
+        Long userId = event.getUserId();
+        switch (event.getType()) {
+            case LIKED -> {
+                if (userId != null) target.addLike(userId, event.getPoemId());
+            }
+            case UNLIKED -> {
+                if (userId != null && (!replay || target.hasInHistory(userId, event.getPoemId()))) {
+                    target.removeLike(userId, event.getPoemId());
+                }
+            }
+            case POEM_DELETED -> target.removePoem(event.getPoemId());
+            default -> { }
+        }
+    }
+
+    private static double similarity(int coLikes, double likesA, double likesB) {
+        return likesA > 0 && likesB > 0 ? Math.min(1.0, coLikes / Math.sqrt(likesA * likesB)) : 0;
+    }
+
+    /**
+     * Seleciona os poemas de maior pontuação e busca seus dados com uma única consulta.
+     */
+    private List<RelatedPoemDto> toDtos(LongDoubleHashMap scores, int limit) {
+        List<Scored> ranked = new ArrayList<>(scores.size());
+        scores.forEach((id, score) -> {
+            if (score > 0) ranked.add(new Scored(id, score));
+        });
+        ranked.sort(Comparator.comparingDouble(Scored::score).reversed());
+        List<Scored> top = ranked.subList(0, Math.max(0, Math.min(limit, ranked.size())));
+        if (top.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Poem> poems = poemRepo.findAllById(top.stream().map(Scored::poemId).toList()).stream()
+                                        .collect(Collectors.toMap(Poem::getId, Function.identity()));
+        List<RelatedPoemDto> result = new ArrayList<>(top.size());
+        for (Scored e : top) {
+            Poem p = poems.get(e.poemId());
+            if (p == null) {
+                continue; // poema excluído
+            }
+            RelatedPoemDto dto = new RelatedPoemDto();
+            dto.setId(p.getId());
+            dto.setTitle(p.getTitle());
+            dto.setAuthor(p.getAuthor());
+            dto.setImageUrl(p.getImageUrl());
+            dto.setPostDate(p.getPostDate());
+            dto.setScore(e.score());
+            result.add(dto);
+        }
+        return result;
+    }
+
+    /**
+     * Índice de co-ocorrência: históricos, vizinhos e contagens de curtidas.
+     * Não é sincronizado; o índice em uso só é alterado com o monitor do serviço.
+     */
+    private final class Index {
+
+        /** Curtidas recentes de cada usuário, da mais antiga para a mais recente. */
+        final LongObjectHashMap<History> histories = new LongObjectHashMap<>(1024);
+        /** Vizinhos mais frequentes de cada poema. */
+        final LongObjectHashMap<Neighbors> neighbors = new LongObjectHashMap<>(1024);
+        /** Número de curtidas de cada poema. */
+        final LongDoubleHashMap likeCounts = new LongDoubleHashMap(1024);
+
+        void addLike(long userId, long poemId) {
+            History h = histories.computeIfAbsent(userId, id -> new History(Math.min(maxHistory, 8)));
+            if (h.contains(poemId)) {
+                return;
+            }
+            for (int i = 0; i < h.size; i++) {
+                long other = h.poems[i];
+                neighborsOf(poemId).increment(other);
+                neighborsOf(other).increment(poemId);
+            }
+            h.append(poemId, maxHistory);
+            likeCounts.addTo(poemId, 1);
+        }
+
+        boolean hasInHistory(long userId, long poemId) {
+            History h = histories.get(userId);
+            return h != null && h.contains(poemId);
+        }
+
+        void removeLike(long userId, long poemId) {
+            // A contagem vale para todas as curtidas, mesmo as que já saíram do histórico limitado do usuário;
+            // só as co-ocorrências dependem do histórico.
+            if (likeCounts.addTo(poemId, -1) <= 0) {
+                likeCounts.remove(poemId);
+            }
+            History h = histories.get(userId);
+            if (h == null || !h.remove(poemId)) {
+                return;
+            }
+            for (int i = 0; i < h.size; i++) {
+                long other = h.poems[i];
+                Neighbors a = neighbors.get(poemId);
+                if (a != null) a.decrement(other);
+                Neighbors b = neighbors.get(other);
+                if (b != null) b.decrement(poemId);
+            }
+            if (h.size == 0) {
+                histories.remove(userId);
+            }
+        }
+
+        void removePoem(long poemId) {
+            // Referências ao poema em outras listas são descartadas na leitura, pois o poema não existe mais.
+            neighbors.remove(poemId);
+            likeCounts.remove(poemId);
+        }
+
+        long memoryBytes() {
+            long[] total = {histories.memoryBytes() + neighbors.memoryBytes() + likeCounts.memoryBytes()};
+            histories.forEach((userId, h) -> total[0] += 16 + (long) h.poems.length * Long.BYTES);
+            neighbors.forEach((poemId, n) -> total[0] += 16 + (long) n.ids.length * (Long.BYTES + Integer.BYTES));
+            return total[0];
+        }
+
+        private Neighbors neighborsOf(long poemId) {
+            return neighbors.computeIfAbsent(poemId, id -> new Neighbors(maxNeighbors));
+        }
+    }
+
+    /**
+     * Poema candidato com sua pontuação.
+     */
+    private record Scored(long poemId, double score) {
+    }
+
+    /**
+     * Curtidas recentes de um usuário, limitadas a um tamanho máximo (as mais antigas são descartadas).
+     */
+    private static final class History {
+        long[] poems;
+        int size;
+
+        History(int initialCapacity) {
+            poems = new long[initialCapacity];
+        }
+
+        boolean contains(long poemId) {
+            for (int i = 0; i < size; i++) {
+                if (poems[i] == poemId) return true;
+            }
+            return false;
+        }
+
+        void append(long poemId, int maxSize) {
+            if (size == maxSize) {
+                System.arraycopy(poems, 1, poems, 0, size - 1);
+                size--;
+            } else if (size == poems.length) {
+                poems = Arrays.copyOf(poems, Math.min(maxSize, poems.length * 2));
+            }
+            poems[size++] = poemId;
+        }
+
+        boolean remove(long poemId) {
+            for (int i = 0; i < size; i++) {
+                if (poems[i] == poemId) {
+                    System.arraycopy(poems, i + 1, poems, i, size - i - 1);
+                    size--;
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Vizinhos de um poema com suas contagens de co-ocorrência, em arrays paralelos de tamanho fixo.
+     */
+    private static final class Neighbors {
+        final long[] ids;
+        final int[] counts;
+        int size;
+
+        Neighbors(int capacity) {
+            ids = new long[capacity];
+            counts = new int[capacity];
+        }
+
+        void increment(long id) {
+            int min = 0;
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    counts[i]++;
+                    return;
+                }
+                if (counts[i] < counts[min]) min = i;
+            }
+            if (size < ids.length) {
+                ids[size] = id;
+                counts[size++] = 1;
+            } else {
+                // Space-Saving: o novo vizinho herda a contagem do menos frequente, mais um.
+                ids[min] = id;
+                counts[min]++;
+            }
+        }
+
+        void decrement(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    if (--counts[i] <= 0) {
+                        size--;
+                        ids[i] = ids[size];
+                        counts[i] = counts[size];
+                    }
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package project.poem.application.service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import project.poem.application.dto.ResourceVersion;
+import project.poem.domain.event.PoemActivityEvent;
+import project.poem.domain.repository.PoemRepository;
+import project.poem.domain.repository.PoemVersions;
+
+/**
+ * Serviço que fornece as versões dos poemas e das suas listas de comentários para as
+ * requisições condicionais (If-None-Match / If-Modified-Since).
+ * As versões ficam em cache em memória, de modo que uma resposta 304 não acessa o banco;
+ * em caso de ausência no cache, apenas as colunas de versão são lidas.
+ * As entradas são removidas pelos eventos de alteração após o commit. Esses eventos são locais; com
+ * várias instâncias, uma alteração feita em outra instância só é vista quando a entrada expira
+ * ({@code resource-versions.ttl-ms}), o que limita por quanto tempo um ETag antigo ainda recebe 304.
+ */
+@Service
+public class ResourceVersionService {
+
+    /**
+     * Número máximo de poemas com versões em cache; ao ser ultrapassado, as entradas lidas há mais
+     * tempo são removidas até restarem {@link #TRIMMED_ENTRIES}.
+     */
+    static final int MAX_ENTRIES = 10_000;
+
+    /**
+     * Tamanho do cache após a remoção das entradas menos usadas. A folga evita ordenar o cache
+     * inteiro a cada nova entrada quando ele está cheio.
+     */
+    private static final int TRIMMED_ENTRIES = MAX_ENTRIES * 9 / 10;
+
+    private final PoemRepository poemRepo;
+    private final Clock clock;
+    private final long ttlMillis;
+    private final Map<Long, Entry> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Relógio lógico das leituras, usado para escolher as entradas removidas quando o cache está cheio.
+     */
+    private final AtomicLong accesses = new AtomicLong();
+
+    /**
+     * Contador de invalidações. Uma leitura do banco só é guardada no cache se nenhuma
+     * invalidação ocorreu durante a leitura, evitando que um valor antigo substitua a remoção.
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * Construtor para injetar a dependência de PoemRepository e o tempo de vida das entradas.
+     *
+     * @param poemRepo  O repositório para acessar os dados dos poemas.
+     * @param ttlMillis Tempo, em milissegundos, durante o qual uma versão lida do banco é reaproveitada.
+     */
+    @Autowired
+    public ResourceVersionService(PoemRepository poemRepo,
+                                  @Value("${resource-versions.ttl-ms:5000}") long ttlMillis) {
+        this(poemRepo, Clock.systemUTC(), ttlMillis);
+    }
+
+    ResourceVersionService(PoemRepository poemRepo, Clock clock, long ttlMillis) {
+        this.poemRepo = poemRepo;
+        this.clock = clock;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Obtém a versão de um poema.
+     *
+     * @param poemId O ID do poema.
+     * @return A versão do poema, ou vazio se o poema não existir.
+     */
+    public Optional<ResourceVersion> ofPoem(long poemId) {
+        return versions(poemId).map(v -> new ResourceVersion("p" + poemId + "v" + v.version(), v.updatedAt()));
+    }
+
+    /**
+     * Obtém a versão da lista de comentários de um poema.
+     *
+     * @param poemId O ID do poema.
+     * @return A versão da lista de comentários, ou vazio se o poema não existir.
+     */
+    public Optional<ResourceVersion> ofPoemComments(long poemId) {
+        return versions(poemId).map(v -> new ResourceVersion("c" + poemId + "v" + v.commentsVersion(),
+                                                             v.commentsUpdatedAt()));
+    }
+
+    /**
+     * Remove do cache as versões do poema afetado por uma alteração.
+     * Executado após o commit da transação que publicou o evento.
+     *
+     * @param event O evento de atividade.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPoemActivity(PoemActivityEvent event) {
+        switch (event.getType()) {
+            case POEM_UPDATED, POEM_DELETED, COMMENTED, COMMENT_UPDATED, COMMENT_DELETED -> evict(event.getPoemId());
+            default -> { }
+        }
+    }
+
+    private Optional<Snapshot> versions(long poemId) {
+        long now = clock.millis();
+        Entry cached = cache.get(poemId);
+        if (cached != null) {
+            if (now - cached.loadedAt < ttlMillis) {
+                cached.lastAccess = accesses.incrementAndGet();
+                return Optional.of(cached.snapshot);
+            }
+            cache.remove(poemId, cached);
+        }
+        long generation = invalidations.get();
+        Optional<Snapshot> loaded = poemRepo.findVersionsById(poemId).map(Snapshot::of);
+        if (loaded.isPresent() && invalidations.get() == generation) {
+            Entry entry = new Entry(loaded.get(), now, accesses.incrementAndGet());
+            cache.put(poemId, entry);
+            // Uma remoção entre a verificação acima e o put não veria a nova entrada: confere de novo e desfaz.
+            if (invalidations.get() != generation) {
+                cache.remove(poemId, entry);
+            } else if (cache.size() > MAX_ENTRIES) {
+                evictLeastRecentlyUsed();
+            }
+        }
+        return loaded;
+    }
+
+    private void evict(long poemId) {
+        invalidations.incrementAndGet();
+        cache.remove(poemId);
+    }
+
+    /**
+     * Remove as entradas lidas há mais tempo até o cache voltar a {@link #TRIMMED_ENTRIES} entradas.
+     */
+    private synchronized void evictLeastRecentlyUsed() {
+        if (cache.size() <= MAX_ENTRIES) {
+            return;
+        }
+        List<Map.Entry<Long, Entry>> entries = new ArrayList<>(cache.entrySet());
+        entries.sort(Comparator.comparingLong(e -> e.getValue().lastAccess));
+        for (int i = 0; i < entries.size() - TRIMMED_ENTRIES; i++) {
+            cache.remove(entries.get(i).getKey(), entries.get(i).getValue());
+        }
+    }
+
+    /**
+     * Cópia imutável das versões lidas do banco (a projeção do Spring Data é um proxy).
+     */
+    private record Snapshot(long version, Instant updatedAt, long commentsVersion, Instant commentsUpdatedAt) {
+
+        static Snapshot of(PoemVersions v) {
+            return new Snapshot(v.getVersion(), v.getUpdatedAt(), v.getCommentsVersion(), v.getCommentsUpdatedAt());
+        }
+    }
+
+    /**
+     * Versões em cache de um poema, o instante em que foram lidas do banco e a última leitura.
+     */
+    private static final class Entry {
+
+        private final Snapshot snapshot;
+        private final long loadedAt;
+        private volatile long lastAccess;
+
+        Entry(Snapshot snapshot, long loadedAt, long lastAccess) {
+            this.snapshot = snapshot;
+            this.loadedAt = loadedAt;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package project.poem.application.service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa leituras idênticas e simultâneas (single-flight): enquanto a carga de uma chave está em
+ * andamento, as demais chamadas com a mesma chave esperam por ela e recebem o mesmo resultado, em
+ * vez de executar cada uma a sua consulta. Quando um poema viraliza e muitas requisições chegam ao
+ * mesmo tempo, o banco recebe uma consulta por chave e não uma por requisição.
+ * <p>
+ * Só as chamadas simultâneas são agrupadas: nada é guardado após o fim da carga, de modo que uma
+ * chamada posterior sempre lê o banco. O resultado é compartilhado entre as chamadas agrupadas e não
+ * deve ser alterado por elas. Uma exceção da carga é repassada a todas as chamadas que a esperavam.
+ * <p>
+ * Para que uma chamada não receba um resultado lido antes de uma alteração que ela já observou, a chave
+ * deve incluir a versão do recurso vista pela chamada (ver {@link VersionedKey}): depois de uma alteração,
+ * as chamadas veem a nova versão e só se juntam a cargas iniciadas após ela.
+ * A espera por uma carga em andamento é limitada a {@link #MAX_WAIT_MILLIS}; passado esse tempo, a
+ * chamada executa a sua própria carga em vez de ficar presa a uma consulta lenta.
+ *
+ * @param <K> O tipo da chave.
+ * @param <V> O tipo do resultado.
+ */
+final class SingleFlight<K, V> {
+
+    /**
+     * Tempo máximo, em milissegundos, de espera por uma carga iniciada por outra chamada.
+     */
+    static final long MAX_WAIT_MILLIS = 5_000;
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Executa a carga da chave, ou espera pela carga da mesma chave já em andamento.
+     *
+     * @param key    A chave da leitura.
+     * @param loader A carga, executada apenas pela primeira das chamadas simultâneas.
+     * @return O resultado da carga.
+     */
+    V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            return await(running, loader);
+        }
+        try {
+            V value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> running, Supplier<V> loader) {
+        try {
+            return running.get(MAX_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return loader.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } catch (ExecutionException e) {
+            // Repassa a exceção original da carga (ex.: ResourceNotFoundException para um poema inexistente).
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new CompletionException(e.getCause());
+        }
+    }
+
+    /**
+     * Chave de uma leitura com a versão do recurso observada por quem a solicitou.
+     *
+     * @param id      O ID do recurso.
+     * @param version A versão observada (ex.: o ETag), ou nulo se desconhecida.
+     */
+    record VersionedKey(long id, String version) {
+    }
+}
@@ -0,0 +1,60 @@
+package project.poem.application.service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Utilitário para o parâmetro {@code fields} (sparse fieldsets) dos endpoints de poemas e comentários.
+ */
+final class SparseFields {
+
+    /**
+     * Mesmo formato de data usado pelos DTOs ({@code @JsonFormat(pattern = "dd/MM/yyyy")}).
+     */
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private SparseFields() {
+    }
+
+    /**
+     * Converte o parâmetro {@code fields} (nomes separados por vírgula) em um conjunto validado.
+     * O campo {@code id} é sempre incluído.
+     *
+     * @param fields  O valor do parâmetro.
+     * @param allowed Os campos permitidos.
+     * @return O conjunto de campos solicitados.
+     * @throws IllegalArgumentException Se algum campo não for permitido.
+     */
+    static Set<String> parse(String fields, Set<String> allowed) {
+        Set<String> result = new LinkedHashSet<>();
+        result.add("id");
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(name)) {
+                throw new IllegalArgumentException("Campo inválido: " + name);
+            }
+            result.add(name);
+        }
+        return result;
+    }
+
+    /**
+     * Formata as datas das linhas como os DTOs fariam na serialização.
+     *
+     * @param rows As linhas retornadas pela consulta.
+     * @return As mesmas linhas, com as datas formatadas.
+     */
+    static List<Map<String, Object>> formatDates(List<Map<String, Object>> rows) {
+        for (Map<String, Object> row : rows) {
+            row.replaceAll((field, value) -> value instanceof LocalDate d ? DATE_FORMAT.format(d) : value);
+        }
+        return rows;
+    }
+}
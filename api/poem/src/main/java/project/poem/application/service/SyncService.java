@@ -0,0 +1,228 @@
+package project.poem.application.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import project.poem.application.dto.CommentDto;
+import project.poem.application.dto.LikeChangeDto;
+import project.poem.application.dto.PoemDto;
+import project.poem.application.dto.SyncDto;
+import project.poem.application.dto.TombstoneDto;
+import project.poem.domain.model.Comment;
+import project.poem.domain.model.Poem;
+import project.poem.domain.model.Tombstone;
+import project.poem.domain.repository.CommentRepository;
+import project.poem.domain.repository.LikeChange;
+import project.poem.domain.repository.PoemLikeRepository;
+import project.poem.domain.repository.PoemRepository;
+import project.poem.domain.repository.TombstoneRepository;
+
+/**
+ * Serviço de sincronização incremental: retorna os poemas, comentários e curtidas alterados
+ * e os registros excluídos desde uma marca d'água, usando os índices por instante de alteração.
+ * <p>
+ * Ao final da sincronização, a marca d'água retornada fica {@link #OVERLAP} antes do instante
+ * da consulta, de modo que alterações gravadas com um instante anterior mas confirmadas depois
+ * da consulta sejam retornadas na sincronização seguinte. Por isso o cliente pode receber o mesmo registro
+ * mais de uma vez e deve aplicá-los pelo ID.
+ * <p>
+ * A marca d'água é uma posição (instante, ID) em cada tipo de registro: o instante em microssegundos,
+ * a precisão das colunas de instante, e o último ID já retornado de cada tipo nesse instante. Assim
+ * uma resposta limitada retoma do último item retornado sem repetir a página inteira, mesmo quando
+ * mais de {@code limit} registros foram gravados no mesmo microssegundo.
+ */
+@Service
+public class SyncService {
+
+    /**
+     * Janela de sobreposição entre sincronizações consecutivas.
+     */
+    static final Duration OVERLAP = Duration.ofSeconds(5);
+
+    private final PoemRepository poemRepo;
+    private final CommentRepository commentRepo;
+    private final PoemLikeRepository likeRepo;
+    private final TombstoneRepository tombstoneRepo;
+
+    /**
+     * Construtor para injetar as dependências necessárias.
+     *
+     * @param poemRepo      Repositório para acessar os dados dos poemas.
+     * @param commentRepo   Repositório para acessar os dados dos comentários.
+     * @param likeRepo      Repositório para acessar os dados das curtidas.
+     * @param tombstoneRepo Repositório com os registros de exclusão.
+     */
+    public SyncService(PoemRepository poemRepo, CommentRepository commentRepo, PoemLikeRepository likeRepo,
+                       TombstoneRepository tombstoneRepo) {
+        this.poemRepo = poemRepo;
+        this.commentRepo = commentRepo;
+        this.likeRepo = likeRepo;
+        this.tombstoneRepo = tombstoneRepo;
+    }
+
+    /**
+     * Busca as alterações ocorridas a partir de uma marca d'água.
+     * Este método é executado em uma transação somente leitura.
+     * Cada tipo de registro é limitado a {@code limit} itens; se algum tipo atingir o limite,
+     * {@code hasMore} é true e a nova marca d'água é a posição do último item retornado desse tipo.
+     *
+     * @param since A marca d'água recebida na sincronização anterior ("0" para a carga inicial).
+     * @param limit O número máximo de registros de cada tipo.
+     * @return As alterações e a marca d'água da próxima sincronização.
+     * @throws IllegalArgumentException Se a marca d'água for inválida.
+     */
+    @Transactional(readOnly = true)
+    public SyncDto changesSince(String since, int limit) {
+        Cursor from = Cursor.parse(since);
+        Instant now = Instant.now();
+        Pageable page = PageRequest.of(0, limit);
+
+        List<Poem> poems = poemRepo.findChangedAfter(from.at(), from.poemId(), page);
+        List<Comment> comments = commentRepo.findChangedAfter(from.at(), from.commentId(), page);
+        List<LikeChange> likes = likeRepo.findChangesAfter(from.at(), from.likeId(), page);
+        List<Tombstone> deleted = tombstoneRepo.findDeletedAfter(from.at(), from.tombstoneId(), page);
+
+        // Se algum tipo atingiu o limite, retoma do instante do último item retornado desse tipo;
+        // caso contrário, da janela de sobreposição antes do instante da consulta.
+        Instant next = null;
+        if (poems.size() == limit) {
+            next = earliest(next, poems.get(limit - 1).getUpdatedAt());
+        }
+        if (comments.size() == limit) {
+            next = earliest(next, comments.get(limit - 1).getUpdatedAt());
+        }
+        if (likes.size() == limit) {
+            next = earliest(next, likes.get(limit - 1).getCreatedAt());
+        }
+        if (deleted.size() == limit) {
+            next = earliest(next, deleted.get(limit - 1).getDeletedAt());
+        }
+        boolean hasMore = next != null;
+        Cursor cursor;
+        if (hasMore) {
+            // Em cada tipo, os itens já retornados no instante da nova marca d'água não são repetidos.
+            Instant at = next;
+            cursor = new Cursor(at,
+                                lastIdAt(at, from, from.poemId(), poems, Poem::getUpdatedAt, Poem::getId),
+                                lastIdAt(at, from, from.commentId(), comments, Comment::getUpdatedAt, Comment::getId),
+                                lastIdAt(at, from, from.likeId(), likes, LikeChange::getCreatedAt, LikeChange::getId),
+                                lastIdAt(at, from, from.tombstoneId(), deleted, Tombstone::getDeletedAt,
+                                         Tombstone::getId));
+        } else {
+            cursor = new Cursor(now.minus(OVERLAP), 0, 0, 0, 0);
+        }
+
+        SyncDto dto = new SyncDto();
+        dto.setWatermark(cursor.format());
+        dto.setHasMore(hasMore);
+        dto.setPoems(poems.stream().map(this::toDto).toList());
+        dto.setComments(comments.stream().map(this::toDto).toList());
+        dto.setLikes(likes.stream().map(l -> new LikeChangeDto(l.getId(), l.getPoemId())).toList());
+        dto.setDeleted(deleted.stream()
+                              .map(t -> new TombstoneDto(t.getEntityType(), t.getEntityId(), t.getPoemId()))
+                              .toList());
+        return dto;
+    }
+
+    private static Instant earliest(Instant current, Instant candidate) {
+        return current == null || candidate.isBefore(current) ? candidate : current;
+    }
+
+    /**
+     * Obtém o ID do último item retornado no instante {@code at}. Os itens de cada tipo são retornados em
+     * ordem (instante, ID) a partir da marca d'água, de modo que todos os anteriores a ele também foram
+     * retornados. Sem itens nesse instante, mantém o ID da marca d'água anterior se o instante não mudou.
+     */
+    private static <T> long lastIdAt(Instant at, Cursor from, long previousId, List<T> items,
+                                     Function<T, Instant> changedAt, ToLongFunction<T> id) {
+        for (int i = items.size() - 1; i >= 0; i--) {
+            Instant instant = changedAt.apply(items.get(i));
+            if (instant.equals(at)) {
+                return id.applyAsLong(items.get(i));
+            }
+            if (instant.isBefore(at)) {
+                break;
+            }
+        }
+        return at.equals(from.at()) ? previousId : 0;
+    }
+
+    /**
+     * Converte uma entidade Poem para um objeto PoemDto.
+     *
+     * @param p A entidade Poem a ser convertida.
+     * @return Um objeto PoemDto representando a entidade.
+     */
+    private PoemDto toDto(Poem p) {
+        PoemDto dto = new PoemDto();
+        dto.setId(p.getId());
+        dto.setTitle(p.getTitle());
+        dto.setText(p.getText());
+        dto.setAuthor(p.getAuthor());
+        dto.setImageUrl(p.getImageUrl());
+        dto.setPostDate(p.getPostDate());
+        dto.setVersion(p.getVersion());
+        return dto;
+    }
+
+    /**
+     * Converte uma entidade Comment para um objeto CommentDto.
+     * O ID do poema é lido do proxy sem carregar o poema.
+     *
+     * @param c A entidade Comment a ser convertida.
+     * @return Um objeto CommentDto representando a entidade.
+     */
+    private CommentDto toDto(Comment c) {
+        CommentDto dto = new CommentDto();
+        dto.setId(c.getId());
+        dto.setAuthor(c.getAuthor());
+        dto.setContent(c.getContent());
+        dto.setCommentDate(c.getCommentDate());
+        dto.setPoemId(c.getPoem().getId());
+        dto.setVersion(c.getVersion());
+        return dto;
+    }
+
+    /**
+     * Posição da sincronização: o instante e, em cada tipo de registro, o último ID já retornado nesse instante.
+     * Representada como "instante" (microssegundos desde a época) ou "instante:poema:comentário:curtida:exclusão".
+     */
+    private record Cursor(Instant at, long poemId, long commentId, long likeId, long tombstoneId) {
+
+        static Cursor parse(String value) {
+            String[] parts = value.split(":", -1);
+            if (parts.length != 1 && parts.length != 5) {
+                throw new IllegalArgumentException("Marca d'água inválida: " + value);
+            }
+            long[] numbers = new long[5];
+            for (int i = 0; i < parts.length; i++) {
+                try {
+                    numbers[i] = Long.parseLong(parts[i]);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Marca d'água inválida: " + value);
+                }
+                if (numbers[i] < 0) {
+                    throw new IllegalArgumentException("Marca d'água inválida: " + value);
+                }
+            }
+            return new Cursor(Instant.EPOCH.plus(numbers[0], ChronoUnit.MICROS),
+                              numbers[1], numbers[2], numbers[3], numbers[4]);
+        }
+
+        String format() {
+            long micros = ChronoUnit.MICROS.between(Instant.EPOCH, at);
+            return poemId == 0 && commentId == 0 && likeId == 0 && tombstoneId == 0
+                   ? Long.toString(micros)
+                   : micros + ":" + poemId + ":" + commentId + ":" + likeId + ":" + tombstoneId;
+        }
+    }
+}
@@ -0,0 +1,413 @@
+package project.poem.application.service;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import project.poem.application.dto.TrendingPoemDto;
+import project.poem.domain.event.PoemActivityEvent;
+import project.poem.domain.model.Poem;
+import project.poem.domain.repository.PoemRepository;
+import project.poem.infrastructure.collection.LongDoubleHashMap;
+
+/**
+ * Serviço que mantém em memória o ranking de poemas "em alta".
+ * Cada curtida e comentário soma um peso à pontuação do poema, e as pontuações decaem
+ * exponencialmente com a meia-vida configurada. O ranking é alimentado pelos eventos
+ * {@link PoemActivityEvent} publicados por {@link LikeService} e {@link CommentService}
+ * e reconstruído a partir do banco de dados na inicialização. Cada curtida e comentário é pontuado
+ * pelo instante gravado em created_at, tanto no evento quanto na reconstrução e na remoção.
+ *
+ * <p>As pontuações são guardadas relativas a um instante de referência: um evento no instante t
+ * soma {@code peso * e^(λ(t - referência))}. Como o decaimento afeta todos os poemas igualmente,
+ * a ordem do ranking só muda quando chegam eventos, e o heap com os N primeiros só precisa ser
+ * atualizado nesses momentos. A leitura devolve uma lista imutável já montada.</p>
+ */
+@Service
+public class TrendingService {
+
+    private static final Logger log = LoggerFactory.getLogger(TrendingService.class);
+
+    /**
+     * Expoente a partir do qual as pontuações são reescaladas para um novo instante de referência,
+     * mantendo os valores longe do limite de um {@code double}.
+     */
+    private static final double MAX_EXPONENT = 50;
+
+    private final PoemRepository poemRepo;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate snapshotTransaction;
+    private final Clock clock;
+    private final double decayPerSecond;
+    private final double likeWeight;
+    private final double commentWeight;
+    private final int capacity;
+
+    /** Pontuação de cada poema, relativa a {@link #epochSecond}. */
+    private final LongDoubleHashMap scores = new LongDoubleHashMap(1024);
+    /** Heap de mínimo com os {@link #capacity} poemas de maior pontuação. */
+    private final PriorityQueue<Ranked> top = new PriorityQueue<>(Comparator.comparingDouble(Ranked::score));
+    /** Dados de exibição dos poemas presentes no ranking. */
+    private final Map<Long, TrendingPoemDto> metadata = new HashMap<>();
+    private long epochSecond;
+    private boolean topDirty;
+
+    /**
+     * Eventos recebidos durante a reconstrução, reaplicados sobre as pontuações reconstruídas;
+     * nulo fora da reconstrução.
+     */
+    private List<PoemActivityEvent> pending;
+
+    /**
+     * Incrementado a cada montagem da lista; uma montagem só é publicada se nenhuma outra começou depois dela.
+     */
+    private long snapshotGeneration;
+
+    private volatile List<TrendingPoemDto> snapshot = List.of();
+    private volatile boolean snapshotStale = true;
+
+    /**
+     * Construtor usado pelo Spring, com a configuração lida das propriedades {@code trending.*}.
+     */
+    @Autowired
+    public TrendingService(PoemRepository poemRepo,
+                           JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${trending.half-life-hours:24}") double halfLifeHours,
+                           @Value("${trending.like-weight:1.0}") double likeWeight,
+                           @Value("${trending.comment-weight:3.0}") double commentWeight,
+                           @Value("${trending.capacity:50}") int capacity) {
+        this(poemRepo, jdbcTemplate, transactionManager, Clock.systemUTC(), halfLifeHours, likeWeight,
+             commentWeight, capacity);
+    }
+
+    /**
+     * Construtor que permite definir o relógio usado para o decaimento.
+     */
+    TrendingService(PoemRepository poemRepo, JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                    Clock clock, double halfLifeHours, double likeWeight, double commentWeight, int capacity) {
+        this.poemRepo = poemRepo;
+        this.jdbcTemplate = jdbcTemplate;
+        // As duas leituras da reconstrução veem o mesmo instante do banco; não é somente leitura para
+        // não ser desviada para uma réplica atrasada.
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.clock = clock;
+        this.decayPerSecond = Math.log(2) / (halfLifeHours * 3600);
+        this.likeWeight = likeWeight;
+        this.commentWeight = commentWeight;
+        this.capacity = capacity;
+        this.epochSecond = clock.instant().getEpochSecond();
+    }
+
+    /**
+     * Atualiza o ranking com uma atividade em um poema.
+     * Executado após o commit da transação que publicou o evento.
+     *
+     * @param event O evento de atividade.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onPoemActivity(PoemActivityEvent event) {
+        if (pending != null) {
+            pending.add(event);
+        }
+        apply(event);
+    }
+
+    private void apply(PoemActivityEvent event) {
+        switch (event.getType()) {
+            case LIKED -> record(event.getPoemId(), likeWeight, event.getOccurredAt());
+            case UNLIKED -> record(event.getPoemId(), -likeWeight, undoneAt(event));
+            case COMMENTED -> record(event.getPoemId(), commentWeight, event.getOccurredAt());
+            case COMMENT_DELETED -> record(event.getPoemId(), -commentWeight, undoneAt(event));
+            case POEM_UPDATED -> evictMetadata(event.getPoemId());
+            case POEM_DELETED -> removePoem(event.getPoemId());
+        }
+    }
+
+    /**
+     * Instante em que foi somada a contribuição que um evento desfaz: uma descurtida ou exclusão de
+     * comentário retira o peso já decaído da curtida ou do comentário original, e não o peso inteiro.
+     * Sem o instante original, retira o peso atual e a pontuação é limitada a zero em {@link #record}.
+     */
+    private static Instant undoneAt(PoemActivityEvent event) {
+        return event.getUndoneAt() != null ? event.getUndoneAt() : event.getOccurredAt();
+    }
+
+    /**
+     * Retorna os poemas em alta, do maior para o menor.
+     * Quando o ranking não mudou desde a última leitura, devolve a lista já montada sem acessar o banco.
+     *
+     * @param limit O número máximo de poemas (limitado à capacidade do ranking).
+     * @return A lista de poemas em alta.
+     */
+    public List<TrendingPoemDto> getTrending(int limit) {
+        if (snapshotStale) {
+            refreshSnapshot();
+        }
+        List<TrendingPoemDto> current = snapshot;
+        return current.subList(0, Math.max(0, Math.min(limit, current.size())));
+    }
+
+    /**
+     * Reconstrói as pontuações a partir das tabelas poem_likes e comments.
+     * Curtidas anteriores à coluna created_at usam a data de publicação do poema, e comentários
+     * anteriores a ela, a data do comentário.
+     * <p>
+     * As tabelas são lidas fora do bloqueio, enquanto o ranking continua recebendo eventos. Os eventos
+     * que chegam a partir do início da reconstrução são guardados e reaplicados sobre as pontuações
+     * reconstruídas na troca, e as leituras são feitas em uma única transação REPEATABLE READ, cujo
+     * instante de leitura é posterior ao início da reconstrução.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.nanoTime();
+        long epoch = clock.instant().getEpochSecond();
+        synchronized (this) {
+            pending = new ArrayList<>();
+        }
+        try {
+            LongDoubleHashMap rebuilt = snapshotTransaction.execute(status -> scan(epoch));
+            synchronized (this) {
+                scores.clear();
+                rebuilt.forEach((poemId, score) -> {
+                    if (score > 0) {
+                        scores.put(poemId, score);
+                    }
+                });
+                epochSecond = epoch;
+                rebuildTop();
+                List<PoemActivityEvent> missed = pending;
+                pending = null;
+                missed.forEach(this::apply);
+                log.info("Ranking de poemas em alta reconstruído: {} poemas, {} eventos reaplicados, em {} ms",
+                         scores.size(), missed.size(), (System.nanoTime() - started) / 1_000_000);
+            }
+        } finally {
+            synchronized (this) {
+                pending = null;
+            }
+        }
+    }
+
+    private LongDoubleHashMap scan(long epoch) {
+        LongDoubleHashMap rebuilt = new LongDoubleHashMap(1024);
+        jdbcTemplate.query(
+            "select l.poem_id, l.created_at, p.post_date from poem_likes l join poems p on p.id = l.poem_id",
+            rs -> {
+                Timestamp createdAt = rs.getTimestamp(2);
+                Instant at = createdAt != null ? createdAt.toInstant() : startOfDay(rs.getObject(3, LocalDate.class));
+                if (at != null) {
+                    rebuilt.addTo(rs.getLong(1), weightAt(likeWeight, at.getEpochSecond(), epoch));
+                }
+            });
+        jdbcTemplate.query(
+            "select poem_id, created_at, comment_date from comments where poem_id is not null",
+            rs -> {
+                Timestamp createdAt = rs.getTimestamp(2);
+                Instant at = createdAt != null ? createdAt.toInstant() : startOfDay(rs.getObject(3, LocalDate.class));
+                if (at != null) {
+                    rebuilt.addTo(rs.getLong(1), weightAt(commentWeight, at.getEpochSecond(), epoch));
+                }
+            });
+        return rebuilt;
+    }
+
+    /**
+     * Soma um peso à pontuação de um poema e atualiza o heap dos primeiros colocados.
+     */
+    private synchronized void record(long poemId, double weight, Instant at) {
+        rebaseIfNeeded();
+        double score = scores.addTo(poemId, weightAt(weight, at.getEpochSecond(), epochSecond));
+        if (score <= 0) {
+            // Descurtidas e exclusões podem deixar um resíduo negativo por causa do decaimento.
+            scores.remove(poemId);
+            score = 0;
+        }
+
+        boolean wasTop = removeFromTop(poemId);
+        if (score > 0) {
+            if (top.size() < capacity) {
+                top.add(new Ranked(poemId, score));
+            } else if (score > top.peek().score()) {
+                top.poll();
+                top.add(new Ranked(poemId, score));
+            }
+        }
+        if (wasTop && weight < 0 && scores.size() > top.size()) {
+            // Um poema do topo perdeu pontos: algum poema de fora pode ter passado à frente.
+            topDirty = true;
+        }
+        if (wasTop || containsTop(poemId)) {
+            snapshotStale = true;
+        }
+    }
+
+    private synchronized void removePoem(long poemId) {
+        scores.remove(poemId);
+        metadata.remove(poemId);
+        if (removeFromTop(poemId)) {
+            topDirty = true;
+            snapshotStale = true;
+        }
+    }
+
+    private synchronized void evictMetadata(long poemId) {
+        if (metadata.remove(poemId) != null) {
+            snapshotStale = true;
+        }
+    }
+
+    /**
+     * Monta a lista imutável devolvida pelas leituras, buscando no banco apenas os dados
+     * de exibição dos poemas que acabaram de entrar no ranking. A busca é feita fora do bloqueio,
+     * para que os eventos não esperem pelo banco.
+     */
+    private void refreshSnapshot() {
+        List<Ranked> ranked;
+        List<Long> missing = new ArrayList<>();
+        long generation;
+        synchronized (this) {
+            if (!snapshotStale) {
+                return;
+            }
+            if (topDirty) {
+                rebuildTop();
+            }
+            ranked = new ArrayList<>(top);
+            ranked.sort(Comparator.comparingDouble(Ranked::score).reversed());
+            Set<Long> ids = new HashSet<>();
+            for (Ranked r : ranked) {
+                ids.add(r.poemId());
+                if (!metadata.containsKey(r.poemId())) {
+                    missing.add(r.poemId());
+                }
+            }
+            metadata.keySet().retainAll(ids);
+            // Um evento durante a busca marca a lista como desatualizada de novo.
+            snapshotStale = false;
+            generation = ++snapshotGeneration;
+        }
+
+        Map<Long, TrendingPoemDto> loaded = new HashMap<>();
+        if (!missing.isEmpty()) {
+            for (Poem p : poemRepo.findAllById(missing)) {
+                TrendingPoemDto dto = new TrendingPoemDto();
+                dto.setId(p.getId());
+                dto.setTitle(p.getTitle());
+                dto.setAuthor(p.getAuthor());
+                dto.setImageUrl(p.getImageUrl());
+                dto.setPostDate(p.getPostDate());
+                loaded.put(p.getId(), dto);
+            }
+        }
+
+        synchronized (this) {
+            loaded.forEach(metadata::putIfAbsent);
+            if (generation != snapshotGeneration) {
+                return; // Uma montagem mais recente já começou.
+            }
+            // Converte as pontuações relativas para o instante atual.
+            double decay = Math.exp(-decayPerSecond * (clock.instant().getEpochSecond() - epochSecond));
+            List<TrendingPoemDto> result = new ArrayList<>(ranked.size());
+            for (Ranked r : ranked) {
+                TrendingPoemDto meta = metadata.get(r.poemId());
+                if (meta == null) {
+                    continue; // poema excluído
+                }
+                TrendingPoemDto dto = new TrendingPoemDto();
+                dto.setId(meta.getId());
+                dto.setTitle(meta.getTitle());
+                dto.setAuthor(meta.getAuthor());
+                dto.setImageUrl(meta.getImageUrl());
+                dto.setPostDate(meta.getPostDate());
+                dto.setScore(r.score() * decay);
+                result.add(dto);
+            }
+            snapshot = List.copyOf(result);
+        }
+    }
+
+    /**
+     * Reescala as pontuações para o instante atual quando o expoente fica grande demais.
+     */
+    private void rebaseIfNeeded() {
+        long now = clock.instant().getEpochSecond();
+        if (decayPerSecond * (now - epochSecond) > MAX_EXPONENT) {
+            scores.scaleValues(Math.exp(-decayPerSecond * (now - epochSecond)));
+            epochSecond = now;
+            rebuildTop();
+        }
+    }
+
+    private void rebuildTop() {
+        top.clear();
+        scores.forEach((poemId, score) -> {
+            if (top.size() < capacity) {
+                top.add(new Ranked(poemId, score));
+            } else if (score > top.peek().score()) {
+                top.poll();
+                top.add(new Ranked(poemId, score));
+            }
+        });
+        topDirty = false;
+        snapshotStale = true;
+    }
+
+    private boolean removeFromTop(long poemId) {
+        for (Iterator<Ranked> it = top.iterator(); it.hasNext();) {
+            if (it.next().poemId() == poemId) {
+                it.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean containsTop(long poemId) {
+        for (Ranked r : top) {
+            if (r.poemId() == poemId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private double weightAt(double weight, long eventSecond, long referenceSecond) {
+        return weight * Math.exp(decayPerSecond * (eventSecond - referenceSecond));
+    }
+
+    private static Instant startOfDay(LocalDate date) {
+        return date != null ? date.atStartOfDay().toInstant(ZoneOffset.UTC) : null;
+    }
+
+    /**
+     * Entrada do heap de primeiros colocados.
+     */
+    private record Ranked(long poemId, double score) {
+    }
+}
@@ -0,0 +1,313 @@
+package project.poem.application.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import project.poem.application.dto.ImportResultDto;
+import project.poem.application.dto.UserDto;
+import project.poem.domain.model.IdSequences;
+import project.poem.domain.model.Role;
+import project.poem.domain.repository.UserRepository;
+
+/**
+ * Serviço responsável pela importação em lote de usuários a partir de CSV ou NDJSON.
+ * A entrada é lida em streaming e processada em blocos: nomes de usuário repetidos são
+ * descartados em memória, as senhas são criptografadas em paralelo e cada bloco é gravado
+ * com um único batch JDBC dentro da sua própria transação.
+ * <p>
+ * As linhas são validadas antes de entrar no bloco; se ainda assim o batch falhar (uma restrição do
+ * banco), o bloco é gravado linha a linha, de modo que só as linhas que falham são rejeitadas.
+ */
+@Service
+public class UserImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserImportService.class);
+
+    /**
+     * Quantidade de usuários gravados por batch JDBC.
+     */
+    private static final int CHUNK_SIZE = 1000;
+
+    /**
+     * Tamanho máximo do nome de usuário e do email (colunas VARCHAR(255)).
+     */
+    private static final int MAX_LENGTH = 255;
+
+    private static final String INSERT_SQL =
+        "insert into users (id, username, password, email, role) values (?, ?, ?, ?, ?)";
+
+    /**
+     * Formatos de entrada aceitos pela importação.
+     */
+    public enum Format {
+        /** Uma linha por usuário no formato {@code username,password,email,role}, com cabeçalho opcional. */
+        CSV,
+        /** Um objeto JSON por linha com os campos username, password, email e role. */
+        NDJSON
+    }
+
+    private final UserRepository userRepository;
+    private final IdSequenceService idSequences;
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Construtor para injetar as dependências necessárias.
+     */
+    public UserImportService(UserRepository userRepository,
+                             IdSequenceService idSequences,
+                             BCryptPasswordEncoder passwordEncoder,
+                             JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper) {
+        this.userRepository = userRepository;
+        this.idSequences = idSequences;
+        this.passwordEncoder = passwordEncoder;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Importa usuários a partir de um fluxo de entrada.
+     * Linhas inválidas ou que falham na gravação são contabilizadas como rejeitadas
+     * sem interromper o restante da importação.
+     *
+     * @param in     Fluxo com o conteúdo a ser importado (UTF-8).
+     * @param format Formato do conteúdo.
+     * @return Resumo da importação.
+     * @throws IOException Se ocorrer um erro de leitura.
+     */
+    public ImportResultDto importUsers(InputStream in, Format format) throws IOException {
+        ImportResultDto result = new ImportResultDto();
+        Set<String> seen = new HashSet<>();
+        List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || (lineNumber == 1 && format == Format.CSV && line.startsWith("username"))) {
+                    continue;
+                }
+                result.incrementRead();
+
+                UserDto dto;
+                try {
+                    dto = parse(line, format);
+                    validate(dto);
+                } catch (Exception e) {
+                    result.reject(1, "Linha " + lineNumber + ": " + e.getMessage());
+                    continue;
+                }
+
+                // Descarta nomes de usuário repetidos dentro do próprio arquivo.
+                if (!seen.add(dto.getUsername())) {
+                    result.addDuplicates(1);
+                    continue;
+                }
+
+                chunk.add(new Row(lineNumber, dto));
+                if (chunk.size() == CHUNK_SIZE) {
+                    flush(chunk, result);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            flush(chunk, result);
+        }
+
+        log.info("Importação de usuários concluída: {} lidos, {} importados, {} duplicados, {} rejeitados",
+                 result.getRead(), result.getImported(), result.getDuplicates(), result.getRejected());
+        return result;
+    }
+
+    /**
+     * Grava um bloco de usuários: remove os que já existem no banco, criptografa as senhas
+     * em paralelo e insere o restante com um único batch JDBC.
+     *
+     * @param chunk  O bloco de usuários a ser gravado.
+     * @param result O resumo da importação a ser atualizado.
+     */
+    private void flush(List<Row> chunk, ImportResultDto result) {
+        try {
+            Set<String> existing = userRepository.findExistingUsernames(
+                chunk.stream().map(row -> row.dto().getUsername()).toList());
+            List<Row> fresh = chunk.stream()
+                                   .filter(row -> !existing.contains(row.dto().getUsername()))
+                                   .toList();
+
+            // Os identificadores vêm da mesma sequência usada pelo Hibernate (tabela id_sequences).
+            long firstId = fresh.isEmpty() ? 0 : idSequences.reserve(IdSequences.USERS, fresh.size());
+            // BCrypt é deliberadamente lento; distribui o custo entre os núcleos disponíveis.
+            List<Object[]> rows = IntStream.range(0, fresh.size()).parallel()
+                                       .mapToObj(i -> {
+                                           UserDto dto = fresh.get(i).dto();
+                                           return new Object[] {
+                                               firstId + i,
+                                               dto.getUsername(),
+                                               passwordEncoder.encode(dto.getPassword()),
+                                               dto.getEmail(),
+                                               dto.getRole()
+                                           };
+                                       })
+                                       .toList();
+
+            result.addDuplicates(chunk.size() - fresh.size());
+            insert(fresh, rows, result);
+        } catch (Exception e) {
+            result.reject(chunk.size(), "Falha ao gravar bloco de " + chunk.size() + " usuários: " + e.getMessage());
+        }
+        log.info("Importação de usuários: {} lidos, {} importados até agora", result.getRead(), result.getImported());
+    }
+
+    /**
+     * Insere as linhas com um único batch JDBC. Se o batch falhar, a transação do bloco é desfeita e
+     * as linhas são inseridas uma a uma, cada uma na sua própria transação, rejeitando apenas as que falham.
+     *
+     * @param fresh  Os usuários a inserir, com o número da linha de cada um.
+     * @param rows   Os parâmetros do INSERT, na mesma ordem.
+     * @param result O resumo da importação a ser atualizado.
+     */
+    private void insert(List<Row> fresh, List<Object[]> rows, ImportResultDto result) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, rows));
+            result.addImported(rows.size());
+            return;
+        } catch (DataAccessException e) {
+            log.warn("Batch de {} usuários falhou, gravando linha a linha: {}", rows.size(), e.getMessage());
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            try {
+                jdbcTemplate.update(INSERT_SQL, rows.get(i));
+                result.addImported(1);
+            } catch (DuplicateKeyException e) {
+                result.addDuplicates(1);
+            } catch (DataAccessException e) {
+                result.reject(1, "Linha " + fresh.get(i).lineNumber() + ": " + e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+
+    /**
+     * Converte uma linha da entrada em um UserDto.
+     *
+     * @param line   A linha a ser convertida.
+     * @param format O formato da linha.
+     * @return O UserDto correspondente.
+     * @throws IOException Se o JSON for inválido.
+     */
+    private UserDto parse(String line, Format format) throws IOException {
+        if (format == Format.NDJSON) {
+            return objectMapper.readValue(line, UserDto.class);
+        }
+        List<String> fields = splitCsv(line);
+        if (fields.size() < 3) {
+            throw new IllegalArgumentException("esperado username,password,email[,role]");
+        }
+        UserDto dto = new UserDto();
+        dto.setUsername(fields.get(0));
+        dto.setPassword(fields.get(1));
+        dto.setEmail(fields.get(2));
+        dto.setRole(fields.size() > 3 ? fields.get(3) : null);
+        return dto;
+    }
+
+    /**
+     * Valida os campos obrigatórios e normaliza a role (padrão: USER).
+     *
+     * @param dto O usuário a ser validado.
+     * @throws IllegalArgumentException Se algum campo for inválido.
+     */
+    private static void validate(UserDto dto) {
+        if (dto.getUsername() == null || dto.getUsername().isBlank()) {
+            throw new IllegalArgumentException("username obrigatório");
+        }
+        if (dto.getUsername().length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("username maior que " + MAX_LENGTH + " caracteres");
+        }
+        if (dto.getPassword() == null || dto.getPassword().isEmpty()) {
+            throw new IllegalArgumentException("password obrigatório para " + dto.getUsername());
+        }
+        if (dto.getEmail() == null || dto.getEmail().isBlank()) {
+            throw new IllegalArgumentException("email obrigatório para " + dto.getUsername());
+        }
+        if (dto.getEmail().length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("email maior que " + MAX_LENGTH + " caracteres para " + dto.getUsername());
+        }
+        if (dto.getRole() == null || dto.getRole().isBlank()) {
+            dto.setRole(Role.USER.name());
+        } else {
+            try {
+                dto.setRole(Role.valueOf(dto.getRole().trim().toUpperCase()).name());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Role inválida: " + dto.getRole());
+            }
+        }
+    }
+
+    /**
+     * Divide uma linha CSV em campos, respeitando valores entre aspas duplas
+     * (onde {@code ""} representa uma aspa literal).
+     *
+     * @param line A linha CSV.
+     * @return A lista de campos.
+     */
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    /**
+     * Usuário lido da entrada, com o número da sua linha.
+     */
+    private record Row(long lineNumber, UserDto dto) {
+    }
+}
@@ -2,7 +2,12 @@ package project.poem.application.service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -14,6 +19,7 @@ import project.poem.application.dto.UserDto;
 import project.poem.domain.model.Role;
 import project.poem.domain.model.User;
 import project.poem.domain.repository.UserRepository;
+import project.poem.domain.repository.UserSummary;
 import project.poem.infrastructure.security.JwtTokenProvider;
 import project.poem.infrastructure.security.UsernameAlreadyExistsException;
 
@@ -24,6 +30,16 @@ import project.poem.infrastructure.security.UsernameAlreadyExistsException;
 @Service
 public class UserService {
 
+    /**
+     * Tamanho máximo de página aceito na listagem paginada de usuários.
+     */
+    private static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Propriedades pelas quais a listagem paginada pode ser ordenada.
+     */
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "username", "email", "role");
+
     private final UserRepository userRepository;
     private final JwtTokenProvider jwtTokenProvider;
     private final BCryptPasswordEncoder passwordEncoder;
@@ -159,8 +175,39 @@ public class UserService {
             .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado: " + username));
     }
 
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    /**
+     * Retorna todos os usuários sem carregar o hash da senha.
+     *
+     * @return Lista de projeções dos usuários.
+     */
+    @Transactional(readOnly = true)
+    public List<UserSummary> getAllUsers() {
+        return userRepository.findAllProjectedBy();
+    }
+
+    /**
+     * Retorna uma página de usuários, opcionalmente filtrada por prefixo de nome de usuário e de email.
+     * O tamanho da página é limitado a {@value #MAX_PAGE_SIZE} e a ordenação só é aceita
+     * pelas propriedades id, username, email e role (padrão: id).
+     *
+     * @param usernamePrefix Prefixo do nome de usuário (opcional).
+     * @param emailPrefix    Prefixo do email (opcional).
+     * @param pageable       Paginação e ordenação solicitadas.
+     * @return Página de projeções dos usuários.
+     * @throws IllegalArgumentException Se for solicitada ordenação por uma propriedade não suportada.
+     */
+    @Transactional(readOnly = true)
+    public Page<UserSummary> listUsers(String usernamePrefix, String emailPrefix, Pageable pageable) {
+        for (Sort.Order order : pageable.getSort()) {
+            if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Ordenação inválida: " + order.getProperty());
+            }
+        }
+        Sort sort = pageable.getSort().isSorted() ? pageable.getSort() : Sort.by("id");
+        Pageable bounded = PageRequest.of(pageable.getPageNumber(),
+                                          Math.min(pageable.getPageSize(), MAX_PAGE_SIZE),
+                                          sort);
+        return userRepository.findSummaries(LikePrefix.of(usernamePrefix), LikePrefix.of(emailPrefix), bounded);
     }
 
     /**
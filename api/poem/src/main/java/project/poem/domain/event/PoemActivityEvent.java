@@ -0,0 +1,100 @@
+package project.poem.domain.event;
+
+import java.time.Instant;
+
+/**
+ * Evento de domínio publicado quando há atividade em um poema (curtida, comentário, edição ou exclusão).
+ * Os serviços de escrita publicam este evento e os componentes que mantêm estruturas em memória
+ * (como o ranking de poemas em alta) o consomem após o commit da transação.
+ */
+public class PoemActivityEvent {
+
+    /**
+     * Tipos de atividade em um poema.
+     */
+    public enum Type {
+        /** Um usuário curtiu o poema. */
+        LIKED,
+        /** Um usuário removeu a curtida do poema. */
+        UNLIKED,
+        /** Um comentário foi criado no poema. */
+        COMMENTED,
+        /** Um comentário do poema foi editado. */
+        COMMENT_UPDATED,
+        /** Um comentário do poema foi excluído. */
+        COMMENT_DELETED,
+        /** O poema foi criado. */
+        POEM_CREATED,
+        /** O poema foi editado. */
+        POEM_UPDATED,
+        /** O poema foi excluído. */
+        POEM_DELETED,
+        /** Poemas foram importados em lote (o ID do poema é 0). */
+        POEMS_IMPORTED
+    }
+
+    private final Type type;
+    private final long poemId;
+    private final Long userId;
+    private final Instant occurredAt;
+    private final Instant undoneAt;
+
+    /**
+     * Cria um novo evento de atividade.
+     *
+     * @param type       O tipo de atividade.
+     * @param poemId     O ID do poema.
+     * @param userId     O ID do usuário que realizou a atividade (pode ser nulo).
+     * @param occurredAt O instante em que a atividade ocorreu.
+     */
+    public PoemActivityEvent(Type type, long poemId, Long userId, Instant occurredAt) {
+        this(type, poemId, userId, occurredAt, null);
+    }
+
+    /**
+     * Cria um evento que desfaz uma atividade anterior ({@link Type#UNLIKED} ou {@link Type#COMMENT_DELETED}).
+     *
+     * @param type       O tipo de atividade.
+     * @param poemId     O ID do poema.
+     * @param userId     O ID do usuário que realizou a atividade (pode ser nulo).
+     * @param occurredAt O instante em que a atividade ocorreu.
+     * @param undoneAt   O instante da curtida ou do comentário desfeito (pode ser nulo se desconhecido).
+     */
+    public PoemActivityEvent(Type type, long poemId, Long userId, Instant occurredAt, Instant undoneAt) {
+        this.type = type;
+        this.poemId = poemId;
+        this.userId = userId;
+        this.occurredAt = occurredAt;
+        this.undoneAt = undoneAt;
+    }
+
+    /**
+     * Obtém o tipo de atividade.
+     * @return O tipo de atividade.
+     */
+    public Type getType() { return type; }
+
+    /**
+     * Obtém o ID do poema.
+     * @return O ID do poema.
+     */
+    public long getPoemId() { return poemId; }
+
+    /**
+     * Obtém o ID do usuário que realizou a atividade.
+     * @return O ID do usuário, ou null se não se aplicar.
+     */
+    public Long getUserId() { return userId; }
+
+    /**
+     * Obtém o instante em que a atividade ocorreu.
+     * @return O instante da atividade.
+     */
+    public Instant getOccurredAt() { return occurredAt; }
+
+    /**
+     * Obtém o instante da curtida ou do comentário desfeito por este evento.
+     * @return O instante da atividade desfeita, ou null se não se aplicar ou for desconhecido.
+     */
+    public Instant getUndoneAt() { return undoneAt; }
+}
@@ -1,5 +1,6 @@
 package project.poem.domain.model;
 
+import java.time.Instant;
 import java.time.LocalDate;
 
 import jakarta.persistence.Column;
@@ -8,24 +9,34 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.Version;
 
 /**
  * Entidade JPA que representa um comentário em um poema.
  * Mapeia para a tabela "comments" no banco de dados.
  */
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+    @Index(name = "idx_comments_updated_at", columnList = "updated_at, id")
+})
 public class Comment {
 
     /**
      * Identificador único do comentário.
-     * Gerado automaticamente como uma identidade pelo banco de dados.
+     * Reservado em blocos na tabela id_sequences (ver {@link IdSequences}).
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "commentId")
+    @TableGenerator(name = "commentId", table = IdSequences.TABLE, pkColumnName = IdSequences.NAME_COLUMN,
+                    valueColumnName = IdSequences.VALUE_COLUMN, pkColumnValue = IdSequences.COMMENTS,
+                    allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
 
     /**
@@ -59,6 +70,48 @@ public class Comment {
     @JoinColumn(name = "poem_id")
     private Poem poem;
 
+    /**
+     * Versão do comentário, incrementada pelo Hibernate a cada alteração.
+     */
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    /**
+     * Instante da última alteração do comentário.
+     */
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    /**
+     * Instante em que o comentário foi criado; não muda quando o comentário é editado.
+     * É a base da pontuação do comentário no ranking de poemas em alta.
+     * Comentários anteriores à criação desta coluna usam o início do dia de {@link #commentDate}.
+     */
+    @Column(name = "created_at", updatable = false)
+    private Instant createdAt;
+
+    /**
+     * Identificador atribuído ao comentário recebido pela fila de gravação assíncrona.
+     * Torna a gravação idempotente: um comentário reaplicado do log após uma queda não é duplicado.
+     * Nulo para comentários gravados diretamente.
+     */
+    @Column(name = "ingest_id", length = 36, unique = true, updatable = false)
+    private String ingestId;
+
+    /**
+     * Atualiza o instante da última alteração (e, na inserção, o da criação) antes de inserir ou
+     * atualizar o comentário.
+     */
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = Instant.now();
+        if (createdAt == null) {
+            createdAt = updatedAt;
+        }
+    }
+
     // Getters e Setters
 
     /**
@@ -150,4 +203,49 @@ public class Comment {
     public void setPoem(Poem poem) {
         this.poem = poem;
     }
+
+    /**
+     * Obtém a versão do comentário.
+     *
+     * @return A versão do comentário.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Define a versão do comentário.
+     *
+     * @param version A versão do comentário.
+     */
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    /**
+     * Obtém o instante da última alteração do comentário.
+     *
+     * @return O instante da última alteração.
+     */
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /**
+     * Obtém o instante da criação do comentário.
+     *
+     * @return O instante da criação, ou nulo para comentários anteriores à coluna created_at.
+     */
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Obtém o identificador atribuído pela fila de gravação assíncrona.
+     *
+     * @return O identificador, ou null se o comentário foi gravado diretamente.
+     */
+    public String getIngestId() {
+        return ingestId;
+    }
 }
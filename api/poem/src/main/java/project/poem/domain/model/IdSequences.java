@@ -0,0 +1,47 @@
+package project.poem.domain.model;
+
+/**
+ * Geração dos identificadores das entidades em blocos, pela tabela id_sequences (migração 010).
+ * <p>
+ * Cada tabela tem uma linha com o último identificador já reservado ({@link #VALUE_COLUMN}). Quem precisa de
+ * identificadores (o Hibernate ou as inserções JDBC em lote) reserva um bloco inteiro avançando essa linha
+ * em uma transação separada (de v para v + n, ficando com v + 1 a v + n) e usa os identificadores do bloco
+ * sem voltar ao banco.
+ * Diferente de uma coluna AUTO_INCREMENT, o identificador é conhecido antes do INSERT, o que permite ao
+ * Hibernate agrupar as inserções em batches JDBC.
+ * <p>
+ * {@link Profile} continua com IDENTITY: o perfil é criado com um único INSERT ... SELECT, que o Hibernate
+ * só consegue gerar com o identificador atribuído pelo banco, e nunca é inserido em lote.
+ */
+public final class IdSequences {
+
+    /**
+     * Tabela com o último identificador reservado de cada entidade.
+     */
+    public static final String TABLE = "id_sequences";
+
+    /**
+     * Coluna com o nome da sequência (o nome da tabela da entidade).
+     */
+    public static final String NAME_COLUMN = "sequence_name";
+
+    /**
+     * Coluna com o último identificador reservado (0 antes do primeiro bloco).
+     */
+    public static final String VALUE_COLUMN = "next_val";
+
+    /**
+     * Identificadores reservados pelo Hibernate a cada ida ao banco; igual ao tamanho do batch JDBC
+     * (hibernate.jdbc.batch_size).
+     */
+    public static final int ALLOCATION_SIZE = 50;
+
+    public static final String POEMS = "poems";
+    public static final String COMMENTS = "comments";
+    public static final String POEM_LIKES = "poem_likes";
+    public static final String USERS = "users";
+    public static final String TOMBSTONES = "tombstones";
+
+    private IdSequences() {
+    }
+}
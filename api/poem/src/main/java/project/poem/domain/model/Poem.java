@@ -1,29 +1,46 @@
 package project.poem.domain.model;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.HexFormat;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.Version;
 
 /**
  * Entidade JPA que representa um poema no sistema.
  * Mapeia para a tabela "poems" no banco de dados.
  */
 @Entity
-@Table(name = "poems")
+@Table(name = "poems", indexes = {
+    @Index(name = "idx_poems_updated_at", columnList = "updated_at, id"),
+    @Index(name = "idx_poems_content_hash", columnList = "content_hash")
+})
 public class Poem {
 
     /**
      * Identificador único do poema.
-     * Gerado automaticamente como uma identidade pelo banco de dados.
+     * Reservado em blocos na tabela id_sequences (ver {@link IdSequences}).
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "poemId")
+    @TableGenerator(name = "poemId", table = IdSequences.TABLE, pkColumnName = IdSequences.NAME_COLUMN,
+                    valueColumnName = IdSequences.VALUE_COLUMN, pkColumnValue = IdSequences.POEMS,
+                    allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
 
     /**
@@ -53,6 +70,86 @@ public class Poem {
     @JsonFormat(pattern = "dd/MM/yyyy")
     private LocalDate postDate;
 
+    /**
+     * Versão do poema, incrementada pelo Hibernate a cada alteração.
+     * Usada para gerar o ETag das respostas.
+     */
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    /**
+     * Instante da última alteração do poema (cabeçalho Last-Modified).
+     */
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    /**
+     * Versão da lista de comentários do poema, incrementada a cada comentário criado, editado ou excluído.
+     * É alterada apenas por {@code PoemRepository.touchComments}, nunca pelo UPDATE da entidade,
+     * para que a edição de um poema não sobrescreva um incremento concorrente.
+     */
+    @Column(name = "comments_version", nullable = false, updatable = false)
+    private long commentsVersion;
+
+    /**
+     * Instante da última alteração na lista de comentários do poema.
+     */
+    @Column(name = "comments_updated_at", updatable = false)
+    private Instant commentsUpdatedAt;
+
+    /**
+     * Número de comentários do poema, mantido por {@code PoemRepository.touchComments} junto com a
+     * versão da lista de comentários, para exibir a contagem sem ler os comentários.
+     */
+    @Column(name = "comment_count", nullable = false, updatable = false)
+    private long commentCount;
+
+    /**
+     * Hash SHA-256 (hexadecimal) do título, autor e texto, usado para descartar poemas repetidos na importação.
+     */
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    /**
+     * Atualiza o instante da última alteração e o hash do conteúdo antes de inserir ou atualizar o poema.
+     */
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = Instant.now();
+        contentHash = contentHash(title, author, text);
+    }
+
+    /**
+     * Calcula o hash do conteúdo de um poema: SHA-256 dos campos não nulos em UTF-8, separados pelo
+     * caractere 0x1F. Equivale a {@code SHA2(CONCAT_WS(CHAR(31), title, author, text), 256)} no MySQL.
+     *
+     * @param title  O título do poema.
+     * @param author O autor do poema.
+     * @param text   O texto do poema.
+     * @return O hash em hexadecimal minúsculo.
+     */
+    public static String contentHash(String title, String author, String text) {
+        StringBuilder content = new StringBuilder();
+        boolean first = true;
+        for (String part : new String[] {title, author, text}) {
+            if (part != null) {
+                if (!first) {
+                    content.append('\u001f');
+                }
+                content.append(part);
+                first = false;
+            }
+        }
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(content.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     // Getters e Setters
 
     /**
@@ -126,4 +223,46 @@ public class Poem {
      * @param postDate A data de publicação do poema a ser definida.
      */
     public void setPostDate(LocalDate postDate) { this.postDate = postDate; }
-}
\ No newline at end of file
+
+    /**
+     * Obtém a versão do poema.
+     * @return A versão do poema.
+     */
+    public long getVersion() { return version; }
+
+    /**
+     * Define a versão do poema.
+     * @param version A versão do poema.
+     */
+    public void setVersion(long version) { this.version = version; }
+
+    /**
+     * Obtém o instante da última alteração do poema.
+     * @return O instante da última alteração.
+     */
+    public Instant getUpdatedAt() { return updatedAt; }
+
+    /**
+     * Obtém a versão da lista de comentários do poema.
+     * @return A versão da lista de comentários.
+     */
+    public long getCommentsVersion() { return commentsVersion; }
+
+    /**
+     * Obtém o instante da última alteração na lista de comentários do poema.
+     * @return O instante da última alteração nos comentários.
+     */
+    public Instant getCommentsUpdatedAt() { return commentsUpdatedAt; }
+
+    /**
+     * Obtém o número de comentários do poema.
+     * @return O número de comentários.
+     */
+    public long getCommentCount() { return commentCount; }
+
+    /**
+     * Obtém o hash do conteúdo do poema.
+     * @return O hash SHA-256 em hexadecimal, ou null para poemas anteriores à coluna.
+     */
+    public String getContentHash() { return contentHash; }
+}
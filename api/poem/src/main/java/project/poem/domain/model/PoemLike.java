@@ -1,12 +1,17 @@
 package project.poem.domain.model;
 
+import java.time.Instant;
+
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import jakarta.persistence.UniqueConstraint;
 
 /**
@@ -18,16 +23,21 @@ import jakarta.persistence.UniqueConstraint;
 @Table(
     name = "poem_likes",
     // Define uma constraint de unicidade para garantir que um usuário só possa curtir um poema uma vez.
-    uniqueConstraints = @UniqueConstraint(columnNames = {"poem_id", "user_id"})
+    uniqueConstraints = @UniqueConstraint(columnNames = {"poem_id", "user_id"}),
+    // Índice usado pela sincronização incremental, que busca as curtidas por instante de criação.
+    indexes = @Index(name = "idx_poem_likes_created_at", columnList = "created_at, id")
 )
 public class PoemLike {
 
     /**
      * Identificador único da curtida.
-     * Gerado automaticamente como uma identidade pelo banco de dados.
+     * Reservado em blocos na tabela id_sequences (ver {@link IdSequences}).
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "poemLikeId")
+    @TableGenerator(name = "poemLikeId", table = IdSequences.TABLE, pkColumnName = IdSequences.NAME_COLUMN,
+                    valueColumnName = IdSequences.VALUE_COLUMN, pkColumnValue = IdSequences.POEM_LIKES,
+                    allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
 
     /**
@@ -59,6 +69,14 @@ public class PoemLike {
      */
     private String likerUsername;
 
+    /**
+     * Instante em que a curtida foi feita.
+     * Como curtidas não são alteradas, é também o instante da última alteração.
+     * Curtidas anteriores à criação desta coluna ficam com o valor nulo.
+     */
+    @Column(name = "created_at")
+    private Instant createdAt;
+
     // Getters e Setters
 
     public Long getId() {
@@ -92,4 +110,12 @@ public class PoemLike {
     public void setLikerUsername(String likerUsername) {
         this.likerUsername = likerUsername;
     }
-}
\ No newline at end of file
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
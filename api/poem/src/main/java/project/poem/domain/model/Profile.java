@@ -3,24 +3,36 @@ package project.poem.domain.model;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.ForeignKey;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 
 /**
  * Entidade JPA que representa o perfil de um usuário no sistema.
  * Mapeia para a tabela "profiles" no banco de dados.
  */
 @Entity
-@Table(name = "profiles")
+@Table(
+    name = "profiles",
+    // Um usuário tem no máximo um perfil.
+    uniqueConstraints = @UniqueConstraint(name = "uk_profiles_user_id", columnNames = "user_id"),
+    indexes = {
+        @Index(name = "idx_profiles_first_name", columnList = "firstName"),
+        @Index(name = "idx_profiles_last_name", columnList = "lastName")
+    }
+)
 public class Profile {
 
     /**
      * Identificador único do perfil.
-     * Gerado automaticamente pela estratégia padrão do JPA.
+     * Gerado pelo banco (IDENTITY), pois o perfil é criado com um INSERT ... SELECT (ver {@link IdSequences}).
      */
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -42,22 +54,20 @@ public class Profile {
     private String phone;
 
     /**
-     * Email do usuário associado a este perfil.
-     * Não pode ser nulo e deve ser único no banco de dados.
-     * Usado como chave estrangeira para a tabela de usuários.
+     * Versão do perfil, incrementada a cada alteração, usada no controle de concorrência otimista.
      */
-    @Column(name = "user_email", nullable = false, unique = true)
-    private String userEmail;
+    @Version
+    @Column(nullable = false)
+    private long version;
 
     /**
      * Relacionamento um-para-um com a entidade User.
      * FetchType.LAZY indica que o usuário só será carregado quando explicitamente acessado.
-     * @JoinColumn especifica a coluna de junção, referenciando a coluna "email" na tabela "users".
-     * insertable = false e updatable = false indicam que o JPA não deve tentar inserir ou atualizar esta coluna
-     * diretamente, pois seu valor é gerenciado através da associação com a entidade User.
+     * @JoinColumn especifica a coluna de junção "user_id", que referencia a chave primária numérica
+     * da tabela "users". Assim, alterar o email do usuário não desfaz o vínculo com o perfil.
      */
-    @OneToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_email", referencedColumnName = "email", insertable = false, updatable = false)
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(name = "fk_profiles_user_id"))
     private User user;
 
     // Getters and Setters
@@ -112,15 +122,10 @@ public class Profile {
 
     /**
      * Obtém o email do usuário associado a este perfil.
+     * Inicializa o usuário se ele ainda não tiver sido carregado.
      * @return O email do usuário.
      */
-    public String getUserEmail() { return userEmail; }
-
-    /**
-     * Define o email do usuário associado a este perfil.
-     * @param userEmail O email do usuário a ser definido.
-     */
-    public void setUserEmail(String userEmail) { this.userEmail = userEmail; }
+    public String getUserEmail() { return user != null ? user.getEmail() : null; }
 
     /**
      * Obtém o usuário associado a este perfil.
@@ -130,11 +135,14 @@ public class Profile {
     public User getUser() { return user; }
 
     /**
-     * Define o usuário associado a este perfil e atualiza o email do usuário.
+     * Define o usuário associado a este perfil.
      * @param user O usuário a ser associado.
      */
-    public void setUser(User user) {
-        this.user = user;
-        this.userEmail = user.getEmail();
-    }
-}
\ No newline at end of file
+    public void setUser(User user) { this.user = user; }
+
+    /**
+     * Obtém a versão do perfil.
+     * @return A versão do perfil.
+     */
+    public long getVersion() { return version; }
+}
@@ -0,0 +1,112 @@
+package project.poem.domain.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+
+/**
+ * Entidade JPA que registra a exclusão de um poema, comentário ou curtida.
+ * Mapeia para a tabela "tombstones" no banco de dados.
+ * Permite que a sincronização incremental informe aos clientes o que deixou de existir.
+ */
+@Entity
+@Table(name = "tombstones", indexes = {
+    @Index(name = "idx_tombstones_deleted_at", columnList = "deleted_at, id")
+})
+public class Tombstone {
+
+    /**
+     * Tipo do registro excluído.
+     */
+    public enum Type {
+        POEM, COMMENT, LIKE
+    }
+
+    /**
+     * Identificador único do registro de exclusão.
+     * Reservado em blocos na tabela id_sequences (ver {@link IdSequences}).
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "tombstoneId")
+    @TableGenerator(name = "tombstoneId", table = IdSequences.TABLE, pkColumnName = IdSequences.NAME_COLUMN,
+                    valueColumnName = IdSequences.VALUE_COLUMN, pkColumnValue = IdSequences.TOMBSTONES,
+                    allocationSize = IdSequences.ALLOCATION_SIZE)
+    private Long id;
+
+    /**
+     * Tipo do registro excluído.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 16)
+    private Type entityType;
+
+    /**
+     * ID do registro excluído.
+     */
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    /**
+     * ID do poema ao qual o registro pertencia (o próprio ID, para poemas).
+     */
+    @Column(name = "poem_id", nullable = false)
+    private Long poemId;
+
+    /**
+     * Instante da exclusão.
+     */
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+
+    /**
+     * Construtor padrão exigido pelo JPA.
+     */
+    protected Tombstone() {
+    }
+
+    /**
+     * Cria o registro da exclusão de um poema, comentário ou curtida.
+     *
+     * @param entityType O tipo do registro excluído.
+     * @param entityId   O ID do registro excluído.
+     * @param poemId     O ID do poema ao qual o registro pertencia.
+     * @param deletedAt  O instante da exclusão.
+     */
+    public Tombstone(Type entityType, Long entityId, Long poemId, Instant deletedAt) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.poemId = poemId;
+        this.deletedAt = deletedAt;
+    }
+
+    // Getters
+
+    public Long getId() {
+        return id;
+    }
+
+    public Type getEntityType() {
+        return entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public Long getPoemId() {
+        return poemId;
+    }
+
+    public Instant getDeletedAt() {
+        return deletedAt;
+    }
+}
@@ -15,6 +15,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 
 /**
  * Entidade JPA que representa um usuário no sistema.
@@ -22,15 +23,21 @@ import jakarta.persistence.Table;
  * do Spring Security para integração com o sistema de autenticação.
  */
 @Entity
-@Table(name = "users",  indexes = {@Index(name = "idx_users_email", columnList = "email")})
+@Table(name = "users", indexes = {
+    @Index(name = "idx_users_email", columnList = "email"),
+    @Index(name = "idx_users_username", columnList = "username")
+})
 public class User implements UserDetails {
 
     /**
      * Identificador único do usuário.
-     * Gerado automaticamente como uma identidade pelo banco de dados.
+     * Reservado em blocos na tabela id_sequences (ver {@link IdSequences}).
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "userId")
+    @TableGenerator(name = "userId", table = IdSequences.TABLE, pkColumnName = IdSequences.NAME_COLUMN,
+                    valueColumnName = IdSequences.VALUE_COLUMN, pkColumnValue = IdSequences.USERS,
+                    allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
 
     /**
@@ -1,17 +1,25 @@
 package project.poem.domain.repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import project.poem.domain.model.Comment;
 
 /**
  * Repositório JPA para a entidade {@link Comment}.
  * Fornece métodos para interagir com a tabela 'comments' no banco de dados.
- * Estende a interface {@link JpaRepository}, que já oferece métodos básicos de CRUD (Create, Read, Update, Delete).
+ * Estende a interface {@link JpaRepository}, que já oferece métodos básicos de CRUD (Create, Read, Update, Delete),
+ * e {@link CommentRepositoryCustom}, com as consultas que leem apenas os campos solicitados.
  */
-public interface CommentRepository extends JpaRepository<Comment, Long> {
+public interface CommentRepository extends JpaRepository<Comment, Long>, CommentRepositoryCustom {
 
     /**
      * Busca todos os comentários associados a um poema específico.
@@ -20,4 +28,44 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
      * @return Uma lista de objetos Comment representando os comentários do poema.
      */
     List<Comment> findByPoemId(Long poemId);
+
+    /**
+     * Busca os comentários alterados depois de uma posição (instante de alteração, ID), em ordem de alteração.
+     *
+     * @param since   O instante da posição.
+     * @param afterId O ID da posição; comentários alterados no mesmo instante só são retornados com ID maior.
+     * @param page    A quantidade máxima de comentários a retornar.
+     * @return Os comentários alterados.
+     */
+    @Query("select c from Comment c where c.updatedAt > :since or (c.updatedAt = :since and c.id > :afterId) "
+         + "order by c.updatedAt, c.id")
+    List<Comment> findChangedAfter(@Param("since") Instant since, @Param("afterId") long afterId, Pageable page);
+
+    /**
+     * Busca os IDs dos comentários de um poema, sem carregá-los.
+     *
+     * @param poemId O ID do poema.
+     * @return Os IDs dos comentários.
+     */
+    @Query("select c.id from Comment c where c.poem.id = :poemId")
+    List<Long> findIdsByPoemId(@Param("poemId") Long poemId);
+
+    /**
+     * Exclui todos os comentários de um poema com uma única instrução.
+     *
+     * @param poemId O ID do poema.
+     * @return O número de comentários excluídos.
+     */
+    @Modifying
+    @Query("delete from Comment c where c.poem.id = :poemId")
+    int deleteByPoemId(@Param("poemId") Long poemId);
+
+    /**
+     * Busca, entre os identificadores da fila de gravação assíncrona, os que já foram gravados.
+     *
+     * @param ingestIds Os identificadores a serem verificados.
+     * @return O conjunto dos identificadores já gravados.
+     */
+    @Query("select c.ingestId from Comment c where c.ingestId in :ingestIds")
+    Set<String> findExistingIngestIds(@Param("ingestIds") Collection<String> ingestIds);
 }
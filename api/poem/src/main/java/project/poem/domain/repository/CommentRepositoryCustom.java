@@ -0,0 +1,26 @@
+package project.poem.domain.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Consultas de comentários que selecionam apenas os campos pedidos pelo cliente (sparse fieldsets).
+ * Implementada por {@link CommentRepositoryImpl}.
+ */
+public interface CommentRepositoryCustom {
+
+    /**
+     * Campos de comentário que podem ser solicitados.
+     */
+    Set<String> FIELDS = Set.of("id", "author", "content", "commentDate", "poemId");
+
+    /**
+     * Busca os campos solicitados dos comentários de um poema.
+     *
+     * @param poemId O ID do poema.
+     * @param fields Os campos a serem lidos (subconjunto de {@link #FIELDS}).
+     * @return Uma lista de mapas do nome do campo para o valor, ordenada por id.
+     */
+    List<Map<String, Object>> findFieldsByPoemId(Long poemId, Set<String> fields);
+}
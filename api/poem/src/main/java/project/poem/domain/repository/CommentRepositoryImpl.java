@@ -0,0 +1,36 @@
+package project.poem.domain.repository;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import project.poem.domain.model.Comment;
+
+/**
+ * Implementação das consultas de {@link CommentRepositoryCustom}.
+ */
+class CommentRepositoryImpl implements CommentRepositoryCustom {
+
+    private static final Map<String, String> PATHS = new LinkedHashMap<>();
+
+    static {
+        PATHS.put("id", "id");
+        PATHS.put("author", "author");
+        PATHS.put("content", "content");
+        PATHS.put("commentDate", "commentDate");
+        // Lê a chave estrangeira diretamente, sem junção com a tabela de poemas.
+        PATHS.put("poemId", "poem.id");
+    }
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public List<Map<String, Object>> findFieldsByPoemId(Long poemId, Set<String> fields) {
+        return FieldProjection.select(em, Comment.class, PATHS, fields,
+                                      (cb, root) -> cb.equal(root.get("poem").get("id"), poemId));
+    }
+}
@@ -0,0 +1,78 @@
+package project.poem.domain.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/**
+ * Monta consultas que selecionam apenas os campos pedidos de uma entidade, para que as colunas
+ * não solicitadas não sejam lidas do banco nem serializadas.
+ */
+final class FieldProjection {
+
+    private FieldProjection() {
+    }
+
+    /**
+     * Executa uma consulta que seleciona somente os campos informados.
+     *
+     * @param em     O EntityManager.
+     * @param entity A classe da entidade consultada.
+     * @param paths  Mapeamento de cada campo permitido para o caminho do atributo (ex.: {@code poem.id}),
+     *               na ordem em que os campos devem aparecer no resultado.
+     * @param fields Os campos solicitados (já validados contra {@code paths}).
+     * @param where  Função que monta o filtro da consulta (pode ser null).
+     * @param <T>    O tipo da entidade.
+     * @return Uma lista de mapas do nome do campo para o valor, ordenada por id.
+     */
+    static <T> List<Map<String, Object>> select(EntityManager em,
+                                                Class<T> entity,
+                                                Map<String, String> paths,
+                                                Collection<String> fields,
+                                                BiFunction<CriteriaBuilder, Root<T>, Predicate> where) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(entity);
+
+        List<String> selected = paths.keySet().stream().filter(fields::contains).toList();
+        List<Selection<?>> selections = new ArrayList<>(selected.size());
+        for (String field : selected) {
+            selections.add(path(root, paths.get(field)).alias(field));
+        }
+        query.multiselect(selections);
+        if (where != null) {
+            query.where(where.apply(cb, root));
+        }
+        query.orderBy(cb.asc(root.get("id")));
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : em.createQuery(query).getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String field : selected) {
+                row.put(field, tuple.get(field));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static Path<?> path(Root<?> root, String attributePath) {
+        Path<?> path = root;
+        for (String attribute : attributePath.split("\\.")) {
+            path = path.get(attribute);
+        }
+        return path;
+    }
+}
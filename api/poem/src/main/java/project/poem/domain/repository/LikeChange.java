@@ -0,0 +1,28 @@
+package project.poem.domain.repository;
+
+import java.time.Instant;
+
+/**
+ * Projeção fechada de uma curtida usada na sincronização incremental.
+ * Lida sem carregar o poema nem o usuário associados à {@link project.poem.domain.model.PoemLike}.
+ */
+public interface LikeChange {
+
+    /**
+     * Obtém o ID da curtida.
+     * @return O ID da curtida.
+     */
+    Long getId();
+
+    /**
+     * Obtém o ID do poema curtido.
+     * @return O ID do poema.
+     */
+    Long getPoemId();
+
+    /**
+     * Obtém o instante da curtida.
+     * @return O instante da curtida.
+     */
+    Instant getCreatedAt();
+}
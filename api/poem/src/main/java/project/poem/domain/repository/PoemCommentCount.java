@@ -0,0 +1,19 @@
+package project.poem.domain.repository;
+
+/**
+ * Projeção fechada com o número de comentários de um poema.
+ */
+public interface PoemCommentCount {
+
+    /**
+     * Obtém o ID do poema.
+     * @return O ID do poema.
+     */
+    Long getId();
+
+    /**
+     * Obtém o número de comentários do poema.
+     * @return O número de comentários.
+     */
+    long getCommentCount();
+}
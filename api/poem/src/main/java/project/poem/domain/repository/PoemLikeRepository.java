@@ -1,8 +1,16 @@
 package project.poem.domain.repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import project.poem.domain.model.PoemLike;
 
@@ -29,4 +37,48 @@ public interface PoemLikeRepository extends JpaRepository<PoemLike, Long> {
      * @return Um Optional contendo a curtida, se encontrada, ou um Optional vazio, caso contrário.
      */
     Optional<PoemLike> findByPoemIdAndUserId(Long poemId, Long userId);
+
+    /**
+     * Busca, entre os poemas informados, os IDs dos poemas curtidos por um usuário.
+     *
+     * @param userId  O ID do usuário.
+     * @param poemIds Os IDs dos poemas a serem verificados.
+     * @return O conjunto de IDs dos poemas curtidos pelo usuário.
+     */
+    @Query("select l.poem.id from PoemLike l where l.user.id = :userId and l.poem.id in :poemIds")
+    Set<Long> findLikedPoemIds(@Param("userId") Long userId, @Param("poemIds") Collection<Long> poemIds);
+
+    /**
+     * Busca as curtidas feitas depois de uma posição (instante de criação, ID), em ordem de criação,
+     * sem carregar poema e usuário.
+     * Curtidas não são alteradas, apenas criadas e excluídas, por isso o instante de criação
+     * é também o da última alteração.
+     *
+     * @param since   O instante da posição.
+     * @param afterId O ID da posição; curtidas feitas no mesmo instante só são retornadas com ID maior.
+     * @param page    A quantidade máxima de curtidas a retornar.
+     * @return As curtidas encontradas.
+     */
+    @Query("select l.id as id, l.poem.id as poemId, l.createdAt as createdAt from PoemLike l "
+         + "where l.createdAt > :since or (l.createdAt = :since and l.id > :afterId) order by l.createdAt, l.id")
+    List<LikeChange> findChangesAfter(@Param("since") Instant since, @Param("afterId") long afterId, Pageable page);
+
+    /**
+     * Busca os IDs das curtidas de um poema, sem carregá-las.
+     *
+     * @param poemId O ID do poema.
+     * @return Os IDs das curtidas.
+     */
+    @Query("select l.id from PoemLike l where l.poem.id = :poemId")
+    List<Long> findIdsByPoemId(@Param("poemId") Long poemId);
+
+    /**
+     * Exclui todas as curtidas de um poema com uma única instrução.
+     *
+     * @param poemId O ID do poema.
+     * @return O número de curtidas excluídas.
+     */
+    @Modifying
+    @Query("delete from PoemLike l where l.poem.id = :poemId")
+    int deleteByPoemId(@Param("poemId") Long poemId);
 }
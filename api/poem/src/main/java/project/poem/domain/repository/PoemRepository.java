@@ -1,16 +1,92 @@
 package project.poem.domain.repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import project.poem.domain.model.Poem;
 
 /**
  * Repositório JPA para a entidade {@link Poem}.
  * Fornece métodos para interagir com a tabela 'poems' no banco de dados.
- * Estende a interface {@link JpaRepository}, que já oferece métodos básicos de CRUD (Create, Read, Update, Delete).
+ * Estende a interface {@link JpaRepository}, que já oferece métodos básicos de CRUD (Create, Read, Update, Delete),
+ * e {@link PoemRepositoryCustom}, com as consultas que leem apenas os campos solicitados.
  */
-public interface PoemRepository extends JpaRepository<Poem, Long> {
+public interface PoemRepository extends JpaRepository<Poem, Long>, PoemRepositoryCustom {
     // Os métodos básicos de CRUD (findAll, findById, save, deleteById)
     // são automaticamente fornecidos pela interface JpaRepository.
     // Podemos adicionar métodos personalizados aqui, se necessário.
-}
\ No newline at end of file
+
+    /**
+     * Busca apenas as versões de um poema e da sua lista de comentários, sem carregar a entidade.
+     *
+     * @param id O ID do poema.
+     * @return Um Optional contendo as versões, ou vazio se o poema não existir.
+     */
+    @Query("select p.id as id, p.version as version, p.updatedAt as updatedAt, "
+         + "p.commentsVersion as commentsVersion, p.commentsUpdatedAt as commentsUpdatedAt "
+         + "from Poem p where p.id = :id")
+    Optional<PoemVersions> findVersionsById(@Param("id") Long id);
+
+    /**
+     * Busca o instante da última criação ou alteração de poema, lido do início do índice
+     * {@code idx_poems_updated_at} (sem percorrer a tabela).
+     *
+     * @return O maior updated_at dos poemas, ou null se não houver poemas.
+     */
+    @Query("select max(p.updatedAt) from Poem p")
+    Instant findLastUpdatedAt();
+
+    /**
+     * Incrementa a versão da lista de comentários de um poema e ajusta o seu número de comentários.
+     * Usa SQL nativo para não passar pelo controle de versão da entidade.
+     *
+     * @param id    O ID do poema.
+     * @param delta A variação do número de comentários (1 ao criar, -1 ao excluir, 0 ao editar).
+     * @param now   O instante da alteração.
+     * @return O número de linhas afetadas.
+     */
+    @Modifying
+    @Query(value = "update poems set comments_version = comments_version + 1, comment_count = comment_count + :delta, "
+                 + "comments_updated_at = :now where id = :id",
+           nativeQuery = true)
+    int touchComments(@Param("id") Long id, @Param("delta") int delta, @Param("now") Instant now);
+
+    /**
+     * Busca o número de comentários de vários poemas, sem carregar as entidades.
+     *
+     * @param ids Os IDs dos poemas.
+     * @return As contagens dos poemas existentes, em qualquer ordem.
+     */
+    @Query("select p.id as id, p.commentCount as commentCount from Poem p where p.id in :ids")
+    List<PoemCommentCount> findCommentCounts(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Busca os poemas alterados depois de uma posição (instante de alteração, ID), em ordem de alteração.
+     *
+     * @param since   O instante da posição.
+     * @param afterId O ID da posição; poemas alterados no mesmo instante só são retornados com ID maior.
+     * @param page    A quantidade máxima de poemas a retornar.
+     * @return Os poemas alterados.
+     */
+    @Query("select p from Poem p where p.updatedAt > :since or (p.updatedAt = :since and p.id > :afterId) "
+         + "order by p.updatedAt, p.id")
+    List<Poem> findChangedAfter(@Param("since") Instant since, @Param("afterId") long afterId, Pageable page);
+
+    /**
+     * Busca, entre os hashes de conteúdo informados, os que já pertencem a algum poema.
+     *
+     * @param hashes Os hashes de conteúdo a serem verificados.
+     * @return O conjunto dos hashes já existentes.
+     */
+    @Query("select p.contentHash from Poem p where p.contentHash in :hashes")
+    Set<String> findExistingContentHashes(@Param("hashes") Collection<String> hashes);
+}
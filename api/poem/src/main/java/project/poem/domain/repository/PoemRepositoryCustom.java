@@ -0,0 +1,27 @@
+package project.poem.domain.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Consultas de poemas que selecionam apenas os campos pedidos pelo cliente (sparse fieldsets).
+ * Implementada por {@link PoemRepositoryImpl}.
+ */
+public interface PoemRepositoryCustom {
+
+    /**
+     * Campos de poema que podem ser solicitados.
+     */
+    Set<String> FIELDS = Set.of("id", "title", "text", "author", "imageUrl", "postDate");
+
+    /**
+     * Busca os campos solicitados dos poemas.
+     *
+     * @param fields Os campos a serem lidos (subconjunto de {@link #FIELDS}).
+     * @param ids    Os IDs dos poemas, ou null para todos os poemas.
+     * @return Uma lista de mapas do nome do campo para o valor, ordenada por id.
+     */
+    List<Map<String, Object>> findFields(Set<String> fields, Collection<Long> ids);
+}
@@ -0,0 +1,37 @@
+package project.poem.domain.repository;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import project.poem.domain.model.Poem;
+
+/**
+ * Implementação das consultas de {@link PoemRepositoryCustom}.
+ */
+class PoemRepositoryImpl implements PoemRepositoryCustom {
+
+    private static final Map<String, String> PATHS = new LinkedHashMap<>();
+
+    static {
+        PATHS.put("id", "id");
+        PATHS.put("title", "title");
+        PATHS.put("text", "text");
+        PATHS.put("author", "author");
+        PATHS.put("imageUrl", "imageUrl");
+        PATHS.put("postDate", "postDate");
+    }
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public List<Map<String, Object>> findFields(Set<String> fields, Collection<Long> ids) {
+        return FieldProjection.select(em, Poem.class, PATHS, fields,
+                                      ids == null ? null : (cb, root) -> root.get("id").in(ids));
+    }
+}
@@ -0,0 +1,40 @@
+package project.poem.domain.repository;
+
+import java.time.Instant;
+
+/**
+ * Projeção fechada com as versões de um poema e da sua lista de comentários.
+ * Lida sem carregar a entidade {@link project.poem.domain.model.Poem} nem o texto do poema.
+ */
+public interface PoemVersions {
+
+    /**
+     * Obtém o ID do poema.
+     * @return O ID do poema.
+     */
+    Long getId();
+
+    /**
+     * Obtém a versão do poema.
+     * @return A versão do poema.
+     */
+    long getVersion();
+
+    /**
+     * Obtém o instante da última alteração do poema.
+     * @return O instante da última alteração, ou null para poemas anteriores à coluna.
+     */
+    Instant getUpdatedAt();
+
+    /**
+     * Obtém a versão da lista de comentários do poema.
+     * @return A versão da lista de comentários.
+     */
+    long getCommentsVersion();
+
+    /**
+     * Obtém o instante da última alteração na lista de comentários.
+     * @return O instante da última alteração, ou null se nunca houve alteração registrada.
+     */
+    Instant getCommentsUpdatedAt();
+}
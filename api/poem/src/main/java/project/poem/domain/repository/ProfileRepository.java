@@ -3,28 +3,78 @@ package project.poem.domain.repository;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import project.poem.domain.model.Profile;
 
 /**
  * Repositório JPA para a entidade {@link Profile}.
  * Fornece métodos para interagir com a tabela 'profiles' no banco de dados.
- * Estende a interface {@link JpaRepository}, que já oferece métodos básicos de CRUD (Create, Read, Update, Delete).
+ * Estende a interface {@link JpaRepository}, que já oferece métodos básicos de CRUD (Create, Read, Update, Delete),
+ * e {@link ProfileRepositoryCustom}, com a busca por prefixo do diretório.
  */
-public interface ProfileRepository extends JpaRepository<Profile, Long> {
+public interface ProfileRepository extends JpaRepository<Profile, Long>, ProfileRepositoryCustom {
 
     /**
      * Busca um perfil pelo email do usuário associado.
-     * O email do usuário é armazenado no campo 'userEmail' da entidade {@link Profile}.
+     * O email é resolvido pelo índice de users.email e o perfil pela chave única numérica user_id.
      *
      * @param email O email do usuário a ser pesquisado.
      * @return Um {@link Optional} contendo o perfil encontrado (se existir) ou um {@link Optional} vazio caso contrário.
      */
-    Optional<Profile> findByUserEmail(String email);
+    @Query("select p from Profile p join fetch p.user u where u.email = :email")
+    Optional<Profile> findByUserEmail(@Param("email") String email);
+
     /**
-     * Deleta um perfil pelo email do usuário associado.
+     * Deleta um perfil pelo email do usuário associado com um único DELETE,
+     * sem carregar a entidade antes.
      * @param email O email do usuário a ser deletado.
+     * @return O número de perfis removidos (0 ou 1).
+     */
+    @Modifying
+    @Query("delete from Profile p where p.user.id = (select u.id from User u where u.email = :email)")
+    int deleteByUserEmail(@Param("email") String email);
+
+    /**
+     * Atualiza os dados do perfil associado ao email com um único UPDATE, incrementando a versão.
+     * Com {@code expectedVersion}, o UPDATE só altera o perfil se ele ainda estiver nessa versão
+     * (verificação e alteração atômicas, sem bloqueio prévio).
+     *
+     * @param email           O email do usuário dono do perfil.
+     * @param firstName       O novo primeiro nome.
+     * @param lastName        O novo último nome.
+     * @param phone           O novo telefone.
+     * @param expectedVersion A versão esperada do perfil, ou null para uma alteração incondicional.
+     * @return O número de perfis atualizados (0 se o perfil ainda não existir ou não estiver na versão esperada).
      */
-    void deleteByUserEmail(String email);
+    @Modifying
+    @Query("update Profile p set p.firstName = :firstName, p.lastName = :lastName, p.phone = :phone, "
+         + "p.version = p.version + 1 "
+         + "where p.user.id = (select u.id from User u where u.email = :email) "
+         + "and (:expectedVersion is null or p.version = :expectedVersion)")
+    int updateByUserEmail(@Param("email") String email,
+                          @Param("firstName") String firstName,
+                          @Param("lastName") String lastName,
+                          @Param("phone") String phone,
+                          @Param("expectedVersion") Long expectedVersion);
 
+    /**
+     * Cria o perfil de um usuário com um único INSERT ... SELECT.
+     * Nenhuma linha é inserida se não existir usuário com o email fornecido.
+     *
+     * @param email     O email do usuário dono do perfil.
+     * @param firstName O primeiro nome.
+     * @param lastName  O último nome.
+     * @param phone     O telefone.
+     * @return O número de perfis inseridos (0 se o usuário não existir).
+     */
+    @Modifying
+    @Query("insert into Profile (firstName, lastName, phone, user, version) "
+         + "select :firstName, :lastName, :phone, u, 0 from User u where u.email = :email")
+    int insertForUserEmail(@Param("email") String email,
+                           @Param("firstName") String firstName,
+                           @Param("lastName") String lastName,
+                           @Param("phone") String phone);
 }
\ No newline at end of file
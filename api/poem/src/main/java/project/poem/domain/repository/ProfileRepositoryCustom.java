@@ -0,0 +1,27 @@
+package project.poem.domain.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import project.poem.domain.model.Profile;
+
+/**
+ * Busca por prefixo no diretório de perfis.
+ * Implementada por {@link ProfileRepositoryImpl}.
+ */
+public interface ProfileRepositoryCustom {
+
+    /**
+     * Busca uma página de perfis cujo primeiro nome, último nome ou email começa com o prefixo.
+     * Cada condição é uma consulta de intervalo sobre o próprio índice ({@code idx_profiles_first_name},
+     * {@code idx_profiles_last_name} e {@code idx_users_email}), e os resultados são unidos com UNION,
+     * em vez de um único WHERE com OR, que obrigaria o banco a ler a tabela inteira.
+     * Um prefixo nulo devolve todos os perfis. Os curingas do prefixo devem vir escapados com '!'.
+     *
+     * @param prefix   O prefixo a ser pesquisado (ou null).
+     * @param pageable Paginação e ordenação por {@code firstName}, {@code lastName} ou {@code userEmail}.
+     * @return Uma página de perfis com o usuário já carregado.
+     * @throws IllegalArgumentException Se for solicitada ordenação por uma propriedade não suportada.
+     */
+    Page<Profile> searchByPrefix(String prefix, Pageable pageable);
+}
@@ -0,0 +1,90 @@
+package project.poem.domain.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import project.poem.domain.model.Profile;
+
+/**
+ * Implementação das consultas de {@link ProfileRepositoryCustom}.
+ * A página de IDs é lida com SQL nativo (para usar o UNION) e os perfis da página
+ * são carregados em seguida com uma única consulta JPQL.
+ */
+class ProfileRepositoryImpl implements ProfileRepositoryCustom {
+
+    /**
+     * Perfis que combinam com o prefixo: uma consulta de intervalo por índice.
+     */
+    private static final String MATCHES =
+          "select id from profiles where first_name like ?1 escape '!' "
+        + "union select id from profiles where last_name like ?1 escape '!' "
+        + "union select pe.id from users ue join profiles pe on pe.user_id = ue.id where ue.email like ?1 escape '!'";
+
+    /**
+     * Colunas pelas quais a página pode ser ordenada.
+     */
+    private static final Map<String, String> COLUMNS = Map.of(
+        "firstName", "p.first_name",
+        "lastName", "p.last_name",
+        "userEmail", "u.email");
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public Page<Profile> searchByPrefix(String prefix, Pageable pageable) {
+        String from = prefix == null
+                      ? "profiles p"
+                      : "(" + MATCHES + ") m join profiles p on p.id = m.id";
+
+        Query page = em.createNativeQuery("select p.id from " + from + " join users u on u.id = p.user_id"
+                                          + " order by " + orderBy(pageable.getSort())
+                                          + " limit " + pageable.getPageSize() + " offset " + pageable.getOffset());
+        Query count = em.createNativeQuery("select count(*) from " + from);
+        if (prefix != null) {
+            page.setParameter(1, prefix + "%");
+            count.setParameter(1, prefix + "%");
+        }
+
+        List<Long> ids = ((List<?>) page.getResultList()).stream().map(id -> ((Number) id).longValue()).toList();
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, ((Number) count.getSingleResult()).longValue());
+        }
+        Map<Long, Profile> byId = em.createQuery("select p from Profile p join fetch p.user where p.id in :ids",
+                                                 Profile.class)
+                                    .setParameter("ids", ids)
+                                    .getResultStream()
+                                    .collect(Collectors.toMap(Profile::getId, Function.identity()));
+        List<Profile> content = ids.stream().map(byId::get).toList();
+        // Uma página incompleta já informa o total, sem precisar da consulta de contagem.
+        long total = content.size() < pageable.getPageSize()
+                     ? pageable.getOffset() + content.size()
+                     : ((Number) count.getSingleResult()).longValue();
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    /**
+     * Traduz a ordenação pedida para as colunas do SQL, terminando pelo ID para uma ordem estável.
+     */
+    private static String orderBy(Sort sort) {
+        StringBuilder sql = new StringBuilder();
+        for (Sort.Order order : sort) {
+            String column = COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new IllegalArgumentException("Ordenação inválida: " + order.getProperty());
+            }
+            sql.append(column).append(order.isAscending() ? " asc, " : " desc, ");
+        }
+        return sql.append("p.id").toString();
+    }
+}
@@ -0,0 +1,38 @@
+package project.poem.domain.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import project.poem.domain.model.Tombstone;
+
+/**
+ * Repositório JPA para a entidade {@link Tombstone}.
+ * Fornece métodos para interagir com a tabela 'tombstones' no banco de dados.
+ */
+public interface TombstoneRepository extends JpaRepository<Tombstone, Long> {
+
+    /**
+     * Busca as exclusões ocorridas depois de uma posição (instante de exclusão, ID), em ordem de exclusão.
+     *
+     * @param since   O instante da posição.
+     * @param afterId O ID da posição; exclusões do mesmo instante só são retornadas com ID maior.
+     * @param page    A quantidade máxima de registros a retornar.
+     * @return As exclusões encontradas.
+     */
+    @Query("select t from Tombstone t where t.deletedAt > :since or (t.deletedAt = :since and t.id > :afterId) "
+         + "order by t.deletedAt, t.id")
+    List<Tombstone> findDeletedAfter(@Param("since") Instant since, @Param("afterId") long afterId, Pageable page);
+
+    /**
+     * Busca o ID do último registro de exclusão (o fim da chave primária, sem percorrer a tabela).
+     *
+     * @return O maior ID, ou null se não houver exclusões.
+     */
+    @Query("select max(t.id) from Tombstone t")
+    Long findLastId();
+}
@@ -1,8 +1,15 @@
 package project.poem.domain.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import project.poem.domain.model.User;
 
@@ -21,6 +28,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return Um {@link Optional} contendo o usuário encontrado (se existir) ou um {@link Optional} vazio caso contrário.
      */
     Optional<User> findByUsername(String username);
+
+    /**
+     * Busca apenas o ID de um usuário pelo nome de usuário, sem carregar a entidade.
+     *
+     * @param username O nome de usuário a ser pesquisado.
+     * @return Um {@link Optional} contendo o ID do usuário, ou vazio se o usuário não existir.
+     */
+    @Query("select u.id from User u where u.username = :username")
+    Optional<Long> findIdByUsername(@Param("username") String username);
     /**
      * Busca um usuário pelo seu email.
      * O email é um identificador único para cada usuário no sistema.
@@ -38,4 +54,43 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return true se o nome de usuário já existir, false caso contrário.
      */
     boolean existsByUsername(String username);
-}
\ No newline at end of file
+
+    /**
+     * Lista todos os usuários usando a projeção {@link UserSummary}.
+     * Apenas as colunas id, username, email e role são selecionadas.
+     *
+     * @return Uma lista de projeções dos usuários.
+     */
+    List<UserSummary> findAllProjectedBy();
+
+    /**
+     * Busca uma página de usuários filtrando por prefixo de nome de usuário e/ou de email.
+     * Os filtros são aplicados com {@code LIKE 'prefixo%'}, o que permite ao MySQL usar os índices
+     * {@code idx_users_username} e {@code idx_users_email}. Um filtro nulo é ignorado.
+     * Os curingas do prefixo devem vir escapados com '!'.
+     *
+     * @param usernamePrefix Prefixo do nome de usuário (ou null).
+     * @param emailPrefix    Prefixo do email (ou null).
+     * @param pageable       Paginação e ordenação.
+     * @return Uma página de projeções dos usuários.
+     */
+    @Query(value = "select u.id as id, u.username as username, u.email as email, u.role as role from User u "
+                 + "where (:usernamePrefix is null or u.username like concat(:usernamePrefix, '%') escape '!') "
+                 + "and (:emailPrefix is null or u.email like concat(:emailPrefix, '%') escape '!')",
+           countQuery = "select count(u) from User u "
+                 + "where (:usernamePrefix is null or u.username like concat(:usernamePrefix, '%') escape '!') "
+                 + "and (:emailPrefix is null or u.email like concat(:emailPrefix, '%') escape '!')")
+    Page<UserSummary> findSummaries(@Param("usernamePrefix") String usernamePrefix,
+                                    @Param("emailPrefix") String emailPrefix,
+                                    Pageable pageable);
+
+    /**
+     * Retorna, dentre os nomes de usuário fornecidos, aqueles que já estão cadastrados.
+     * Usado pela importação em lote para verificar um bloco inteiro com uma única consulta.
+     *
+     * @param usernames Os nomes de usuário a serem verificados.
+     * @return O conjunto dos nomes de usuário já existentes.
+     */
+    @Query("select u.username from User u where u.username in :usernames")
+    Set<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+}
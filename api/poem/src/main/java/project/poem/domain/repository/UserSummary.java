@@ -0,0 +1,35 @@
+package project.poem.domain.repository;
+
+import project.poem.domain.model.Role;
+
+/**
+ * Projeção fechada da entidade {@link project.poem.domain.model.User}.
+ * Expõe apenas as colunas usadas na listagem administrativa, de modo que o hash
+ * da senha e demais colunas não são lidos do banco de dados.
+ */
+public interface UserSummary {
+
+    /**
+     * Obtém o ID do usuário.
+     * @return O ID do usuário.
+     */
+    Long getId();
+
+    /**
+     * Obtém o nome de usuário.
+     * @return O nome de usuário.
+     */
+    String getUsername();
+
+    /**
+     * Obtém o email do usuário.
+     * @return O email do usuário.
+     */
+    String getEmail();
+
+    /**
+     * Obtém a role do usuário.
+     * @return A role do usuário.
+     */
+    Role getRole();
+}
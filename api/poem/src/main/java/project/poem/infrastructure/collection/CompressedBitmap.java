@@ -0,0 +1,213 @@
+package project.poem.infrastructure.collection;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto de inteiros não negativos comprimido no estilo "Roaring".
+ * Os valores são agrupados pelos 16 bits mais altos; cada grupo guarda os 16 bits mais baixos
+ * em um array ordenado de {@code char} enquanto tiver até {@value #ARRAY_MAX} elementos
+ * (2 bytes por valor) e em um mapa de bits de 8 KB quando ficar mais denso.
+ * Conjuntos pequenos e esparsos, como os usuários que curtiram um poema, ocupam poucos bytes.
+ * Esta classe não é thread-safe; o chamador deve sincronizar o acesso.
+ */
+public class CompressedBitmap {
+
+    /** Número máximo de elementos de um grupo armazenado como array. */
+    private static final int ARRAY_MAX = 4096;
+
+    private char[] highs = new char[0];
+    private Object[] containers = new Object[0];
+    private int groups;
+    private int cardinality;
+
+    /**
+     * Grupo armazenado como array ordenado dos 16 bits mais baixos.
+     */
+    private static final class ArrayContainer {
+        char[] values = new char[4];
+        int size;
+    }
+
+    /**
+     * Grupo armazenado como mapa de 65536 bits.
+     */
+    private static final class BitmapContainer {
+        final long[] words = new long[1024];
+        int size;
+    }
+
+    /**
+     * Obtém o número de elementos do conjunto.
+     * @return O número de elementos.
+     */
+    public int cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * Verifica se o valor pertence ao conjunto.
+     *
+     * @param value O valor (não negativo).
+     * @return true se o valor pertencer ao conjunto.
+     */
+    public boolean contains(int value) {
+        int g = Arrays.binarySearch(highs, 0, groups, (char) (value >>> 16));
+        if (g < 0) {
+            return false;
+        }
+        char low = (char) value;
+        Object c = containers[g];
+        if (c instanceof ArrayContainer a) {
+            return Arrays.binarySearch(a.values, 0, a.size, low) >= 0;
+        }
+        return (((BitmapContainer) c).words[low >>> 6] & (1L << low)) != 0;
+    }
+
+    /**
+     * Adiciona um valor ao conjunto.
+     *
+     * @param value O valor (não negativo).
+     * @return true se o valor não pertencia ao conjunto.
+     */
+    public boolean add(int value) {
+        char high = (char) (value >>> 16);
+        char low = (char) value;
+        int g = Arrays.binarySearch(highs, 0, groups, high);
+        if (g < 0) {
+            g = -g - 1;
+            insertGroup(g, high, new ArrayContainer());
+        }
+        boolean added;
+        Object c = containers[g];
+        if (c instanceof ArrayContainer a) {
+            int i = Arrays.binarySearch(a.values, 0, a.size, low);
+            if (i >= 0) {
+                return false;
+            }
+            if (a.size == ARRAY_MAX) {
+                BitmapContainer b = toBitmap(a);
+                containers[g] = b;
+                added = setBit(b, low);
+            } else {
+                i = -i - 1;
+                if (a.size == a.values.length) {
+                    a.values = Arrays.copyOf(a.values, Math.min(ARRAY_MAX, a.values.length * 2));
+                }
+                System.arraycopy(a.values, i, a.values, i + 1, a.size - i);
+                a.values[i] = low;
+                a.size++;
+                added = true;
+            }
+        } else {
+            added = setBit((BitmapContainer) c, low);
+        }
+        if (added) {
+            cardinality++;
+        }
+        return added;
+    }
+
+    /**
+     * Remove um valor do conjunto.
+     *
+     * @param value O valor (não negativo).
+     * @return true se o valor pertencia ao conjunto.
+     */
+    public boolean remove(int value) {
+        int g = Arrays.binarySearch(highs, 0, groups, (char) (value >>> 16));
+        if (g < 0) {
+            return false;
+        }
+        char low = (char) value;
+        Object c = containers[g];
+        int remaining;
+        if (c instanceof ArrayContainer a) {
+            int i = Arrays.binarySearch(a.values, 0, a.size, low);
+            if (i < 0) {
+                return false;
+            }
+            System.arraycopy(a.values, i + 1, a.values, i, a.size - i - 1);
+            remaining = --a.size;
+        } else {
+            BitmapContainer b = (BitmapContainer) c;
+            long mask = 1L << low;
+            if ((b.words[low >>> 6] & mask) == 0) {
+                return false;
+            }
+            b.words[low >>> 6] &= ~mask;
+            remaining = --b.size;
+            if (remaining == ARRAY_MAX) {
+                containers[g] = toArray(b);
+            }
+        }
+        cardinality--;
+        if (remaining == 0) {
+            removeGroup(g);
+        }
+        return true;
+    }
+
+    /**
+     * Estima a memória ocupada pelo conjunto.
+     * @return O número aproximado de bytes.
+     */
+    public long memoryBytes() {
+        long bytes = 32 + (long) highs.length * Character.BYTES + (long) containers.length * 4;
+        for (int g = 0; g < groups; g++) {
+            bytes += containers[g] instanceof ArrayContainer a
+                     ? 24 + (long) a.values.length * Character.BYTES
+                     : 24 + 1024L * Long.BYTES;
+        }
+        return bytes;
+    }
+
+    private static boolean setBit(BitmapContainer b, char low) {
+        long mask = 1L << low;
+        if ((b.words[low >>> 6] & mask) != 0) {
+            return false;
+        }
+        b.words[low >>> 6] |= mask;
+        b.size++;
+        return true;
+    }
+
+    private static BitmapContainer toBitmap(ArrayContainer a) {
+        BitmapContainer b = new BitmapContainer();
+        for (int i = 0; i < a.size; i++) {
+            setBit(b, a.values[i]);
+        }
+        return b;
+    }
+
+    private static ArrayContainer toArray(BitmapContainer b) {
+        ArrayContainer a = new ArrayContainer();
+        a.values = new char[b.size];
+        for (int w = 0; w < b.words.length; w++) {
+            long word = b.words[w];
+            while (word != 0) {
+                a.values[a.size++] = (char) (w * 64 + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return a;
+    }
+
+    private void insertGroup(int index, char high, Object container) {
+        if (groups == highs.length) {
+            int capacity = Math.max(1, groups * 2);
+            highs = Arrays.copyOf(highs, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+        }
+        System.arraycopy(highs, index, highs, index + 1, groups - index);
+        System.arraycopy(containers, index, containers, index + 1, groups - index);
+        highs[index] = high;
+        containers[index] = container;
+        groups++;
+    }
+
+    private void removeGroup(int index) {
+        System.arraycopy(highs, index + 1, highs, index, groups - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, groups - index - 1);
+        containers[--groups] = null;
+    }
+}
@@ -0,0 +1,241 @@
+package project.poem.infrastructure.collection;
+
+import java.util.Arrays;
+
+/**
+ * Mapa de chaves {@code long} para valores {@code double} com endereçamento aberto (sondagem linear).
+ * Evita o boxing de {@code Map<Long, Double>}: cada entrada ocupa 17 bytes nos arrays internos,
+ * em vez de um nó de mapa com dois objetos.
+ * Esta classe não é thread-safe; o chamador deve sincronizar o acesso.
+ */
+public class LongDoubleHashMap {
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private double[] values;
+    private boolean[] used;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    /**
+     * Função que recebe uma chave e o valor associado.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        /**
+         * Processa uma entrada do mapa.
+         *
+         * @param key   A chave.
+         * @param value O valor.
+         */
+        void accept(long key, double value);
+    }
+
+    /**
+     * Cria um mapa vazio com capacidade inicial pequena.
+     */
+    public LongDoubleHashMap() {
+        this(16);
+    }
+
+    /**
+     * Cria um mapa vazio dimensionado para o número esperado de entradas.
+     *
+     * @param expectedSize O número esperado de entradas.
+     */
+    public LongDoubleHashMap(int expectedSize) {
+        allocate(tableSizeFor((int) Math.ceil(Math.max(expectedSize, 4) / LOAD_FACTOR)));
+    }
+
+    /**
+     * Obtém o número de entradas.
+     * @return O número de entradas.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Verifica se a chave está presente.
+     *
+     * @param key A chave.
+     * @return true se a chave estiver presente.
+     */
+    public boolean containsKey(long key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * Obtém o valor associado à chave.
+     *
+     * @param key          A chave.
+     * @param defaultValue O valor devolvido se a chave não estiver presente.
+     * @return O valor associado, ou {@code defaultValue}.
+     */
+    public double get(long key, double defaultValue) {
+        int i = find(key);
+        return i >= 0 ? values[i] : defaultValue;
+    }
+
+    /**
+     * Associa o valor à chave, substituindo o valor anterior.
+     *
+     * @param key   A chave.
+     * @param value O valor.
+     */
+    public void put(long key, double value) {
+        int i = find(key);
+        if (i >= 0) {
+            values[i] = value;
+        } else {
+            insertAt(-i - 1, key, value);
+        }
+    }
+
+    /**
+     * Soma {@code delta} ao valor da chave (considerando 0 se ausente).
+     *
+     * @param key   A chave.
+     * @param delta O valor a ser somado.
+     * @return O novo valor associado à chave.
+     */
+    public double addTo(long key, double delta) {
+        int i = find(key);
+        if (i >= 0) {
+            return values[i] += delta;
+        }
+        insertAt(-i - 1, key, delta);
+        return delta;
+    }
+
+    /**
+     * Remove a chave do mapa.
+     *
+     * @param key A chave.
+     * @return true se a chave estava presente.
+     */
+    public boolean remove(long key) {
+        int hole = find(key);
+        if (hole < 0) {
+            return false;
+        }
+        // Remoção por deslocamento para trás: mantém as cadeias de sondagem sem marcadores de remoção.
+        int j = hole;
+        while (true) {
+            j = (j + 1) & mask;
+            if (!used[j]) {
+                break;
+            }
+            int ideal = slot(keys[j]);
+            if (((j - ideal) & mask) >= ((j - hole) & mask)) {
+                keys[hole] = keys[j];
+                values[hole] = values[j];
+                hole = j;
+            }
+        }
+        used[hole] = false;
+        size--;
+        return true;
+    }
+
+    /**
+     * Multiplica todos os valores por um fator.
+     *
+     * @param factor O fator de multiplicação.
+     */
+    public void scaleValues(double factor) {
+        for (int i = 0; i < used.length; i++) {
+            if (used[i]) {
+                values[i] *= factor;
+            }
+        }
+    }
+
+    /**
+     * Percorre todas as entradas do mapa, em ordem arbitrária.
+     *
+     * @param action A função aplicada a cada entrada.
+     */
+    public void forEach(EntryConsumer action) {
+        for (int i = 0; i < used.length; i++) {
+            if (used[i]) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * Remove todas as entradas.
+     */
+    public void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    /**
+     * Estima a memória ocupada pelos arrays internos.
+     * @return O número aproximado de bytes.
+     */
+    public long memoryBytes() {
+        return (long) keys.length * (Long.BYTES + Double.BYTES + 1);
+    }
+
+    private void insertAt(int index, long key, double value) {
+        keys[index] = key;
+        values[index] = value;
+        used[index] = true;
+        if (++size > resizeAt) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    private int find(long key) {
+        int i = slot(key);
+        while (used[i]) {
+            if (keys[i] == key) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -i - 1;
+    }
+
+    private int slot(long key) {
+        // Finalizador do MurmurHash3 para espalhar ids sequenciais pela tabela.
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key & mask;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        double[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(capacity);
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (oldUsed[i]) {
+                int j = find(oldKeys[i]);
+                keys[-j - 1] = oldKeys[i];
+                values[-j - 1] = oldValues[i];
+                used[-j - 1] = true;
+                size++;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new double[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        size = 0;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int tableSizeFor(int n) {
+        return Math.max(4, Integer.highestOneBit(n - 1) << 1);
+    }
+}
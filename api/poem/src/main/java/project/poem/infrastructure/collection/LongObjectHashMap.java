@@ -0,0 +1,225 @@
+package project.poem.infrastructure.collection;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Mapa de chaves {@code long} para objetos com endereçamento aberto (sondagem linear).
+ * Evita o boxing das chaves de {@code Map<Long, V>}; valores nulos não são permitidos.
+ * Esta classe não é thread-safe; o chamador deve sincronizar o acesso.
+ *
+ * @param <V> O tipo dos valores.
+ */
+public class LongObjectHashMap<V> {
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    /**
+     * Função que recebe uma chave e o valor associado.
+     *
+     * @param <V> O tipo dos valores.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        /**
+         * Processa uma entrada do mapa.
+         *
+         * @param key   A chave.
+         * @param value O valor.
+         */
+        void accept(long key, V value);
+    }
+
+    /**
+     * Cria um mapa vazio com capacidade inicial pequena.
+     */
+    public LongObjectHashMap() {
+        this(16);
+    }
+
+    /**
+     * Cria um mapa vazio dimensionado para o número esperado de entradas.
+     *
+     * @param expectedSize O número esperado de entradas.
+     */
+    public LongObjectHashMap(int expectedSize) {
+        allocate(tableSizeFor((int) Math.ceil(Math.max(expectedSize, 4) / LOAD_FACTOR)));
+    }
+
+    /**
+     * Obtém o número de entradas.
+     * @return O número de entradas.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Obtém o valor associado à chave.
+     *
+     * @param key A chave.
+     * @return O valor associado, ou null se a chave não estiver presente.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int i = find(key);
+        return i >= 0 ? (V) values[i] : null;
+    }
+
+    /**
+     * Associa o valor à chave, substituindo o valor anterior.
+     *
+     * @param key   A chave.
+     * @param value O valor (não nulo).
+     */
+    public void put(long key, V value) {
+        int i = find(key);
+        if (i >= 0) {
+            values[i] = value;
+        } else {
+            insertAt(-i - 1, key, value);
+        }
+    }
+
+    /**
+     * Obtém o valor associado à chave, criando-o com {@code factory} se ausente.
+     *
+     * @param key     A chave.
+     * @param factory Função que cria o valor a partir da chave.
+     * @return O valor associado à chave.
+     */
+    @SuppressWarnings("unchecked")
+    public V computeIfAbsent(long key, Function<Long, V> factory) {
+        int i = find(key);
+        if (i >= 0) {
+            return (V) values[i];
+        }
+        V value = factory.apply(key);
+        insertAt(-i - 1, key, value);
+        return value;
+    }
+
+    /**
+     * Remove a chave do mapa.
+     *
+     * @param key A chave.
+     * @return O valor removido, ou null se a chave não estava presente.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int hole = find(key);
+        if (hole < 0) {
+            return null;
+        }
+        V removed = (V) values[hole];
+        // Remoção por deslocamento para trás: mantém as cadeias de sondagem sem marcadores de remoção.
+        int j = hole;
+        while (true) {
+            j = (j + 1) & mask;
+            if (values[j] == null) {
+                break;
+            }
+            int ideal = slot(keys[j]);
+            if (((j - ideal) & mask) >= ((j - hole) & mask)) {
+                keys[hole] = keys[j];
+                values[hole] = values[j];
+                hole = j;
+            }
+        }
+        values[hole] = null;
+        size--;
+        return removed;
+    }
+
+    /**
+     * Percorre todas as entradas do mapa, em ordem arbitrária.
+     *
+     * @param action A função aplicada a cada entrada.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<V> action) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                action.accept(keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    /**
+     * Remove todas as entradas.
+     */
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Estima a memória ocupada pela tabela (sem contar os próprios valores).
+     * @return O número aproximado de bytes.
+     */
+    public long memoryBytes() {
+        return (long) keys.length * (Long.BYTES + 4);
+    }
+
+    private void insertAt(int index, long key, Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Valores nulos não são permitidos");
+        }
+        keys[index] = key;
+        values[index] = value;
+        if (++size > resizeAt) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    private int find(long key) {
+        int i = slot(key);
+        while (values[i] != null) {
+            if (keys[i] == key) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -i - 1;
+    }
+
+    private int slot(long key) {
+        // Finalizador do MurmurHash3 para espalhar ids sequenciais pela tabela.
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key & mask;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int j = -find(oldKeys[i]) - 1;
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+                size++;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        size = 0;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int tableSizeFor(int n) {
+        return Math.max(4, Integer.highestOneBit(n - 1) << 1);
+    }
+}
@@ -3,12 +3,15 @@ package project.poem.infrastructure.config;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import project.poem.application.exception.ResourceNotFoundException;
+import project.poem.application.exception.VersionConflictException;
 import project.poem.infrastructure.security.UsernameAlreadyExistsException;
 
 /**
@@ -32,6 +35,58 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
     }
 
+    /**
+     * Trata a exceção `ResourceNotFoundException`, lançada quando um recurso referenciado não existe.
+     * Retorna uma resposta HTTP com status 404 (Not Found) e a mensagem da exceção no corpo.
+     *
+     * @param ex A instância de `ResourceNotFoundException` que foi lançada.
+     * @return Um ResponseEntity com status 404 e a mensagem da exceção.
+     */
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<String> handleResourceNotFound(ResourceNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+    }
+
+    /**
+     * Trata a exceção `SecurityException`, lançada pelos serviços quando o usuário logado não pode alterar
+     * o recurso (ex.: editar o comentário de outro usuário).
+     * Retorna uma resposta HTTP com status 403 (Forbidden) e a mensagem da exceção no corpo.
+     *
+     * @param ex A instância de `SecurityException` que foi lançada.
+     * @return Um ResponseEntity com status 403 e a mensagem da exceção.
+     */
+    @ExceptionHandler(SecurityException.class)
+    public ResponseEntity<String> handleForbidden(SecurityException ex) {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ex.getMessage());
+    }
+
+    /**
+     * Trata a exceção `VersionConflictException`, lançada quando uma alteração condicional informa
+     * uma versão desatualizada do recurso (campo `version` ou cabeçalho If-Match).
+     * Retorna uma resposta HTTP com status 412 (Precondition Failed); o cliente deve reler o recurso.
+     *
+     * @param ex A instância de `VersionConflictException` que foi lançada.
+     * @return Um ResponseEntity com status 412 e a mensagem da exceção.
+     */
+    @ExceptionHandler(VersionConflictException.class)
+    public ResponseEntity<String> handleVersionConflict(VersionConflictException ex) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(ex.getMessage());
+    }
+
+    /**
+     * Trata a exceção `OptimisticLockingFailureException`, lançada quando outra transação alterou
+     * o mesmo registro durante a alteração e as novas tentativas não resolveram o conflito.
+     * Retorna uma resposta HTTP com status 409 (Conflict).
+     *
+     * @param ex A instância de `OptimisticLockingFailureException` que foi lançada.
+     * @return Um ResponseEntity com status 409 e uma mensagem para o cliente tentar novamente.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                             .body("O registro foi alterado por outra requisição; tente novamente.");
+    }
+
     /**
      * Trata a exceção `MethodArgumentNotValidException`, que ocorre quando a validação
      * de um argumento anotado com `@Valid` falha.
@@ -0,0 +1,244 @@
+package project.poem.infrastructure.config;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import project.poem.application.dto.StoredResponse;
+import project.poem.application.service.IdempotencyService;
+
+/**
+ * Filtro que torna idempotentes os POSTs de criação (poemas, comentários e curtidas) enviados com o
+ * cabeçalho {@code Idempotency-Key}: a primeira requisição é executada e a sua resposta guardada; as
+ * repetições com a mesma chave recebem a mesma resposta, com o cabeçalho {@code Idempotent-Replayed},
+ * sem executar o serviço novamente.
+ * <p>
+ * É executado depois do Spring Security, de modo que a chave é qualificada pelo usuário autenticado
+ * (chaves iguais de usuários diferentes não colidem) e uma repetição só recebe a resposta que o
+ * próprio usuário recebeu. Requisições sem o cabeçalho não são afetadas.
+ * <ul>
+ *   <li>Repetição enquanto a primeira ainda executa: 409, com {@code Retry-After}.</li>
+ *   <li>Mesma chave com outro caminho ou corpo: 422.</li>
+ *   <li>Erros do servidor (5xx) não são guardados: a repetição executa a requisição outra vez.</li>
+ * </ul>
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    /**
+     * Nome do cabeçalho com a chave de idempotência escolhida pelo cliente.
+     */
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    /**
+     * Cabeçalho que marca uma resposta repetida a partir da resposta guardada.
+     */
+    public static final String REPLAYED = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyService idempotencyService;
+    private final List<String> paths;
+    private final int maxBodyBytes;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    /**
+     * Construtor para injetar as dependências e a configuração.
+     *
+     * @param idempotencyService Serviço que guarda as chaves e as respostas.
+     * @param paths              Padrões dos caminhos (POST) que aceitam a chave de idempotência.
+     * @param maxBodyBytes       Tamanho máximo do corpo de uma requisição com chave.
+     */
+    public IdempotencyFilter(IdempotencyService idempotencyService,
+                             @Value("${idempotency.paths:/api/poems,/api/poems/*/like,/api/comments}") List<String> paths,
+                             @Value("${idempotency.max-body-bytes:65536}") int maxBodyBytes) {
+        this.idempotencyService = idempotencyService;
+        this.paths = paths;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY) == null) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return paths.stream().noneMatch(pattern -> pathMatcher.match(pattern.trim(), path));
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            // Rotas protegidas: sem usuário, a requisição é recusada adiante e não há o que guardar.
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String clientKey = request.getHeader(IDEMPOTENCY_KEY).trim();
+        if (clientKey.isEmpty() || clientKey.length() > MAX_KEY_LENGTH) {
+            reject(response, HttpStatus.BAD_REQUEST, "Idempotency-Key deve ter entre 1 e " + MAX_KEY_LENGTH + " caracteres.");
+            return;
+        }
+        byte[] body = request.getInputStream().readNBytes(maxBodyBytes + 1);
+        if (body.length > maxBodyBytes) {
+            reject(response, HttpStatus.PAYLOAD_TOO_LARGE, "Corpo grande demais para uma requisição com Idempotency-Key.");
+            return;
+        }
+
+        String key = auth.getName() + ":" + clientKey;
+        IdempotencyService.Claim claim = idempotencyService.claim(key, fingerprint(request, body));
+        switch (claim.outcome()) {
+            case REPLAY -> replay(response, claim.response());
+            case IN_PROGRESS -> {
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                reject(response, HttpStatus.CONFLICT, "Uma requisição com esta Idempotency-Key ainda está em execução.");
+            }
+            case MISMATCH -> reject(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                                    "Esta Idempotency-Key já foi usada em outra requisição.");
+            case UNAVAILABLE -> {
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                reject(response, HttpStatus.SERVICE_UNAVAILABLE,
+                       "Muitas requisições com Idempotency-Key em execução; tente novamente.");
+            }
+            case NEW -> execute(new CachedBodyRequest(request, body), response, filterChain, key);
+        }
+    }
+
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain, String key)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(request, wrapper);
+            if (wrapper.getStatus() < 500) {
+                idempotencyService.complete(key, new StoredResponse(wrapper.getStatus(), wrapper.getContentType(),
+                                                                    wrapper.getHeader(HttpHeaders.ETAG),
+                                                                    wrapper.getContentAsByteArray()));
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                idempotencyService.release(key);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private static void replay(HttpServletResponse response, StoredResponse stored) throws IOException {
+        response.setStatus(stored.getStatus());
+        response.setHeader(REPLAYED, "true");
+        if (stored.getEtag() != null) {
+            response.setHeader(HttpHeaders.ETAG, stored.getEtag());
+        }
+        if (stored.getContentType() != null) {
+            response.setContentType(stored.getContentType());
+        }
+        response.setContentLength(stored.getBody().length);
+        response.getOutputStream().write(stored.getBody());
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(message);
+    }
+
+    /**
+     * Impressão digital da requisição: SHA-256 do método, do caminho, da query string e do corpo.
+     */
+    private static byte[] fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ' ');
+            digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '?');
+            if (request.getQueryString() != null) {
+                digest.update(request.getQueryString().getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) '\n');
+            return digest.digest(body);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Requisição cujo corpo já foi lido pelo filtro (para a impressão digital) e é entregue de novo ao controlador.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
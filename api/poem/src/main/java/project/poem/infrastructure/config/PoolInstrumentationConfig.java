@@ -0,0 +1,57 @@
+package project.poem.infrastructure.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import project.poem.infrastructure.metrics.LeakTrackingDataSource;
+import project.poem.infrastructure.metrics.PoolMetrics;
+
+/**
+ * Instrumentação dos pools de conexões.
+ * Os pools HikariCP criados como beans (o do Spring Boot ou o primário de {@link ReplicaDataSourceConfig})
+ * passam a ser medidos por {@link PoolMetrics} e o DataSource da aplicação passa a registrar as conexões
+ * abertas para a detecção de vazamentos.
+ */
+@Configuration
+public class PoolInstrumentationConfig {
+
+    /**
+     * Nome do bean do DataSource usado pela aplicação (JPA e JdbcTemplate).
+     */
+    private static final String APPLICATION_DATA_SOURCE = "dataSource";
+
+    /**
+     * Instrumenta os pools antes de serem iniciados e envolve o DataSource da aplicação.
+     * É estático para ser registrado antes dos beans que processa.
+     *
+     * @param metrics As medições dos pools.
+     * @return O processador dos beans de DataSource.
+     */
+    @Bean
+    public static BeanPostProcessor poolInstrumentation(ObjectProvider<PoolMetrics> metrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    metrics.getObject().instrument(dataSource);
+                }
+                return bean;
+            }
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (APPLICATION_DATA_SOURCE.equals(beanName) && bean instanceof DataSource dataSource
+                    && metrics.getObject().isLeakDetectionEnabled()) {
+                    return new LeakTrackingDataSource(dataSource, metrics.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,106 @@
+package project.poem.infrastructure.config;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import project.poem.infrastructure.datasource.ReplicaRoutingDataSource;
+import project.poem.infrastructure.metrics.PoolMetrics;
+
+/**
+ * Configuração das réplicas de leitura do MySQL.
+ * Só é ativada quando {@code datasource.replicas.urls} é definido; sem réplicas, o Spring Boot cria
+ * o DataSource do primário como antes.
+ * <p>
+ * O DataSource da aplicação passa a ser um {@link LazyConnectionDataSourceProxy} sobre o
+ * {@link ReplicaRoutingDataSource}: as transações somente leitura vão para as réplicas e as
+ * escritas para o primário (spring.datasource.*).
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replicas.urls")
+public class ReplicaDataSourceConfig {
+
+    /**
+     * Pool de conexões do primário, configurado por spring.datasource.* e spring.datasource.hikari.*.
+     *
+     * @param properties As propriedades spring.datasource.*.
+     * @return O pool do primário.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * DataSource de roteamento entre o primário e as réplicas, com a verificação periódica das réplicas.
+     *
+     * @param primaryDataSource O pool do primário.
+     * @param properties        As propriedades spring.datasource.* (usuário, senha e driver das réplicas).
+     * @param metrics           As medições dos pools, que passam a incluir as réplicas.
+     * @param urls              As URLs JDBC das réplicas.
+     * @param poolSize          Número máximo de conexões de cada réplica.
+     * @param maxLagMillis      Atraso máximo de uma réplica para receber leituras.
+     * @param stickyMillis      Janela de leitura no primário após uma escrita do usuário.
+     * @param intervalMillis    Intervalo entre as verificações das réplicas.
+     * @return O DataSource de roteamento.
+     */
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource, DataSourceProperties properties, PoolMetrics metrics,
+            @Value("${datasource.replicas.urls}") List<String> urls,
+            @Value("${datasource.replicas.pool-size:10}") int poolSize,
+            @Value("${datasource.replicas.max-lag-ms:2000}") long maxLagMillis,
+            @Value("${datasource.replicas.sticky-ms:5000}") long stickyMillis,
+            @Value("${datasource.replicas.check-interval-ms:1000}") long intervalMillis) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(properties.determineUsername());
+            replica.setPassword(properties.determinePassword());
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setMaximumPoolSize(poolSize);
+            replica.setReadOnly(true);
+            // Uma réplica fora do ar não impede a inicialização: ela fica fora do rodízio até responder.
+            replica.setInitializationFailTimeout(-1);
+            metrics.instrument(replica);
+            replicas.put(replica.getPoolName(), replica);
+        }
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primaryDataSource, replicas,
+                                                                        maxLagMillis, stickyMillis);
+        routing.start(intervalMillis);
+        return routing;
+    }
+
+    /**
+     * DataSource usado pela aplicação (JPA e JdbcTemplate).
+     *
+     * @param routing O DataSource de roteamento.
+     * @return O proxy que adia a obtenção da conexão até a primeira instrução.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routing) {
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
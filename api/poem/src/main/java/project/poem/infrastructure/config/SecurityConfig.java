@@ -49,12 +49,21 @@ public class SecurityConfig {
             .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             // Definição de autorização por endpoint
             .authorizeHttpRequests(auth -> auth
+                // Administração de utilizadores (listagem paginada e importação em lote). Vem antes das rotas
+                // abertas de /api/auth/**, cujo GET liberado exporia a listagem a chamadas anônimas.
+                .requestMatchers("/api/auth/users/**").hasRole("ADMIN")
+                // Exportação e importação em lote dos poemas (pesadas, restritas a administradores)
+                .requestMatchers(HttpMethod.GET, "/api/poems/export").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.POST, "/api/poems/import").hasRole("ADMIN")
+                // Estado dos pools de conexões
+                .requestMatchers("/api/admin/**").hasRole("ADMIN")
                 // Open endpoints
                 .requestMatchers(HttpMethod.POST, "/api/auth/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/auth/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/poems/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/profile/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/comments/**").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/sync").permitAll()
                 // Protected endpoints
                 .requestMatchers("/api/poems/**").hasAnyRole("USER", "ADMIN")
                 .requestMatchers("/api/profile/**").hasAnyRole("USER", "ADMIN")
@@ -0,0 +1,329 @@
+package project.poem.infrastructure.datasource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * DataSource que envia as transações somente leitura ({@code @Transactional(readOnly = true)}) para
+ * as réplicas do MySQL e todo o resto (escritas e acessos fora de transação) para o primário.
+ * <p>
+ * A escolha é feita quando a conexão física é obtida; por isso este DataSource deve ficar atrás de um
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, que só obtém a conexão
+ * na primeira instrução, quando a transação já foi marcada como somente leitura.
+ * <ul>
+ *   <li><b>Atraso das réplicas:</b> {@link #checkReplicas()} grava periodicamente um batimento
+ *   (tabela replica_heartbeat, migração 009) no primário e lê o batimento de cada réplica; uma
+ *   réplica atrasada mais que {@code maxLagMillis} deixa de receber leituras até alcançar o primário.</li>
+ *   <li><b>Ler as próprias escritas:</b> depois que um usuário grava (commit de uma transação de
+ *   escrita), as suas leituras vão para o primário durante {@code stickyMillis}, de modo que ele
+ *   vê o que acabou de gravar mesmo que as réplicas ainda não tenham recebido a alteração.
+ *   A janela vale para esta instância da API.</li>
+ *   <li><b>Falhas:</b> uma réplica que falha na verificação ou ao fornecer uma conexão é retirada
+ *   do rodízio (a leitura vai para outra réplica ou para o primário) e volta quando a verificação
+ *   seguinte tiver sucesso.</li>
+ *   <li><b>Leituras que alimentam caches:</b> uma leitura executada em {@link #onPrimary(Supplier)} vai
+ *   para o primário mesmo em uma transação somente leitura. Os caches invalidados após o commit (respostas
+ *   serializadas, versões dos ETags) são recarregados assim; lidos de uma réplica atrasada, guardariam os
+ *   dados anteriores à escrita sem prazo de expiração.</li>
+ * </ul>
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    /**
+     * Tempo máximo, em segundos, de cada consulta de verificação.
+     */
+    private static final int CHECK_TIMEOUT_SECONDS = 2;
+
+    /**
+     * Indica que as conexões obtidas pela thread atual devem ser do primário.
+     */
+    private static final ThreadLocal<Boolean> PRIMARY_HINT = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagMillis;
+    private final long stickyMillis;
+
+    /**
+     * Fim da janela de leitura no primário de cada usuário que gravou recentemente.
+     */
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * Último batimento gravado no primário; o atraso de uma réplica é a diferença para o batimento que ela já recebeu.
+     */
+    private volatile long lastBeat;
+    private volatile boolean beatFailing;
+    private ScheduledExecutorService checker;
+
+    /**
+     * Cria o DataSource de roteamento. As réplicas começam fora do rodízio até a primeira verificação
+     * e passam a pertencer a este DataSource, que as fecha em {@link #close()}.
+     *
+     * @param primary      O DataSource do primário.
+     * @param replicas     Os DataSources das réplicas, pelo nome usado nos logs.
+     * @param maxLagMillis Atraso máximo, em milissegundos, para uma réplica receber leituras.
+     * @param stickyMillis Duração, em milissegundos, da janela de leitura no primário após uma escrita.
+     */
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    long maxLagMillis, long stickyMillis) {
+        this.primary = primary;
+        this.replicas = new ArrayList<>();
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+        this.maxLagMillis = maxLagMillis;
+        this.stickyMillis = stickyMillis;
+    }
+
+    /**
+     * Inicia a verificação periódica das réplicas em uma thread de fundo.
+     *
+     * @param intervalMillis Intervalo, em milissegundos, entre as verificações.
+     */
+    public synchronized void start(long intervalMillis) {
+        if (checker != null) {
+            return;
+        }
+        checker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "replica-health-check");
+            t.setDaemon(true);
+            return t;
+        });
+        checker.scheduleWithFixedDelay(this::checkReplicas, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Interrompe a verificação periódica e fecha os pools das réplicas (o do primário pertence a quem o criou).
+     */
+    public synchronized void close() {
+        if (checker != null) {
+            checker.shutdownNow();
+            checker = null;
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Falha ao fechar a réplica {}: {}", replica.name, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Verifica cada réplica (disponibilidade e atraso) e grava um novo batimento no primário.
+     * As réplicas são lidas antes da gravação, de modo que uma réplica em dia mostra o batimento
+     * anterior e tem atraso zero.
+     */
+    public void checkReplicas() {
+        // Antes do primeiro batimento desta instância, compara com o relógio (estimativa conservadora).
+        long reference = lastBeat > 0 ? lastBeat : System.currentTimeMillis();
+        for (Replica replica : replicas) {
+            try {
+                long beat = readBeat(replica.dataSource);
+                replica.lagMillis = beat < 0 ? Long.MAX_VALUE : Math.max(0, reference - beat);
+                replica.markUp();
+                if (replica.lagMillis > maxLagMillis) {
+                    log.debug("Réplica {} atrasada: {} ms", replica.name, replica.lagMillis);
+                }
+            } catch (SQLException | RuntimeException e) {
+                replica.markDown(e);
+            }
+        }
+        long now = System.currentTimeMillis();
+        try {
+            writeBeat(now);
+            lastBeat = now;
+            beatFailing = false;
+        } catch (SQLException | RuntimeException e) {
+            if (!beatFailing) {
+                log.warn("Falha ao gravar o batimento de replicação no primário: {}", e.getMessage());
+                beatFailing = true;
+            }
+        }
+        long cutoff = System.currentTimeMillis();
+        stickyUntil.values().removeIf(until -> until < cutoff);
+    }
+
+    /**
+     * Executa uma leitura no primário, mesmo dentro de uma transação somente leitura.
+     * A conexão deve ser obtida dentro de {@code work} (ex.: a transação é aberta nele ou a primeira
+     * instrução é executada nele, com o {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}).
+     * Ao contrário de uma transação de escrita, não abre a janela de leitura no primário do usuário.
+     *
+     * @param work A leitura.
+     * @param <T>  O tipo do resultado.
+     * @return O resultado da leitura.
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        Boolean previous = PRIMARY_HINT.get();
+        PRIMARY_HINT.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_HINT.remove();
+            } else {
+                PRIMARY_HINT.set(previous);
+            }
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = chooseReplica();
+        if (replica != null) {
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                replica.markDown(e); // Failover: a leitura segue para o primário.
+            }
+        }
+        rememberWrite();
+        return primary.getConnection();
+    }
+
+    /**
+     * Credenciais explícitas valem apenas para o primário: a conexão sempre é aberta nele.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        rememberWrite();
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Escolhe a réplica para a transação atual, ou nenhuma se ela deve ir para o primário.
+     */
+    private Replica chooseReplica() {
+        if (replicas.isEmpty() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+            || PRIMARY_HINT.get() != null) {
+            return null;
+        }
+        String user = currentUser();
+        if (user != null) {
+            Long until = stickyUntil.get(user);
+            if (until != null && until >= System.currentTimeMillis()) {
+                return null;
+            }
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica candidate = replicas.get((start + i) % replicas.size());
+            if (candidate.healthy && candidate.lagMillis <= maxLagMillis) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Em uma transação de escrita, abre a janela de leitura no primário do usuário após o commit.
+     */
+    private void rememberWrite() {
+        if (stickyMillis <= 0 || !TransactionSynchronizationManager.isSynchronizationActive()
+            || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return;
+        }
+        String user = currentUser();
+        if (user == null) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                stickyUntil.put(user, System.currentTimeMillis() + stickyMillis);
+            }
+        });
+    }
+
+    private static String currentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.isAuthenticated() ? auth.getName() : null;
+    }
+
+    /**
+     * Lê o batimento recebido pela réplica, ou -1 se ela ainda não recebeu nenhum.
+     */
+    private static long readBeat(DataSource dataSource) throws SQLException {
+        try (Connection con = dataSource.getConnection();
+             Statement st = con.createStatement()) {
+            st.setQueryTimeout(CHECK_TIMEOUT_SECONDS);
+            try (ResultSet rs = st.executeQuery("select beat_at from replica_heartbeat where id = 1")) {
+                return rs.next() ? rs.getTimestamp(1).getTime() : -1;
+            }
+        }
+    }
+
+    private void writeBeat(long now) throws SQLException {
+        try (Connection con = primary.getConnection();
+             var update = con.prepareStatement("update replica_heartbeat set beat_at = ? where id = 1")) {
+            update.setQueryTimeout(CHECK_TIMEOUT_SECONDS);
+            update.setTimestamp(1, new Timestamp(now));
+            if (update.executeUpdate() == 0) {
+                try (var insert = con.prepareStatement("insert into replica_heartbeat (id, beat_at) values (1, ?)")) {
+                    insert.setTimestamp(1, new Timestamp(now));
+                    insert.executeUpdate();
+                }
+            }
+            if (!con.getAutoCommit()) {
+                con.commit();
+            }
+        }
+    }
+
+    /**
+     * Estado de uma réplica, atualizado pela verificação e pelas falhas de conexão.
+     */
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy;
+        private volatile long lagMillis = Long.MAX_VALUE;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        void markUp() {
+            if (!healthy) {
+                log.info("Réplica {} disponível para leituras", name);
+                healthy = true;
+            }
+        }
+
+        void markDown(Exception cause) {
+            if (healthy) {
+                log.warn("Réplica {} retirada do rodízio: {}", name, cause.getMessage());
+                healthy = false;
+            }
+        }
+    }
+}
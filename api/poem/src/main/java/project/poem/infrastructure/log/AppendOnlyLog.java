@@ -0,0 +1,204 @@
+package project.poem.infrastructure.log;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Arquivo local somente de acréscimo, com uma linha de texto por registro.
+ * Um registro confirmado por {@link #append(String)} ou {@link #sync(long)} está gravado em disco (fsync)
+ * e sobrevive a uma queda do processo. Uma linha final incompleta (escrita interrompida pela queda)
+ * é descartada na leitura.
+ * <p>
+ * As gravações em disco são agrupadas (group commit): {@link #write(String)} apenas acrescenta a linha e
+ * devolve a sua posição, e {@link #sync(long)} espera até que a posição esteja em disco. Um único fsync
+ * cobre todas as linhas escritas até ele, de modo que as threads que escreveram enquanto outro fsync
+ * estava em andamento são confirmadas pelo fsync seguinte, sem um fsync para cada uma.
+ */
+public class AppendOnlyLog implements Closeable {
+
+    private final Path file;
+
+    /**
+     * O canal do arquivo; trocado apenas por {@link #rewrite(List)}, com as duas travas.
+     */
+    private volatile FileChannel channel;
+
+    /**
+     * Protege o fsync; as escritas continuam enquanto ele está em andamento.
+     */
+    private final Object syncLock = new Object();
+
+    /**
+     * Posição lógica após a última linha escrita. Cresce sempre, mesmo quando o arquivo é reescrito.
+     */
+    private volatile long written;
+
+    /**
+     * Posição lógica até a qual as linhas estão em disco.
+     */
+    private volatile long synced;
+
+    /**
+     * Abre (ou cria) o arquivo de log, criando os diretórios necessários.
+     *
+     * @param file O caminho do arquivo.
+     * @throws IOException Se o arquivo não puder ser aberto.
+     */
+    public AppendOnlyLog(Path file) throws IOException {
+        this.file = file;
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.channel = open(file);
+    }
+
+    /**
+     * Acrescenta uma linha ao final do arquivo e a grava em disco.
+     *
+     * @param line A linha, sem quebra de linha.
+     * @throws IOException Se a escrita falhar.
+     */
+    public void append(String line) throws IOException {
+        sync(write(line));
+    }
+
+    /**
+     * Acrescenta uma linha ao final do arquivo, sem esperar que ela seja gravada em disco.
+     *
+     * @param line A linha, sem quebra de linha.
+     * @return A posição a ser passada para {@link #sync(long)}.
+     * @throws IOException Se a escrita falhar.
+     */
+    public synchronized long write(String line) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.UTF_8));
+        int length = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        written += length;
+        return written;
+    }
+
+    /**
+     * Espera até que as linhas escritas até a posição estejam gravadas em disco.
+     *
+     * @param position A posição devolvida por {@link #write(String)}.
+     * @throws IOException Se a gravação falhar.
+     */
+    public void sync(long position) throws IOException {
+        if (synced >= position) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (synced >= position) {
+                return; // Coberta pelo fsync de outra thread.
+            }
+            long target = written;
+            channel.force(false);
+            synced = Math.max(synced, target);
+        }
+    }
+
+    /**
+     * Lê as linhas completas do arquivo, uma a uma, sem carregar o arquivo inteiro em memória.
+     *
+     * @param consumer Recebe cada linha, na ordem em que foram acrescentadas.
+     * @throws IOException Se a leitura falhar.
+     */
+    public synchronized void forEachLine(Consumer<String> consumer) throws IOException {
+        boolean completeTail = endsWithNewline();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            while (line != null) {
+                String next = reader.readLine();
+                if ((next != null || completeTail) && !line.isBlank()) {
+                    consumer.accept(line);
+                }
+                line = next;
+            }
+        }
+    }
+
+    /**
+     * Substitui o conteúdo do arquivo pelas linhas informadas (compactação).
+     * As linhas são gravadas em um arquivo temporário, que substitui o log de forma atômica,
+     * de modo que uma queda durante a operação deixa o log anterior ou o novo, nunca um misto.
+     *
+     * @param lines As linhas que permanecem no log, sem quebra de linha.
+     * @throws IOException Se a operação falhar.
+     */
+    public synchronized void rewrite(List<String> lines) throws IOException {
+        synchronized (syncLock) {
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                for (String line : lines) {
+                    ByteBuffer buffer = ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.UTF_8));
+                    while (buffer.hasRemaining()) {
+                        out.write(buffer);
+                    }
+                }
+                out.force(false);
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            channel.close();
+            channel = open(file);
+            // As linhas ainda não gravadas em disco no arquivo anterior estão no novo, já gravado.
+            synced = written;
+        }
+    }
+
+    /**
+     * Esvazia o arquivo.
+     *
+     * @throws IOException Se a operação falhar.
+     */
+    public synchronized void truncate() throws IOException {
+        synchronized (syncLock) {
+            channel.truncate(0);
+            channel.force(false);
+            synced = written;
+        }
+    }
+
+    /**
+     * Obtém o tamanho atual do arquivo.
+     *
+     * @return O tamanho em bytes.
+     * @throws IOException Se a operação falhar.
+     */
+    public synchronized long size() throws IOException {
+        return channel.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private boolean endsWithNewline() throws IOException {
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = in.size();
+            if (size == 0) {
+                return true;
+            }
+            ByteBuffer last = ByteBuffer.allocate(1);
+            in.read(last, size - 1);
+            return last.get(0) == '\n';
+        }
+    }
+
+    private static FileChannel open(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,197 @@
+package project.poem.infrastructure.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Ajuste automático do tamanho máximo dos pools de conexões a partir do tempo de espera por uma
+ * conexão e do tempo de uso das conexões (que acompanha a latência do banco).
+ * <p>
+ * A cada intervalo, para cada pool:
+ * <ul>
+ *   <li>se o percentil 95 da espera passou de {@code target-wait-ms} ou há threads na fila, o pool
+ *   cresce {@code step} conexões, até {@code max-size};</li>
+ *   <li>exceto quando o percentil 95 do tempo de uso está 50% acima da sua média histórica: o banco
+ *   está saturado e mais conexões só aumentariam a disputa, então o pool diminui uma conexão;</li>
+ *   <li>após três intervalos seguidos sem espera e com menos da metade das conexões em uso, o pool
+ *   diminui uma conexão, até {@code min-size}.</li>
+ * </ul>
+ * Opcional: ativado com {@code datasource.pool.adaptive.enabled=true}.
+ */
+@Component
+public class AdaptivePoolSizer {
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptivePoolSizer.class);
+
+    /**
+     * Intervalos seguidos com o pool ocioso antes de diminuí-lo.
+     */
+    private static final int QUIET_INTERVALS = 3;
+
+    /**
+     * Aumento do tempo de uso, em relação à média histórica, a partir do qual o banco é considerado saturado.
+     */
+    private static final double SATURATION_FACTOR = 1.5;
+
+    /**
+     * Peso de cada intervalo na média histórica do tempo de uso.
+     */
+    private static final double BASELINE_WEIGHT = 0.2;
+
+    private final PoolMetrics metrics;
+    private final boolean enabled;
+    private final double targetWaitMillis;
+    private final int minSize;
+    private final int maxSize;
+    private final int step;
+    private final long intervalMillis;
+    private final Map<String, State> states = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Construtor.
+     *
+     * @param metrics          As medições dos pools.
+     * @param enabled          Se o ajuste automático está ativado.
+     * @param targetWaitMillis Espera máxima desejada (percentil 95), em milissegundos.
+     * @param minSize          Menor tamanho máximo de um pool.
+     * @param maxSize          Maior tamanho máximo de um pool.
+     * @param step             Conexões acrescentadas a cada aumento.
+     * @param intervalMillis   Intervalo, em milissegundos, entre os ajustes.
+     */
+    public AdaptivePoolSizer(PoolMetrics metrics,
+                             @Value("${datasource.pool.adaptive.enabled:false}") boolean enabled,
+                             @Value("${datasource.pool.adaptive.target-wait-ms:5}") double targetWaitMillis,
+                             @Value("${datasource.pool.adaptive.min-size:10}") int minSize,
+                             @Value("${datasource.pool.adaptive.max-size:40}") int maxSize,
+                             @Value("${datasource.pool.adaptive.step:2}") int step,
+                             @Value("${datasource.pool.adaptive.interval-ms:10000}") long intervalMillis) {
+        this.metrics = metrics;
+        this.enabled = enabled;
+        this.targetWaitMillis = targetWaitMillis;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.step = step;
+        this.intervalMillis = intervalMillis;
+    }
+
+    /**
+     * Inicia os ajustes periódicos em uma thread de fundo.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "adaptive-pool-sizer");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::adjust, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Ajuste automático dos pools de conexões ativado ({} a {} conexões)", minSize, maxSize);
+    }
+
+    /**
+     * Interrompe os ajustes.
+     */
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Ajusta o tamanho máximo de cada pool com as medições do último intervalo.
+     */
+    public void adjust() {
+        for (HikariDataSource dataSource : metrics.dataSources()) {
+            PoolMetrics.Pool pool = metrics.pool(dataSource.getPoolName());
+            if (pool == null || dataSource.isClosed()) {
+                continue;
+            }
+            try {
+                adjust(dataSource.getHikariConfigMXBean(), pool);
+            } catch (RuntimeException e) {
+                log.warn("Falha ao ajustar o pool {}: {}", pool.name(), e.getMessage());
+            }
+        }
+    }
+
+    private void adjust(HikariConfigMXBean config, PoolMetrics.Pool pool) {
+        State state = states.computeIfAbsent(pool.name(), k -> new State(pool));
+        LatencyHistogram.Snapshot acquire = pool.acquireTimes().snapshot();
+        LatencyHistogram.Snapshot usage = pool.usageTimes().snapshot();
+        LatencyHistogram.Snapshot acquired = acquire.minus(state.acquire);
+        LatencyHistogram.Snapshot used = usage.minus(state.usage);
+        state.acquire = acquire;
+        state.usage = usage;
+
+        double waitP95 = acquired.percentileMillis(0.95);
+        double usageP95 = used.percentileMillis(0.95);
+        int pending = pool.stats().getPendingThreads();
+        int active = pool.stats().getActiveConnections();
+        int current = config.getMaximumPoolSize();
+        boolean saturated = state.baselineUsageMillis > 0 && usageP95 > state.baselineUsageMillis * SATURATION_FACTOR;
+
+        int target = current;
+        if (waitP95 > targetWaitMillis || pending > 0) {
+            state.quietIntervals = 0;
+            target = saturated ? current - 1 : current + step;
+        } else {
+            if (used.count() > 0 && !saturated) {
+                state.baselineUsageMillis = state.baselineUsageMillis == 0
+                    ? usageP95
+                    : (1 - BASELINE_WEIGHT) * state.baselineUsageMillis + BASELINE_WEIGHT * usageP95;
+            }
+            state.quietIntervals = active < current / 2 ? state.quietIntervals + 1 : 0;
+            if (state.quietIntervals >= QUIET_INTERVALS) {
+                state.quietIntervals = 0;
+                target = current - 1;
+            }
+        }
+        target = Math.max(minSize, Math.min(maxSize, target));
+        if (target == current) {
+            return;
+        }
+        if (config.getMinimumIdle() > target) {
+            config.setMinimumIdle(target);
+        }
+        config.setMaximumPoolSize(target);
+        log.info("Pool {}: tamanho máximo {} -> {} (espera p95 {} ms, uso p95 {} ms, média {} ms, fila {})",
+                 pool.name(), current, target, waitP95, usageP95,
+                 Math.round(state.baselineUsageMillis * 1000) / 1000.0, pending);
+    }
+
+    /**
+     * Estado do ajuste de um pool entre dois intervalos.
+     */
+    private static final class State {
+
+        private LatencyHistogram.Snapshot acquire;
+        private LatencyHistogram.Snapshot usage;
+        private double baselineUsageMillis;
+        private int quietIntervals;
+
+        State(PoolMetrics.Pool pool) {
+            this.acquire = pool.acquireTimes().snapshot();
+            this.usage = pool.usageTimes().snapshot();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package project.poem.infrastructure.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de tempos com faixas em potências de 2 de microssegundos (1 µs, 2 µs, 4 µs, ... até
+ * cerca de 9 minutos). O registro é um incremento atômico, sem bloqueio e sem alocação; os
+ * percentis são aproximados pelo limite superior da faixa (erro de no máximo 2x).
+ */
+public final class LatencyHistogram {
+
+    /**
+     * Número de faixas: a faixa i guarda os tempos menores que 2^i µs; a última guarda o resto.
+     */
+    private static final int BUCKETS = 30;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Registra um tempo.
+     *
+     * @param micros O tempo em microssegundos.
+     */
+    public void record(long micros) {
+        int bucket = micros <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(micros);
+        counts.incrementAndGet(Math.min(bucket, BUCKETS - 1));
+    }
+
+    /**
+     * Obtém uma cópia das contagens atuais.
+     * @return A cópia das contagens.
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new Snapshot(copy);
+    }
+
+    /**
+     * Cópia imutável das contagens de um histograma, usada para percentis e para comparar dois instantes.
+     */
+    public static final class Snapshot {
+
+        private final long[] counts;
+
+        private Snapshot(long[] counts) {
+            this.counts = counts;
+        }
+
+        /**
+         * Obtém o número de tempos registrados.
+         * @return O total.
+         */
+        public long count() {
+            long total = 0;
+            for (long c : counts) {
+                total += c;
+            }
+            return total;
+        }
+
+        /**
+         * Calcula os tempos registrados desde um instante anterior.
+         *
+         * @param previous A cópia anterior do mesmo histograma.
+         * @return As contagens registradas entre as duas cópias.
+         */
+        public Snapshot minus(Snapshot previous) {
+            long[] diff = new long[counts.length];
+            for (int i = 0; i < counts.length; i++) {
+                diff[i] = counts[i] - previous.counts[i];
+            }
+            return new Snapshot(diff);
+        }
+
+        /**
+         * Obtém o percentil, em milissegundos (limite superior da faixa que o contém).
+         *
+         * @param quantile O percentil entre 0 e 1 (ex.: 0.95).
+         * @return O tempo em milissegundos, ou 0 se nada foi registrado.
+         */
+        public double percentileMillis(double quantile) {
+            long total = count();
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(quantile * total);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return upperBoundMillis(i);
+                }
+            }
+            return upperBoundMillis(counts.length - 1);
+        }
+
+        /**
+         * Obtém as faixas não vazias, pelo seu limite superior.
+         * @return Um mapa do limite superior de cada faixa (ex.: "≤0,512 ms") para a sua contagem.
+         */
+        public Map<String, Long> buckets() {
+            Map<String, Long> result = new LinkedHashMap<>();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    result.put(i == counts.length - 1 ? ">" + upperBoundMillis(i - 1) + " ms"
+                                                      : "≤" + upperBoundMillis(i) + " ms", counts[i]);
+                }
+            }
+            return result;
+        }
+
+        private static double upperBoundMillis(int bucket) {
+            return bucket == 0 ? 0 : (1L << bucket) / 1000.0;
+        }
+    }
+}
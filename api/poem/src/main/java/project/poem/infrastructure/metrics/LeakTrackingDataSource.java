@@ -0,0 +1,131 @@
+package project.poem.infrastructure.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * DataSource que registra cada conexão entregue à aplicação em {@link PoolMetrics}, com o método de
+ * serviço que a obteve, até que ela seja fechada.
+ * <p>
+ * O método é o primeiro da pilha em uma classe do projeto terminada em "Service" (ex.:
+ * "CommentService.listByPoemId"); sem um serviço na pilha, vale a primeira classe do projeto
+ * fora dos DataSources (ex.: um controlador ou um repositório customizado).
+ */
+public class LeakTrackingDataSource extends DelegatingDataSource {
+
+    private static final String PROJECT_PACKAGE = "project.poem.";
+    private static final String DATASOURCE_PACKAGE = "project.poem.infrastructure.datasource.";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final PoolMetrics metrics;
+
+    /**
+     * Construtor.
+     *
+     * @param target  O DataSource que fornece as conexões.
+     * @param metrics O registro das conexões abertas.
+     */
+    public LeakTrackingDataSource(DataSource target, PoolMetrics metrics) {
+        super(target);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return track(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return track(super.getConnection(username, password));
+    }
+
+    private Connection track(Connection connection) {
+        PoolMetrics.Lease lease = metrics.acquire(owner());
+        AtomicBoolean closed = new AtomicBoolean();
+        InvocationHandler handler = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "close":
+                    if (closed.compareAndSet(false, true)) {
+                        metrics.release(lease);
+                    }
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(connection)) {
+                        return connection;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                                                   new Class<?>[] { Connection.class }, handler);
+    }
+
+    /**
+     * Identifica o método que está obtendo a conexão, no formato "Classe.metodo".
+     */
+    static String owner() {
+        return STACK_WALKER.walk(frames -> {
+            String fallback = null;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                String className = frame.getClassName();
+                if (!className.startsWith(PROJECT_PACKAGE) || className.startsWith(DATASOURCE_PACKAGE)
+                    || className.equals(LeakTrackingDataSource.class.getName())) {
+                    continue;
+                }
+                String owner = simpleName(className);
+                String name = owner + "." + methodName(frame.getMethodName());
+                if (owner.endsWith("Service")) {
+                    return Optional.of(name);
+                }
+                if (fallback == null) {
+                    fallback = name;
+                }
+            }
+            return Optional.ofNullable(fallback);
+        }).orElse("desconhecido");
+    }
+
+    /**
+     * Remove o pacote, a classe externa e o sufixo dos proxies do Spring (ex.: "PoemService$$SpringCGLIB$$0").
+     */
+    private static String simpleName(String className) {
+        String name = className.substring(className.lastIndexOf('.') + 1);
+        int proxy = name.indexOf("$$");
+        if (proxy >= 0) {
+            name = name.substring(0, proxy);
+        }
+        return name.substring(name.lastIndexOf('$') + 1);
+    }
+
+    /**
+     * Troca o nome gerado de uma expressão lambda ("lambda$getById$3") pelo método que a contém.
+     */
+    private static String methodName(String method) {
+        if (method.startsWith("lambda$")) {
+            int end = method.indexOf('$', 7);
+            return end > 7 ? method.substring(7, end) : method;
+        }
+        return method;
+    }
+}
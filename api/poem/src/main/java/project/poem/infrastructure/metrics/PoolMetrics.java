@@ -0,0 +1,273 @@
+package project.poem.infrastructure.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import project.poem.application.dto.PoolStatsDto;
+
+/**
+ * Métricas dos pools de conexões (HikariCP) e detecção de vazamentos de conexão.
+ * <ul>
+ *   <li><b>Pools:</b> cada pool instrumentado por {@link #instrument(HikariDataSource)} informa o tempo
+ *   de espera por uma conexão em {@code getConnection}, o tempo em que cada conexão ficou em uso e as
+ *   esperas que excederam {@code connectionTimeout}; as conexões ativas, livres e as threads na fila
+ *   vêm do próprio pool.</li>
+ *   <li><b>Vazamentos:</b> cada conexão entregue pelo {@link LeakTrackingDataSource} é registrada com o
+ *   método de serviço que a obteve; uma conexão aberta há mais de {@code datasource.pool.leak-threshold-ms}
+ *   é registrada no log uma vez e contada para esse método.</li>
+ * </ul>
+ */
+@Component
+public class PoolMetrics implements MetricsTrackerFactory {
+
+    private static final Logger log = LoggerFactory.getLogger(PoolMetrics.class);
+
+    private final Map<String, Pool> pools = new ConcurrentHashMap<>();
+    private final List<HikariDataSource> dataSources = new CopyOnWriteArrayList<>();
+    private final Set<Lease> leases = ConcurrentHashMap.newKeySet();
+    private final Map<String, AtomicLong> leaksByMethod = new ConcurrentHashMap<>();
+    private final long leakThresholdMillis;
+    private ScheduledExecutorService leakChecker;
+
+    /**
+     * Construtor.
+     *
+     * @param leakThresholdMillis Tempo, em milissegundos, a partir do qual uma conexão aberta é
+     *                            considerada vazada; 0 (o padrão) desativa a detecção e o
+     *                            {@link LeakTrackingDataSource}.
+     */
+    public PoolMetrics(@Value("${datasource.pool.leak-threshold-ms:0}") long leakThresholdMillis) {
+        this.leakThresholdMillis = leakThresholdMillis;
+    }
+
+    /**
+     * Inicia a verificação periódica dos vazamentos em uma thread de fundo.
+     */
+    @PostConstruct
+    public void start() {
+        if (!isLeakDetectionEnabled()) {
+            return;
+        }
+        leakChecker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "connection-leak-check");
+            t.setDaemon(true);
+            return t;
+        });
+        long interval = Math.max(1000, leakThresholdMillis / 4);
+        leakChecker.scheduleWithFixedDelay(this::checkLeaks, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Interrompe a verificação dos vazamentos.
+     */
+    @PreDestroy
+    public void stop() {
+        if (leakChecker != null) {
+            leakChecker.shutdownNow();
+        }
+    }
+
+    /**
+     * Indica se as conexões devem ser registradas para a detecção de vazamentos.
+     * @return true se o limite de vazamento é positivo.
+     */
+    public boolean isLeakDetectionEnabled() {
+        return leakThresholdMillis > 0;
+    }
+
+    /**
+     * Passa a medir um pool. Deve ser chamado antes de o pool ser iniciado (primeira conexão).
+     *
+     * @param dataSource O pool.
+     */
+    public void instrument(HikariDataSource dataSource) {
+        dataSource.setMetricsTrackerFactory(this);
+        dataSources.add(dataSource);
+    }
+
+    /**
+     * Obtém os pools instrumentados, para o ajuste do tamanho máximo.
+     * @return Os pools.
+     */
+    public List<HikariDataSource> dataSources() {
+        return dataSources;
+    }
+
+    /**
+     * Obtém as medições de um pool já iniciado.
+     *
+     * @param poolName O nome do pool.
+     * @return As medições, ou null se o pool ainda não foi iniciado.
+     */
+    public Pool pool(String poolName) {
+        return pools.get(poolName);
+    }
+
+    /**
+     * Chamado pelo HikariCP quando um pool instrumentado é iniciado.
+     */
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        Pool pool = new Pool(poolName, poolStats);
+        pools.put(poolName, pool);
+        return pool;
+    }
+
+    /**
+     * Obtém o estado e os tempos de cada pool.
+     * @return Os pools, em ordem de nome.
+     */
+    public List<PoolStatsDto> snapshot() {
+        List<PoolStatsDto> result = new ArrayList<>();
+        for (Pool pool : pools.values()) {
+            LatencyHistogram.Snapshot acquire = pool.acquireTimes().snapshot();
+            LatencyHistogram.Snapshot usage = pool.usageTimes().snapshot();
+            PoolStats stats = pool.stats();
+            result.add(new PoolStatsDto(pool.name(), stats.getActiveConnections(), stats.getIdleConnections(),
+                                        stats.getPendingThreads(), stats.getMaxConnections(), acquire.count(),
+                                        pool.timeouts(), acquire.percentileMillis(0.50),
+                                        acquire.percentileMillis(0.99), acquire.buckets(),
+                                        usage.percentileMillis(0.50), usage.percentileMillis(0.99)));
+        }
+        result.sort(Comparator.comparing(PoolStatsDto::getPool));
+        return result;
+    }
+
+    /**
+     * Obtém o número de vazamentos detectados por método de serviço.
+     * @return Os métodos, do que mais vazou para o que menos vazou.
+     */
+    public Map<String, Long> leaks() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        leaksByMethod.entrySet().stream()
+                     .sorted(Map.Entry.<String, AtomicLong>comparingByValue(
+                         Comparator.comparingLong(AtomicLong::get)).reversed())
+                     .forEach(e -> result.put(e.getKey(), e.getValue().get()));
+        return result;
+    }
+
+    /**
+     * Registra uma conexão entregue à aplicação.
+     *
+     * @param owner O método que obteve a conexão (ex.: "PoemService.getById").
+     * @return O registro, a ser passado para {@link #release(Lease)} quando a conexão for fechada.
+     */
+    Lease acquire(String owner) {
+        Lease lease = new Lease(owner, Thread.currentThread().getName(), System.currentTimeMillis());
+        leases.add(lease);
+        return lease;
+    }
+
+    /**
+     * Remove o registro de uma conexão fechada.
+     *
+     * @param lease O registro criado por {@link #acquire(String)}.
+     */
+    void release(Lease lease) {
+        if (leases.remove(lease) && lease.reported) {
+            log.info("Conexão obtida por {} devolvida após {} ms", lease.owner,
+                     System.currentTimeMillis() - lease.acquiredAt);
+        }
+    }
+
+    /**
+     * Registra no log, uma vez, cada conexão aberta há mais que o limite e a conta para o método que a obteve.
+     */
+    public void checkLeaks() {
+        long cutoff = System.currentTimeMillis() - leakThresholdMillis;
+        for (Lease lease : leases) {
+            if (!lease.reported && lease.acquiredAt < cutoff) {
+                lease.reported = true;
+                leaksByMethod.computeIfAbsent(lease.owner, k -> new AtomicLong()).incrementAndGet();
+                log.warn("Possível vazamento de conexão: obtida por {} na thread {} e aberta há {} ms",
+                         lease.owner, lease.thread, System.currentTimeMillis() - lease.acquiredAt);
+            }
+        }
+    }
+
+    /**
+     * Medições de um pool, alimentadas pelo HikariCP.
+     */
+    public static final class Pool implements IMetricsTracker {
+
+        private final String name;
+        private final PoolStats stats;
+        private final LatencyHistogram acquireTimes = new LatencyHistogram();
+        private final LatencyHistogram usageTimes = new LatencyHistogram();
+        private final AtomicLong timeouts = new AtomicLong();
+
+        Pool(String name, PoolStats stats) {
+            this.name = name;
+            this.stats = stats;
+        }
+
+        /** @return O nome do pool. */
+        public String name() { return name; }
+
+        /** @return As conexões ativas, livres e as threads na fila do pool. */
+        public PoolStats stats() { return stats; }
+
+        /** @return O tempo de espera por uma conexão. */
+        public LatencyHistogram acquireTimes() { return acquireTimes; }
+
+        /** @return O tempo em que cada conexão ficou em uso, que acompanha a latência do banco. */
+        public LatencyHistogram usageTimes() { return usageTimes; }
+
+        /** @return O número de esperas que excederam o tempo limite. */
+        public long timeouts() { return timeouts.get(); }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            acquireTimes.record(elapsedAcquiredNanos / 1000);
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            usageTimes.record(elapsedBorrowedMillis * 1000);
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            timeouts.incrementAndGet();
+        }
+    }
+
+    /**
+     * Conexão entregue à aplicação e ainda não fechada.
+     */
+    static final class Lease {
+
+        private final String owner;
+        private final String thread;
+        private final long acquiredAt;
+        private volatile boolean reported;
+
+        Lease(String owner, String thread, long acquiredAt) {
+            this.owner = owner;
+            this.thread = thread;
+            this.acquiredAt = acquiredAt;
+        }
+    }
+}
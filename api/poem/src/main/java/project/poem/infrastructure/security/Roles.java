@@ -0,0 +1,46 @@
+package project.poem.infrastructure.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * Verificações de papel (role) sobre o usuário autenticado, feitas comparando as autoridades
+ * diretamente, sem montar a representação em texto da lista de autoridades.
+ */
+public final class Roles {
+
+    /**
+     * Autoridade dos administradores, com o prefixo "ROLE_" exigido pelo Spring Security.
+     */
+    public static final String ADMIN = "ROLE_ADMIN";
+
+    private Roles() {
+    }
+
+    /**
+     * Verifica se o usuário autenticado é um administrador.
+     *
+     * @param auth A autenticação do usuário.
+     * @return true se o usuário tiver a role de administrador.
+     */
+    public static boolean isAdmin(Authentication auth) {
+        for (GrantedAuthority authority : auth.getAuthorities()) {
+            if (ADMIN.equals(authority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Verifica se o usuário autenticado pode agir em nome de outro usuário:
+     * ele próprio ou um administrador.
+     *
+     * @param auth     A autenticação do usuário.
+     * @param username O nome do usuário dono do recurso.
+     * @return true se o usuário autenticado for o dono do recurso ou um administrador.
+     */
+    public static boolean canActAs(Authentication auth, String username) {
+        return auth.getName().equals(username) || isAdmin(auth);
+    }
+}
@@ -0,0 +1,166 @@
+package project.poem.api.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import jakarta.persistence.EntityManagerFactory;
+import project.poem.application.dto.PoemDto;
+import project.poem.application.service.PoemService;
+import project.poem.domain.repository.CommentRepository;
+import project.poem.domain.repository.PoemLikeRepository;
+import project.poem.domain.repository.PoemRepository;
+
+/**
+ * Verifica os cabeçalhos ETag/Last-Modified, as respostas 304 e as alterações condicionais (If-Match) dos poemas.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalRequestTests {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private PoemService poemService;
+
+	@Autowired
+	private PoemRepository poemRepository;
+
+	@Autowired
+	private PoemLikeRepository poemLikeRepository;
+
+	@Autowired
+	private CommentRepository commentRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		commentRepository.deleteAllInBatch();
+		poemLikeRepository.deleteAllInBatch();
+		poemRepository.deleteAllInBatch();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void revalidationWithCurrentETagReturns304WithoutQueries() throws Exception {
+		PoemDto poem = poemService.createOrUpdate(poem("Primeiro"));
+
+		String etag = mvc.perform(get("/api/poems/" + poem.getId()))
+		                 .andExpect(status().isOk())
+		                 .andExpect(header().exists("Last-Modified"))
+		                 .andExpect(header().string("Cache-Control", "no-cache, public"))
+		                 .andReturn().getResponse().getHeader("ETag");
+		assertThat(etag).startsWith("\"p" + poem.getId() + "v");
+
+		statistics.clear();
+		mvc.perform(get("/api/poems/" + poem.getId()).header("If-None-Match", etag))
+		   .andExpect(status().isNotModified());
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+	}
+
+	@Test
+	void editingThePoemChangesTheETag() throws Exception {
+		PoemDto poem = poemService.createOrUpdate(poem("Primeiro"));
+		String etag = mvc.perform(get("/api/poems/" + poem.getId()))
+		                 .andReturn().getResponse().getHeader("ETag");
+
+		poem.setTitle("Editado");
+		poemService.createOrUpdate(poem);
+
+		String newEtag = mvc.perform(get("/api/poems/" + poem.getId()).header("If-None-Match", etag))
+		                    .andExpect(status().isOk())
+		                    .andReturn().getResponse().getHeader("ETag");
+		assertThat(newEtag).isNotEqualTo(etag);
+	}
+
+	@Test
+	void sparseRepresentationsHaveTheirOwnETag() throws Exception {
+		PoemDto poem = poemService.createOrUpdate(poem("Primeiro"));
+		String full = mvc.perform(get("/api/poems/" + poem.getId()))
+		                 .andReturn().getResponse().getHeader("ETag");
+
+		mvc.perform(get("/api/poems/" + poem.getId()).param("fields", "title").header("If-None-Match", full))
+		   .andExpect(status().isOk());
+	}
+
+	@Test
+	void missingPoemIsNotFoundAndInvalidFieldIsBadRequest() throws Exception {
+		PoemDto poem = poemService.createOrUpdate(poem("Primeiro"));
+
+		mvc.perform(get("/api/poems/999999").param("fields", "title")).andExpect(status().isNotFound());
+		mvc.perform(get("/api/poems/999999")).andExpect(status().isNotFound());
+		mvc.perform(get("/api/poems/" + poem.getId()).param("fields", "senha")).andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void ifMatchWithStaleETagReturns412() throws Exception {
+		PoemDto poem = poemService.createOrUpdate(poem("Primeiro"));
+		String etag = mvc.perform(get("/api/poems/" + poem.getId()))
+		                 .andReturn().getResponse().getHeader("ETag");
+		String json = "{\"id\":" + poem.getId() + ",\"title\":\"%s\",\"text\":\"texto\","
+		              + "\"author\":\"autor\",\"postDate\":\"01/01/2026\"}";
+
+		String newEtag = mvc.perform(post("/api/poems").with(user("admin").roles("ADMIN"))
+		                                 .contentType(MediaType.APPLICATION_JSON)
+		                                 .content(json.formatted("Editado")).header("If-Match", etag))
+		                    .andExpect(status().isOk())
+		                    .andReturn().getResponse().getHeader("ETag");
+		assertThat(newEtag).isNotEqualTo(etag);
+
+		mvc.perform(post("/api/poems").with(user("admin").roles("ADMIN"))
+		                .contentType(MediaType.APPLICATION_JSON)
+		                .content(json.formatted("Outra")).header("If-Match", etag))
+		   .andExpect(status().isPreconditionFailed());
+		assertThat(poemRepository.findById(poem.getId())).get()
+			.extracting("title").isEqualTo("Editado");
+	}
+
+	@Test
+	void ifMatchWithTheETagOfAnotherRecordReturns412() throws Exception {
+		PoemDto poem = poemService.createOrUpdate(poem("Primeiro"));
+		PoemDto other = poemService.createOrUpdate(poem("Segundo"));
+		String json = "{\"id\":" + poem.getId() + ",\"title\":\"Outra\",\"text\":\"texto\","
+		              + "\"author\":\"autor\",\"postDate\":\"01/01/2026\"}";
+
+		// Os dois poemas estão na mesma versão: só o tipo e o ID do ETag os distinguem.
+		for (String etag : new String[] {"\"p" + other.getId() + "v0\"", "\"m" + poem.getId() + "v0\""}) {
+			mvc.perform(post("/api/poems").with(user("admin").roles("ADMIN"))
+			                .contentType(MediaType.APPLICATION_JSON)
+			                .content(json).header("If-Match", etag))
+			   .andExpect(status().isPreconditionFailed());
+		}
+		mvc.perform(post("/api/poems").with(user("admin").roles("ADMIN"))
+		                .contentType(MediaType.APPLICATION_JSON)
+		                .content(json).header("If-Match", "\"p" + poem.getId() + "v0\""))
+		   .andExpect(status().isOk());
+	}
+
+	private static PoemDto poem(String title) {
+		PoemDto dto = new PoemDto();
+		dto.setTitle(title);
+		dto.setText("texto");
+		dto.setAuthor("autor");
+		dto.setPostDate(LocalDate.of(2026, 1, 1));
+		return dto;
+	}
+}
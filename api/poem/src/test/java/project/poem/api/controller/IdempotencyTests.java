@@ -0,0 +1,140 @@
+package project.poem.api.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import project.poem.application.dto.StoredResponse;
+import project.poem.application.service.IdempotencyService;
+import project.poem.domain.model.Poem;
+import project.poem.domain.repository.CommentRepository;
+import project.poem.domain.repository.PoemLikeRepository;
+import project.poem.domain.repository.PoemRepository;
+
+/**
+ * Verifica o cabeçalho Idempotency-Key: repetições recebem a resposta guardada sem gravar de novo.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class IdempotencyTests {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private PoemRepository poemRepository;
+
+	@Autowired
+	private PoemLikeRepository poemLikeRepository;
+
+	@Autowired
+	private CommentRepository commentRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private Long poemId;
+
+	@BeforeEach
+	void setUp() {
+		commentRepository.deleteAllInBatch();
+		poemLikeRepository.deleteAllInBatch();
+		poemRepository.deleteAllInBatch();
+		Poem poem = new Poem();
+		poem.setTitle("Poema");
+		poem.setText("texto");
+		poem.setAuthor("autor");
+		poem.setPostDate(LocalDate.of(2026, 1, 1));
+		poemId = poemRepository.save(poem).getId();
+	}
+
+	@Test
+	void retryWithTheSameKeyReplaysTheResponseWithoutWritingAgain() throws Exception {
+		String key = UUID.randomUUID().toString();
+		String first = mvc.perform(comment("Olá").header("Idempotency-Key", key))
+		                  .andExpect(status().isOk())
+		                  .andExpect(header().doesNotExist("Idempotent-Replayed"))
+		                  .andReturn().getResponse().getContentAsString();
+
+		String replayed = mvc.perform(comment("Olá").header("Idempotency-Key", key))
+		                     .andExpect(status().isOk())
+		                     .andExpect(header().string("Idempotent-Replayed", "true"))
+		                     .andReturn().getResponse().getContentAsString();
+
+		assertThat(replayed).isEqualTo(first);
+		assertThat(commentRepository.count()).isEqualTo(1);
+
+		// Outro usuário com a mesma chave não recebe a resposta guardada.
+		mvc.perform(comment("Olá").header("Idempotency-Key", key).with(user("outra").roles("USER")))
+		   .andExpect(status().isOk())
+		   .andExpect(header().doesNotExist("Idempotent-Replayed"));
+		assertThat(commentRepository.count()).isEqualTo(2);
+	}
+
+	@Test
+	void sameKeyWithAnotherBodyIsRejected() throws Exception {
+		String key = UUID.randomUUID().toString();
+		mvc.perform(comment("Olá").header("Idempotency-Key", key)).andExpect(status().isOk());
+
+		mvc.perform(comment("Outro").header("Idempotency-Key", key))
+		   .andExpect(status().isUnprocessableEntity());
+		assertThat(commentRepository.count()).isEqualTo(1);
+	}
+
+	@Test
+	void persistedKeysAreSharedBetweenInstances() {
+		jdbcTemplate.execute("create table if not exists idempotency_keys (id_key varchar(400) primary key, "
+		                     + "fingerprint char(64) not null, status int not null, content_type varchar(255), "
+		                     + "etag varchar(255), body blob, created_at timestamp(3) not null)");
+		IdempotencyService a = new IdempotencyService(jdbcTemplate, true, 100, 60);
+		IdempotencyService b = new IdempotencyService(jdbcTemplate, true, 100, 60);
+		String key = "leitora:" + UUID.randomUUID();
+		byte[] fingerprint = {1, 2, 3};
+
+		assertThat(a.claim(key, fingerprint).outcome()).isEqualTo(IdempotencyService.Outcome.NEW);
+		assertThat(b.claim(key, fingerprint).outcome()).isEqualTo(IdempotencyService.Outcome.IN_PROGRESS);
+
+		a.complete(key, new StoredResponse(200, "application/json", null, "{\"id\":1}".getBytes()));
+		IdempotencyService.Claim replay = b.claim(key, fingerprint);
+		assertThat(replay.outcome()).isEqualTo(IdempotencyService.Outcome.REPLAY);
+		assertThat(replay.response().getBody()).isEqualTo("{\"id\":1}".getBytes());
+		assertThat(b.claim(key, new byte[] {9}).outcome()).isEqualTo(IdempotencyService.Outcome.MISMATCH);
+	}
+
+	@Test
+	void inProgressKeysAreNotEvictedToMakeRoom() {
+		IdempotencyService service = new IdempotencyService(jdbcTemplate, false, 2, 60);
+		byte[] fingerprint = {1, 2, 3};
+
+		assertThat(service.claim("leitora:a", fingerprint).outcome()).isEqualTo(IdempotencyService.Outcome.NEW);
+		assertThat(service.claim("leitora:b", fingerprint).outcome()).isEqualTo(IdempotencyService.Outcome.NEW);
+		assertThat(service.claim("leitora:c", fingerprint).outcome()).isEqualTo(IdempotencyService.Outcome.UNAVAILABLE);
+		assertThat(service.claim("leitora:a", fingerprint).outcome()).isEqualTo(IdempotencyService.Outcome.IN_PROGRESS);
+
+		// Com "a" respondida, ela é a removida para abrir espaço, e "b" continua em andamento.
+		service.complete("leitora:a", new StoredResponse(200, "application/json", null, "{}".getBytes()));
+		assertThat(service.claim("leitora:c", fingerprint).outcome()).isEqualTo(IdempotencyService.Outcome.NEW);
+		assertThat(service.claim("leitora:b", fingerprint).outcome()).isEqualTo(IdempotencyService.Outcome.IN_PROGRESS);
+	}
+
+	private MockHttpServletRequestBuilder comment(String content) {
+		return post("/api/comments").with(user("leitora").roles("USER"))
+		                            .contentType(MediaType.APPLICATION_JSON)
+		                            .content("{\"poemId\":" + poemId + ",\"content\":\"" + content + "\"}");
+	}
+}
@@ -0,0 +1,128 @@
+package project.poem.api.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.zip.GZIPInputStream;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import jakarta.persistence.EntityManagerFactory;
+import project.poem.application.dto.PoemDto;
+import project.poem.application.service.PoemService;
+import project.poem.domain.repository.CommentRepository;
+import project.poem.domain.repository.PoemLikeRepository;
+import project.poem.domain.repository.PoemRepository;
+
+/**
+ * Verifica a lista de poemas servida do cache já serializado e comprimido.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class SerializedResponseTests {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private PoemService poemService;
+
+	@Autowired
+	private PoemRepository poemRepository;
+
+	@Autowired
+	private PoemLikeRepository poemLikeRepository;
+
+	@Autowired
+	private CommentRepository commentRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		commentRepository.deleteAllInBatch();
+		poemLikeRepository.deleteAllInBatch();
+		poemRepository.deleteAllInBatch();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void repeatedListReadsAreServedCompressedWithOnlyTheVersionQueries() throws Exception {
+		for (int i = 0; i < 20; i++) {
+			poemService.createOrUpdate(poem("Poema " + i));
+		}
+
+		String plain = mvc.perform(get("/api/poems"))
+		                  .andExpect(status().isOk())
+		                  .andExpect(header().doesNotExist("Content-Encoding"))
+		                  .andReturn().getResponse().getContentAsString();
+
+		statistics.clear();
+		MockHttpServletResponse response = mvc.perform(get("/api/poems").header("Accept-Encoding", "br, gzip"))
+		                                      .andExpect(status().isOk())
+		                                      .andExpect(header().string("Content-Encoding", "gzip"))
+		                                      .andReturn().getResponse();
+		assertThat(response.getHeaders("Vary")).contains("Accept-Encoding");
+		byte[] gzip = response.getContentAsByteArray();
+		// Apenas o último updated_at dos poemas e o último registro de exclusão são lidos.
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+		assertThat(gzip.length).isLessThan(plain.length());
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+			assertThat(new String(in.readAllBytes(), "UTF-8")).isEqualTo(plain);
+		}
+	}
+
+	@Test
+	void creatingAPoemInvalidatesTheCachedList() throws Exception {
+		poemService.createOrUpdate(poem("Primeiro"));
+		mvc.perform(get("/api/poems")).andExpect(status().isOk());
+
+		poemService.createOrUpdate(poem("Segundo"));
+
+		String body = mvc.perform(get("/api/poems")).andReturn().getResponse().getContentAsString();
+		assertThat(body).contains("Primeiro", "Segundo");
+	}
+
+	@Test
+	void changesMadeByAnotherInstanceInvalidateTheCachedList() throws Exception {
+		PoemDto poem = poemService.createOrUpdate(poem("Primeiro"));
+		mvc.perform(get("/api/poems")).andExpect(status().isOk());
+
+		// Alteração feita por outra instância: nenhum evento chega a esta.
+		jdbcTemplate.update("update poems set title = ?, updated_at = ? where id = ?",
+		                    "Editado", Timestamp.from(Instant.now().plusSeconds(1)), poem.getId());
+
+		String body = mvc.perform(get("/api/poems")).andReturn().getResponse().getContentAsString();
+		assertThat(body).contains("Editado").doesNotContain("Primeiro");
+	}
+
+	private static PoemDto poem(String title) {
+		PoemDto dto = new PoemDto();
+		dto.setTitle(title);
+		dto.setText("Um verso que se repete para que a lista passe de um quilobyte.");
+		dto.setAuthor("autor");
+		dto.setPostDate(LocalDate.of(2026, 1, 1));
+		return dto;
+	}
+}
@@ -0,0 +1,81 @@
+package project.poem.api.controller;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import project.poem.domain.model.Role;
+import project.poem.domain.model.User;
+import project.poem.domain.repository.UserRepository;
+
+/**
+ * Verifica a listagem paginada de usuários: acesso restrito, ordenação permitida, limite de página e filtros.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class UserListingTests {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	private String prefix;
+
+	@BeforeEach
+	void setUp() {
+		prefix = UUID.randomUUID().toString().substring(0, 8);
+		for (String suffix : new String[] {"_um", "bum", "%dois"}) {
+			User user = new User();
+			user.setUsername(prefix + suffix);
+			user.setPassword("hash");
+			user.setEmail(prefix + suffix + "@exemplo.com");
+			user.setRole(Role.USER);
+			userRepository.save(user);
+		}
+	}
+
+	@Test
+	void onlyAdminsCanListUsers() throws Exception {
+		mvc.perform(get("/api/auth/users/page")).andExpect(status().is4xxClientError());
+		mvc.perform(get("/api/auth/users/page").with(user("leitora").roles("USER"))).andExpect(status().isForbidden());
+		mvc.perform(asAdmin(get("/api/auth/users/page"))).andExpect(status().isOk());
+	}
+
+	@Test
+	void prefixWildcardsAreLiteral() throws Exception {
+		mvc.perform(asAdmin(get("/api/auth/users/page").param("username", prefix + "_")))
+		   .andExpect(jsonPath("$.content.length()").value(1))
+		   .andExpect(jsonPath("$.content[0].username").value(prefix + "_um"));
+		mvc.perform(asAdmin(get("/api/auth/users/page").param("email", prefix + "%")))
+		   .andExpect(jsonPath("$.content.length()").value(1))
+		   .andExpect(jsonPath("$.content[0].username").value(prefix + "%dois"));
+	}
+
+	@Test
+	void sortIsWhitelistedAndPageSizeIsCapped() throws Exception {
+		mvc.perform(asAdmin(get("/api/auth/users/page").param("username", prefix).param("sort", "username,desc")))
+		   .andExpect(jsonPath("$.content[*].username").value(contains(prefix + "bum", prefix + "_um", prefix + "%dois")));
+		mvc.perform(asAdmin(get("/api/auth/users/page").param("sort", "password")))
+		   .andExpect(status().isBadRequest());
+		mvc.perform(asAdmin(get("/api/auth/users/page").param("size", "500")))
+		   .andExpect(jsonPath("$.page.size").value(100));
+	}
+
+	private static MockHttpServletRequestBuilder asAdmin(MockHttpServletRequestBuilder request) {
+		return request.with(user("admin").roles("ADMIN"));
+	}
+}
@@ -0,0 +1,127 @@
+package project.poem.application.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import project.poem.domain.model.Comment;
+import project.poem.domain.model.Poem;
+import project.poem.domain.repository.CommentRepository;
+import project.poem.domain.repository.PoemLikeRepository;
+import project.poem.domain.repository.PoemRepository;
+
+/**
+ * Compara a gravação de muitos comentários pelo Hibernate com e sem batches JDBC.
+ * Sem batches (tamanho 1) é o comportamento anterior com IDENTITY: uma instrução preparada e executada por
+ * comentário. Com os identificadores reservados em blocos, cada flush prepara um único INSERT e o executa em
+ * batches de 50. O número de instruções é verificado; a vazão é apenas registrada no log, pois no H2 em
+ * memória não há a latência de rede que torna a diferença maior no MySQL.
+ */
+@SpringBootTest
+class BulkWriteBenchmarkTests {
+
+	private static final Logger log = LoggerFactory.getLogger(BulkWriteBenchmarkTests.class);
+
+	private static final int COMMENTS = 5000;
+
+	/**
+	 * Comentários por flush, como em uma gravação em lote que limpa o contexto de persistência.
+	 */
+	private static final int FLUSH_SIZE = 500;
+
+	@Autowired
+	private PoemRepository poemRepository;
+
+	@Autowired
+	private PoemLikeRepository poemLikeRepository;
+
+	@Autowired
+	private CommentRepository commentRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	private Statistics statistics;
+	private long poemId;
+
+	@BeforeEach
+	void setUp() {
+		commentRepository.deleteAllInBatch();
+		poemLikeRepository.deleteAllInBatch();
+		poemRepository.deleteAllInBatch();
+		Poem poem = new Poem();
+		poem.setTitle("Poema");
+		poem.setText("texto");
+		poem.setAuthor("autor");
+		poem.setPostDate(LocalDate.of(2026, 1, 1));
+		poemId = poemRepository.save(poem).getId();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void batchedInsertsPrepareOneStatementPerFlush() {
+		write(1); // Aquecimento.
+		write(50);
+
+		Result unbatched = write(1);
+		Result batched = write(50);
+		log.info("Gravação de {} comentários: sem batches {} instruções, {} por segundo; "
+		         + "com batches {} instruções, {} por segundo",
+		         COMMENTS, unbatched.statements, unbatched.perSecond(), batched.statements, batched.perSecond());
+
+		assertThat(unbatched.statements).isGreaterThanOrEqualTo(COMMENTS);
+		assertThat(batched.statements).isLessThanOrEqualTo(COMMENTS / FLUSH_SIZE);
+		assertThat(commentRepository.count()).isEqualTo(4L * COMMENTS);
+	}
+
+	private Result write(int batchSize) {
+		statistics.clear();
+		long started = System.nanoTime();
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+			Poem poem = entityManager.getReference(Poem.class, poemId);
+			for (int i = 0; i < COMMENTS; i++) {
+				Comment comment = new Comment();
+				comment.setAuthor("leitora");
+				comment.setContent("comentário " + i);
+				comment.setCommentDate(LocalDate.of(2026, 1, 1));
+				comment.setPoem(poem);
+				entityManager.persist(comment);
+				if ((i + 1) % FLUSH_SIZE == 0) {
+					entityManager.flush();
+					entityManager.clear();
+					poem = entityManager.getReference(Poem.class, poemId);
+				}
+			}
+		});
+		return new Result(statistics.getPrepareStatementCount(), System.nanoTime() - started);
+	}
+
+	private record Result(long statements, long nanos) {
+
+		long perSecond() {
+			return COMMENTS * 1_000_000_000L / nanos;
+		}
+	}
+}
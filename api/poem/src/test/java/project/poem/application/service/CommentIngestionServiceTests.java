@@ -0,0 +1,133 @@
+package project.poem.application.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import project.poem.application.dto.CommentDto;
+import project.poem.application.dto.PoemDto;
+import project.poem.domain.repository.CommentRepository;
+import project.poem.domain.repository.PoemLikeRepository;
+import project.poem.domain.repository.PoemRepository;
+
+/**
+ * Verifica a gravação assíncrona de comentários: leitura do próprio autor, gravação em lote e recusas.
+ */
+@SpringBootTest(properties = {
+	"comments.write-behind.enabled=true",
+	"comments.write-behind.batch-size=3",
+	"comments.write-behind.log-file=target/comment-write-behind-test.log"
+})
+class CommentIngestionServiceTests {
+
+	@Autowired
+	private CommentIngestionService ingestionService;
+
+	@Autowired
+	private CommentService commentService;
+
+	@Autowired
+	private PoemService poemService;
+
+	@Autowired
+	private PoemRepository poemRepository;
+
+	@Autowired
+	private PoemLikeRepository poemLikeRepository;
+
+	@Autowired
+	private CommentRepository commentRepository;
+
+	@Autowired
+	private ResourceVersionService versionService;
+
+	@BeforeEach
+	void setUp() {
+		commentRepository.deleteAllInBatch();
+		poemLikeRepository.deleteAllInBatch();
+		poemRepository.deleteAllInBatch();
+		SecurityContextHolder.getContext().setAuthentication(
+			new UsernamePasswordAuthenticationToken("leitora", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void authorSeesQueuedCommentsAndAllAreWrittenOnce() throws Exception {
+		long poemId = poem().getId();
+		for (int i = 0; i < 10; i++) {
+			ingestionService.submit(comment(poemId, "comentário " + i));
+		}
+
+		// Lista vista pela autora: comentários gravados e pendentes, sem repetições.
+		List<CommentDto> seen = commentService.listByPoemId(poemId, ingestionService.pendingFor(poemId, "leitora"));
+		assertThat(seen).extracting(CommentDto::getContent).doesNotHaveDuplicates().hasSize(10);
+
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (ingestionService.hasPending(poemId, "leitora") && System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+		}
+		assertThat(ingestionService.hasPending(poemId, "leitora")).isFalse();
+		assertThat(commentService.listByPoemId(poemId)).extracting(CommentDto::getContent)
+		                                               .doesNotHaveDuplicates().hasSize(10);
+		assertThat(Files.size(Path.of("target/comment-write-behind-test.log"))).isZero();
+	}
+
+	@Test
+	void commentRejectedAfterBeingAcceptedIsShownToItsAuthor() throws Exception {
+		long poemId = poem().getId();
+		// O poema é excluído sem evento (como em outra instância); a versão em cache ainda o dá como existente.
+		assertThat(versionService.ofPoem(poemId)).isPresent();
+		poemRepository.deleteById(poemId);
+		ingestionService.submit(comment(poemId, "tarde demais"));
+
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (pendingRejection(poemId) == null && System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+		}
+		assertThat(pendingRejection(poemId)).contains("excluído");
+		assertThat(ingestionService.hasPending(poemId, "leitora")).isTrue();
+		assertThat(ingestionService.hasPending(poemId, "outra")).isFalse();
+	}
+
+	private String pendingRejection(long poemId) {
+		return ingestionService.pendingFor(poemId, "leitora").values().stream()
+		                       .map(CommentDto::getRejection)
+		                       .filter(Objects::nonNull)
+		                       .findFirst().orElse(null);
+	}
+
+	private PoemDto poem() {
+		PoemDto dto = new PoemDto();
+		dto.setTitle("Poema");
+		dto.setText("texto");
+		dto.setAuthor("autor");
+		dto.setPostDate(LocalDate.of(2026, 1, 1));
+		return poemService.createOrUpdate(dto);
+	}
+
+	private static CommentDto comment(long poemId, String content) {
+		CommentDto dto = new CommentDto();
+		dto.setPoemId(poemId);
+		dto.setAuthor("leitora");
+		dto.setContent(content);
+		dto.setCommentDate(LocalDate.of(2026, 1, 2));
+		return dto;
+	}
+}
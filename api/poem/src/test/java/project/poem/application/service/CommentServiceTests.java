@@ -0,0 +1,152 @@
+package project.poem.application.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import jakarta.persistence.EntityManagerFactory;
+import project.poem.application.dto.CommentDto;
+import project.poem.application.dto.PoemDto;
+import project.poem.application.exception.ResourceNotFoundException;
+import project.poem.domain.repository.CommentRepository;
+import project.poem.domain.repository.PoemLikeRepository;
+import project.poem.domain.repository.PoemRepository;
+
+/**
+ * Verifica a contagem de comentários mantida em cada poema e quantas instruções SQL
+ * as verificações de autoria e as alterações de comentários emitem.
+ */
+@SpringBootTest
+class CommentServiceTests {
+
+	@Autowired
+	private CommentService commentService;
+
+	@Autowired
+	private PoemService poemService;
+
+	@Autowired
+	private PoemRepository poemRepository;
+
+	@Autowired
+	private PoemLikeRepository poemLikeRepository;
+
+	@Autowired
+	private CommentRepository commentRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		commentRepository.deleteAllInBatch();
+		poemLikeRepository.deleteAllInBatch();
+		poemRepository.deleteAllInBatch();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		SecurityContextHolder.getContext().setAuthentication(
+			new UsernamePasswordAuthenticationToken("leitora", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void countsFollowCreateAndDeleteAndAreReadInOneQuery() {
+		long a = poem("A").getId();
+		long b = poem("B").getId();
+		long c = poem("C").getId();
+		commentService.create(comment(a, "um"));
+		CommentDto second = commentService.create(comment(a, "dois"));
+		commentService.create(comment(b, "três"));
+		commentService.update(second.getId(), comment(a, "dois editado"));
+		commentService.delete(second.getId());
+
+		statistics.clear();
+		Map<Long, Long> counts = commentService.countByPoemIds(List.of(c, 999_999L, b, a));
+
+		assertThat(counts).containsExactly(Map.entry(c, 0L), Map.entry(b, 1L), Map.entry(a, 1L));
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	@Test
+	void createReferencesThePoemWithoutLoadingIt() {
+		long poemId = poem("A").getId();
+
+		// INSERT do comentário e UPDATE da versão dos comentários do poema.
+		statistics.clear();
+		commentService.create(comment(poemId, "um"));
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+		assertThatThrownBy(() -> commentService.create(comment(999_999L, "sem poema")))
+			.isInstanceOf(ResourceNotFoundException.class);
+		assertThat(commentService.countByPoemIds(List.of(poemId))).containsEntry(poemId, 1L);
+	}
+
+	@Test
+	void updateAndDeleteReadTheCommentOnce() {
+		long poemId = poem("A").getId();
+		CommentDto comment = commentService.create(comment(poemId, "um"));
+
+		// Leitura do comentário, UPDATE do comentário e UPDATE da versão dos comentários do poema.
+		statistics.clear();
+		commentService.update(comment.getId(), comment(poemId, "editado"));
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+
+		// Leitura do comentário, DELETE, UPDATE da versão dos comentários e INSERT do registro de exclusão.
+		statistics.clear();
+		commentService.delete(comment.getId());
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+	}
+
+	@Test
+	void otherUsersCannotEditButAdminsCan() {
+		long poemId = poem("A").getId();
+		CommentDto comment = commentService.create(comment(poemId, "um"));
+
+		SecurityContextHolder.getContext().setAuthentication(
+			new UsernamePasswordAuthenticationToken("outra", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+		assertThatThrownBy(() -> commentService.update(comment.getId(), comment(poemId, "invasão")))
+			.isInstanceOf(SecurityException.class);
+
+		SecurityContextHolder.getContext().setAuthentication(
+			new UsernamePasswordAuthenticationToken("admin", null, AuthorityUtils.createAuthorityList("ROLE_ADMIN")));
+		commentService.delete(comment.getId());
+		assertThat(commentService.listByPoemId(poemId)).isEmpty();
+	}
+
+	private PoemDto poem(String title) {
+		PoemDto dto = new PoemDto();
+		dto.setTitle(title);
+		dto.setText("texto");
+		dto.setAuthor("autor");
+		dto.setPostDate(LocalDate.of(2026, 1, 1));
+		return poemService.createOrUpdate(dto);
+	}
+
+	private static CommentDto comment(long poemId, String content) {
+		CommentDto dto = new CommentDto();
+		dto.setPoemId(poemId);
+		dto.setAuthor("leitora");
+		dto.setContent(content);
+		dto.setCommentDate(LocalDate.of(2026, 1, 2));
+		return dto;
+	}
+}
@@ -0,0 +1,52 @@
+package project.poem.application.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import project.poem.domain.event.PoemActivityEvent;
+
+/**
+ * Verifica o índice em memória das curtidas: carga, eventos e usuários fora do bitmap.
+ */
+class LikeMembershipServiceTests {
+
+	private LikeMembershipService membership;
+
+	@BeforeEach
+	void setUp() {
+		membership = new LikeMembershipService(mock(JdbcTemplate.class));
+	}
+
+	@Test
+	void answersOnlyAfterLoadingAndFollowsLikeEvents() {
+		assertThat(membership.supports(1L)).isFalse();
+		membership.load();
+		assertThat(membership.supports(1L)).isTrue();
+		assertThat(membership.supports(Integer.MAX_VALUE + 1L)).isFalse();
+
+		membership.onPoemActivity(event(PoemActivityEvent.Type.LIKED, 10L, 1L));
+		membership.onPoemActivity(event(PoemActivityEvent.Type.LIKED, 20L, 1L));
+		membership.onPoemActivity(event(PoemActivityEvent.Type.LIKED, 10L, 2L));
+		membership.onPoemActivity(event(PoemActivityEvent.Type.UNLIKED, 20L, 1L));
+		assertThat(membership.hasLiked(10L, 1L)).isTrue();
+		assertThat(membership.hasLiked(20L, 1L)).isFalse();
+
+		Map<Long, Boolean> liked = membership.hasLiked(List.of(20L, 10L, 30L), 2L);
+		assertThat(liked).containsExactly(Map.entry(20L, false), Map.entry(10L, true), Map.entry(30L, false));
+
+		membership.onPoemActivity(event(PoemActivityEvent.Type.POEM_DELETED, 10L, null));
+		assertThat(membership.hasLiked(10L, 1L)).isFalse();
+	}
+
+	private static PoemActivityEvent event(PoemActivityEvent.Type type, long poemId, Long userId) {
+		return new PoemActivityEvent(type, poemId, userId, Instant.now());
+	}
+}
@@ -0,0 +1,160 @@
+package project.poem.application.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import jakarta.persistence.EntityManagerFactory;
+import project.poem.application.dto.PoemDto;
+import project.poem.application.exception.ResourceNotFoundException;
+import project.poem.domain.event.PoemActivityEvent;
+import project.poem.domain.model.Role;
+import project.poem.domain.model.User;
+import project.poem.domain.repository.CommentRepository;
+import project.poem.domain.repository.PoemLikeRepository;
+import project.poem.domain.repository.PoemRepository;
+import project.poem.domain.repository.ProfileRepository;
+import project.poem.domain.repository.TombstoneRepository;
+import project.poem.domain.repository.UserRepository;
+
+/**
+ * Verifica quantas instruções SQL uma curtida emite, a resposta para poemas inexistentes e as contagens agrupadas.
+ */
+@SpringBootTest
+class LikeServiceTests {
+
+	@Autowired
+	private LikeService likeService;
+
+	@Autowired
+	private PoemService poemService;
+
+	@Autowired
+	private PoemRepository poemRepository;
+
+	@Autowired
+	private PoemLikeRepository poemLikeRepository;
+
+	@Autowired
+	private CommentRepository commentRepository;
+
+	@Autowired
+	private ProfileRepository profileRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		commentRepository.deleteAllInBatch();
+		poemLikeRepository.deleteAllInBatch();
+		poemRepository.deleteAllInBatch();
+		profileRepository.deleteAllInBatch();
+		userRepository.deleteAllInBatch();
+
+		User user = new User();
+		user.setUsername("leitora");
+		user.setPassword("hash");
+		user.setEmail("leitora@example.com");
+		user.setRole(Role.USER);
+		userRepository.save(user);
+
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		SecurityContextHolder.getContext().setAuthentication(
+			new UsernamePasswordAuthenticationToken("leitora", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+		// Outras classes de teste excluem os usuários sem excluir as curtidas.
+		poemLikeRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void likeReferencesPoemAndUserWithoutLoadingThem() {
+		long poemId = poem().getId();
+
+		// Leitura do ID do usuário e INSERT da curtida; uma curtida repetida é detectada pela restrição única.
+		statistics.clear();
+		likeService.likePoem(poemId);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+
+		likeService.likePoem(poemId);
+		assertThat(likeService.countLikes(poemId)).isEqualTo(1);
+	}
+
+	@Test
+	void likingAMissingPoemIsNotFound() {
+		assertThatThrownBy(() -> likeService.likePoem(999_999L))
+			.isInstanceOf(ResourceNotFoundException.class);
+	}
+
+	@Test
+	void countsStartedBeforeALikeAreNotSharedWithLaterCalls() throws Exception {
+		PoemRepository poems = mock(PoemRepository.class);
+		PoemLikeRepository likes = mock(PoemLikeRepository.class);
+		LikeService service = new LikeService(likes, poems, mock(UserRepository.class), mock(TombstoneRepository.class),
+		                                      mock(ApplicationEventPublisher.class), mock(LikeMembershipService.class),
+		                                      mock(PlatformTransactionManager.class));
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		when(poems.existsById(7L)).thenReturn(true);
+		when(likes.countByPoemId(7L)).thenAnswer(inv -> {
+			started.countDown();
+			release.await(10, TimeUnit.SECONDS); // A contagem "lenta" foi iniciada antes da curtida.
+			return 0L;
+		}).thenReturn(1L);
+
+		ExecutorService pool = Executors.newSingleThreadExecutor();
+		try {
+			Future<Long> before = pool.submit(() -> service.countLikes(7L));
+			assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+			service.onPoemActivity(new PoemActivityEvent(PoemActivityEvent.Type.LIKED, 7L, 1L, Instant.now()));
+			assertThat(service.countLikes(7L)).isEqualTo(1L);
+
+			release.countDown();
+			assertThat(before.get(10, TimeUnit.SECONDS)).isZero();
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private PoemDto poem() {
+		PoemDto dto = new PoemDto();
+		dto.setTitle("Poema");
+		dto.setText("texto");
+		dto.setAuthor("autor");
+		dto.setPostDate(LocalDate.of(2026, 1, 1));
+		return poemService.createOrUpdate(dto);
+	}
+}
@@ -0,0 +1,90 @@
+package project.poem.application.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import project.poem.domain.model.Poem;
+import project.poem.domain.repository.CommentRepository;
+import project.poem.domain.repository.PoemLikeRepository;
+import project.poem.domain.repository.PoemRepository;
+
+/**
+ * Verifica a exportação dos poemas em NDJSON.
+ */
+@SpringBootTest
+class PoemExportServiceTests {
+
+	@Autowired
+	private PoemExportService exportService;
+
+	@Autowired
+	private PoemRepository poemRepository;
+
+	@Autowired
+	private PoemLikeRepository poemLikeRepository;
+
+	@Autowired
+	private CommentRepository commentRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@BeforeEach
+	void setUp() {
+		commentRepository.deleteAllInBatch();
+		poemLikeRepository.deleteAllInBatch();
+		poemRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void writesOnePoemPerLineAndResumesAfterAnId() throws Exception {
+		Long first = save("A\nsegunda linha").getId();
+		save("B");
+		save("C");
+
+		List<JsonNode> all = export(0, true);
+		assertThat(all).extracting(n -> n.get("title").asText()).containsExactly("A\nsegunda linha", "B", "C");
+		assertThat(all.get(0).get("postDate").asText()).isEqualTo("01/01/2026");
+		assertThat(all.get(0).get("likes").asLong()).isZero();
+		assertThat(all.get(0).get("comments").asLong()).isZero();
+
+		List<JsonNode> resumed = export(first, false);
+		assertThat(resumed).extracting(n -> n.get("title").asText()).containsExactly("B", "C");
+		assertThat(resumed.get(0).has("likes")).isFalse();
+	}
+
+	private List<JsonNode> export(long afterId, boolean counts) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		exportService.export(out, afterId, counts);
+		String body = out.toString(StandardCharsets.UTF_8);
+		assertThat(body).endsWith("\n");
+		return body.lines().map(line -> {
+			try {
+				return objectMapper.readTree(line);
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		}).toList();
+	}
+
+	private Poem save(String title) {
+		Poem p = new Poem();
+		p.setTitle(title);
+		p.setText("texto");
+		p.setAuthor("autor");
+		p.setPostDate(LocalDate.of(2026, 1, 1));
+		return poemRepository.save(p);
+	}
+}
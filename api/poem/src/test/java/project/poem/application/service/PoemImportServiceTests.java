@@ -0,0 +1,109 @@
+package project.poem.application.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import project.poem.application.dto.ImportResultDto;
+import project.poem.application.dto.PoemDto;
+import project.poem.domain.model.Poem;
+import project.poem.domain.repository.CommentRepository;
+import project.poem.domain.repository.PoemLikeRepository;
+import project.poem.domain.repository.PoemRepository;
+
+/**
+ * Verifica a importação de poemas em lote a partir de NDJSON.
+ */
+@SpringBootTest
+class PoemImportServiceTests {
+
+	@Autowired
+	private PoemImportService importService;
+
+	@Autowired
+	private PoemService poemService;
+
+	@Autowired
+	private PoemRepository poemRepository;
+
+	@Autowired
+	private PoemLikeRepository poemLikeRepository;
+
+	@Autowired
+	private CommentRepository commentRepository;
+
+	@BeforeEach
+	void setUp() {
+		commentRepository.deleteAllInBatch();
+		poemLikeRepository.deleteAllInBatch();
+		poemRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void importsValidLinesAndSkipsDuplicatesAndInvalidOnes() throws Exception {
+		PoemDto existing = new PoemDto();
+		existing.setTitle("Já existe");
+		existing.setText("texto");
+		existing.setAuthor("autor");
+		existing.setPostDate(LocalDate.of(2026, 1, 1));
+		poemService.createOrUpdate(existing);
+
+		String ndjson = String.join("\n",
+			"{\"title\":\"Novo\",\"text\":\"texto\",\"author\":\"autor\",\"postDate\":\"02/01/2026\"}",
+			"{\"title\":\"Novo\",\"text\":\"texto\",\"author\":\"autor\",\"postDate\":\"03/01/2026\"}",
+			"{\"title\":\"Já existe\",\"text\":\"texto\",\"author\":\"autor\"}",
+			"",
+			"{\"title\":\"Sem texto\",\"author\":\"autor\"}",
+			"não é json",
+			"{\"title\":\"Outro\",\"text\":\"verso\",\"author\":\"autora\"}");
+
+		ImportResultDto result = importService.importPoems(
+			new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+		assertThat(result.getRead()).isEqualTo(6);
+		assertThat(result.getImported()).isEqualTo(2);
+		assertThat(result.getDuplicates()).isEqualTo(2);
+		assertThat(result.getRejected()).isEqualTo(2);
+		assertThat(result.getErrors()).anyMatch(e -> e.startsWith("Linha 5:"));
+		assertThat(poemRepository.findAll()).extracting(Poem::getTitle)
+		                                    .containsExactlyInAnyOrder("Já existe", "Novo", "Outro");
+		assertThat(poemRepository.findAll()).extracting(Poem::getContentHash).doesNotContainNull();
+	}
+
+	@Test
+	void concurrentImportsOfTheSameFileInsertEachPoemOnce() throws Exception {
+		StringBuilder ndjson = new StringBuilder();
+		for (int i = 0; i < 300; i++) {
+			ndjson.append("{\"title\":\"Poema ").append(i).append("\",\"text\":\"texto\",\"author\":\"autor\"}\n");
+		}
+		byte[] content = ndjson.toString().getBytes(StandardCharsets.UTF_8);
+
+		CompletableFuture<ImportResultDto> first = CompletableFuture.supplyAsync(() -> importFrom(content));
+		CompletableFuture<ImportResultDto> second = CompletableFuture.supplyAsync(() -> importFrom(content));
+		ImportResultDto a = first.get();
+		ImportResultDto b = second.get();
+
+		assertThat(a.getImported() + b.getImported()).isEqualTo(300);
+		assertThat(a.getDuplicates() + b.getDuplicates()).isEqualTo(300);
+		assertThat(a.getRejected() + b.getRejected()).isZero();
+		assertThat(poemRepository.count()).isEqualTo(300);
+	}
+
+	private ImportResultDto importFrom(byte[] content) {
+		try {
+			return importService.importPoems(new ByteArrayInputStream(content));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
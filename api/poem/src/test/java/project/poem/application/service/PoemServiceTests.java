@@ -0,0 +1,148 @@
+package project.poem.application.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import jakarta.persistence.EntityManagerFactory;
+import project.poem.application.dto.PoemDto;
+import project.poem.application.exception.VersionConflictException;
+import project.poem.domain.model.Poem;
+import project.poem.domain.repository.CommentRepository;
+import project.poem.domain.repository.PoemLikeRepository;
+import project.poem.domain.repository.PoemRepository;
+
+/**
+ * Verifica as consultas de poemas e quantas instruções SQL cada uma emite.
+ */
+@SpringBootTest
+class PoemServiceTests {
+
+	@Autowired
+	private PoemService poemService;
+
+	@Autowired
+	private PoemRepository poemRepository;
+
+	@Autowired
+	private PoemLikeRepository poemLikeRepository;
+
+	@Autowired
+	private CommentRepository commentRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		commentRepository.deleteAllInBatch();
+		poemLikeRepository.deleteAllInBatch();
+		poemRepository.deleteAllInBatch();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void getByIdsUsesOneQueryAndKeepsRequestOrder() {
+		Long a = save("A").getId();
+		Long b = save("B").getId();
+		Long c = save("C").getId();
+		statistics.clear();
+
+		List<PoemDto> poems = poemService.getByIds(List.of(c, a, 999_999L, b, a));
+
+		assertThat(poems).extracting(PoemDto::getTitle).containsExactly("C", "A", "B");
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	@Test
+	void listFieldsReturnsOnlyRequestedFieldsInRequestOrder() {
+		Long a = save("A").getId();
+		Long b = save("B").getId();
+
+		List<Map<String, Object>> rows = poemService.listFields("title,postDate", List.of(b, a));
+
+		assertThat(rows).hasSize(2);
+		assertThat(rows.get(0)).containsOnlyKeys("id", "title", "postDate")
+		                       .containsEntry("id", b)
+		                       .containsEntry("postDate", "01/01/2026");
+		assertThatThrownBy(() -> poemService.listFields("title,password", null))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void staleVersionIsRejectedWithoutChangingThePoem() {
+		Poem poem = save("A");
+		PoemDto edit = new PoemDto();
+		edit.setId(poem.getId());
+		edit.setVersion(poem.getVersion());
+		edit.setTitle("B");
+		edit.setText("texto");
+		edit.setAuthor("autor");
+		edit.setPostDate(LocalDate.of(2026, 1, 1));
+		PoemDto saved = poemService.createOrUpdate(edit);
+		assertThat(saved.getVersion()).isEqualTo(poem.getVersion() + 1);
+
+		edit.setTitle("C"); // Ainda com a versão lida antes da primeira edição.
+		assertThatThrownBy(() -> poemService.createOrUpdate(edit))
+			.isInstanceOf(VersionConflictException.class);
+		assertThat(poemRepository.findById(poem.getId())).get().extracting(Poem::getTitle).isEqualTo("B");
+	}
+
+	@Test
+	void concurrentUnconditionalUpdatesAreBothApplied() throws Exception {
+		Poem poem = save("A");
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(2);
+		try {
+			List<Future<PoemDto>> results = new ArrayList<>();
+			for (String title : List.of("B", "C")) {
+				results.add(pool.submit(() -> {
+					start.await();
+					PoemDto dto = new PoemDto();
+					dto.setId(poem.getId());
+					dto.setTitle(title);
+					dto.setText("texto");
+					dto.setAuthor("autor");
+					dto.setPostDate(LocalDate.of(2026, 1, 1));
+					return poemService.createOrUpdate(dto);
+				}));
+			}
+			start.countDown();
+			for (Future<PoemDto> result : results) {
+				result.get(10, TimeUnit.SECONDS);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+
+		assertThat(poemRepository.findById(poem.getId())).get()
+			.extracting(Poem::getVersion).isEqualTo(poem.getVersion() + 2);
+	}
+
+	private Poem save(String title) {
+		Poem p = new Poem();
+		p.setTitle(title);
+		p.setText("texto");
+		p.setAuthor("autor");
+		p.setPostDate(LocalDate.of(2026, 1, 1));
+		return poemRepository.save(p);
+	}
+}
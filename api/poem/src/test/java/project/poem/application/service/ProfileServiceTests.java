@@ -0,0 +1,188 @@
+package project.poem.application.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import jakarta.persistence.EntityManagerFactory;
+import project.poem.application.dto.ProfileDto;
+import project.poem.application.exception.VersionConflictException;
+import project.poem.domain.model.Role;
+import project.poem.domain.model.User;
+import project.poem.domain.repository.ProfileRepository;
+import project.poem.domain.repository.UserRepository;
+
+/**
+ * Verifica o caminho de escrita de perfis, quantas instruções SQL cada operação emite e a busca do diretório.
+ */
+@SpringBootTest
+class ProfileServiceTests {
+
+	private static final String EMAIL = "maria@example.com";
+
+	@Autowired
+	private ProfileService profileService;
+
+	@Autowired
+	private ProfileRepository profileRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		profileRepository.deleteAllInBatch();
+		userRepository.deleteAllInBatch();
+
+		User user = new User();
+		user.setUsername("maria");
+		user.setPassword("hash");
+		user.setEmail(EMAIL);
+		user.setRole(Role.USER);
+		userRepository.save(user);
+
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void createCostsTwoStatements() {
+		ProfileDto saved = profileService.createOrUpdate(profile("Maria", "Silva"));
+
+		assertThat(saved.getFirstName()).isEqualTo("Maria");
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+		assertThat(profileRepository.findByUserEmail(EMAIL)).get()
+			.extracting("lastName").isEqualTo("Silva");
+	}
+
+	@Test
+	void updateCostsOneStatement() {
+		profileService.createOrUpdate(profile("Maria", "Silva"));
+		statistics.clear();
+
+		profileService.createOrUpdate(profile("Maria", "Souza"));
+
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(profileRepository.findByUserEmail(EMAIL)).get()
+			.extracting("lastName").isEqualTo("Souza");
+	}
+
+	@Test
+	void createForUnknownUserFailsWithoutInserting() {
+		ProfileDto dto = profile("João", "Santos");
+		dto.setUserEmail("ninguem@example.com");
+
+		assertThatThrownBy(() -> profileService.createOrUpdate(dto))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThat(profileRepository.count()).isZero();
+	}
+
+	@Test
+	void deleteCostsOneStatement() {
+		profileService.createOrUpdate(profile("Maria", "Silva"));
+		statistics.clear();
+
+		profileService.deleteByEmail(EMAIL);
+
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(profileRepository.findByUserEmail(EMAIL)).isEmpty();
+	}
+
+	@Test
+	void profileStaysLinkedWhenUserEmailChanges() {
+		profileService.createOrUpdate(profile("Maria", "Silva"));
+		User user = userRepository.findByEmail(EMAIL).orElseThrow();
+		user.setEmail("maria.silva@example.com");
+		userRepository.save(user);
+
+		assertThat(profileService.getByEmail("maria.silva@example.com").getFirstName()).isEqualTo("Maria");
+		assertThat(profileRepository.findByUserEmail(EMAIL)).isEmpty();
+	}
+
+	@Test
+	void conditionalUpdateChecksTheVersionInTheSameStatement() {
+		ProfileDto created = profileService.createOrUpdate(profile("Maria", "Silva"));
+		assertThat(created.getVersion()).isZero();
+
+		ProfileDto edit = profile("Maria", "Souza");
+		edit.setVersion(0L);
+		statistics.clear();
+		assertThat(profileService.createOrUpdate(edit).getVersion()).isEqualTo(1L);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+		ProfileDto stale = profile("Maria", "Santos");
+		stale.setVersion(0L);
+		assertThatThrownBy(() -> profileService.createOrUpdate(stale))
+			.isInstanceOf(VersionConflictException.class);
+		assertThat(profileRepository.findByUserEmail(EMAIL)).get()
+			.extracting("lastName").isEqualTo("Souza");
+	}
+
+	@Test
+	void searchMatchesAnyPrefixEscapesWildcardsAndPages() {
+		profileService.createOrUpdate(profile("Maria", "Silva"));
+		createProfile("ana", "ana@example.com", "Ana", "Mar_tins");
+		createProfile("bruno", "marcos@example.com", "Bruno", "Costa");
+		createProfile("carla", "carla@example.com", "Carla", "Souza");
+
+		// "mar" casa o primeiro nome de Maria e o email de Bruno; Maria também casa pelo email e aparece uma vez.
+		Page<ProfileDto> page = profileService.search("mar", PageRequest.of(0, 1, Sort.by("lastName")));
+		assertThat(page.getTotalElements()).isEqualTo(2);
+		assertThat(page.getContent()).extracting(ProfileDto::getFirstName).containsExactly("Bruno");
+		assertThat(profileService.search("mar", PageRequest.of(1, 1, Sort.by("lastName"))).getContent())
+			.extracting(ProfileDto::getFirstName).containsExactly("Maria");
+
+		// O curinga "_" é literal: casa "Mar_tins", mas não "Maria".
+		assertThat(profileService.search("Mar_", PageRequest.of(0, 10)).getContent())
+			.extracting(ProfileDto::getFirstName).containsExactly("Ana");
+		assertThat(profileService.search("%", PageRequest.of(0, 10)).getTotalElements()).isZero();
+
+		assertThat(profileService.search(null, PageRequest.of(0, 500, Sort.by(Sort.Direction.DESC, "userEmail")))
+		                         .getContent())
+			.extracting(ProfileDto::getUserEmail)
+			.containsExactly(EMAIL, "marcos@example.com", "carla@example.com", "ana@example.com");
+		assertThatThrownBy(() -> profileService.search(null, PageRequest.of(0, 10, Sort.by("phone"))))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void deleteOfMissingProfileFails() {
+		assertThatThrownBy(() -> profileService.deleteByEmail(EMAIL))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private void createProfile(String username, String email, String firstName, String lastName) {
+		User user = new User();
+		user.setUsername(username);
+		user.setPassword("hash");
+		user.setEmail(email);
+		user.setRole(Role.USER);
+		userRepository.save(user);
+		ProfileDto dto = profile(firstName, lastName);
+		dto.setUserEmail(email);
+		profileService.createOrUpdate(dto);
+	}
+
+	private static ProfileDto profile(String firstName, String lastName) {
+		ProfileDto dto = new ProfileDto();
+		dto.setFirstName(firstName);
+		dto.setLastName(lastName);
+		dto.setPhone("+5562999999999");
+		dto.setUserEmail(EMAIL);
+		return dto;
+	}
+}
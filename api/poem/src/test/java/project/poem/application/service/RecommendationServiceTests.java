@@ -0,0 +1,134 @@
+package project.poem.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import project.poem.application.dto.RelatedPoemDto;
+import project.poem.domain.event.PoemActivityEvent;
+import project.poem.domain.model.Poem;
+import project.poem.domain.repository.PoemRepository;
+
+class RecommendationServiceTests {
+
+	private PoemRepository poemRepo;
+	private RecommendationService recommendations;
+
+	@BeforeEach
+	void setUp() {
+		poemRepo = mock(PoemRepository.class);
+		when(poemRepo.findAllById(anyIterable())).thenAnswer(inv -> {
+			List<Poem> poems = new ArrayList<>();
+			for (Object id : (Iterable<?>) inv.getArgument(0)) {
+				Poem p = new Poem();
+				p.setId((Long) id);
+				poems.add(p);
+			}
+			return poems;
+		});
+		recommendations = new RecommendationService(poemRepo, null, 50, 2);
+	}
+
+	@Test
+	void relatedPoemsAreRankedByCoLikes() {
+		like(1, 10); like(1, 20);
+		like(2, 10); like(2, 20);
+		like(3, 10); like(3, 30);
+
+		assertEquals(List.of(20L, 30L), ids(recommendations.related(10, 10)));
+	}
+
+	@Test
+	void suggestionsExcludeAlreadyLikedPoems() {
+		like(1, 10); like(1, 20);
+		like(2, 10);
+
+		assertEquals(List.of(20L), ids(recommendations.suggestionsFor(2, 10)));
+		assertTrue(recommendations.suggestionsFor(99, 10).isEmpty());
+	}
+
+	@Test
+	void unlikeRemovesCoOccurrence() {
+		like(1, 10); like(1, 20);
+		recommendations.onPoemActivity(new PoemActivityEvent(PoemActivityEvent.Type.UNLIKED, 20, 1L, Instant.now()));
+
+		assertTrue(recommendations.related(10, 10).isEmpty());
+	}
+
+	@Test
+	void unlikeOutsideTheHistoryStillUpdatesTheLikeCount() {
+		RecommendationService shortHistory = new RecommendationService(poemRepo, null, 2, 2);
+		for (long poem : new long[] {10, 20, 30}) {
+			shortHistory.onPoemActivity(new PoemActivityEvent(PoemActivityEvent.Type.LIKED, poem, 1L, Instant.now()));
+		}
+		shortHistory.onPoemActivity(new PoemActivityEvent(PoemActivityEvent.Type.LIKED, 10, 2L, Instant.now()));
+		shortHistory.onPoemActivity(new PoemActivityEvent(PoemActivityEvent.Type.LIKED, 40, 2L, Instant.now()));
+
+		// A curtida no poema 10 já saiu do histórico do usuário 1, mas deixa de contar para a similaridade.
+		shortHistory.onPoemActivity(new PoemActivityEvent(PoemActivityEvent.Type.UNLIKED, 10, 1L, Instant.now()));
+		assertEquals(1.0, shortHistory.related(40, 10).get(0).getScore(), 1e-9);
+	}
+
+	@Test
+	void neighborListsStayWithinTheirCapacity() {
+		for (long poem = 1; poem <= 100; poem++) {
+			like(1, poem);
+		}
+		// Capacidade de 2 vizinhos por poema.
+		assertEquals(2, recommendations.related(1, 10).size());
+	}
+
+	@Test
+	void eventsReceivedDuringTheRebuildAreReplayedOntoTheNewIndex() {
+		JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+		RecommendationService rebuilding = new RecommendationService(poemRepo, jdbcTemplate, 50, 2);
+		// A leitura encontra as curtidas (1, 10) e (1, 20); enquanto isso chegam uma curtida que ela não vê,
+		// a remoção de (1, 20), que ela já tinha visto, e a remoção de uma curtida que ela nunca viu.
+		doAnswer(inv -> {
+			RowCallbackHandler handler = inv.getArgument(1);
+			handler.processRow(row(1, 1, 10));
+			handler.processRow(row(2, 1, 20));
+			rebuilding.onPoemActivity(new PoemActivityEvent(PoemActivityEvent.Type.LIKED, 30, 1L, Instant.now()));
+			rebuilding.onPoemActivity(new PoemActivityEvent(PoemActivityEvent.Type.UNLIKED, 20, 1L, Instant.now()));
+			rebuilding.onPoemActivity(new PoemActivityEvent(PoemActivityEvent.Type.UNLIKED, 10, 2L, Instant.now()));
+			return null;
+		}).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(), any());
+
+		rebuilding.rebuild();
+
+		assertEquals(List.of(30L), ids(rebuilding.related(10, 10)));
+		assertEquals(1.0, rebuilding.related(10, 10).get(0).getScore(), 1e-9);
+	}
+
+	private static ResultSet row(long id, long userId, long poemId) throws SQLException {
+		ResultSet rs = mock(ResultSet.class);
+		when(rs.getLong(1)).thenReturn(id);
+		when(rs.getLong(2)).thenReturn(userId);
+		when(rs.getLong(3)).thenReturn(poemId);
+		return rs;
+	}
+
+	private void like(long userId, long poemId) {
+		recommendations.onPoemActivity(new PoemActivityEvent(PoemActivityEvent.Type.LIKED, poemId, userId, Instant.now()));
+	}
+
+	private static List<Long> ids(List<RelatedPoemDto> poems) {
+		return poems.stream().map(RelatedPoemDto::getId).toList();
+	}
+}
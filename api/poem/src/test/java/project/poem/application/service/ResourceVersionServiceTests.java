@@ -0,0 +1,78 @@
+package project.poem.application.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import project.poem.application.dto.ResourceVersion;
+import project.poem.domain.repository.PoemRepository;
+import project.poem.domain.repository.PoemVersions;
+
+/**
+ * Verifica o cache de versões: expiração das entradas e remoção das menos usadas.
+ */
+class ResourceVersionServiceTests {
+
+	private final AtomicLong now = new AtomicLong();
+	private final AtomicLong version = new AtomicLong();
+	private PoemRepository poemRepo;
+	private ResourceVersionService versions;
+
+	@BeforeEach
+	void setUp() {
+		poemRepo = mock(PoemRepository.class);
+		when(poemRepo.findVersionsById(anyLong())).thenAnswer(inv -> Optional.of(versions(inv.getArgument(0))));
+		Clock clock = mock(Clock.class);
+		when(clock.millis()).thenAnswer(inv -> now.get());
+		versions = new ResourceVersionService(poemRepo, clock, 1000);
+	}
+
+	@Test
+	void changesMadeElsewhereAreSeenAfterTheTtl() {
+		assertThat(versions.ofPoem(1L)).get().extracting(ResourceVersion::getTag).isEqualTo("p1v0");
+
+		// Alteração feita por outra instância: nenhum evento chega a esta.
+		version.set(1);
+		now.set(999);
+		assertThat(versions.ofPoem(1L)).get().extracting(ResourceVersion::getTag).isEqualTo("p1v0");
+		now.set(1000);
+		assertThat(versions.ofPoem(1L)).get().extracting(ResourceVersion::getTag).isEqualTo("p1v1");
+	}
+
+	@Test
+	void fullCacheEvictsTheLeastRecentlyReadEntries() {
+		for (long id = 1; id <= ResourceVersionService.MAX_ENTRIES; id++) {
+			versions.ofPoem(id);
+		}
+		versions.ofPoem(1L);
+		versions.ofPoem(ResourceVersionService.MAX_ENTRIES + 1L);
+
+		// O poema 1 foi lido por último e continua em cache; o poema 2 foi removido.
+		versions.ofPoem(1L);
+		versions.ofPoem(2L);
+		verify(poemRepo, times(1)).findVersionsById(1L);
+		verify(poemRepo, times(2)).findVersionsById(2L);
+	}
+
+	private PoemVersions versions(long id) {
+		long current = version.get();
+		return new PoemVersions() {
+			public Long getId() { return id; }
+			public long getVersion() { return current; }
+			public Instant getUpdatedAt() { return Instant.EPOCH; }
+			public long getCommentsVersion() { return 0; }
+			public Instant getCommentsUpdatedAt() { return Instant.EPOCH; }
+		};
+	}
+}
@@ -0,0 +1,115 @@
+package project.poem.application.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifica o agrupamento de leituras simultâneas: uma multidão de chamadas à mesma chave faz uma só carga.
+ */
+class SingleFlightTests {
+
+	private static final int CALLERS = 200;
+
+	@Test
+	void thunderingHerdSharesOneLoad() throws Exception {
+		SingleFlight<Long, String> flight = new SingleFlight<>();
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch arrived = new CountDownLatch(CALLERS);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(CALLERS);
+		try {
+			List<Future<String>> results = new ArrayList<>();
+			for (int i = 0; i < CALLERS; i++) {
+				results.add(pool.submit(() -> {
+					arrived.countDown();
+					return flight.load(42L, () -> {
+						loads.incrementAndGet();
+						await(release); // A consulta "lenta" segura as demais chamadas em espera.
+						return "poema 42";
+					});
+				}));
+			}
+			assertThat(arrived.await(10, TimeUnit.SECONDS)).isTrue();
+			Thread.sleep(200); // Dá tempo para todas as chamadas chegarem à carga em andamento.
+			release.countDown();
+
+			for (Future<String> result : results) {
+				assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo("poema 42");
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		assertThat(loads).hasValue(1);
+
+		// Terminada a carga, nada fica guardado: a próxima chamada carrega de novo.
+		assertThat(flight.load(42L, () -> "atualizado")).isEqualTo("atualizado");
+	}
+
+	@Test
+	void failureReachesEveryWaiterAndIsNotKept() throws Exception {
+		SingleFlight<Long, String> flight = new SingleFlight<>();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(2);
+		try {
+			Future<String> leader = pool.submit(() -> flight.load(7L, () -> {
+				started.countDown();
+				await(release);
+				throw new IllegalArgumentException("Poem not found: 7");
+			}));
+			assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+			Future<String> waiter = pool.submit(() -> flight.load(7L, () -> "não deveria carregar"));
+			Thread.sleep(100);
+			release.countDown();
+
+			assertThatThrownBy(() -> leader.get(10, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalArgumentException.class);
+			assertThatThrownBy(() -> waiter.get(10, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalArgumentException.class);
+		} finally {
+			pool.shutdownNow();
+		}
+		assertThat(flight.load(7L, () -> "existe")).isEqualTo("existe");
+	}
+
+	@Test
+	void callerThatSawNewerVersionDoesNotJoinOlderLoad() throws Exception {
+		SingleFlight<SingleFlight.VersionedKey, String> flight = new SingleFlight<>();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(1);
+		try {
+			// Carga iniciada antes da alteração, ainda com o texto antigo.
+			Future<String> stale = pool.submit(() -> flight.load(new SingleFlight.VersionedKey(42L, "p42v1"), () -> {
+				started.countDown();
+				await(release);
+				return "antigo";
+			}));
+			assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+			String fresh = flight.load(new SingleFlight.VersionedKey(42L, "p42v2"), () -> "novo");
+			assertThat(fresh).isEqualTo("novo");
+			release.countDown();
+			assertThat(stale.get(10, TimeUnit.SECONDS)).isEqualTo("antigo");
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,157 @@
+package project.poem.application.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import jakarta.persistence.EntityManagerFactory;
+import project.poem.application.dto.PoemDto;
+import project.poem.application.dto.SyncDto;
+import project.poem.application.dto.TombstoneDto;
+import project.poem.domain.model.Comment;
+import project.poem.domain.model.Tombstone;
+import project.poem.domain.repository.CommentRepository;
+import project.poem.domain.repository.PoemLikeRepository;
+import project.poem.domain.repository.PoemRepository;
+import project.poem.domain.repository.TombstoneRepository;
+
+/**
+ * Verifica a sincronização incremental a partir de uma marca d'água.
+ */
+@SpringBootTest
+class SyncServiceTests {
+
+	@Autowired
+	private SyncService syncService;
+
+	@Autowired
+	private PoemService poemService;
+
+	@Autowired
+	private PoemRepository poemRepository;
+
+	@Autowired
+	private PoemLikeRepository poemLikeRepository;
+
+	@Autowired
+	private CommentRepository commentRepository;
+
+	@Autowired
+	private TombstoneRepository tombstoneRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		tombstoneRepository.deleteAllInBatch();
+		commentRepository.deleteAllInBatch();
+		poemLikeRepository.deleteAllInBatch();
+		poemRepository.deleteAllInBatch();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void returnsOnlyWhatChangedSinceTheWatermark() throws InterruptedException {
+		PoemDto a = poemService.createOrUpdate(poem("A"));
+		PoemDto b = poemService.createOrUpdate(poem("B"));
+		poemService.createOrUpdate(poem("C"));
+		Thread.sleep(5);
+		long since = System.currentTimeMillis() * 1000;
+		Thread.sleep(5);
+
+		a.setTitle("A editado");
+		poemService.createOrUpdate(a);
+		poemService.deleteById(b.getId());
+		statistics.clear();
+
+		SyncDto changes = syncService.changesSince(String.valueOf(since), 100);
+
+		assertThat(changes.getPoems()).extracting(PoemDto::getTitle).containsExactly("A editado");
+		assertThat(changes.getDeleted()).extracting(TombstoneDto::getType, TombstoneDto::getId)
+		                                .containsExactly(tuple(Tombstone.Type.POEM, b.getId()));
+		assertThat(changes.isHasMore()).isFalse();
+		assertThat(Long.parseLong(changes.getWatermark())).isLessThan(System.currentTimeMillis() * 1000);
+		// Uma consulta por tipo de registro.
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+	}
+
+	@Test
+	void limitedResponseResumesFromTheLastReturnedChange() {
+		for (String title : new String[] {"A", "B", "C"}) {
+			poemService.createOrUpdate(poem(title));
+		}
+
+		SyncDto first = syncService.changesSince("0", 2);
+		assertThat(first.isHasMore()).isTrue();
+		assertThat(first.getPoems()).extracting(PoemDto::getTitle).containsExactly("A", "B");
+
+		SyncDto second = syncService.changesSince(first.getWatermark(), 2);
+		assertThat(second.getPoems()).extracting(PoemDto::getTitle).contains("C");
+	}
+
+	@Test
+	void changesInTheSameMicrosecondArePagedByIdWithoutLooping() {
+		for (String title : new String[] {"A", "B", "C", "D", "E"}) {
+			poemService.createOrUpdate(poem(title));
+		}
+		jdbcTemplate.update("update poems set updated_at = ?", Timestamp.from(Instant.parse("2026-01-01T00:00:00Z")));
+
+		List<String> titles = new ArrayList<>();
+		String watermark = "0";
+		for (int page = 0; page < 5; page++) {
+			SyncDto changes = syncService.changesSince(watermark, 2);
+			changes.getPoems().forEach(p -> titles.add(p.getTitle()));
+			watermark = changes.getWatermark();
+			if (!changes.isHasMore()) {
+				break;
+			}
+		}
+		assertThat(titles).containsExactly("A", "B", "C", "D", "E");
+	}
+
+	@Test
+	void deletingAPoemAlsoDeletesItsComments() {
+		PoemDto poem = poemService.createOrUpdate(poem("A"));
+		Comment comment = new Comment();
+		comment.setAuthor("leitora");
+		comment.setContent("lindo");
+		comment.setCommentDate(LocalDate.of(2026, 1, 1));
+		comment.setPoem(poemRepository.getReferenceById(poem.getId()));
+		long commentId = commentRepository.save(comment).getId();
+
+		poemService.deleteById(poem.getId());
+
+		SyncDto changes = syncService.changesSince("0", 100);
+		assertThat(changes.getDeleted()).extracting(TombstoneDto::getType, TombstoneDto::getId)
+		                                .containsExactlyInAnyOrder(tuple(Tombstone.Type.COMMENT, commentId),
+		                                                           tuple(Tombstone.Type.POEM, poem.getId()));
+	}
+
+	private static PoemDto poem(String title) {
+		PoemDto dto = new PoemDto();
+		dto.setTitle(title);
+		dto.setText("texto");
+		dto.setAuthor("autor");
+		dto.setPostDate(LocalDate.of(2026, 1, 1));
+		return dto;
+	}
+}
@@ -0,0 +1,126 @@
+package project.poem.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import project.poem.application.dto.TrendingPoemDto;
+import project.poem.domain.event.PoemActivityEvent;
+import project.poem.domain.model.Poem;
+import project.poem.domain.repository.PoemRepository;
+
+class TrendingServiceTests {
+
+	private static final Instant NOW = Instant.parse("2026-01-10T12:00:00Z");
+
+	private PoemRepository poemRepo;
+	private TrendingService trending;
+
+	@BeforeEach
+	void setUp() {
+		poemRepo = mock(PoemRepository.class);
+		when(poemRepo.findAllById(anyIterable())).thenAnswer(inv -> {
+			List<Poem> poems = new ArrayList<>();
+			for (Object id : (Iterable<?>) inv.getArgument(0)) {
+				Poem p = new Poem();
+				p.setId((Long) id);
+				p.setTitle("Poema " + id);
+				p.setPostDate(LocalDate.of(2026, 1, 1));
+				poems.add(p);
+			}
+			return poems;
+		});
+		trending = new TrendingService(poemRepo, null, null, Clock.fixed(NOW, ZoneOffset.UTC), 24, 1.0, 3.0, 2);
+	}
+
+	@Test
+	void recentActivityOutranksOlderActivity() {
+		// Três curtidas de dois dias atrás valem 0,75; uma curtida agora vale 1.
+		for (int i = 0; i < 3; i++) {
+			trending.onPoemActivity(event(PoemActivityEvent.Type.LIKED, 1L, NOW.minus(48, ChronoUnit.HOURS)));
+		}
+		trending.onPoemActivity(event(PoemActivityEvent.Type.LIKED, 2L, NOW));
+
+		List<TrendingPoemDto> top = trending.getTrending(10);
+		assertEquals(List.of(2L, 1L), top.stream().map(TrendingPoemDto::getId).toList());
+		assertEquals(1.0, top.get(0).getScore(), 1e-9);
+		assertEquals(0.75, top.get(1).getScore(), 1e-9);
+	}
+
+	@Test
+	void keepsOnlyTopNAndPromotesWhenALeaderLosesPoints() {
+		trending.onPoemActivity(event(PoemActivityEvent.Type.COMMENTED, 1L, NOW));
+		trending.onPoemActivity(event(PoemActivityEvent.Type.COMMENTED, 2L, NOW));
+		trending.onPoemActivity(event(PoemActivityEvent.Type.LIKED, 3L, NOW));
+		assertEquals(List.of(1L, 2L), ids(trending.getTrending(10)));
+
+		trending.onPoemActivity(event(PoemActivityEvent.Type.COMMENT_DELETED, 2L, NOW));
+		assertEquals(List.of(1L, 3L), ids(trending.getTrending(10)));
+	}
+
+	@Test
+	void unlikeRemovesOnlyTheDecayedWeightOfTheOriginalLike() {
+		Instant twoDaysAgo = NOW.minus(48, ChronoUnit.HOURS);
+		trending.onPoemActivity(event(PoemActivityEvent.Type.LIKED, 1L, twoDaysAgo));
+		trending.onPoemActivity(event(PoemActivityEvent.Type.LIKED, 1L, NOW));
+
+		trending.onPoemActivity(new PoemActivityEvent(PoemActivityEvent.Type.UNLIKED, 1L, null, NOW, twoDaysAgo));
+		assertEquals(1.0, trending.getTrending(10).get(0).getScore(), 1e-9);
+	}
+
+	@Test
+	void repeatedReadsDoNotHitTheDatabase() {
+		trending.onPoemActivity(event(PoemActivityEvent.Type.LIKED, 1L, NOW));
+		trending.getTrending(10);
+		trending.getTrending(10);
+		trending.onPoemActivity(event(PoemActivityEvent.Type.LIKED, 1L, NOW));
+		assertTrue(trending.getTrending(1).get(0).getScore() > 1.5);
+		verify(poemRepo, times(1)).findAllById(anyIterable());
+	}
+
+	@Test
+	void eventsReceivedDuringTheRebuildAreNotLost() {
+		JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+		TrendingService rebuilding = new TrendingService(poemRepo, jdbcTemplate, mock(PlatformTransactionManager.class),
+		                                                 Clock.fixed(NOW, ZoneOffset.UTC), 24, 1.0, 3.0, 2);
+		rebuilding.onPoemActivity(event(PoemActivityEvent.Type.LIKED, 1L, NOW));
+		// Uma curtida confirmada enquanto as tabelas são lidas, depois do instante de leitura.
+		doAnswer(inv -> {
+			rebuilding.onPoemActivity(event(PoemActivityEvent.Type.LIKED, 2L, NOW));
+			return null;
+		}).when(jdbcTemplate).query(startsWith("select l.poem_id"), any(RowCallbackHandler.class));
+
+		rebuilding.rebuild();
+
+		assertEquals(List.of(2L), ids(rebuilding.getTrending(10)));
+	}
+
+	private static PoemActivityEvent event(PoemActivityEvent.Type type, long poemId, Instant at) {
+		return new PoemActivityEvent(type, poemId, null, at);
+	}
+
+	private static List<Long> ids(List<TrendingPoemDto> poems) {
+		return poems.stream().map(TrendingPoemDto::getId).toList();
+	}
+}
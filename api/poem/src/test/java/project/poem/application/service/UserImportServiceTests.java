@@ -0,0 +1,47 @@
+package project.poem.application.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import project.poem.application.dto.ImportResultDto;
+import project.poem.domain.repository.UserRepository;
+
+/**
+ * Verifica a importação de usuários em lote a partir de CSV.
+ */
+@SpringBootTest
+class UserImportServiceTests {
+
+	@Autowired
+	private UserImportService importService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Test
+	void invalidLineIsRejectedWithoutFailingTheRestOfTheChunk() throws Exception {
+		String prefix = UUID.randomUUID().toString().substring(0, 8);
+		String csv = String.join("\n",
+			"username,password,email,role",
+			prefix + "-a,senha,a@exemplo.com,USER",
+			prefix + "-b,senha," + "b".repeat(300) + "@exemplo.com,USER",
+			prefix + "-c,senha,c@exemplo.com,ADMIN");
+
+		ImportResultDto result = importService.importUsers(
+			new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), UserImportService.Format.CSV);
+
+		assertThat(result.getImported()).isEqualTo(2);
+		assertThat(result.getRejected()).isEqualTo(1);
+		assertThat(result.getErrors()).singleElement().asString().startsWith("Linha 3:");
+		assertThat(userRepository.findByUsername(prefix + "-a")).isPresent();
+		assertThat(userRepository.findByUsername(prefix + "-b")).isEmpty();
+		assertThat(userRepository.findByUsername(prefix + "-c")).isPresent();
+	}
+}
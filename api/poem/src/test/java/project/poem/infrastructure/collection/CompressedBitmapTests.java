@@ -0,0 +1,54 @@
+package project.poem.infrastructure.collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class CompressedBitmapTests {
+
+	@Test
+	void matchesBitSetAcrossSparseAndDenseGroups() {
+		CompressedBitmap bitmap = new CompressedBitmap();
+		BitSet expected = new BitSet();
+		Random random = new Random(42);
+
+		// Um grupo denso (vira mapa de bits) e valores esparsos espalhados por vários grupos.
+		for (int i = 0; i < 20_000; i++) {
+			int value = random.nextBoolean() ? random.nextInt(65_536) : random.nextInt(5_000_000);
+			assertEquals(!expected.get(value), bitmap.add(value));
+			expected.set(value);
+		}
+		for (int i = 0; i < 15_000; i++) {
+			int value = random.nextInt(65_536);
+			assertEquals(expected.get(value), bitmap.remove(value));
+			expected.clear(value);
+		}
+
+		assertEquals(expected.cardinality(), bitmap.cardinality());
+		for (int value = 0; value < 5_000_000; value += 7) {
+			assertEquals(expected.get(value), bitmap.contains(value));
+		}
+	}
+
+	@Test
+	void sparseSetsStaySmall() {
+		CompressedBitmap bitmap = new CompressedBitmap();
+		for (int userId = 1; userId <= 100; userId++) {
+			bitmap.add(userId * 3);
+		}
+		assertTrue(bitmap.contains(300));
+		assertFalse(bitmap.contains(301));
+		assertTrue(bitmap.memoryBytes() < 400, "memória: " + bitmap.memoryBytes());
+
+		for (int userId = 1; userId <= 100; userId++) {
+			bitmap.remove(userId * 3);
+		}
+		assertEquals(0, bitmap.cardinality());
+		assertFalse(bitmap.contains(300));
+	}
+}
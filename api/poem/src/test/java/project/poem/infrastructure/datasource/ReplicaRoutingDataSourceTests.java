@@ -0,0 +1,186 @@
+package project.poem.infrastructure.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Verifica o roteamento entre primário e réplica com dois bancos H2 em memória; a replicação é
+ * simulada copiando o batimento do primário para a réplica.
+ */
+class ReplicaRoutingDataSourceTests {
+
+	private DataSource primary;
+	private FailingDataSource replica;
+	private ReplicaRoutingDataSource routing;
+	private JdbcTemplate jdbc;
+	private TransactionTemplate reads;
+	private TransactionTemplate writes;
+
+	@BeforeEach
+	void setUp() {
+		primary = database("primario");
+		replica = new FailingDataSource(database("replica"));
+		routing = new ReplicaRoutingDataSource(primary, Map.of("replica-1", replica), 50, 200);
+
+		DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+		DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+		jdbc = new JdbcTemplate(dataSource);
+		writes = new TransactionTemplate(transactionManager);
+		reads = new TransactionTemplate(transactionManager);
+		reads.setReadOnly(true);
+	}
+
+	@AfterEach
+	void tearDown() {
+		routing.close();
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void readOnlyTransactionsGoToAReplicaThatIsCaughtUp() throws Exception {
+		routing.checkReplicas(); // A réplica ainda não recebeu nenhum batimento.
+		assertThat(readOrigin()).isEqualTo("primario");
+
+		replicate();
+		routing.checkReplicas();
+		assertThat(readOrigin()).isEqualTo("replica");
+		String written = writes.execute(status -> jdbc.queryForObject("select nome from origem", String.class));
+		assertThat(written).isEqualTo("primario");
+
+		// A replicação para: o atraso ultrapassa o limite e as leituras voltam ao primário.
+		Thread.sleep(100);
+		routing.checkReplicas();
+		routing.checkReplicas();
+		assertThat(readOrigin()).isEqualTo("primario");
+	}
+
+	@Test
+	void userReadsOwnWritesFromThePrimaryForTheStickyWindow() throws Exception {
+		catchUp();
+		login("leitora");
+		writes.executeWithoutResult(status -> jdbc.update("update origem set nome = nome"));
+
+		assertThat(readOrigin()).isEqualTo("primario");
+		login("outra");
+		assertThat(readOrigin()).isEqualTo("replica");
+
+		Thread.sleep(250);
+		login("leitora");
+		catchUp();
+		assertThat(readOrigin()).isEqualTo("replica");
+	}
+
+	@Test
+	void failedReplicaFailsOverToThePrimaryUntilItRecovers() {
+		catchUp();
+		replica.down = true;
+		assertThat(readOrigin()).isEqualTo("primario");
+
+		routing.checkReplicas();
+		assertThat(readOrigin()).isEqualTo("primario");
+
+		replica.down = false;
+		catchUp();
+		assertThat(readOrigin()).isEqualTo("replica");
+	}
+
+	@Test
+	void cacheLoadersReadFromThePrimaryWithoutOpeningTheStickyWindow() {
+		catchUp();
+		login("leitora");
+		assertThat(ReplicaRoutingDataSource.onPrimary(this::readOrigin)).isEqualTo("primario");
+		assertThat(readOrigin()).isEqualTo("replica");
+	}
+
+	@Test
+	void connectionsWithExplicitCredentialsGoToThePrimary() throws SQLException {
+		catchUp();
+		String origin = reads.execute(status -> {
+			try (Connection connection = routing.getConnection("sa", "");
+			     ResultSet rs = connection.createStatement().executeQuery("select nome from origem")) {
+				rs.next();
+				return rs.getString(1);
+			} catch (SQLException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		assertThat(origin).isEqualTo("primario");
+	}
+
+	private String readOrigin() {
+		return reads.execute(status -> jdbc.queryForObject("select nome from origem", String.class));
+	}
+
+	private void catchUp() {
+		routing.checkReplicas();
+		replicate();
+		routing.checkReplicas();
+	}
+
+	/**
+	 * Copia o batimento do primário para a réplica, como faria a replicação do MySQL.
+	 */
+	private void replicate() {
+		JdbcTemplate source = new JdbcTemplate(primary);
+		JdbcTemplate target = new JdbcTemplate(replica.getTargetDataSource());
+		target.update("delete from replica_heartbeat");
+		source.query("select id, beat_at from replica_heartbeat",
+		             rs -> { target.update("insert into replica_heartbeat (id, beat_at) values (?, ?)",
+		                                   rs.getInt(1), rs.getTimestamp(2)); });
+	}
+
+	private static void login(String username) {
+		SecurityContextHolder.getContext().setAuthentication(
+			new UsernamePasswordAuthenticationToken(username, null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+	}
+
+	private static DataSource database(String name) {
+		DataSource dataSource = new DriverManagerDataSource(
+			"jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		jdbc.execute("create table origem (nome varchar(20))");
+		jdbc.update("insert into origem values (?)", name);
+		jdbc.execute("create table replica_heartbeat (id int primary key, beat_at timestamp(3) not null)");
+		return dataSource;
+	}
+
+	/**
+	 * Réplica que pode ser derrubada durante o teste.
+	 */
+	private static final class FailingDataSource extends DelegatingDataSource {
+
+		private volatile boolean down;
+
+		FailingDataSource(DataSource target) {
+			super(target);
+		}
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			if (down) {
+				throw new SQLException("Réplica fora do ar");
+			}
+			return super.getConnection();
+		}
+	}
+}
@@ -0,0 +1,46 @@
+package project.poem.infrastructure.log;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Verifica a leitura linha a linha, a linha final incompleta e a compactação do log.
+ */
+class AppendOnlyLogTests {
+
+	@TempDir
+	private Path dir;
+
+	@Test
+	void incompleteLastLineIsSkippedAndRewriteKeepsOnlyGivenLines() throws Exception {
+		Path file = dir.resolve("comentarios.log");
+		try (AppendOnlyLog log = new AppendOnlyLog(file)) {
+			long position = log.write("a");
+			log.append("b");
+			log.sync(position); // Já coberta pelo fsync de append.
+			Files.writeString(file, "interrompida", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+			assertThat(lines(log)).containsExactly("a", "b");
+
+			log.rewrite(List.of("b"));
+			log.append("c");
+			assertThat(lines(log)).containsExactly("b", "c");
+			assertThat(dir.resolve("comentarios.log.tmp")).doesNotExist();
+		}
+	}
+
+	private static List<String> lines(AppendOnlyLog log) throws Exception {
+		List<String> lines = new ArrayList<>();
+		log.forEachLine(lines::add);
+		return lines;
+	}
+}
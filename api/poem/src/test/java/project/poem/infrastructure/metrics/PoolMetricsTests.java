@@ -0,0 +1,115 @@
+package project.poem.infrastructure.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Verifica as medições de um pool HikariCP com um banco H2 em memória, a detecção de vazamentos e o
+ * ajuste automático do tamanho máximo (alimentado diretamente com tempos de espera e de uso).
+ */
+class PoolMetricsTests {
+
+	private PoolMetrics metrics;
+	private HikariDataSource pool;
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		metrics = new PoolMetrics(50);
+		pool = new HikariDataSource();
+		pool.setPoolName("teste");
+		pool.setJdbcUrl("jdbc:h2:mem:pool-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+		pool.setMaximumPoolSize(4);
+		pool.setMinimumIdle(1);
+		metrics.instrument(pool);
+		pool.getConnection().close();
+	}
+
+	@AfterEach
+	void tearDown() {
+		pool.close();
+	}
+
+	@Test
+	void leakIsAttributedToTheServiceMethodThatOpenedTheConnection() throws Exception {
+		DataSource dataSource = new LeakTrackingDataSource(pool, metrics);
+		ReportService service = new ReportService(dataSource);
+
+		Connection leaked = service.open();
+		service.openAndClose();
+
+		Thread.sleep(100);
+		metrics.checkLeaks();
+		metrics.checkLeaks(); // Cada vazamento é contado uma vez.
+		assertThat(metrics.leaks()).containsExactly(Map.entry("ReportService.open", 1L));
+
+		leaked.close();
+		// Os contadores do pool são lidos do HikariCP no máximo uma vez por segundo; os tempos, não.
+		assertThat(metrics.snapshot().get(0).getAcquired()).isEqualTo(3);
+	}
+
+	@Test
+	void sizerGrowsOnWaitsButBacksOffWhenTheDatabaseIsSaturated() {
+		AdaptivePoolSizer sizer = new AdaptivePoolSizer(metrics, true, 5, 2, 10, 2, 1000);
+		PoolMetrics.Pool tracker = metrics.pool("teste");
+		sizer.adjust();
+
+		feed(tracker, 0, 2);
+		sizer.adjust(); // Sem espera: só registra a média do tempo de uso.
+		assertThat(pool.getMaximumPoolSize()).isEqualTo(4);
+
+		feed(tracker, 20, 2);
+		sizer.adjust();
+		assertThat(pool.getMaximumPoolSize()).isEqualTo(6);
+
+		feed(tracker, 20, 20);
+		sizer.adjust();
+		assertThat(pool.getMaximumPoolSize()).isEqualTo(5);
+
+		sizer.adjust(); // Ocioso por três intervalos seguidos.
+		sizer.adjust();
+		assertThat(pool.getMaximumPoolSize()).isEqualTo(5);
+		sizer.adjust();
+		assertThat(pool.getMaximumPoolSize()).isEqualTo(4);
+	}
+
+	private static void feed(PoolMetrics.Pool tracker, long waitMillis, long usageMillis) {
+		for (int i = 0; i < 20; i++) {
+			tracker.recordConnectionAcquiredNanos(waitMillis * 1_000_000);
+			tracker.recordConnectionUsageMillis(usageMillis);
+		}
+	}
+
+	/**
+	 * Serviço de exemplo que esquece de fechar uma das conexões.
+	 */
+	private static final class ReportService {
+
+		private final DataSource dataSource;
+
+		ReportService(DataSource dataSource) {
+			this.dataSource = dataSource;
+		}
+
+		Connection open() throws SQLException {
+			return dataSource.getConnection();
+		}
+
+		void openAndClose() throws SQLException {
+			try (Connection con = dataSource.getConnection()) {
+				con.createStatement().execute("select 1");
+			}
+		}
+	}
+}
@@ -15,6 +15,16 @@ const CommentService = {
       localStorage.getItem('token') // Envia o token de autenticação (se existir) no cabeçalho da requisição
     ),
 
+  /**
+   * Obtém de uma só vez o número de comentários de vários poemas (ex.: uma página da lista).
+   * @param {Array<number|string>} poemIds
+   * @returns {Promise<Object<string, number>>} Mapa do id do poema para o número de comentários.
+   */
+  countMany: async (poemIds) => {
+    if (poemIds.length === 0) return {};
+    return HttpClient.get(`${API}/api/comments/counts?ids=${poemIds.join(',')}`);
+  },
+
   /**
    * Cria um novo comentário.
    * @param {object} payload - Um objeto contendo os dados do novo comentário.
@@ -37,12 +47,14 @@ const CommentService = {
    * @param {number} id - O ID do comentário a ser atualizado.
    * @param {object} payload - Um objeto contendo os dados de atualização do comentário.
    * @param {string} payload.content - O novo conteúdo do comentário.
+   * @param {number} [payload.version] - A versão do comentário que foi editada; se ele tiver sido alterado
+   * desde então, a API responde 412 e nada é gravado.
    * @returns {Promise<object>} Uma Promise que resolve para o objeto do comentário atualizado.
    */
-  update: async (id, { content }) => {
+  update: async (id, { content, version }) => {
     const res = await HttpClient.put(
       `${API}/api/comments/${id}`, // Endpoint da API para atualizar um comentário específico (usa o ID)
-      { content }, // Corpo da requisição com o novo conteúdo
+      { content, version }, // Corpo da requisição com o novo conteúdo e a versão editada
       localStorage.getItem('token') // Envia o token de autenticação (se existir) no cabeçalho da requisição
     );
     return res.json(); // Retorna o corpo da resposta como JSON
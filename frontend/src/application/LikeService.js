@@ -34,6 +34,18 @@ hasLiked: async (poemId) => {
   }
 },
 
+  /**
+   * Verifica de uma só vez quais poemas de uma lista o usuário logado já curtiu.
+   * @param {Array<number|string>} poemIds
+   * @returns {Promise<Object<string, boolean>>} Mapa do id do poema para true/false.
+   */
+  hasLikedMany: async (poemIds) => {
+    if (poemIds.length === 0) return {};
+    return HttpClient.get(
+      `${API}/api/poems/likes/user?ids=${poemIds.join(',')}`,
+      localStorage.getItem('token')
+    );
+  },
 
   /**
    * Adiciona uma curtida ao poema.
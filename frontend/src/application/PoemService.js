@@ -6,10 +6,14 @@ const API = ''; // proxy CRA
 const PoemService = {
   /**
    * Obtém a lista de todos os poemas.
+   * @param {string[]} [fields] - Campos a serem devolvidos (ex.: ['title', 'author']); todos se omitido.
    * @returns Promise<PoemDto[]>
    */
-  listAll: () =>
-    HttpClient.get(`${API}/api/poems`, localStorage.getItem('token')),
+  listAll: (fields) =>
+    HttpClient.get(
+      fields ? `${API}/api/poems?fields=${fields.join(',')}` : `${API}/api/poems`,
+      localStorage.getItem('token')
+    ),
 
   /**
    * Obtém a lista de poemas curtidos pelo usuário autenticado.
@@ -18,6 +22,39 @@ const PoemService = {
   listLiked: () =>
     HttpClient.get(`${API}/api/poems/liked`, localStorage.getItem('token')),
 
+  /**
+   * Obtém os poemas em alta, ordenados pela pontuação.
+   * @param {number} limit - Número máximo de poemas.
+   * @returns Promise<TrendingPoemDto[]>
+   */
+  listTrending: (limit = 10) =>
+    HttpClient.get(`${API}/api/poems/trending?limit=${limit}`, localStorage.getItem('token')),
+
+  /**
+   * Obtém os poemas curtidos por quem curtiu um poema.
+   * @param {number} id - ID do poema de referência.
+   * @param {number} limit - Número máximo de poemas.
+   * @returns Promise<RelatedPoemDto[]>
+   */
+  listRelated: (id, limit = 10) =>
+    HttpClient.get(`${API}/api/poems/${id}/related?limit=${limit}`, localStorage.getItem('token')),
+
+  /**
+   * Obtém poemas sugeridos para o usuário autenticado, com base nas suas curtidas.
+   * @param {number} limit - Número máximo de poemas.
+   * @returns Promise<RelatedPoemDto[]>
+   */
+  listRecommended: (limit = 10) =>
+    HttpClient.get(`${API}/api/poems/recommended?limit=${limit}`, localStorage.getItem('token')),
+
+  /**
+   * Obtém vários poemas de uma vez, na ordem dos IDs informados.
+   * @param {number[]} ids - IDs dos poemas (no máximo 100).
+   * @returns Promise<PoemDto[]>
+   */
+  getByIds: (ids) =>
+    HttpClient.get(`${API}/api/poems?ids=${ids.join(',')}`, localStorage.getItem('token')),
+
   /**
    * Obtém um poema específico pelo seu ID.
    * @param {number} id - ID do poema.
@@ -4,11 +4,24 @@ const API = ''; // proxy CRA
 
 const ProfileService = {
   /**
-   * Obtém a lista de todos os perfis.
+   * Obtém a primeira página de perfis (o servidor nunca devolve o diretório inteiro).
+   * Para buscar e navegar pelas páginas, use listPage.
    */
   listAll: () =>
     HttpClient.get(`${API}/api/profile`, localStorage.getItem('token')),
 
+  /**
+   * Obtém uma página do diretório de perfis.
+   * @param {Object} params - Objeto com q (prefixo de nome, sobrenome ou email), page, size e sort (todos opcionais).
+   * @returns Promise<{ content: ProfileDto[], page: { number, size, totalElements, totalPages } }>
+   */
+  listPage: (params = {}) => {
+    const query = new URLSearchParams(
+      Object.entries(params).filter(([, v]) => v !== undefined && v !== null && v !== '')
+    ).toString();
+    return HttpClient.get(`${API}/api/profile/page?${query}`, localStorage.getItem('token'));
+  },
+
   /**
    * Obtém o perfil do usuário pelo email.
    */
@@ -0,0 +1,56 @@
+// src/application/SyncService.js
+import HttpClient from '../infrastructure/HttpClient'; // Importa o módulo HttpClient para fazer requisições HTTP.
+
+const API = ''; // proxy CRA
+const STORAGE_KEY = 'poemSync';
+
+/**
+ * Lê do localStorage a cópia local dos poemas e a marca d'água da última sincronização.
+ * @returns {{ watermark: number, poems: Object<string, PoemDto> }}
+ */
+function readCache() {
+  try {
+    const cached = JSON.parse(localStorage.getItem(STORAGE_KEY));
+    if (cached && cached.poems) return cached;
+  } catch (e) {
+    // Cópia corrompida: recomeça pela carga inicial.
+  }
+  return { watermark: 0, poems: {} };
+}
+
+const SyncService = {
+  /**
+   * Obtém as alterações desde uma marca d'água.
+   * @param {number} since - Marca d'água da sincronização anterior (0 para a carga inicial).
+   * @returns Promise<SyncDto>
+   */
+  changesSince: (since = 0) =>
+    HttpClient.get(`${API}/api/sync?since=${since}`, localStorage.getItem('token')),
+
+  /**
+   * Obtém a lista de todos os poemas, baixando apenas o que mudou desde a última chamada.
+   * A cópia local fica no localStorage; se não couber, a lista é devolvida sem ser guardada.
+   * @returns Promise<PoemDto[]>
+   */
+  loadPoems: async () => {
+    const cache = readCache();
+    let changes;
+    do {
+      changes = await SyncService.changesSince(cache.watermark);
+      changes.poems.forEach((p) => { cache.poems[p.id] = p; });
+      changes.deleted
+        .filter((d) => d.type === 'POEM')
+        .forEach((d) => { delete cache.poems[d.id]; });
+      cache.watermark = changes.watermark;
+    } while (changes.hasMore);
+
+    try {
+      localStorage.setItem(STORAGE_KEY, JSON.stringify(cache));
+    } catch (e) {
+      localStorage.removeItem(STORAGE_KEY);
+    }
+    return Object.values(cache.poems);
+  },
+};
+
+export default SyncService;
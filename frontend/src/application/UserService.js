@@ -10,6 +10,18 @@ const UserService = {
   listAll: () =>
     HttpClient.get(`${API}/api/auth/users`, localStorage.getItem('token')),
 
+  /**
+   * Obtém uma página de usuários, com filtros opcionais por prefixo.
+   * @param {Object} params - Objeto com page, size, sort, username e email (todos opcionais).
+   * @returns Promise<{ content: UserDto[], page: { number, size, totalElements, totalPages } }>
+   */
+  listPage: (params = {}) => {
+    const query = new URLSearchParams(
+      Object.entries(params).filter(([, v]) => v !== undefined && v !== null && v !== '')
+    ).toString();
+    return HttpClient.get(`${API}/api/auth/users/page?${query}`, localStorage.getItem('token'));
+  },
+
   /**
    * Cria um novo usuário.
    * @param {Object} userData - Objeto com os dados do usuário (username, email, password, role).
@@ -42,6 +42,7 @@ export default function PoemDetail({ onChangeView }) {
   const [error, setError] = useState(null);
   const [loadingPoem, setLoadingPoem] = useState(true);
   const [checkingLike, setCheckingLike] = useState(true);
+  const [related, setRelated] = useState([]);
 
   const poemId = poemIdFromRoute;
 
@@ -69,6 +70,17 @@ export default function PoemDetail({ onChangeView }) {
     }
   }, [poemId]);
 
+  /**
+   * @useEffect
+   * @description Carrega os poemas curtidos por quem curtiu este poema ("quem curtiu também curtiu").
+   * Falhas são ignoradas, pois a seção é opcional.
+   */
+  useEffect(() => {
+    if (poemId) {
+      PoemService.listRelated(poemId, 5).then(setRelated).catch(() => setRelated([]));
+    }
+  }, [poemId]);
+
   /**
    * @useEffect
    * @description Verifica se o usuário atual curtiu o poema ao montar o componente ou quando o ID do poema ou o estado de autenticação mudam.
@@ -174,9 +186,10 @@ export default function PoemDetail({ onChangeView }) {
   const handleSaveEdit = async (commentId) => {
     if (!user?.token) return navigate('/login');
     try {
-      await CommentService.update(commentId, { content: editText });
+      const editing = comments.find(c => c.id === commentId);
+      const saved = await CommentService.update(commentId, { content: editText, version: editing?.version });
       const updatedComments = comments.map(c =>
-        c.id === commentId ? { ...c, content: editText } : c
+        c.id === commentId ? { ...c, content: saved.content, version: saved.version } : c
       );
       setComments(updatedComments);
       setEditingCommentId(null);
@@ -261,8 +274,8 @@ export default function PoemDetail({ onChangeView }) {
 
         <ul className={styles.commentList}> {/* Aplica o estilo da lista de comentários */}
           {comments.length > 0 ? (
-            comments.map(c => (
-              <li key={c.id} className={styles.commentItem}> {/* Aplica o estilo de cada item de comentário */}
+            comments.map((c, i) => (
+              <li key={c.id ?? `pendente-${i}`} className={styles.commentItem}> {/* Aplica o estilo de cada item de comentário */}
                 <div>
                   <strong>{c.author || 'Anônimo'}</strong>
                   <em>{c.commentDate || ''}</em>
@@ -290,6 +303,7 @@ export default function PoemDetail({ onChangeView }) {
                 <div>
                   {editingCommentId === c.id ? null : c.content}
                 </div>
+                {c.rejection && <p className={styles.commentRejected}>{c.rejection}</p>} {/* Comentário aceito, mas não publicado */}
               </li>
             ))
           ) : (
@@ -297,6 +311,19 @@ export default function PoemDetail({ onChangeView }) {
           )}
         </ul>
       </div>
+
+      {related.length > 0 && (
+        <div className={styles.commentSection}>
+          <h3>Quem curtiu também curtiu</h3>
+          <ul className={styles.commentList}>
+            {related.map((r) => (
+              <li key={r.id} className={styles.commentItem} onClick={() => navigate(`/poems/${r.id}`)}>
+                <strong>{r.title}</strong> por {r.author}
+              </li>
+            ))}
+          </ul>
+        </div>
+      )}
     </div>
   );
 }
\ No newline at end of file
@@ -35,6 +35,7 @@ export default function PoemForm({ initial, onSave, onCancel }) {
     onSave({
       // Chama a função 'onSave' com um objeto contendo os dados do poema.
       id: initial?.id, // Mantém o ID original se estiver editando um poema existente.
+      version: initial?.version, // Versão editada: a API recusa (412) se o poema tiver mudado desde então.
       title,           // Inclui o título do poema.
       text,            // Inclui o texto do poema.
       author,          // Inclui o autor do poema.
@@ -1,6 +1,6 @@
 import React, { useState, useEffect } from 'react';
 import { useNavigate } from 'react-router-dom';
-import PoemService from '../../application/PoemService';
+import SyncService from '../../application/SyncService';
 import PoemSearch from '../components/PoemSearch';
 import styles from '../../styles/PoemsByDate.module.css';
 
@@ -23,7 +23,7 @@ export default function PoemsByDate() {
   useEffect(() => {
     async function load() {
       try {
-        const data = await PoemService.listAll();
+        const data = await SyncService.loadPoems();
         const sorted = data.sort(
           (a, b) => new Date(b.postDate) - new Date(a.postDate)
         );
@@ -0,0 +1,48 @@
+import React, { useState, useEffect } from 'react';
+import { useNavigate } from 'react-router-dom';
+import PoemService from '../../application/PoemService';
+import styles from '../../styles/PoemsByDate.module.css';
+
+/**
+ * Componente TrendingPoems:
+ *
+ * Exibe a prateleira de poemas em alta, conforme o ranking calculado pela API
+ * a partir das curtidas e comentários recentes.
+ */
+export default function TrendingPoems({ limit = 10 }) {
+  const [poems, setPoems] = useState([]);
+  const [error, setError] = useState(null);
+  const navigate = useNavigate();
+
+  useEffect(() => {
+    PoemService.listTrending(limit)
+      .then(setPoems)
+      .catch((e) => setError(e.message || 'Erro ao carregar poemas em alta'));
+  }, [limit]);
+
+  if (!error && poems.length === 0) return null;
+
+  return (
+    <div>
+      <h2>Em alta</h2>
+      {error && <p className={styles.error}>{error}</p>}
+      <div className={styles.container}>
+        {poems.map((poem) => (
+          <div key={poem.id} className={styles.card}>
+            <img src={poem.imageUrl} alt={poem.title} className={styles.image} />
+            <div className={styles.content}>
+              <h3 className={styles.title}>{poem.title}</h3>
+              <p className={styles.author}>por {poem.author}</p>
+              <button
+                onClick={() => navigate(`/poems/${poem.id}`)}
+                className={styles.readMore}
+              >
+                Leia Mais
+              </button>
+            </div>
+          </div>
+        ))}
+      </div>
+    </div>
+  );
+}
@@ -1,6 +1,7 @@
 import React, { useState, useEffect } from 'react';
 
 import PoemService from '../../application/PoemService';       // Importa o serviço para manipulação de poemas
+import SyncService from '../../application/SyncService';       // Importa o serviço de sincronização incremental
 import PoemList from '../components/PoemList';         // Importa o componente para exibir a lista de poemas
 import PoemForm from '../components/PoemForm';         // Importa o componente para o formulário de poema
 import Sidebar from '../components/Sidebar';       
@@ -33,12 +34,16 @@ export default function DashboardAdmin() {
   const [showPoemForm, setShowPoemForm] = useState(false); // Controla a visibilidade do formulário de poema
 
   // Estado relacionado a perfis:
-  const [profiles, setProfiles] = useState([]);         // Armazena a lista de perfis
+  const [profiles, setProfiles] = useState([]);         // Armazena a página atual de perfis
+  const [profilesPage, setProfilesPage] = useState({ number: 0, totalPages: 0 }); // Metadados da página de perfis
+  const [profileFilter, setProfileFilter] = useState(''); // Prefixo de nome, sobrenome ou email usado como filtro
   const [editingProfile, setEditingProfile] = useState(null); // Armazena o perfil que está sendo editado
   const [showProfileForm, setShowProfileForm] = useState(false); // Controla a visibilidade do formulário de perfil
 
   // Estado relacionado a usuários:
-  const [users, setUsers] = useState([]);             // Armazena a lista de usuários
+  const [users, setUsers] = useState([]);             // Armazena a página atual de usuários
+  const [usersPage, setUsersPage] = useState({ number: 0, totalPages: 0 }); // Metadados da página de usuários
+  const [userFilter, setUserFilter] = useState('');   // Prefixo de username usado como filtro
   const [editingUser, setEditingUser] = useState(null); // Armazena o usuário que está sendo editado
   const [showUserForm, setShowUserForm] = useState(false); // Controla a visibilidade do formulário de usuário
 
@@ -52,25 +57,29 @@ export default function DashboardAdmin() {
   // Função para carregar poemas
   const loadPoems = async () => {
     try {
-      setPoems(await PoemService.listAll()); // Busca todos os poemas e atualiza o estado
+      setPoems(await SyncService.loadPoems()); // Busca apenas os poemas alterados e atualiza o estado
     } catch (e) {
       setError(e.message); // Atualiza o estado de erro com a mensagem
     }
   };
 
-  // Função para carregar perfis
-  const loadProfiles = async () => {
+  // Função para carregar uma página de perfis
+  const loadProfiles = async (page = profilesPage.number, q = profileFilter) => {
     try {
-      setProfiles(await ProfileService.listAll()); // Busca todos os perfis e atualiza o estado
+      const data = await ProfileService.listPage({ page, size: 20, q }); // Busca apenas a página pedida
+      setProfiles(data.content);
+      setProfilesPage(data.page);
     } catch (e) {
       setError(e.message); // Atualiza o estado de erro com a mensagem
     }
   };
 
-  // Função para carregar usuários
-  const loadUsers = async () => {
+  // Função para carregar uma página de usuários
+  const loadUsers = async (page = usersPage.number, username = userFilter) => {
     try {
-      setUsers(await UserService.listAll());     // Busca todos os usuários e atualiza o estado
+      const data = await UserService.listPage({ page, size: 20, sort: 'username', username }); // Busca apenas a página pedida
+      setUsers(data.content);
+      setUsersPage(data.page);
     } catch (e) {
       setError(e.message); // Atualiza o estado de erro com a mensagem
     }
@@ -217,6 +226,12 @@ export default function DashboardAdmin() {
                 onCancel={() => { setShowProfileForm(false); setEditingProfile(null); }} // Passa a função para cancelar
               />
             )}
+            <input
+              type="text"
+              placeholder="Buscar por nome, sobrenome ou email"
+              value={profileFilter}
+              onChange={e => { setProfileFilter(e.target.value); loadProfiles(0, e.target.value); }} // Reinicia na primeira página
+            />
             <div className={styles.profileListContainer}>
               <ProfileList
                 profiles={profiles}         // Passa a lista de perfis
@@ -224,6 +239,15 @@ export default function DashboardAdmin() {
                 onDelete={handleProfileDelete} // Passa a função para excluir um perfil
               />
             </div>
+            <div>
+              <button disabled={profilesPage.number <= 0} onClick={() => loadProfiles(profilesPage.number - 1)}>
+                Anterior
+              </button>
+              <span> Página {profilesPage.number + 1} de {Math.max(profilesPage.totalPages, 1)} </span>
+              <button disabled={profilesPage.number + 1 >= profilesPage.totalPages} onClick={() => loadProfiles(profilesPage.number + 1)}>
+                Próxima
+              </button>
+            </div>
           </section>
         )}
 
@@ -241,6 +265,12 @@ export default function DashboardAdmin() {
                 onCancel={() => { setShowUserForm(false); setEditingUser(null); }} // Passa a função para cancelar
               />
             )}
+            <input
+              type="text"
+              placeholder="Filtrar por username"
+              value={userFilter}
+              onChange={e => { setUserFilter(e.target.value); loadUsers(0, e.target.value); }} // Reinicia na primeira página
+            />
             <div className={styles.userListContainer}>
               <UserList
                 users={users}           // Passa a lista de usuários
@@ -248,6 +278,15 @@ export default function DashboardAdmin() {
                 onDelete={handleUserDelete} // Passa a função para excluir um usuário
               />
             </div>
+            <div>
+              <button disabled={usersPage.number <= 0} onClick={() => loadUsers(usersPage.number - 1)}>
+                Anterior
+              </button>
+              <span> Página {usersPage.number + 1} de {Math.max(usersPage.totalPages, 1)} </span>
+              <button disabled={usersPage.number + 1 >= usersPage.totalPages} onClick={() => loadUsers(usersPage.number + 1)}>
+                Próxima
+              </button>
+            </div>
           </section>
         )}
 
@@ -5,6 +5,7 @@ import LoginForm from '../components/LoginForm'; // Importa o componente LoginFo
 import RegisterForm from '../components/RegisterForm'; // Importa o componente RegisterForm
 import PoemsByDate from '../components/PoemsByDate';
 import LikedPoemsPage from '../components/LikedPoemsPage';
+import TrendingPoems from '../components/TrendingPoems';
 
 /**
  * Componente HomePage:
@@ -31,6 +32,7 @@ const HomePage = () => {
         return (
           <section className={styles.main}>
             <h1>Bem-vindo a Homepage</h1>
+            <TrendingPoems />
           </section>
         );
     }